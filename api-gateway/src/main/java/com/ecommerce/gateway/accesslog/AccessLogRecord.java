@@ -0,0 +1,66 @@
+package com.ecommerce.gateway.accesslog;
+
+import java.net.InetSocketAddress;
+
+/**
+ * One completed gateway request, captured on the request path and formatted by the writer thread.
+ * Holds raw header values rather than the request, so the exchange is not retained.
+ */
+public record AccessLogRecord(
+        String method,
+        String path,
+        int status,
+        long durationNanos,
+        String requestId,
+        String forwardedFor,
+        String realIp,
+        InetSocketAddress remoteAddress,
+        String error
+) {
+
+    /**
+     * Client IP, preferring forwarded headers set by a load balancer.
+     */
+    public String clientIp() {
+        if (forwardedFor != null && !forwardedFor.isEmpty()) {
+            int comma = forwardedFor.indexOf(',');
+            return (comma < 0 ? forwardedFor : forwardedFor.substring(0, comma)).trim();
+        }
+        if (realIp != null && !realIp.isEmpty()) {
+            return realIp;
+        }
+        return remoteAddress != null && remoteAddress.getAddress() != null
+                ? remoteAddress.getAddress().getHostAddress()
+                : "unknown";
+    }
+
+    /**
+     * Whether the request failed, which exempts it from sampling.
+     */
+    public boolean isFailure() {
+        return error != null || status >= 400;
+    }
+
+    /**
+     * Single log line, e.g. {@code GET /api/v1/products 200 12.345ms from 10.0.0.1}.
+     */
+    public String format() {
+        StringBuilder line = new StringBuilder(96)
+                .append(method).append(' ').append(path).append(' ');
+        if (error != null) {
+            line.append("failed: ").append(error);
+        } else {
+            line.append(status);
+        }
+        long micros = durationNanos / 1_000;
+        line.append(' ').append(micros / 1_000).append('.');
+        long fraction = micros % 1_000;
+        if (fraction < 100) {
+            line.append('0');
+        }
+        if (fraction < 10) {
+            line.append('0');
+        }
+        return line.append(fraction).append("ms from ").append(clientIp()).toString();
+    }
+}
@@ -0,0 +1,135 @@
+package com.ecommerce.gateway.accesslog;
+
+import com.ecommerce.gateway.config.AccessLogProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Access log that keeps log I/O off the request path.
+ * Records are sampled, placed in a {@link AccessLogRingBuffer} and written by a single
+ * background thread. Failed and slow requests bypass sampling. When the buffer is full,
+ * records are dropped and counted rather than blocking the request.
+ * An idle writer parks until the next record arrives instead of polling.
+ */
+public class AsyncAccessLog {
+
+    private static final Logger log = LoggerFactory.getLogger(AsyncAccessLog.class);
+    private static final String REQUEST_ID_MDC = "requestId";
+    private static final int DRAIN_BATCH = 256;
+
+    private final boolean enabled;
+    private final double sampleRate;
+    private final long slowThresholdNanos;
+    private final AccessLogRingBuffer<AccessLogRecord> buffer;
+    private final Counter dropped;
+    private final Thread writer;
+    private volatile boolean running = true;
+    private volatile boolean writerParked;
+
+    public AsyncAccessLog(AccessLogProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnabled();
+        this.sampleRate = properties.getSampleRate();
+        this.slowThresholdNanos = properties.getSlowThreshold().toNanos();
+        this.buffer = new AccessLogRingBuffer<>(properties.getBufferSize());
+        this.dropped = Counter.builder("gateway.access-log.dropped")
+                .description("Access log records dropped because the buffer was full")
+                .register(meterRegistry);
+        Gauge.builder("gateway.access-log.pending", buffer, AccessLogRingBuffer::size)
+                .description("Access log records waiting to be written")
+                .register(meterRegistry);
+
+        this.writer = new Thread(this::drainLoop, "access-log-writer");
+        this.writer.setDaemon(true);
+        if (enabled) {
+            this.writer.start();
+        }
+    }
+
+    /**
+     * Whether a completed request should be recorded. Cheap enough to call before building the record.
+     */
+    public boolean shouldRecord(int status, long durationNanos, boolean failed) {
+        if (!enabled) {
+            return false;
+        }
+        if (failed || status >= 400 || durationNanos >= slowThresholdNanos) {
+            return true;
+        }
+        return sampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+
+    /**
+     * Queue a record for the writer thread. Never blocks.
+     */
+    public void record(AccessLogRecord record) {
+        if (!buffer.offer(record)) {
+            dropped.increment();
+        } else if (writerParked) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    private void drainLoop() {
+        while (running) {
+            if (buffer.drain(this::write, DRAIN_BATCH) == 0) {
+                awaitRecords();
+            }
+        }
+        // Flush what was queued before shutdown
+        buffer.drain(this::write, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Park until a producer publishes a record. The flag is raised before re-checking the buffer,
+     * so a producer that offers after the check is guaranteed to see it and unpark the writer.
+     */
+    private void awaitRecords() {
+        writerParked = true;
+        try {
+            if (running && buffer.size() == 0) {
+                LockSupport.park(this);
+            }
+        } finally {
+            writerParked = false;
+        }
+    }
+
+    Thread.State writerState() {
+        return writer.getState();
+    }
+
+    private void write(AccessLogRecord record) {
+        try {
+            MDC.put(REQUEST_ID_MDC, record.requestId());
+            if (record.error() != null) {
+                log.error(record.format());
+            } else {
+                log.info(record.format());
+            }
+        } catch (RuntimeException e) {
+            log.debug("Failed to write access log record", e);
+        } finally {
+            MDC.remove(REQUEST_ID_MDC);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.ecommerce.gateway.cache;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A complete downstream response held in memory, so it can be written to several clients.
+ * Headers are only those added by the downstream service, not by gateway filters.
+ */
+public record BufferedResponse(
+        int status,
+        Map<String, List<String>> headers,
+        byte[] body
+) {
+}
@@ -0,0 +1,53 @@
+package com.ecommerce.gateway.cache;
+
+import org.springframework.http.HttpHeaders;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A cached downstream response: status, the cacheable subset of its headers, and the body.
+ */
+public record CachedResponse(
+        int status,
+        Map<String, List<String>> headers,
+        byte[] body,
+        String etag,
+        long expiresAtMillis
+) {
+
+    /**
+     * Response headers kept in the cache; hop-by-hop, CORS and cookie headers are not.
+     */
+    public static final List<String> CACHED_HEADERS = List.of(
+            HttpHeaders.CONTENT_TYPE,
+            HttpHeaders.CONTENT_LANGUAGE,
+            HttpHeaders.CONTENT_ENCODING,
+            HttpHeaders.CACHE_CONTROL,
+            HttpHeaders.LAST_MODIFIED);
+
+    public boolean isExpired(long nowMillis) {
+        return nowMillis >= expiresAtMillis;
+    }
+
+    /**
+     * Whether an If-None-Match header value matches this response's entity tag (weak comparison).
+     */
+    public boolean matches(String ifNoneMatch) {
+        if (ifNoneMatch == null || etag == null) {
+            return false;
+        }
+        String opaqueTag = opaque(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || opaque(tag).equals(opaqueTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String opaque(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+}
@@ -0,0 +1,126 @@
+package com.ecommerce.gateway.cache;
+
+import com.ecommerce.gateway.config.ResponseCacheProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Two-tier store for cached responses: a size-bounded in-memory tier and an optional Redis tier.
+ * Entries expire at their own route TTL in both tiers. Redis failures are treated as misses.
+ */
+public class ResponseCache {
+
+    private static final Logger log = LoggerFactory.getLogger(ResponseCache.class);
+
+    private final Cache<String, CachedResponse> local;
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final String redisKeyPrefix;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * @param redisTemplate Redis client for the shared tier, or {@code null} for memory only
+     */
+    public ResponseCache(ResponseCacheProperties properties, ReactiveStringRedisTemplate redisTemplate) {
+        this.local = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaximumSize().toBytes())
+                .weigher((String key, CachedResponse response) -> key.length() + response.body().length)
+                .expireAfter(new UntilResponseExpiry())
+                .build();
+        this.redisTemplate = properties.getRedis().isEnabled() ? redisTemplate : null;
+        this.redisKeyPrefix = properties.getRedis().getKeyPrefix();
+    }
+
+    /**
+     * Look up a response, first in memory and then in Redis. Completes empty on a miss.
+     */
+    public Mono<CachedResponse> get(String key) {
+        CachedResponse response = local.getIfPresent(key);
+        if (response != null && !response.isExpired(System.currentTimeMillis())) {
+            return Mono.just(response);
+        }
+        if (redisTemplate == null) {
+            return Mono.empty();
+        }
+        return redisTemplate.opsForValue().get(redisKeyPrefix + key)
+                .flatMap(json -> Mono.justOrEmpty(deserialize(json)))
+                .filter(shared -> !shared.isExpired(System.currentTimeMillis()))
+                .doOnNext(shared -> local.put(key, shared))
+                .onErrorResume(e -> {
+                    log.debug("Redis response cache lookup failed: {}", e.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    /**
+     * Store a response in memory and, when enabled, in Redis.
+     */
+    public void put(String key, CachedResponse response) {
+        local.put(key, response);
+        if (redisTemplate == null) {
+            return;
+        }
+        long ttlMillis = response.expiresAtMillis() - System.currentTimeMillis();
+        String json = serialize(response);
+        if (ttlMillis <= 0 || json == null) {
+            return;
+        }
+        redisTemplate.opsForValue().set(redisKeyPrefix + key, json, Duration.ofMillis(ttlMillis))
+                .subscribe(stored -> { }, e -> log.debug("Redis response cache store failed: {}", e.getMessage()));
+    }
+
+    long localSize() {
+        return local.estimatedSize();
+    }
+
+    private String serialize(CachedResponse response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            log.debug("Cannot serialize cached response: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private CachedResponse deserialize(String json) {
+        try {
+            return objectMapper.readValue(json, CachedResponse.class);
+        } catch (JsonProcessingException e) {
+            log.debug("Ignoring unreadable cached response: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Expires each entry at its own expiry time.
+     */
+    private static final class UntilResponseExpiry implements Expiry<String, CachedResponse> {
+
+        @Override
+        public long expireAfterCreate(String key, CachedResponse response, long currentTime) {
+            long remainingMillis = response.expiresAtMillis() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMillis));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, CachedResponse response,
+                                      long currentTime, long currentDuration) {
+            return expireAfterCreate(key, response, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, CachedResponse response,
+                                    long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
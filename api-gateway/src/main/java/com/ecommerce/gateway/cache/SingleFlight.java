@@ -0,0 +1,102 @@
+package com.ecommerce.gateway.cache;
+
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tracks in-flight calls by key so concurrent identical calls can share one result.
+ * The first caller for a key becomes the leader and must {@link Flight#complete} the flight;
+ * later callers are followers and wait for the leader's result.
+ */
+public class SingleFlight<V> {
+
+    private final ConcurrentHashMap<String, Flight<V>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Join the flight for a key, starting a new one (as leader) if none is in progress.
+     */
+    public Flight<V> join(String key) {
+        Flight<V> flight = new Flight<>(this, key);
+        Flight<V> existing = inFlight.putIfAbsent(key, flight);
+        if (existing == null) {
+            return flight;
+        }
+        existing.followers.incrementAndGet();
+        return existing.asFollower();
+    }
+
+    int size() {
+        return inFlight.size();
+    }
+
+    /**
+     * One in-flight call, seen from the leader or a follower.
+     */
+    public static final class Flight<V> {
+
+        private final SingleFlight<V> owner;
+        private final String key;
+        private final Sinks.One<V> result;
+        private final AtomicInteger followers;
+        private final boolean leader;
+
+        private Flight(SingleFlight<V> owner, String key) {
+            this.owner = owner;
+            this.key = key;
+            this.result = Sinks.one();
+            this.followers = new AtomicInteger();
+            this.leader = true;
+        }
+
+        private Flight(Flight<V> leaderFlight) {
+            this.owner = leaderFlight.owner;
+            this.key = leaderFlight.key;
+            this.result = leaderFlight.result;
+            this.followers = leaderFlight.followers;
+            this.leader = false;
+        }
+
+        private Flight<V> asFollower() {
+            return new Flight<>(this);
+        }
+
+        public boolean isLeader() {
+            return leader;
+        }
+
+        /**
+         * Number of followers that joined this flight so far.
+         */
+        public int followers() {
+            return followers.get();
+        }
+
+        /**
+         * Wait for the leader's result. Completes empty when the leader had no shareable
+         * result or did not finish within the timeout.
+         */
+        public Mono<V> result(Duration timeout) {
+            return result.asMono().timeout(timeout, Mono.empty());
+        }
+
+        /**
+         * End the flight, handing the result (or nothing, when {@code null}) to all followers.
+         * Only the leader may complete a flight; later callers then start a new one.
+         */
+        public void complete(V value) {
+            if (!leader) {
+                throw new IllegalStateException("Only the leader completes a flight");
+            }
+            owner.inFlight.remove(key, this);
+            if (value != null) {
+                result.tryEmitValue(value);
+            } else {
+                result.tryEmitEmpty();
+            }
+        }
+    }
+}
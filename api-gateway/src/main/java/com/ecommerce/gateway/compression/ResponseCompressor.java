@@ -0,0 +1,190 @@
+package com.ecommerce.gateway.compression;
+
+import com.aayushatharva.brotli4j.Brotli4jLoader;
+import com.aayushatharva.brotli4j.encoder.Encoder;
+import com.ecommerce.gateway.config.CompressionProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.util.StringUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Negotiates a content coding with the client and compresses response bodies.
+ * Supports gzip and, where the native library loads, Brotli.
+ */
+public class ResponseCompressor {
+
+    private static final Logger log = LoggerFactory.getLogger(ResponseCompressor.class);
+
+    /**
+     * Content codings the gateway can produce.
+     */
+    public enum Encoding {
+        BROTLI("br"),
+        GZIP("gzip");
+
+        private final String token;
+
+        Encoding(String token) {
+            this.token = token;
+        }
+
+        /**
+         * Value for the Content-Encoding header.
+         */
+        public String token() {
+            return token;
+        }
+
+        static Encoding fromToken(String token) {
+            for (Encoding encoding : values()) {
+                if (encoding.token.equalsIgnoreCase(token)) {
+                    return encoding;
+                }
+            }
+            throw new IllegalArgumentException("Unsupported content coding '" + token + "', expected br or gzip");
+        }
+    }
+
+    private final List<Encoding> offered;
+    private final List<MediaType> mimeTypes;
+    private final int gzipLevel;
+    private final Encoder.Parameters brotliParameters;
+
+    public ResponseCompressor(CompressionProperties properties) {
+        this(properties, brotliAvailable());
+    }
+
+    ResponseCompressor(CompressionProperties properties, boolean brotliAvailable) {
+        List<Encoding> encodings = new ArrayList<>();
+        for (String token : properties.getEncodings()) {
+            Encoding encoding = Encoding.fromToken(token.trim());
+            if (encoding == Encoding.BROTLI && !brotliAvailable) {
+                log.info("Brotli native library not available, offering {} only", Encoding.GZIP.token());
+                continue;
+            }
+            encodings.add(encoding);
+        }
+        this.offered = List.copyOf(encodings);
+        this.mimeTypes = properties.getMimeTypes().stream().map(MediaType::parseMediaType).toList();
+        this.gzipLevel = properties.getGzipLevel();
+        this.brotliParameters = brotliAvailable
+                ? new Encoder.Parameters().setQuality(properties.getBrotliQuality()).setMode(Encoder.Mode.TEXT)
+                : null;
+    }
+
+    private static boolean brotliAvailable() {
+        try {
+            return Brotli4jLoader.isAvailable();
+        } catch (LinkageError e) {
+            return false;
+        }
+    }
+
+    /**
+     * Content codings offered, most preferred first.
+     */
+    public List<Encoding> offered() {
+        return offered;
+    }
+
+    /**
+     * Whether responses of this content type are worth compressing.
+     */
+    public boolean isCompressible(MediaType contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        for (MediaType mimeType : mimeTypes) {
+            if (mimeType.equalsTypeAndSubtype(contentType)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Picks the offered coding the client rates highest, preferring the gateway's order on ties.
+     *
+     * @param acceptEncoding the request's Accept-Encoding values joined by commas, or null
+     * @return the coding to use, or null when the client accepts none of them
+     */
+    public Encoding negotiate(String acceptEncoding) {
+        if (!StringUtils.hasText(acceptEncoding)) {
+            return null;
+        }
+        Encoding best = null;
+        double bestQuality = 0;
+        for (Encoding encoding : offered) {
+            double quality = quality(acceptEncoding, encoding.token());
+            if (quality > bestQuality) {
+                best = encoding;
+                bestQuality = quality;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Quality the client assigns to a coding: its own entry, else the wildcard's, else 0.
+     */
+    private static double quality(String acceptEncoding, String token) {
+        double wildcard = 0;
+        for (String entry : acceptEncoding.split(",")) {
+            String[] parts = entry.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            double quality = 1;
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim();
+                if (parameter.startsWith("q=")) {
+                    try {
+                        quality = Double.parseDouble(parameter.substring(2));
+                    } catch (NumberFormatException e) {
+                        quality = 0;
+                    }
+                }
+            }
+            if (coding.equals(token)) {
+                return quality;
+            }
+            if (coding.equals("*")) {
+                wildcard = quality;
+            }
+        }
+        return wildcard;
+    }
+
+    /**
+     * Compresses a complete response body.
+     */
+    public byte[] compress(Encoding encoding, byte[] body) {
+        try {
+            return switch (encoding) {
+                case BROTLI -> Encoder.compress(body, brotliParameters);
+                case GZIP -> gzip(body);
+            };
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, body.length / 4));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out, 8192) {
+            {
+                def.setLevel(gzipLevel);
+            }
+        }) {
+            gzip.write(body);
+        }
+        return out.toByteArray();
+    }
+}
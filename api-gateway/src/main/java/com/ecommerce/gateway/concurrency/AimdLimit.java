@@ -0,0 +1,23 @@
+package com.ecommerce.gateway.concurrency;
+
+/**
+ * Additive increase, multiplicative decrease.
+ * Grows by one while the limit is actually being used, backs off on every drop.
+ */
+final class AimdLimit implements LimitAlgorithm {
+
+    private final double backoffRatio;
+
+    AimdLimit(double backoffRatio) {
+        this.backoffRatio = backoffRatio;
+    }
+
+    @Override
+    public double update(double limit, long rttNanos, int inFlight, boolean dropped) {
+        if (dropped) {
+            return limit * backoffRatio;
+        }
+        // Only grow when at least half the limit is used, otherwise the limit drifts up unchecked
+        return inFlight * 2 >= limit ? limit + 1 : limit;
+    }
+}
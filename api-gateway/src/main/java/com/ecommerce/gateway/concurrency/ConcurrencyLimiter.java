@@ -0,0 +1,82 @@
+package com.ecommerce.gateway.concurrency;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Adaptive cap on the requests in flight to one route.
+ * Admission is a single atomic increment; the limit is recomputed by a {@link LimitAlgorithm}
+ * each time a request completes.
+ */
+public final class ConcurrencyLimiter {
+
+    private final LimitAlgorithm algorithm;
+    private final int minLimit;
+    private final int maxLimit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private double estimate;
+    private volatile int limit;
+
+    ConcurrencyLimiter(LimitAlgorithm algorithm, int initialLimit, int minLimit, int maxLimit) {
+        this.algorithm = algorithm;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.estimate = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.limit = (int) estimate;
+    }
+
+    /**
+     * Take a permit, or return null when the route is at its limit.
+     */
+    public Permit tryAcquire() {
+        int current = inFlight.incrementAndGet();
+        if (current > limit) {
+            inFlight.decrementAndGet();
+            return null;
+        }
+        return new Permit(current, System.nanoTime());
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private synchronized void sample(long rttNanos, int inFlightAtStart, boolean dropped) {
+        double next = algorithm.update(estimate, rttNanos, inFlightAtStart, dropped);
+        estimate = Math.max(minLimit, Math.min(maxLimit, next));
+        limit = (int) estimate;
+    }
+
+    /**
+     * One admitted request. Release exactly once, with {@link #release(boolean)} when the
+     * request completed or {@link #cancel()} when it was abandoned.
+     */
+    public final class Permit {
+
+        private final int inFlightAtStart;
+        private final long startNanos;
+
+        private Permit(int inFlightAtStart, long startNanos) {
+            this.inFlightAtStart = inFlightAtStart;
+            this.startNanos = startNanos;
+        }
+
+        /**
+         * Release the permit and feed the request's latency into the limit.
+         */
+        public void release(boolean dropped) {
+            inFlight.decrementAndGet();
+            sample(System.nanoTime() - startNanos, inFlightAtStart, dropped);
+        }
+
+        /**
+         * Release the permit without a sample, e.g. when the client went away.
+         */
+        public void cancel() {
+            inFlight.decrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.ecommerce.gateway.concurrency;
+
+import com.ecommerce.gateway.config.ConcurrencyLimitProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * One {@link ConcurrencyLimiter} per route ID, created on first use.
+ * Each route publishes its current limit and in-flight count as gauges, and admitted and
+ * rejected requests as counters.
+ */
+public class ConcurrencyLimiters {
+
+    static final String LIMIT_METRIC_NAME = "gateway.concurrency.limit";
+    static final String IN_FLIGHT_METRIC_NAME = "gateway.concurrency.in-flight";
+    static final String REQUESTS_METRIC_NAME = "gateway.concurrency.requests";
+
+    private final ConcurrencyLimitProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentHashMap<String, RouteLimiter> limiters = new ConcurrentHashMap<>();
+
+    public ConcurrencyLimiters(ConcurrencyLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Take a permit for the route, or return null and count the rejection when it is at its limit.
+     */
+    public ConcurrencyLimiter.Permit tryAcquire(String routeId) {
+        RouteLimiter route = limiters.computeIfAbsent(routeId, this::create);
+        ConcurrencyLimiter.Permit permit = route.limiter().tryAcquire();
+        (permit != null ? route.accepted() : route.rejected()).increment();
+        return permit;
+    }
+
+    /**
+     * The route's limiter, or null when no request has been routed to it yet.
+     */
+    public ConcurrencyLimiter get(String routeId) {
+        RouteLimiter route = limiters.get(routeId);
+        return route != null ? route.limiter() : null;
+    }
+
+    private RouteLimiter create(String routeId) {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(algorithm(),
+                properties.getInitialLimit(), properties.getMinLimit(), properties.getMaxLimit());
+        Gauge.builder(LIMIT_METRIC_NAME, limiter, ConcurrencyLimiter::getLimit)
+                .description("Current adaptive concurrency limit")
+                .tag("route", routeId)
+                .register(meterRegistry);
+        Gauge.builder(IN_FLIGHT_METRIC_NAME, limiter, ConcurrencyLimiter::getInFlight)
+                .description("Requests currently in flight")
+                .tag("route", routeId)
+                .register(meterRegistry);
+        return new RouteLimiter(limiter, counter(routeId, "accepted"), counter(routeId, "rejected"));
+    }
+
+    private LimitAlgorithm algorithm() {
+        return switch (properties.getAlgorithm()) {
+            case GRADIENT -> new GradientLimit(properties.getSmoothing(), properties.getRttTolerance(),
+                    properties.getLongWindow(), properties.getBackoffRatio());
+            case AIMD -> new AimdLimit(properties.getBackoffRatio());
+        };
+    }
+
+    private Counter counter(String routeId, String outcome) {
+        return Counter.builder(REQUESTS_METRIC_NAME)
+                .description("Requests admitted or shed by the concurrency limit")
+                .tag("route", routeId)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private record RouteLimiter(ConcurrencyLimiter limiter, Counter accepted, Counter rejected) {
+    }
+}
@@ -0,0 +1,46 @@
+package com.ecommerce.gateway.concurrency;
+
+/**
+ * Latency gradient limit.
+ * Compares each request's latency with a long-term average: while latency holds the limit
+ * grows by a small queue allowance, as latency rises (queueing downstream) it shrinks in
+ * proportion, never by more than half per sample. Drops back off like {@link AimdLimit}.
+ */
+final class GradientLimit implements LimitAlgorithm {
+
+    private final double smoothing;
+    private final double rttTolerance;
+    private final int longWindow;
+    private final double backoffRatio;
+    private double longRtt;
+    private int samples;
+
+    GradientLimit(double smoothing, double rttTolerance, int longWindow, double backoffRatio) {
+        this.smoothing = smoothing;
+        this.rttTolerance = rttTolerance;
+        this.longWindow = longWindow;
+        this.backoffRatio = backoffRatio;
+    }
+
+    @Override
+    public double update(double limit, long rttNanos, int inFlight, boolean dropped) {
+        if (dropped) {
+            return limit * backoffRatio;
+        }
+        double shortRtt = Math.max(rttNanos, 1);
+        // Plain mean until the window fills, exponential average afterwards
+        samples = Math.min(samples + 1, longWindow);
+        longRtt += (shortRtt - longRtt) / samples;
+        // Let the average recover quickly after a latency spike has passed
+        if (longRtt / shortRtt > 2) {
+            longRtt *= 0.95;
+        }
+        // A route that is not using its limit tells us nothing about how far it can go
+        if (inFlight < limit / 2) {
+            return limit;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, rttTolerance * longRtt / shortRtt));
+        double estimate = limit * gradient + Math.sqrt(limit);
+        return limit * (1 - smoothing) + estimate * smoothing;
+    }
+}
@@ -0,0 +1,17 @@
+package com.ecommerce.gateway.concurrency;
+
+/**
+ * Computes a route's next concurrency limit from one completed request.
+ * Implementations keep per-route state and are called under the owning limiter's lock.
+ */
+interface LimitAlgorithm {
+
+    /**
+     * @param limit    the current limit
+     * @param rttNanos how long the request took
+     * @param inFlight requests in flight when it started, itself included
+     * @param dropped  whether it timed out or the route reported overload
+     * @return the new limit, before clamping
+     */
+    double update(double limit, long rttNanos, int inFlight, boolean dropped);
+}
@@ -0,0 +1,21 @@
+package com.ecommerce.gateway.config;
+
+import com.ecommerce.gateway.accesslog.AsyncAccessLog;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Access log configuration for API Gateway.
+ * Requests are logged asynchronously so log I/O stays off the request path.
+ */
+@Configuration
+@EnableConfigurationProperties(AccessLogProperties.class)
+public class AccessLogConfig {
+
+    @Bean
+    public AsyncAccessLog asyncAccessLog(AccessLogProperties accessLogProperties, MeterRegistry meterRegistry) {
+        return new AsyncAccessLog(accessLogProperties, meterRegistry);
+    }
+}
@@ -0,0 +1,70 @@
+package com.ecommerce.gateway.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Gateway access log configuration.
+ * Can be configured via application.yml with prefix 'gateway.access-log'.
+ */
+@ConfigurationProperties(prefix = "gateway.access-log")
+public class AccessLogProperties {
+
+    /**
+     * Whether completed requests are written to the access log.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Fraction of successful requests written to the access log.
+     * Failed (status 4xx/5xx or error) and slow requests are always written.
+     * Default: 1.0
+     */
+    private double sampleRate = 1.0;
+
+    /**
+     * Requests taking at least this long are always written.
+     * Default: 1 second
+     */
+    private Duration slowThreshold = Duration.ofSeconds(1);
+
+    /**
+     * Number of records the buffer holds before new records are dropped.
+     * Rounded up to a power of two.
+     * Default: 8192
+     */
+    private int bufferSize = 8192;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public double getSampleRate() {
+        return sampleRate;
+    }
+
+    public void setSampleRate(double sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    public Duration getSlowThreshold() {
+        return slowThreshold;
+    }
+
+    public void setSlowThreshold(Duration slowThreshold) {
+        this.slowThreshold = slowThreshold;
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    public void setBufferSize(int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+}
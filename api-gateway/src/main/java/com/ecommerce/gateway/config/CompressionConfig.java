@@ -0,0 +1,20 @@
+package com.ecommerce.gateway.config;
+
+import com.ecommerce.gateway.compression.ResponseCompressor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Response compression configuration for API Gateway.
+ * Compresses text responses at the edge with gzip or Brotli, as negotiated with the client.
+ */
+@Configuration
+@EnableConfigurationProperties(CompressionProperties.class)
+public class CompressionConfig {
+
+    @Bean
+    public ResponseCompressor responseCompressor(CompressionProperties compressionProperties) {
+        return new ResponseCompressor(compressionProperties);
+    }
+}
@@ -0,0 +1,115 @@
+package com.ecommerce.gateway.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Response compression configuration.
+ * Can be configured via application.yml with prefix 'gateway.compression'.
+ */
+@ConfigurationProperties(prefix = "gateway.compression")
+public class CompressionProperties {
+
+    /**
+     * Whether the gateway compresses responses for clients that accept it.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Smaller responses are sent uncompressed.
+     * Default: 1KB
+     */
+    private DataSize minResponseSize = DataSize.ofKilobytes(1);
+
+    /**
+     * Larger responses are streamed uncompressed instead of buffered. Bodies of unknown length
+     * are buffered up to this size, then sent uncompressed.
+     * Default: 4MB
+     */
+    private DataSize maxResponseSize = DataSize.ofMegabytes(4);
+
+    /**
+     * Content types eligible for compression. Parameters such as charset are ignored.
+     */
+    private List<String> mimeTypes = new ArrayList<>(List.of(
+            "application/json", "application/problem+json", "application/xml",
+            "text/html", "text/plain", "text/css", "text/javascript", "application/javascript"));
+
+    /**
+     * Content codings the gateway offers, most preferred first: "br" and/or "gzip".
+     * Brotli is skipped when its native library is not available on this platform.
+     * Default: br, gzip
+     */
+    private List<String> encodings = new ArrayList<>(List.of("br", "gzip"));
+
+    /**
+     * Deflate level for gzip, from 1 (fastest) to 9 (smallest).
+     * Default: 6
+     */
+    private int gzipLevel = 6;
+
+    /**
+     * Brotli quality, from 0 (fastest) to 11 (smallest). Levels above 5 cost far more CPU for dynamic content.
+     * Default: 4
+     */
+    private int brotliQuality = 4;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public DataSize getMinResponseSize() {
+        return minResponseSize;
+    }
+
+    public void setMinResponseSize(DataSize minResponseSize) {
+        this.minResponseSize = minResponseSize;
+    }
+
+    public DataSize getMaxResponseSize() {
+        return maxResponseSize;
+    }
+
+    public void setMaxResponseSize(DataSize maxResponseSize) {
+        this.maxResponseSize = maxResponseSize;
+    }
+
+    public List<String> getMimeTypes() {
+        return mimeTypes;
+    }
+
+    public void setMimeTypes(List<String> mimeTypes) {
+        this.mimeTypes = mimeTypes;
+    }
+
+    public List<String> getEncodings() {
+        return encodings;
+    }
+
+    public void setEncodings(List<String> encodings) {
+        this.encodings = encodings;
+    }
+
+    public int getGzipLevel() {
+        return gzipLevel;
+    }
+
+    public void setGzipLevel(int gzipLevel) {
+        this.gzipLevel = gzipLevel;
+    }
+
+    public int getBrotliQuality() {
+        return brotliQuality;
+    }
+
+    public void setBrotliQuality(int brotliQuality) {
+        this.brotliQuality = brotliQuality;
+    }
+}
@@ -0,0 +1,22 @@
+package com.ecommerce.gateway.config;
+
+import com.ecommerce.gateway.concurrency.ConcurrencyLimiters;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Concurrency limit configuration for API Gateway.
+ * Caps in-flight requests per route with an adaptive limit.
+ */
+@Configuration
+@EnableConfigurationProperties(ConcurrencyLimitProperties.class)
+public class ConcurrencyLimitConfig {
+
+    @Bean
+    public ConcurrencyLimiters concurrencyLimiters(ConcurrencyLimitProperties concurrencyLimitProperties,
+                                                   MeterRegistry meterRegistry) {
+        return new ConcurrencyLimiters(concurrencyLimitProperties, meterRegistry);
+    }
+}
@@ -0,0 +1,147 @@
+package com.ecommerce.gateway.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Adaptive concurrency limit configuration.
+ * Can be configured via application.yml with prefix 'gateway.concurrency-limit'.
+ */
+@ConfigurationProperties(prefix = "gateway.concurrency-limit")
+public class ConcurrencyLimitProperties {
+
+    /**
+     * Whether in-flight requests per route are capped by an adaptive limit.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Algorithm adjusting each route's limit.
+     * Default: GRADIENT
+     */
+    private Algorithm algorithm = Algorithm.GRADIENT;
+
+    /**
+     * Limit each route starts with.
+     * Default: 20
+     */
+    private int initialLimit = 20;
+
+    /**
+     * Lowest limit a route can shrink to.
+     * Default: 5
+     */
+    private int minLimit = 5;
+
+    /**
+     * Highest limit a route can grow to.
+     * Default: 500
+     */
+    private int maxLimit = 500;
+
+    /**
+     * Weight of each new gradient estimate against the current limit, between 0 and 1.
+     * Default: 0.2
+     */
+    private double smoothing = 0.2;
+
+    /**
+     * How much slower than the long-term latency a route may get before its limit shrinks.
+     * Default: 1.5
+     */
+    private double rttTolerance = 1.5;
+
+    /**
+     * Number of samples the long-term latency average covers.
+     * Default: 600
+     */
+    private int longWindow = 600;
+
+    /**
+     * Factor applied to the limit when a request times out or the route answers 503/504.
+     * Default: 0.9
+     */
+    private double backoffRatio = 0.9;
+
+    public enum Algorithm {
+        /**
+         * Shrink as latency rises above its long-term average, grow while it holds.
+         */
+        GRADIENT,
+        /**
+         * Additive increase on success, multiplicative decrease on timeouts and 503/504.
+         */
+        AIMD
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Algorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    public void setAlgorithm(Algorithm algorithm) {
+        this.algorithm = algorithm;
+    }
+
+    public int getInitialLimit() {
+        return initialLimit;
+    }
+
+    public void setInitialLimit(int initialLimit) {
+        this.initialLimit = initialLimit;
+    }
+
+    public int getMinLimit() {
+        return minLimit;
+    }
+
+    public void setMinLimit(int minLimit) {
+        this.minLimit = minLimit;
+    }
+
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+
+    public void setMaxLimit(int maxLimit) {
+        this.maxLimit = maxLimit;
+    }
+
+    public double getSmoothing() {
+        return smoothing;
+    }
+
+    public void setSmoothing(double smoothing) {
+        this.smoothing = smoothing;
+    }
+
+    public double getRttTolerance() {
+        return rttTolerance;
+    }
+
+    public void setRttTolerance(double rttTolerance) {
+        this.rttTolerance = rttTolerance;
+    }
+
+    public int getLongWindow() {
+        return longWindow;
+    }
+
+    public void setLongWindow(int longWindow) {
+        this.longWindow = longWindow;
+    }
+
+    public double getBackoffRatio() {
+        return backoffRatio;
+    }
+
+    public void setBackoffRatio(double backoffRatio) {
+        this.backoffRatio = backoffRatio;
+    }
+}
@@ -0,0 +1,21 @@
+package com.ecommerce.gateway.config;
+
+import com.ecommerce.gateway.metrics.GatewayMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Metrics configuration for API Gateway.
+ * Publishes per-route latency and authentication outcome meters.
+ */
+@Configuration
+@EnableConfigurationProperties(GatewayMetricsProperties.class)
+public class GatewayMetricsConfig {
+
+    @Bean
+    public GatewayMetrics gatewayMetrics(MeterRegistry meterRegistry, GatewayMetricsProperties gatewayMetricsProperties) {
+        return new GatewayMetrics(meterRegistry, gatewayMetricsProperties.getSlo());
+    }
+}
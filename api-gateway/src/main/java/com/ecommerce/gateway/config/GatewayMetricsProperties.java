@@ -0,0 +1,38 @@
+package com.ecommerce.gateway.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Gateway metrics configuration.
+ * Can be configured via application.yml with prefix 'gateway.metrics'.
+ */
+@ConfigurationProperties(prefix = "gateway.metrics")
+public class GatewayMetricsProperties {
+
+    /**
+     * SLO histogram buckets for per-route request and downstream timers.
+     * Default: 10ms, 25ms, 50ms, 100ms, 250ms, 500ms, 1s, 2.5s, 5s
+     */
+    private List<Duration> slo = new ArrayList<>(List.of(
+            Duration.ofMillis(10),
+            Duration.ofMillis(25),
+            Duration.ofMillis(50),
+            Duration.ofMillis(100),
+            Duration.ofMillis(250),
+            Duration.ofMillis(500),
+            Duration.ofSeconds(1),
+            Duration.ofMillis(2500),
+            Duration.ofSeconds(5)));
+
+    public List<Duration> getSlo() {
+        return slo;
+    }
+
+    public void setSlo(List<Duration> slo) {
+        this.slo = slo;
+    }
+}
@@ -0,0 +1,127 @@
+package com.ecommerce.gateway.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Hedged request configuration for idempotent GET routes.
+ * Can be configured via application.yml with prefix 'gateway.hedging'.
+ */
+@ConfigurationProperties(prefix = "gateway.hedging")
+public class HedgingProperties {
+
+    /**
+     * Whether GETs on hedged routes send a second attempt when the first one is slow.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Latency percentile of the route after which the second attempt is sent.
+     * Default: 0.95
+     */
+    private double percentile = 0.95;
+
+    /**
+     * Samples a route needs before its percentile is trusted; until then initialDelay applies.
+     * Default: 100
+     */
+    private int minimumSamples = 100;
+
+    /**
+     * Hedge delay used until the route has enough samples.
+     * Default: 200ms
+     */
+    private Duration initialDelay = Duration.ofMillis(200);
+
+    /**
+     * Lower bound of the hedge delay, so a very fast route does not double its traffic.
+     * Default: 10ms
+     */
+    private Duration minimumDelay = Duration.ofMillis(10);
+
+    /**
+     * Upper bound of the hedge delay.
+     * Default: 1 second
+     */
+    private Duration maximumDelay = Duration.ofSeconds(1);
+
+    /**
+     * Second attempts allowed in flight per route; past this, slow requests are not hedged.
+     * Caps the extra load when the whole route, not one instance, is slow.
+     * Default: 20
+     */
+    private int maxConcurrentHedges = 20;
+
+    /**
+     * Attempts buffer at most this much of a response. An attempt receiving a larger one is
+     * written to the client as it arrives, and no further attempt is sent.
+     * Default: 1MB
+     */
+    private DataSize maximumBodySize = DataSize.ofMegabytes(1);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public double getPercentile() {
+        return percentile;
+    }
+
+    public void setPercentile(double percentile) {
+        this.percentile = percentile;
+    }
+
+    public int getMinimumSamples() {
+        return minimumSamples;
+    }
+
+    public void setMinimumSamples(int minimumSamples) {
+        this.minimumSamples = minimumSamples;
+    }
+
+    public Duration getInitialDelay() {
+        return initialDelay;
+    }
+
+    public void setInitialDelay(Duration initialDelay) {
+        this.initialDelay = initialDelay;
+    }
+
+    public Duration getMinimumDelay() {
+        return minimumDelay;
+    }
+
+    public void setMinimumDelay(Duration minimumDelay) {
+        this.minimumDelay = minimumDelay;
+    }
+
+    public Duration getMaximumDelay() {
+        return maximumDelay;
+    }
+
+    public void setMaximumDelay(Duration maximumDelay) {
+        this.maximumDelay = maximumDelay;
+    }
+
+    public int getMaxConcurrentHedges() {
+        return maxConcurrentHedges;
+    }
+
+    public void setMaxConcurrentHedges(int maxConcurrentHedges) {
+        this.maxConcurrentHedges = maxConcurrentHedges;
+    }
+
+    public DataSize getMaximumBodySize() {
+        return maximumBodySize;
+    }
+
+    public void setMaximumBodySize(DataSize maximumBodySize) {
+        this.maximumBodySize = maximumBodySize;
+    }
+}
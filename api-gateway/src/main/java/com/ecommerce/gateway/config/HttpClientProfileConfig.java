@@ -0,0 +1,46 @@
+package com.ecommerce.gateway.config;
+
+import com.ecommerce.gateway.filter.ProfiledNettyRoutingFilter;
+import com.ecommerce.gateway.httpclient.HttpClientProfiles;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.gateway.config.GatewayProperties;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.netty.http.client.HttpClient;
+
+import java.util.List;
+
+/**
+ * HTTP client configuration for gateway-to-service traffic.
+ * Gives each configured downstream service its own connection pool and protocol.
+ */
+@Configuration
+@EnableConfigurationProperties(HttpClientProfileProperties.class)
+public class HttpClientProfileConfig {
+
+    @Bean
+    public HttpClientProfiles httpClientProfiles(HttpClientProfileProperties httpClientProfileProperties) {
+        return new HttpClientProfiles(httpClientProfileProperties);
+    }
+
+    @Bean
+    public ProfiledNettyRoutingFilter profiledNettyRoutingFilter(HttpClient httpClient,
+                                                                 ObjectProvider<List<HttpHeadersFilter>> headersFilters,
+                                                                 HttpClientProperties httpClientProperties,
+                                                                 HttpClientProfiles httpClientProfiles) {
+        return new ProfiledNettyRoutingFilter(httpClient, headersFilters, httpClientProperties, httpClientProfiles);
+    }
+
+    /**
+     * Writes the downstream response body back to the client.
+     * Spring Cloud Gateway only registers it together with its own routing filter, which is disabled here.
+     */
+    @Bean
+    public NettyWriteResponseFilter nettyWriteResponseFilter(GatewayProperties gatewayProperties) {
+        return new NettyWriteResponseFilter(gatewayProperties.getStreamingMediaTypes());
+    }
+}
@@ -0,0 +1,169 @@
+package com.ecommerce.gateway.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Per-downstream HTTP client configuration for gateway-to-service traffic.
+ * Can be configured via application.yml with prefix 'gateway.http-client'.
+ * Profiles are keyed by service ID (the host of the route's lb:// URI); services without a
+ * profile use the shared client configured by 'spring.cloud.gateway.httpclient'.
+ */
+@ConfigurationProperties(prefix = "gateway.http-client")
+public class HttpClientProfileProperties {
+
+    /**
+     * Client profile per service ID.
+     */
+    private Map<String, Profile> profiles = new LinkedHashMap<>();
+
+    public Map<String, Profile> getProfiles() {
+        return profiles;
+    }
+
+    public void setProfiles(Map<String, Profile> profiles) {
+        this.profiles = profiles;
+    }
+
+    public enum Protocol {
+        /**
+         * HTTP/1.1, one request per connection at a time.
+         */
+        HTTP11,
+        /**
+         * Cleartext HTTP/2 with prior knowledge, many streams multiplexed per connection.
+         */
+        H2C
+    }
+
+    public static class Profile {
+
+        /**
+         * Protocol spoken to the service.
+         * Default: HTTP11
+         */
+        private Protocol protocol = Protocol.HTTP11;
+
+        /**
+         * Maximum connections per service instance.
+         * Default: 100
+         */
+        private int maxConnections = 100;
+
+        /**
+         * Idle connections are closed after this; keep it below the service's keep-alive timeout.
+         * Default: 15 seconds
+         */
+        private Duration maxIdleTime = Duration.ofSeconds(15);
+
+        /**
+         * Connections are retired after this, so traffic rebalances onto new instances.
+         * Default: 5 minutes
+         */
+        private Duration maxLifeTime = Duration.ofMinutes(5);
+
+        /**
+         * Requests allowed to wait for a connection once the pool is exhausted.
+         * Default: 500
+         */
+        private int pendingAcquireMaxCount = 500;
+
+        /**
+         * How long a request waits for a connection before failing.
+         * Default: 1 second
+         */
+        private Duration pendingAcquireTimeout = Duration.ofSeconds(1);
+
+        /**
+         * Interval of the background sweep closing idle and expired connections.
+         * Default: 30 seconds
+         */
+        private Duration evictionInterval = Duration.ofSeconds(30);
+
+        /**
+         * TCP connect timeout.
+         * Default: 2 seconds
+         */
+        private Duration connectTimeout = Duration.ofSeconds(2);
+
+        /**
+         * Whether to use the native epoll transport when available (Linux).
+         */
+        private boolean nativeTransport = true;
+
+        public Protocol getProtocol() {
+            return protocol;
+        }
+
+        public void setProtocol(Protocol protocol) {
+            this.protocol = protocol;
+        }
+
+        public int getMaxConnections() {
+            return maxConnections;
+        }
+
+        public void setMaxConnections(int maxConnections) {
+            this.maxConnections = maxConnections;
+        }
+
+        public Duration getMaxIdleTime() {
+            return maxIdleTime;
+        }
+
+        public void setMaxIdleTime(Duration maxIdleTime) {
+            this.maxIdleTime = maxIdleTime;
+        }
+
+        public Duration getMaxLifeTime() {
+            return maxLifeTime;
+        }
+
+        public void setMaxLifeTime(Duration maxLifeTime) {
+            this.maxLifeTime = maxLifeTime;
+        }
+
+        public int getPendingAcquireMaxCount() {
+            return pendingAcquireMaxCount;
+        }
+
+        public void setPendingAcquireMaxCount(int pendingAcquireMaxCount) {
+            this.pendingAcquireMaxCount = pendingAcquireMaxCount;
+        }
+
+        public Duration getPendingAcquireTimeout() {
+            return pendingAcquireTimeout;
+        }
+
+        public void setPendingAcquireTimeout(Duration pendingAcquireTimeout) {
+            this.pendingAcquireTimeout = pendingAcquireTimeout;
+        }
+
+        public Duration getEvictionInterval() {
+            return evictionInterval;
+        }
+
+        public void setEvictionInterval(Duration evictionInterval) {
+            this.evictionInterval = evictionInterval;
+        }
+
+        public Duration getConnectTimeout() {
+            return connectTimeout;
+        }
+
+        public void setConnectTimeout(Duration connectTimeout) {
+            this.connectTimeout = connectTimeout;
+        }
+
+        public boolean isNativeTransport() {
+            return nativeTransport;
+        }
+
+        public void setNativeTransport(boolean nativeTransport) {
+            this.nativeTransport = nativeTransport;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.ecommerce.gateway.config;
+
+import com.ecommerce.gateway.loadbalancer.InstanceLatencyStats;
+import com.ecommerce.gateway.loadbalancer.PeakEwmaLoadBalancerConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Load balancer configuration for API Gateway.
+ * Replaces round robin with a latency-aware balancer for all lb:// routes.
+ */
+@Configuration
+@EnableConfigurationProperties(LoadBalancerProperties.class)
+@LoadBalancerClients(defaultConfiguration = PeakEwmaLoadBalancerConfiguration.class)
+public class LoadBalancerConfig {
+
+    @Bean
+    public InstanceLatencyStats instanceLatencyStats(LoadBalancerProperties loadBalancerProperties) {
+        return new InstanceLatencyStats(loadBalancerProperties);
+    }
+}
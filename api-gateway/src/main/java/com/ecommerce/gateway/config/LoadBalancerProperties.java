@@ -0,0 +1,69 @@
+package com.ecommerce.gateway.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Latency-aware load balancer configuration for lb:// routes.
+ * Can be configured via application.yml with prefix 'gateway.load-balancer'.
+ */
+@ConfigurationProperties(prefix = "gateway.load-balancer")
+public class LoadBalancerProperties {
+
+    /**
+     * Whether lb:// routes pick the cheaper of two random instances by peak EWMA latency
+     * and in-flight requests. When disabled, the default round-robin balancer is used.
+     */
+    private boolean latencyAware = true;
+
+    /**
+     * How quickly old latency samples lose weight; also how long an idle instance takes to look fast again.
+     * Default: 10 seconds
+     */
+    private Duration decayTime = Duration.ofSeconds(10);
+
+    /**
+     * Latency recorded for a failed call, so instances refusing connections do not look fast.
+     * Default: 1 second
+     */
+    private Duration failurePenalty = Duration.ofSeconds(1);
+
+    /**
+     * How long statistics of an instance no longer called are kept.
+     * Default: 10 minutes
+     */
+    private Duration statsExpiry = Duration.ofMinutes(10);
+
+    public boolean isLatencyAware() {
+        return latencyAware;
+    }
+
+    public void setLatencyAware(boolean latencyAware) {
+        this.latencyAware = latencyAware;
+    }
+
+    public Duration getDecayTime() {
+        return decayTime;
+    }
+
+    public void setDecayTime(Duration decayTime) {
+        this.decayTime = decayTime;
+    }
+
+    public Duration getFailurePenalty() {
+        return failurePenalty;
+    }
+
+    public void setFailurePenalty(Duration failurePenalty) {
+        this.failurePenalty = failurePenalty;
+    }
+
+    public Duration getStatsExpiry() {
+        return statsExpiry;
+    }
+
+    public void setStatsExpiry(Duration statsExpiry) {
+        this.statsExpiry = statsExpiry;
+    }
+}
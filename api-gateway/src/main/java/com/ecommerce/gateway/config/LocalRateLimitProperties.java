@@ -0,0 +1,70 @@
+package com.ecommerce.gateway.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Local (in-process) rate limit tier configuration.
+ * Can be configured via application.yml with prefix 'gateway.rate-limit.local'.
+ */
+@ConfigurationProperties(prefix = "gateway.rate-limit.local")
+public class LocalRateLimitProperties {
+
+    /**
+     * Whether requests may be admitted from locally leased tokens.
+     * When disabled every request is checked against Redis.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Fraction of a limiter's burst capacity leased from Redis in one round trip.
+     * Bounds the per-replica overshoot for a key to one lease.
+     * Default: 0.2
+     */
+    private double leaseRatio = 0.2;
+
+    /**
+     * How long leased tokens stay usable before they are discarded.
+     * Default: 1 second
+     */
+    private Duration leaseTtl = Duration.ofSeconds(1);
+
+    /**
+     * Maximum number of client keys tracked locally.
+     * Default: 100000
+     */
+    private long maximumKeys = 100_000;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public double getLeaseRatio() {
+        return leaseRatio;
+    }
+
+    public void setLeaseRatio(double leaseRatio) {
+        this.leaseRatio = leaseRatio;
+    }
+
+    public Duration getLeaseTtl() {
+        return leaseTtl;
+    }
+
+    public void setLeaseTtl(Duration leaseTtl) {
+        this.leaseTtl = leaseTtl;
+    }
+
+    public long getMaximumKeys() {
+        return maximumKeys;
+    }
+
+    public void setMaximumKeys(long maximumKeys) {
+        this.maximumKeys = maximumKeys;
+    }
+}
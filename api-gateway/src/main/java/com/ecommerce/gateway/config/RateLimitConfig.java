@@ -1,16 +1,31 @@
 package com.ecommerce.gateway.config;
 
+import com.ecommerce.gateway.ratelimit.LocalTokenBucketRateLimiter;
+import com.ecommerce.gateway.ratelimit.RateLimitKeys;
+import com.ecommerce.gateway.ratelimit.RateLimitPolicyTable;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.gateway.filter.ratelimit.KeyResolver;
+import org.springframework.cloud.gateway.filter.ratelimit.RateLimiter;
 import org.springframework.cloud.gateway.filter.ratelimit.RedisRateLimiter;
+import org.springframework.cloud.gateway.support.ConfigurationService;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+import java.util.Map;
+
 /**
  * Rate limiting configuration for API Gateway.
  * Uses Redis for distributed rate limiting.
+ * Which limiter and key resolver apply to a route is set by {@link RateLimitPolicyProperties}.
  */
 @Configuration
+@EnableConfigurationProperties({LocalRateLimitProperties.class, RateLimitPolicyProperties.class})
 public class RateLimitConfig {
 
     /**
@@ -19,27 +34,80 @@ public class RateLimitConfig {
      * burstCapacity: Maximum burst capacity
      */
     @Bean
-    public RedisRateLimiter defaultRateLimiter() {
+    @Primary
+    public LocalTokenBucketRateLimiter defaultRateLimiter(
+            ReactiveStringRedisTemplate redisTemplate,
+            RedisScript<List<Long>> redisRequestRateLimiterScript,
+            ConfigurationService configurationService,
+            LocalRateLimitProperties localRateLimitProperties) {
         // 10 requests per second, burst up to 20
-        return new RedisRateLimiter(10, 20, 1);
+        return rateLimiter(10, 20, redisTemplate, redisRequestRateLimiterScript,
+                configurationService, localRateLimitProperties);
     }
 
     /**
      * Strict rate limiter for sensitive endpoints like login.
      */
     @Bean
-    public RedisRateLimiter strictRateLimiter() {
+    public LocalTokenBucketRateLimiter strictRateLimiter(
+            ReactiveStringRedisTemplate redisTemplate,
+            RedisScript<List<Long>> redisRequestRateLimiterScript,
+            ConfigurationService configurationService,
+            LocalRateLimitProperties localRateLimitProperties) {
         // 5 requests per second, burst up to 10
-        return new RedisRateLimiter(5, 10, 1);
+        return rateLimiter(5, 10, redisTemplate, redisRequestRateLimiterScript,
+                configurationService, localRateLimitProperties);
     }
 
     /**
      * Relaxed rate limiter for public read endpoints.
      */
     @Bean
-    public RedisRateLimiter relaxedRateLimiter() {
+    public LocalTokenBucketRateLimiter relaxedRateLimiter(
+            ReactiveStringRedisTemplate redisTemplate,
+            RedisScript<List<Long>> redisRequestRateLimiterScript,
+            ConfigurationService configurationService,
+            LocalRateLimitProperties localRateLimitProperties) {
         // 50 requests per second, burst up to 100
-        return new RedisRateLimiter(50, 100, 1);
+        return rateLimiter(50, 100, redisTemplate, redisRequestRateLimiterScript,
+                configurationService, localRateLimitProperties);
+    }
+
+    /**
+     * Policy table mapping route ID and HTTP method to one of the limiters above.
+     */
+    @Bean
+    public RateLimitPolicyTable rateLimitPolicyTable(
+            RateLimitPolicyProperties rateLimitPolicyProperties,
+            Map<String, RateLimiter<?>> rateLimiters,
+            Map<String, KeyResolver> keyResolvers,
+            MeterRegistry meterRegistry) {
+        return new RateLimitPolicyTable(rateLimitPolicyProperties, rateLimiters, keyResolvers, meterRegistry);
+    }
+
+    /**
+     * Token-leasing limiter over the shared Redis bucket with a fixed default limit.
+     */
+    private static LocalTokenBucketRateLimiter rateLimiter(
+            int replenishRate, int burstCapacity,
+            ReactiveStringRedisTemplate redisTemplate,
+            RedisScript<List<Long>> redisRequestRateLimiterScript,
+            ConfigurationService configurationService,
+            LocalRateLimitProperties localRateLimitProperties) {
+        RedisRateLimiter.Config defaultConfig = new RedisRateLimiter.Config()
+                .setReplenishRate(replenishRate)
+                .setBurstCapacity(burstCapacity)
+                .setRequestedTokens(1);
+        return new LocalTokenBucketRateLimiter(redisTemplate, redisRequestRateLimiterScript,
+                configurationService, defaultConfig, localRateLimitProperties);
+    }
+
+    /**
+     * Cached, bounded-cardinality key building shared by the key resolvers below.
+     */
+    @Bean
+    public RateLimitKeys rateLimitKeys(RateLimitPolicyProperties rateLimitPolicyProperties) {
+        return new RateLimitKeys(rateLimitPolicyProperties.getKeys());
     }
 
     /**
@@ -47,13 +115,8 @@ public class RateLimitConfig {
      * Used when user is not authenticated.
      */
     @Bean
-    public KeyResolver ipKeyResolver() {
-        return exchange -> {
-            String ip = exchange.getRequest().getRemoteAddress() != null
-                    ? exchange.getRequest().getRemoteAddress().getAddress().getHostAddress()
-                    : "unknown";
-            return Mono.just(ip);
-        };
+    public KeyResolver ipKeyResolver(RateLimitKeys rateLimitKeys) {
+        return exchange -> Mono.just(rateLimitKeys.ip(exchange));
     }
 
     /**
@@ -61,40 +124,17 @@ public class RateLimitConfig {
      * Falls back to IP if not authenticated.
      */
     @Bean
-    public KeyResolver userKeyResolver() {
-        return exchange -> {
-            String userId = exchange.getRequest().getHeaders().getFirst("X-User-Id");
-            if (userId != null) {
-                return Mono.just("user:" + userId);
-            }
-            // Fallback to IP
-            String ip = exchange.getRequest().getRemoteAddress() != null
-                    ? exchange.getRequest().getRemoteAddress().getAddress().getHostAddress()
-                    : "unknown";
-            return Mono.just("ip:" + ip);
-        };
+    @Primary
+    public KeyResolver userKeyResolver(RateLimitKeys rateLimitKeys) {
+        return exchange -> Mono.just(rateLimitKeys.userOrIp(exchange));
     }
 
     /**
-     * Key resolver combining API path and user/IP.
+     * Key resolver combining API path template and user/IP.
      * Provides more granular rate limiting per endpoint.
      */
     @Bean
-    public KeyResolver pathUserKeyResolver() {
-        return exchange -> {
-            String path = exchange.getRequest().getPath().value();
-            String userId = exchange.getRequest().getHeaders().getFirst("X-User-Id");
-
-            String key;
-            if (userId != null) {
-                key = "user:" + userId + ":" + path;
-            } else {
-                String ip = exchange.getRequest().getRemoteAddress() != null
-                        ? exchange.getRequest().getRemoteAddress().getAddress().getHostAddress()
-                        : "unknown";
-                key = "ip:" + ip + ":" + path;
-            }
-            return Mono.just(key);
-        };
+    public KeyResolver pathUserKeyResolver(RateLimitKeys rateLimitKeys) {
+        return exchange -> Mono.just(rateLimitKeys.userOrIpAndPath(exchange));
     }
 }
@@ -0,0 +1,189 @@
+package com.ecommerce.gateway.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rate limit policy table: which limiter and key resolver applies to a route and HTTP method.
+ * Can be configured via application.yml with prefix 'gateway.rate-limit'.
+ * Rebound on environment refresh, so policies can change without a restart: edit the overrides file
+ * imported by application.yml and POST /actuator/refresh as an ADMIN.
+ */
+@ConfigurationProperties(prefix = "gateway.rate-limit")
+public class RateLimitPolicyProperties {
+
+    /**
+     * Limiter bean used for routes without a matching policy.
+     */
+    private String defaultLimiter = "defaultRateLimiter";
+
+    /**
+     * Key resolver bean used when a policy does not name one.
+     */
+    private String defaultKeyResolver = "userKeyResolver";
+
+    /**
+     * Policies, matched by route ID and optionally HTTP method.
+     * A policy with a method wins over one for the whole route.
+     */
+    private List<Policy> policies = new ArrayList<>();
+
+    /**
+     * Bounds for the rate limit key caches.
+     */
+    private Keys keys = new Keys();
+
+    public String getDefaultLimiter() {
+        return defaultLimiter;
+    }
+
+    public void setDefaultLimiter(String defaultLimiter) {
+        this.defaultLimiter = defaultLimiter;
+    }
+
+    public String getDefaultKeyResolver() {
+        return defaultKeyResolver;
+    }
+
+    public void setDefaultKeyResolver(String defaultKeyResolver) {
+        this.defaultKeyResolver = defaultKeyResolver;
+    }
+
+    public List<Policy> getPolicies() {
+        return policies;
+    }
+
+    public void setPolicies(List<Policy> policies) {
+        this.policies = policies;
+    }
+
+    public Keys getKeys() {
+        return keys;
+    }
+
+    public void setKeys(Keys keys) {
+        this.keys = keys;
+    }
+
+    /**
+     * Rate limit key caches, so resolving a key does not build new strings per request.
+     */
+    public static class Keys {
+
+        /**
+         * Maximum number of client addresses with a cached key.
+         * Default: 100000
+         */
+        private long maximumAddresses = 100_000;
+
+        /**
+         * Maximum number of user IDs with a cached key.
+         * Default: 100000
+         */
+        private long maximumUsers = 100_000;
+
+        /**
+         * Maximum number of request paths with a cached template.
+         * Default: 10000
+         */
+        private long maximumPaths = 10_000;
+
+        /**
+         * Maximum number of distinct path templates; further paths share a catch-all template.
+         * Default: 1024
+         */
+        private int maximumPathTemplates = 1024;
+
+        public long getMaximumAddresses() {
+            return maximumAddresses;
+        }
+
+        public void setMaximumAddresses(long maximumAddresses) {
+            this.maximumAddresses = maximumAddresses;
+        }
+
+        public long getMaximumUsers() {
+            return maximumUsers;
+        }
+
+        public void setMaximumUsers(long maximumUsers) {
+            this.maximumUsers = maximumUsers;
+        }
+
+        public long getMaximumPaths() {
+            return maximumPaths;
+        }
+
+        public void setMaximumPaths(long maximumPaths) {
+            this.maximumPaths = maximumPaths;
+        }
+
+        public int getMaximumPathTemplates() {
+            return maximumPathTemplates;
+        }
+
+        public void setMaximumPathTemplates(int maximumPathTemplates) {
+            this.maximumPathTemplates = maximumPathTemplates;
+        }
+    }
+
+    /**
+     * A single rate limit policy.
+     */
+    public static class Policy {
+
+        /**
+         * Gateway route ID, e.g. 'customer-service-auth'.
+         */
+        private String routeId;
+
+        /**
+         * HTTP method, or empty for all methods.
+         */
+        private String method;
+
+        /**
+         * Limiter bean name, e.g. 'strictRateLimiter'.
+         */
+        private String limiter;
+
+        /**
+         * Key resolver bean name; defaults to {@code defaultKeyResolver}.
+         */
+        private String keyResolver;
+
+        public String getRouteId() {
+            return routeId;
+        }
+
+        public void setRouteId(String routeId) {
+            this.routeId = routeId;
+        }
+
+        public String getMethod() {
+            return method;
+        }
+
+        public void setMethod(String method) {
+            this.method = method;
+        }
+
+        public String getLimiter() {
+            return limiter;
+        }
+
+        public void setLimiter(String limiter) {
+            this.limiter = limiter;
+        }
+
+        public String getKeyResolver() {
+            return keyResolver;
+        }
+
+        public void setKeyResolver(String keyResolver) {
+            this.keyResolver = keyResolver;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.ecommerce.gateway.config;
+
+import com.ecommerce.gateway.cache.ResponseCache;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+
+/**
+ * Response cache configuration for API Gateway.
+ * Caches public catalog GETs in memory, optionally backed by Redis.
+ */
+@Configuration
+@EnableConfigurationProperties(ResponseCacheProperties.class)
+public class ResponseCacheConfig {
+
+    @Bean
+    public ResponseCache responseCache(ResponseCacheProperties responseCacheProperties,
+                                       ObjectProvider<ReactiveStringRedisTemplate> redisTemplate) {
+        return new ResponseCache(responseCacheProperties, redisTemplate.getIfAvailable());
+    }
+}
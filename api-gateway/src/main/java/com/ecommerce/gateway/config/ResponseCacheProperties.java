@@ -0,0 +1,130 @@
+package com.ecommerce.gateway.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Gateway response cache configuration.
+ * Can be configured via application.yml with prefix 'gateway.response-cache'.
+ */
+@ConfigurationProperties(prefix = "gateway.response-cache")
+public class ResponseCacheProperties {
+
+    /**
+     * Whether GET responses of the configured routes are cached.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Time to live of cached responses, by route ID. Routes not listed are never cached.
+     */
+    private Map<String, Duration> routes = new LinkedHashMap<>();
+
+    /**
+     * Total size of response bodies held in memory.
+     * Default: 64MB
+     */
+    private DataSize maximumSize = DataSize.ofMegabytes(64);
+
+    /**
+     * Larger responses are passed through without caching.
+     * Default: 512KB
+     */
+    private DataSize maximumEntrySize = DataSize.ofKilobytes(512);
+
+    /**
+     * How long a request waits for an identical in-flight miss before going downstream itself.
+     * Default: 3 seconds
+     */
+    private Duration coalesceTimeout = Duration.ofSeconds(3);
+
+    /**
+     * Shared Redis tier behind the in-memory tier.
+     */
+    private Redis redis = new Redis();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Map<String, Duration> getRoutes() {
+        return routes;
+    }
+
+    public void setRoutes(Map<String, Duration> routes) {
+        this.routes = routes;
+    }
+
+    public DataSize getMaximumSize() {
+        return maximumSize;
+    }
+
+    public void setMaximumSize(DataSize maximumSize) {
+        this.maximumSize = maximumSize;
+    }
+
+    public DataSize getMaximumEntrySize() {
+        return maximumEntrySize;
+    }
+
+    public void setMaximumEntrySize(DataSize maximumEntrySize) {
+        this.maximumEntrySize = maximumEntrySize;
+    }
+
+    public Duration getCoalesceTimeout() {
+        return coalesceTimeout;
+    }
+
+    public void setCoalesceTimeout(Duration coalesceTimeout) {
+        this.coalesceTimeout = coalesceTimeout;
+    }
+
+    public Redis getRedis() {
+        return redis;
+    }
+
+    public void setRedis(Redis redis) {
+        this.redis = redis;
+    }
+
+    /**
+     * Redis tier, shared by all gateway instances.
+     */
+    public static class Redis {
+
+        /**
+         * Whether cached responses are also stored in Redis.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Prefix for Redis keys.
+         * Default: gateway:response-cache:
+         */
+        private String keyPrefix = "gateway:response-cache:";
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getKeyPrefix() {
+            return keyPrefix;
+        }
+
+        public void setKeyPrefix(String keyPrefix) {
+            this.keyPrefix = keyPrefix;
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package com.ecommerce.gateway.config;
 
+import com.ecommerce.gateway.filter.HedgingGatewayFilter;
+import com.ecommerce.gateway.filter.SingleFlightGatewayFilter;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.gateway.route.RouteLocator;
 import org.springframework.cloud.gateway.route.builder.RouteLocatorBuilder;
 import org.springframework.context.annotation.Bean;
@@ -10,10 +13,13 @@ import org.springframework.context.annotation.Configuration;
  * Defines routing rules to downstream microservices.
  */
 @Configuration
+@EnableConfigurationProperties({SingleFlightProperties.class, HedgingProperties.class})
 public class RouteConfig {
 
     @Bean
-    public RouteLocator customRouteLocator(RouteLocatorBuilder builder) {
+    public RouteLocator customRouteLocator(RouteLocatorBuilder builder,
+                                           SingleFlightGatewayFilter singleFlight,
+                                           HedgingGatewayFilter hedging) {
         return builder.routes()
                 // Customer Service Routes
                 .route("customer-service-auth", r -> r
@@ -41,6 +47,11 @@ public class RouteConfig {
                         .path("/api/v1/products/**", "/api/v1/categories/**")
                         .filters(f -> f
                                 .stripPrefix(1)
+                                // Merge identical concurrent catalog GETs (flash sales) while the
+                                // response cache, which coalesces its own misses, is off for this route
+                                .filter(singleFlight)
+                                // Re-send catalog GETs stuck on a slow instance
+                                .filter(hedging)
                                 .circuitBreaker(config -> config
                                         .setName("product-service-cb")
                                         .setFallbackUri("forward:/fallback/service-unavailable"))
@@ -1,6 +1,9 @@
 package com.ecommerce.gateway.config;
 
 import com.ecommerce.gateway.filter.JwtAuthenticationWebFilter;
+import com.ecommerce.gateway.routing.AccessRule;
+import com.ecommerce.gateway.routing.IndexedAuthorizationManager;
+import com.ecommerce.gateway.routing.RequestIndex;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -24,6 +27,40 @@ import java.util.List;
 @EnableWebFluxSecurity
 public class SecurityConfig {
 
+    /**
+     * Authorization rules, first match wins. Requests matching none of them must be authenticated.
+     * Compiled into the {@link RequestIndex} together with the routes.
+     */
+    static final List<AccessRule> ACCESS_RULES = List.of(
+            // Public endpoints - no authentication required
+            AccessRule.permitAll("/api/auth/**"),
+            AccessRule.permitAll(HttpMethod.GET, "/api/v1/products/**"),
+            AccessRule.permitAll(HttpMethod.GET, "/api/v1/categories/**"),
+
+            // Actuator endpoints
+            AccessRule.permitAll("/actuator/health/**"),
+            AccessRule.permitAll("/actuator/info"),
+            AccessRule.permitAll("/actuator/prometheus"),
+            AccessRule.hasRole("/actuator/refresh", "ADMIN"),
+
+            // Swagger/OpenAPI endpoints
+            AccessRule.permitAll("/swagger-ui/**"),
+            AccessRule.permitAll("/v3/api-docs/**"),
+            AccessRule.permitAll("/webjars/**"),
+
+            // Admin endpoints - require ADMIN role
+            AccessRule.hasRole("/api/admin/**", "ADMIN"),
+
+            // Internal service endpoints - require SERVICE role
+            AccessRule.hasRole("/internal/**", "SERVICE"),
+
+            // Authenticated endpoints
+            AccessRule.authenticated("/api/v1/cart/**"),
+            AccessRule.authenticated("/api/v1/orders/**"),
+            AccessRule.authenticated("/api/v1/customers/me/**"),
+            AccessRule.authenticated("/api/v1/payments/**")
+    );
+
     private final JwtAuthenticationWebFilter jwtAuthenticationWebFilter;
 
     public SecurityConfig(JwtAuthenticationWebFilter jwtAuthenticationWebFilter) {
@@ -31,7 +68,7 @@ public class SecurityConfig {
     }
 
     @Bean
-    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http) {
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http, RequestIndex requestIndex) {
         return http
                 // Disable CSRF for stateless API
                 .csrf(ServerHttpSecurity.CsrfSpec::disable)
@@ -42,37 +79,9 @@ public class SecurityConfig {
                 // Stateless session
                 .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
 
-                // Authorization rules
+                // Authorization rules, looked up through the request index
                 .authorizeExchange(exchanges -> exchanges
-                        // Public endpoints - no authentication required
-                        .pathMatchers("/api/auth/**").permitAll()
-                        .pathMatchers(HttpMethod.GET, "/api/v1/products/**").permitAll()
-                        .pathMatchers(HttpMethod.GET, "/api/v1/categories/**").permitAll()
-
-                        // Actuator endpoints
-                        .pathMatchers("/actuator/health/**").permitAll()
-                        .pathMatchers("/actuator/info").permitAll()
-                        .pathMatchers("/actuator/prometheus").permitAll()
-
-                        // Swagger/OpenAPI endpoints
-                        .pathMatchers("/swagger-ui/**").permitAll()
-                        .pathMatchers("/v3/api-docs/**").permitAll()
-                        .pathMatchers("/webjars/**").permitAll()
-
-                        // Admin endpoints - require ADMIN role
-                        .pathMatchers("/api/admin/**").hasRole("ADMIN")
-
-                        // Internal service endpoints - require SERVICE role
-                        .pathMatchers("/internal/**").hasRole("SERVICE")
-
-                        // Authenticated endpoints
-                        .pathMatchers("/api/v1/cart/**").authenticated()
-                        .pathMatchers("/api/v1/orders/**").authenticated()
-                        .pathMatchers("/api/v1/customers/me/**").authenticated()
-                        .pathMatchers("/api/v1/payments/**").authenticated()
-
-                        // All other requests require authentication
-                        .anyExchange().authenticated()
+                        .anyExchange().access(new IndexedAuthorizationManager(requestIndex))
                 )
 
                 // Add JWT filter
@@ -0,0 +1,55 @@
+package com.ecommerce.gateway.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Single-flight (request coalescing) configuration.
+ * Can be configured via application.yml with prefix 'gateway.single-flight'.
+ */
+@ConfigurationProperties(prefix = "gateway.single-flight")
+public class SingleFlightProperties {
+
+    /**
+     * Whether identical concurrent GETs on single-flight routes share one downstream call.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Responses larger than this are not shared; waiting requests then go downstream themselves.
+     * Default: 1MB
+     */
+    private DataSize maximumBodySize = DataSize.ofMegabytes(1);
+
+    /**
+     * How long a merged request waits for the shared response before going downstream itself.
+     * Default: 3 seconds
+     */
+    private Duration waitTimeout = Duration.ofSeconds(3);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public DataSize getMaximumBodySize() {
+        return maximumBodySize;
+    }
+
+    public void setMaximumBodySize(DataSize maximumBodySize) {
+        this.maximumBodySize = maximumBodySize;
+    }
+
+    public Duration getWaitTimeout() {
+        return waitTimeout;
+    }
+
+    public void setWaitTimeout(Duration waitTimeout) {
+        this.waitTimeout = waitTimeout;
+    }
+}
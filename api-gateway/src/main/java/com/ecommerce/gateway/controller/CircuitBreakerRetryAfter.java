@@ -0,0 +1,52 @@
+package com.ecommerce.gateway.controller;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks when each open circuit breaker will let calls through again.
+ * Resilience4j does not expose the remaining open-state time, so it is derived from the
+ * breaker's state transitions and its configured wait duration.
+ */
+class CircuitBreakerRetryAfter {
+
+    private final CircuitBreakerRegistry registry;
+    private final Map<String, Long> openUntilMillis = new ConcurrentHashMap<>();
+
+    CircuitBreakerRetryAfter(CircuitBreakerRegistry registry) {
+        this.registry = registry;
+        registry.getAllCircuitBreakers().forEach(this::track);
+        registry.getEventPublisher().onEntryAdded(event -> track(event.getAddedEntry()));
+    }
+
+    /**
+     * Seconds until the named breaker half-opens, or -1 when it is not open.
+     */
+    long seconds(String circuitBreakerName) {
+        CircuitBreaker circuitBreaker = registry.find(circuitBreakerName).orElse(null);
+        if (circuitBreaker == null || circuitBreaker.getState() != CircuitBreaker.State.OPEN) {
+            return -1;
+        }
+        Long until = openUntilMillis.get(circuitBreakerName);
+        // Opened before it was tracked: assume the full wait is still ahead
+        long remaining = until != null ? until - System.currentTimeMillis() : waitMillis(circuitBreaker);
+        return Math.max(1, (remaining + 999) / 1000);
+    }
+
+    private void track(CircuitBreaker circuitBreaker) {
+        circuitBreaker.getEventPublisher().onStateTransition(event -> {
+            if (event.getStateTransition().getToState() == CircuitBreaker.State.OPEN) {
+                openUntilMillis.put(circuitBreaker.getName(), System.currentTimeMillis() + waitMillis(circuitBreaker));
+            } else {
+                openUntilMillis.remove(circuitBreaker.getName());
+            }
+        });
+    }
+
+    private static long waitMillis(CircuitBreaker circuitBreaker) {
+        return circuitBreaker.getCircuitBreakerConfig().getWaitIntervalFunctionInOpenState().apply(1);
+    }
+}
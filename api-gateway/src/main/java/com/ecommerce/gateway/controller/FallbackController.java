@@ -1,75 +1,149 @@
 package com.ecommerce.gateway.controller;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
  * Fallback controller for circuit breaker responses.
+ * Fallbacks are hit hardest exactly when the system is overloaded, so bodies are serialized
+ * once at startup and only the timestamp (to the second) is spliced in, once per second.
  */
 @RestController
 @RequestMapping("/fallback")
 public class FallbackController {
 
-    @GetMapping("/service-unavailable")
-    public Mono<ResponseEntity<Map<String, Object>>> serviceUnavailable() {
-        Map<String, Object> response = Map.of(
-                "success", false,
-                "error", "SERVICE_UNAVAILABLE",
-                "message", "服務暫時無法使用，請稍後再試",
-                "timestamp", Instant.now().toString()
-        );
-
-        return Mono.just(ResponseEntity
-                .status(HttpStatus.SERVICE_UNAVAILABLE)
-                .body(response));
+    private final FallbackResponse serviceUnavailable;
+    private final FallbackResponse serviceOverloaded;
+    private final FallbackResponse rateLimitExceeded;
+    private final FallbackResponse unauthorized;
+    private final FallbackResponse forbidden;
+    private final CircuitBreakerRetryAfter retryAfter;
+
+    public FallbackController(ObjectMapper objectMapper, CircuitBreakerRegistry circuitBreakerRegistry) {
+        this.serviceUnavailable = new FallbackResponse(objectMapper, HttpStatus.SERVICE_UNAVAILABLE,
+                "SERVICE_UNAVAILABLE", "服務暫時無法使用，請稍後再試");
+        this.serviceOverloaded = new FallbackResponse(objectMapper, HttpStatus.SERVICE_UNAVAILABLE,
+                "SERVICE_OVERLOADED", "服務繁忙，請稍後再試");
+        this.rateLimitExceeded = new FallbackResponse(objectMapper, HttpStatus.TOO_MANY_REQUESTS,
+                "RATE_LIMIT_EXCEEDED", "請求過於頻繁，請稍後再試");
+        this.unauthorized = new FallbackResponse(objectMapper, HttpStatus.UNAUTHORIZED,
+                "UNAUTHORIZED", "請先登入");
+        this.forbidden = new FallbackResponse(objectMapper, HttpStatus.FORBIDDEN,
+                "FORBIDDEN", "權限不足");
+        this.retryAfter = new CircuitBreakerRetryAfter(circuitBreakerRegistry);
+    }
+
+    /**
+     * Target of circuit breaker fallbacks, for any HTTP method.
+     * When the breaker is open, Retry-After tells clients when it will let calls through again.
+     */
+    @RequestMapping("/service-unavailable")
+    public Mono<Void> serviceUnavailable(ServerWebExchange exchange) {
+        Throwable cause = exchange.getAttribute(ServerWebExchangeUtils.CIRCUITBREAKER_EXECUTION_EXCEPTION_ATTR);
+        if (cause instanceof CallNotPermittedException notPermitted) {
+            long seconds = retryAfter.seconds(notPermitted.getCausingCircuitBreakerName());
+            if (seconds > 0) {
+                exchange.getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER, Long.toString(seconds));
+            }
+        }
+        return serviceUnavailable.write(exchange.getResponse());
+    }
+
+    /**
+     * Target of requests shed by the concurrency limit, for any HTTP method.
+     */
+    @RequestMapping("/concurrency-limited")
+    public Mono<Void> concurrencyLimited(ServerWebExchange exchange) {
+        return serviceOverloaded.write(exchange.getResponse());
     }
 
     @GetMapping("/rate-limit-exceeded")
-    public Mono<ResponseEntity<Map<String, Object>>> rateLimitExceeded() {
-        Map<String, Object> response = Map.of(
-                "success", false,
-                "error", "RATE_LIMIT_EXCEEDED",
-                "message", "請求過於頻繁，請稍後再試",
-                "timestamp", Instant.now().toString()
-        );
-
-        return Mono.just(ResponseEntity
-                .status(HttpStatus.TOO_MANY_REQUESTS)
-                .body(response));
+    public Mono<Void> rateLimitExceeded(ServerWebExchange exchange) {
+        return rateLimitExceeded.write(exchange.getResponse());
     }
 
     @GetMapping("/unauthorized")
-    public Mono<ResponseEntity<Map<String, Object>>> unauthorized() {
-        Map<String, Object> response = Map.of(
-                "success", false,
-                "error", "UNAUTHORIZED",
-                "message", "請先登入",
-                "timestamp", Instant.now().toString()
-        );
-
-        return Mono.just(ResponseEntity
-                .status(HttpStatus.UNAUTHORIZED)
-                .body(response));
+    public Mono<Void> unauthorized(ServerWebExchange exchange) {
+        return unauthorized.write(exchange.getResponse());
     }
 
     @GetMapping("/forbidden")
-    public Mono<ResponseEntity<Map<String, Object>>> forbidden() {
-        Map<String, Object> response = Map.of(
-                "success", false,
-                "error", "FORBIDDEN",
-                "message", "權限不足",
-                "timestamp", Instant.now().toString()
-        );
-
-        return Mono.just(ResponseEntity
-                .status(HttpStatus.FORBIDDEN)
-                .body(response));
+    public Mono<Void> forbidden(ServerWebExchange exchange) {
+        return forbidden.write(exchange.getResponse());
+    }
+
+    /**
+     * One fallback body, pre-serialized around its timestamp.
+     */
+    static final class FallbackResponse {
+
+        private static final String TIMESTAMP_PLACEHOLDER = "__TIMESTAMP__";
+
+        private final HttpStatus status;
+        private final byte[] prefix;
+        private final byte[] suffix;
+        private volatile Body body = new Body(Long.MIN_VALUE, new byte[0]);
+
+        FallbackResponse(ObjectMapper objectMapper, HttpStatus status, String error, String message) {
+            this.status = status;
+            Map<String, Object> response = new LinkedHashMap<>();
+            response.put("success", false);
+            response.put("error", error);
+            response.put("message", message);
+            response.put("timestamp", TIMESTAMP_PLACEHOLDER);
+            String json;
+            try {
+                json = objectMapper.writeValueAsString(response);
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Cannot serialize fallback body " + error, e);
+            }
+            int at = json.indexOf(TIMESTAMP_PLACEHOLDER);
+            this.prefix = json.substring(0, at).getBytes(StandardCharsets.UTF_8);
+            this.suffix = json.substring(at + TIMESTAMP_PLACEHOLDER.length()).getBytes(StandardCharsets.UTF_8);
+        }
+
+        Mono<Void> write(ServerHttpResponse response) {
+            byte[] bytes = bytes(System.currentTimeMillis() / 1000);
+            response.setStatusCode(status);
+            HttpHeaders headers = response.getHeaders();
+            headers.setContentType(MediaType.APPLICATION_JSON);
+            headers.setContentLength(bytes.length);
+            // Wrapping shares the cached array with the response; nothing is copied or serialized
+            return response.writeWith(Mono.just(response.bufferFactory().wrap(bytes)));
+        }
+
+        byte[] bytes(long epochSecond) {
+            Body current = body;
+            if (current.epochSecond() != epochSecond) {
+                byte[] timestamp = Instant.ofEpochSecond(epochSecond).toString().getBytes(StandardCharsets.US_ASCII);
+                byte[] bytes = Arrays.copyOf(prefix, prefix.length + timestamp.length + suffix.length);
+                System.arraycopy(timestamp, 0, bytes, prefix.length, timestamp.length);
+                System.arraycopy(suffix, 0, bytes, prefix.length + timestamp.length, suffix.length);
+                current = new Body(epochSecond, bytes);
+                body = current;
+            }
+            return current.bytes();
+        }
+
+        private record Body(long epochSecond, byte[] bytes) {
+        }
     }
 }
@@ -0,0 +1,102 @@
+package com.ecommerce.gateway.filter;
+
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Reads a response body into memory, but never more than a limit of it.
+ * A body that fits is handed over as one array. A larger one is handed over as the buffers
+ * read so far followed by the rest of the body, so it can still be written out unchanged.
+ */
+final class BoundedBody {
+
+    private BoundedBody() {
+    }
+
+    /**
+     * @param contentLength declared length of the body, or -1 when unknown (chunked)
+     * @param whole         called with the complete body when it is at most {@code limit} bytes
+     * @param overflow      called with the entire body as a stream when it is larger; must subscribe to it
+     */
+    static Mono<Void> read(Publisher<? extends DataBuffer> body, long contentLength, long limit,
+                           Function<byte[], Mono<Void>> whole,
+                           Function<Flux<DataBuffer>, Mono<Void>> overflow) {
+        if (contentLength > limit) {
+            return overflow.apply(Flux.from(body));
+        }
+        Prefix prefix = new Prefix(limit);
+        return Flux.<DataBuffer>from(body)
+                // Nothing is emitted until the limit is passed; from then on every buffer is
+                .concatMapIterable(prefix::add)
+                .doOnDiscard(DataBuffer.class, DataBufferUtils::release)
+                .switchOnFirst((first, rest) -> {
+                    if (first.hasValue()) {
+                        return overflow.apply(rest);
+                    }
+                    if (first.isOnComplete()) {
+                        return whole.apply(prefix.toBytes());
+                    }
+                    return rest.then();
+                })
+                .doFinally(signal -> prefix.release())
+                .then();
+    }
+
+    /**
+     * Buffers held while the body still fits.
+     */
+    private static final class Prefix {
+
+        private final long limit;
+        private List<DataBuffer> buffers = new ArrayList<>();
+        private long size;
+
+        private Prefix(long limit) {
+            this.limit = limit;
+        }
+
+        /**
+         * Buffers to emit downstream: none while the body fits, then everything read so far, then each buffer.
+         */
+        synchronized List<DataBuffer> add(DataBuffer buffer) {
+            if (buffers == null) {
+                return List.of(buffer);
+            }
+            buffers.add(buffer);
+            size += buffer.readableByteCount();
+            if (size <= limit) {
+                return List.of();
+            }
+            List<DataBuffer> read = buffers;
+            buffers = null;
+            return read;
+        }
+
+        synchronized byte[] toBytes() {
+            byte[] bytes = new byte[(int) size];
+            int offset = 0;
+            for (DataBuffer buffer : buffers) {
+                int length = buffer.readableByteCount();
+                buffer.read(bytes, offset, length);
+                offset += length;
+                DataBufferUtils.release(buffer);
+            }
+            buffers.clear();
+            return bytes;
+        }
+
+        synchronized void release() {
+            if (buffers != null) {
+                buffers.forEach(DataBufferUtils::release);
+                buffers.clear();
+            }
+        }
+    }
+}
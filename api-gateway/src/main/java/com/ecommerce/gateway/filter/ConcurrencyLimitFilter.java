@@ -0,0 +1,82 @@
+package com.ecommerce.gateway.filter;
+
+import com.ecommerce.gateway.concurrency.ConcurrencyLimiter;
+import com.ecommerce.gateway.concurrency.ConcurrencyLimiters;
+import com.ecommerce.gateway.config.ConcurrencyLimitProperties;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.DispatcherHandler;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+/**
+ * Global filter capping in-flight requests per route with an adaptive limit.
+ * Requests over the limit are shed immediately with a 503 from
+ * {@link com.ecommerce.gateway.controller.FallbackController}, instead of queueing behind a
+ * slow downstream until the time limiter gives up.
+ */
+@Component
+public class ConcurrencyLimitFilter implements GlobalFilter, Ordered {
+
+    static final String FALLBACK_PATH = "/fallback/concurrency-limited";
+
+    private final ConcurrencyLimiters limiters;
+    private final ConcurrencyLimitProperties properties;
+    private final ObjectProvider<DispatcherHandler> dispatcherHandler;
+
+    public ConcurrencyLimitFilter(ConcurrencyLimiters limiters,
+                                  ConcurrencyLimitProperties properties,
+                                  ObjectProvider<DispatcherHandler> dispatcherHandler) {
+        this.limiters = limiters;
+        this.properties = properties;
+        this.dispatcherHandler = dispatcherHandler;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        if (!properties.isEnabled() || route == null) {
+            return chain.filter(exchange);
+        }
+        ConcurrencyLimiter.Permit permit = limiters.tryAcquire(route.getId());
+        if (permit == null) {
+            ServerHttpRequest request = exchange.getRequest().mutate().path(FALLBACK_PATH).build();
+            return dispatcherHandler.getObject().handle(exchange.mutate().request(request).build());
+        }
+        return chain.filter(exchange)
+                .doFinally(signal -> {
+                    if (signal == SignalType.CANCEL) {
+                        permit.cancel();
+                    } else {
+                        permit.release(isDropped(exchange, signal));
+                    }
+                });
+    }
+
+    /**
+     * Errors, timeouts (503 from the circuit breaker fallback) and downstream overload shrink the limit.
+     */
+    private static boolean isDropped(ServerWebExchange exchange, SignalType signal) {
+        if (signal == SignalType.ON_ERROR) {
+            return true;
+        }
+        HttpStatusCode status = exchange.getResponse().getStatusCode();
+        return status != null && (status.value() == HttpStatus.SERVICE_UNAVAILABLE.value()
+                || status.value() == HttpStatus.GATEWAY_TIMEOUT.value());
+    }
+
+    @Override
+    public int getOrder() {
+        // After the response cache and single-flight, so cache hits and merged requests take no permit
+        return Ordered.HIGHEST_PRECEDENCE + 40;
+    }
+}
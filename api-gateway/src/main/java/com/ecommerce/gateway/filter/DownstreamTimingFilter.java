@@ -0,0 +1,43 @@
+package com.ecommerce.gateway.filter;
+
+import com.ecommerce.gateway.metrics.GatewayMetrics;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Global filter timing the downstream call, per route ID.
+ * Runs just before the routing filters, so it measures the time until downstream response headers arrive.
+ */
+@Component
+public class DownstreamTimingFilter implements GlobalFilter, Ordered {
+
+    private final GatewayMetrics metrics;
+
+    public DownstreamTimingFilter(GatewayMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        if (route == null) {
+            return chain.filter(exchange);
+        }
+        long startTime = System.nanoTime();
+        return chain.filter(exchange)
+                .doFinally(signal -> metrics.downstream(route.getId(), RouteTimingFilter.status(exchange, signal),
+                        System.nanoTime() - startTime));
+    }
+
+    @Override
+    public int getOrder() {
+        // NettyRoutingFilter and ForwardRoutingFilter run at LOWEST_PRECEDENCE
+        return Ordered.LOWEST_PRECEDENCE - 1;
+    }
+}
@@ -0,0 +1,371 @@
+package com.ecommerce.gateway.filter;
+
+import com.ecommerce.gateway.config.HedgingProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.ServerWebExchangeDecorator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Route filter hedging slow idempotent GETs.
+ * When the first attempt has not answered within the route's latency percentile, a second
+ * attempt is sent (the load balancer will usually pick another instance, since the first one
+ * has a request in flight). Whichever answers first is written to the client; the other is
+ * cancelled. Both attempts are buffered, so this is only meant for small catalog responses:
+ * an attempt receiving a body over the configured maximum is streamed to the client instead,
+ * and the request is no longer hedged.
+ * Applied per route in {@link com.ecommerce.gateway.config.RouteConfig}.
+ */
+@Component
+public class HedgingGatewayFilter implements GatewayFilter, Ordered {
+
+    private static final long DELAY_REFRESH_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final HedgingProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentHashMap<String, RouteHedging> routes = new ConcurrentHashMap<>();
+
+    public HedgingGatewayFilter(HedgingProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (!properties.isEnabled() || exchange.getRequest().getMethod() != HttpMethod.GET
+                || exchange.getRequest().getHeaders().containsKey(HttpHeaders.UPGRADE)) {
+            return chain.filter(exchange);
+        }
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        RouteHedging hedging = route(route != null ? route.getId() : "unknown");
+
+        AtomicReference<AttemptExchange> answering = new AtomicReference<>();
+        AtomicBoolean hedged = new AtomicBoolean();
+        AtomicBoolean throttled = new AtomicBoolean();
+        Mono<Attempt> primary = attempt(exchange, chain, hedging, answering, false);
+        Mono<Attempt> hedge = Mono.delay(hedging.delay())
+                .flatMap(tick -> {
+                    if (answering.get() != null) {
+                        // The first attempt is already streaming a large body to the client
+                        return Mono.never();
+                    }
+                    if (!hedging.tryStartHedge()) {
+                        throttled.set(true);
+                        return Mono.never();
+                    }
+                    hedged.set(true);
+                    return attempt(exchange, chain, hedging, answering, true)
+                            .doFinally(signal -> hedging.hedgesInFlight.decrementAndGet());
+                });
+
+        return Mono.firstWithSignal(primary, hedge)
+                .flatMap(winner -> {
+                    hedging.result(winner.hedge(), hedged.get(), throttled.get()).increment();
+                    exchange.getAttributes().putAll(winner.attributes());
+                    return write(exchange.getResponse(), winner);
+                });
+    }
+
+    /**
+     * One attempt. It only signals once it has claimed the response, so an attempt finishing
+     * after the other one won, or started streaming, never reaches the client.
+     */
+    private Mono<Attempt> attempt(ServerWebExchange exchange, GatewayFilterChain chain, RouteHedging hedging,
+                                  AtomicReference<AttemptExchange> answering, boolean hedge) {
+        return Mono.defer(() -> {
+            AttemptExchange attemptExchange = new AttemptExchange(exchange, answering,
+                    properties.getMaximumBodySize().toBytes());
+            long startTime = System.nanoTime();
+            // Cancelled attempts count too: they took at least this long, and leaving them out
+            // would hide exactly the slow answers the percentile is meant to capture
+            Runnable recordLatency = () -> hedging.latency.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+            return chain.filter(attemptExchange)
+                    .doOnSuccess(done -> recordLatency.run())
+                    .doOnCancel(recordLatency)
+                    .then(Mono.defer(() -> attemptExchange.claim()
+                            ? Mono.just(attemptExchange.result(hedge))
+                            : Mono.<Attempt>never()))
+                    .onErrorResume(error -> attemptExchange.claim() ? Mono.error(error) : Mono.never());
+        });
+    }
+
+    private static Mono<Void> write(ServerHttpResponse response, Attempt winner) {
+        if (winner.streamed()) {
+            return Mono.empty();
+        }
+        if (winner.status() != null) {
+            response.setStatusCode(winner.status());
+        }
+        HttpHeaders headers = response.getHeaders();
+        headers.putAll(winner.headers());
+        if (winner.body() == null) {
+            return response.setComplete();
+        }
+        headers.remove(HttpHeaders.TRANSFER_ENCODING);
+        headers.setContentLength(winner.body().length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(winner.body())));
+    }
+
+    private RouteHedging route(String routeId) {
+        RouteHedging hedging = routes.get(routeId);
+        if (hedging == null) {
+            hedging = routes.computeIfAbsent(routeId, RouteHedging::new);
+        }
+        return hedging;
+    }
+
+    @Override
+    public int getOrder() {
+        // After single-flight and the concurrency limit, before the circuit breaker so each attempt is guarded
+        return Ordered.HIGHEST_PRECEDENCE + 50;
+    }
+
+    /**
+     * A completed attempt: the response it received and the exchange attributes it ended with.
+     * A streamed attempt has already written its response to the client.
+     */
+    private record Attempt(boolean hedge, boolean streamed, HttpStatusCode status, HttpHeaders headers,
+                           byte[] body, Map<String, Object> attributes) {
+    }
+
+    /**
+     * Latency percentile, hedge budget and meters of one route.
+     */
+    private final class RouteHedging {
+
+        private final Timer latency;
+        private final Counter notHedged;
+        private final Counter primaryWon;
+        private final Counter hedgeWon;
+        private final Counter throttled;
+        private final AtomicInteger hedgesInFlight = new AtomicInteger();
+        private volatile long delayNanos = properties.getInitialDelay().toNanos();
+        private volatile long refreshedAt = System.nanoTime();
+
+        private RouteHedging(String routeId) {
+            this.latency = Timer.builder("gateway.hedging.attempt.duration")
+                    .description("Latency of each attempt on hedged routes")
+                    .tag("route", routeId)
+                    .publishPercentiles(properties.getPercentile())
+                    .register(meterRegistry);
+            this.notHedged = counter(routeId, "not-hedged");
+            this.primaryWon = counter(routeId, "primary-won");
+            this.hedgeWon = counter(routeId, "hedge-won");
+            this.throttled = counter(routeId, "throttled");
+        }
+
+        Duration delay() {
+            long now = System.nanoTime();
+            if (now - refreshedAt > DELAY_REFRESH_NANOS) {
+                refreshedAt = now;
+                delayNanos = percentileDelay();
+            }
+            return Duration.ofNanos(delayNanos);
+        }
+
+        private long percentileDelay() {
+            if (latency.count() < properties.getMinimumSamples()) {
+                return properties.getInitialDelay().toNanos();
+            }
+            double nanos = properties.getInitialDelay().toNanos();
+            for (ValueAtPercentile value : latency.takeSnapshot().percentileValues()) {
+                if (value.percentile() == properties.getPercentile()) {
+                    nanos = value.value(TimeUnit.NANOSECONDS);
+                }
+            }
+            return Math.max(properties.getMinimumDelay().toNanos(),
+                    Math.min(properties.getMaximumDelay().toNanos(), (long) nanos));
+        }
+
+        boolean tryStartHedge() {
+            if (hedgesInFlight.incrementAndGet() > properties.getMaxConcurrentHedges()) {
+                hedgesInFlight.decrementAndGet();
+                return false;
+            }
+            return true;
+        }
+
+        Counter result(boolean hedgeWins, boolean hedged, boolean throttledHedge) {
+            if (hedgeWins) {
+                return hedgeWon;
+            }
+            if (hedged) {
+                return primaryWon;
+            }
+            return throttledHedge ? throttled : notHedged;
+        }
+
+        private Counter counter(String routeId, String result) {
+            return Counter.builder("gateway.hedging.requests")
+                    .description("Requests on hedged routes by which attempt answered")
+                    .tag("route", routeId)
+                    .tag("result", result)
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * One attempt's view of the exchange: its own attributes, so routing state of the two
+     * attempts does not mix, and its own buffered response.
+     */
+    private static final class AttemptExchange extends ServerWebExchangeDecorator {
+
+        private final Map<String, Object> attributes;
+        private final AtomicReference<AttemptExchange> answering;
+        private final AttemptResponse response;
+
+        private AttemptExchange(ServerWebExchange delegate, AtomicReference<AttemptExchange> answering,
+                                long maximumBodySize) {
+            super(delegate);
+            this.attributes = new ConcurrentHashMap<>(delegate.getAttributes());
+            this.answering = answering;
+            this.response = new AttemptResponse(delegate.getResponse(), this::claim, maximumBodySize);
+        }
+
+        /**
+         * Make this attempt the one answering the client, unless the other attempt already is.
+         */
+        boolean claim() {
+            return answering.compareAndSet(null, this) || answering.get() == this;
+        }
+
+        @Override
+        public ServerHttpResponse getResponse() {
+            return response;
+        }
+
+        @Override
+        public Map<String, Object> getAttributes() {
+            return attributes;
+        }
+
+        Attempt result(boolean hedge) {
+            return new Attempt(hedge, response.streamed, response.status, response.headers, response.body,
+                    attributes);
+        }
+    }
+
+    /**
+     * Response buffered in memory until the attempt is known to have won.
+     * A body over the maximum size is written straight to the client if the attempt can claim it.
+     */
+    private static final class AttemptResponse extends ServerHttpResponseDecorator {
+
+        private final HttpHeaders headers = new HttpHeaders();
+        private final BooleanSupplier claim;
+        private final long maximumBodySize;
+        private volatile HttpStatusCode status;
+        private volatile byte[] body;
+        private volatile boolean completed;
+        private volatile boolean streamed;
+
+        private AttemptResponse(ServerHttpResponse delegate, BooleanSupplier claim, long maximumBodySize) {
+            super(delegate);
+            this.claim = claim;
+            this.maximumBodySize = maximumBodySize;
+            headers.addAll(delegate.getHeaders());
+            status = delegate.getStatusCode();
+        }
+
+        @Override
+        public boolean setStatusCode(HttpStatusCode status) {
+            this.status = status;
+            return true;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() {
+            return status;
+        }
+
+        @Override
+        @Deprecated
+        public boolean setRawStatusCode(Integer value) {
+            return setStatusCode(value != null ? HttpStatusCode.valueOf(value) : null);
+        }
+
+        @Override
+        @Deprecated
+        public Integer getRawStatusCode() {
+            return status != null ? status.value() : null;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public void beforeCommit(Supplier<? extends Mono<Void>> action) {
+            // Only the winner is committed, to the real response
+        }
+
+        @Override
+        public boolean isCommitted() {
+            return body != null || completed || streamed;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            return BoundedBody.read(body, headers.getContentLength(), maximumBodySize,
+                    bytes -> {
+                        this.body = bytes;
+                        return Mono.empty();
+                    },
+                    this::stream);
+        }
+
+        private Mono<Void> stream(Flux<DataBuffer> body) {
+            if (!claim.getAsBoolean()) {
+                // The other attempt answers the client; read this body to the end without keeping it
+                return body.doOnNext(DataBufferUtils::release).then();
+            }
+            streamed = true;
+            ServerHttpResponse response = getDelegate();
+            if (status != null) {
+                response.setStatusCode(status);
+            }
+            response.getHeaders().putAll(headers);
+            return response.writeWith(body);
+        }
+
+        @Override
+        public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+            return writeWith(Flux.from(body).concatMap(Flux::from));
+        }
+
+        @Override
+        public Mono<Void> setComplete() {
+            completed = true;
+            return Mono.empty();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.ecommerce.gateway.filter;
+
+import com.ecommerce.gateway.loadbalancer.InstanceLatencyStats;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.ReactiveLoadBalancerClientFilter;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+/**
+ * Global filter feeding each downstream call's latency into {@link InstanceLatencyStats},
+ * for the instance the load balancer picked. Runs right after the load balancer so that
+ * cancelled calls (e.g. a losing hedge) are released too.
+ */
+@Component
+public class InstanceLatencyFilter implements GlobalFilter, Ordered {
+
+    private final InstanceLatencyStats stats;
+
+    public InstanceLatencyFilter(InstanceLatencyStats stats) {
+        this.stats = stats;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Response<ServiceInstance> chosen = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_LOADBALANCER_RESPONSE_ATTR);
+        if (chosen == null || !chosen.hasServer()) {
+            return chain.filter(exchange);
+        }
+        InstanceLatencyStats.Call call = stats.start(chosen.getServer());
+        return chain.filter(exchange)
+                .doFinally(signal -> {
+                    if (signal == SignalType.CANCEL) {
+                        call.cancelled();
+                    } else if (signal == SignalType.ON_ERROR || isOverloaded(exchange.getResponse().getStatusCode())) {
+                        call.failed();
+                    } else {
+                        call.succeeded();
+                    }
+                });
+    }
+
+    private static boolean isOverloaded(HttpStatusCode status) {
+        return status != null && (status.value() == 502 || status.value() == 503 || status.value() == 504);
+    }
+
+    @Override
+    public int getOrder() {
+        return ReactiveLoadBalancerClientFilter.LOAD_BALANCER_CLIENT_FILTER_ORDER + 1;
+    }
+}
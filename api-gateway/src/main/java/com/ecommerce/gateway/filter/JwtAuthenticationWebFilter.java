@@ -1,7 +1,12 @@
 package com.ecommerce.gateway.filter;
 
+import com.ecommerce.gateway.metrics.GatewayMetrics;
+import com.ecommerce.gateway.metrics.GatewayMetrics.AuthOutcome;
+import com.ecommerce.security.jwt.InternalIdentityAssertion;
 import com.ecommerce.security.jwt.JwtTokenProvider;
 import com.ecommerce.security.jwt.JwtTokenProvider.TokenClaims;
+import com.ecommerce.security.jwt.JwtTokenProvider.TokenValidation;
+import com.ecommerce.security.jwt.JwtTokenProvider.ValidationStatus;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpHeaders;
@@ -17,11 +22,12 @@ import org.springframework.web.server.WebFilterChain;
 import reactor.core.publisher.Mono;
 
 import java.util.List;
-import java.util.Optional;
 
 /**
  * Reactive JWT Authentication Filter for Spring Cloud Gateway.
  * Validates JWT tokens and sets up security context.
+ * When enabled, also mints an {@link InternalIdentityAssertion} so downstream
+ * services can trust the forwarded identity headers without re-verifying the JWT.
  */
 @Component
 public class JwtAuthenticationWebFilter implements WebFilter {
@@ -29,35 +35,62 @@ public class JwtAuthenticationWebFilter implements WebFilter {
     private static final Logger log = LoggerFactory.getLogger(JwtAuthenticationWebFilter.class);
     private static final String BEARER_PREFIX = "Bearer ";
 
-    private final JwtTokenProvider jwtTokenProvider;
+    /**
+     * Exchange attribute holding the user ID of the verified token, for gateway-side consumers
+     * such as rate limit key resolution.
+     */
+    public static final String USER_ID_ATTR = JwtAuthenticationWebFilter.class.getName() + ".userId";
 
-    public JwtAuthenticationWebFilter(JwtTokenProvider jwtTokenProvider) {
+    private final JwtTokenProvider jwtTokenProvider;
+    private final InternalIdentityAssertion internalIdentityAssertion;
+    private final RequestIdGenerator requestIdGenerator;
+    private final GatewayMetrics metrics;
+
+    public JwtAuthenticationWebFilter(JwtTokenProvider jwtTokenProvider,
+                                      InternalIdentityAssertion internalIdentityAssertion,
+                                      RequestIdGenerator requestIdGenerator,
+                                      GatewayMetrics metrics) {
         this.jwtTokenProvider = jwtTokenProvider;
+        this.internalIdentityAssertion = internalIdentityAssertion;
+        this.requestIdGenerator = requestIdGenerator;
+        this.metrics = metrics;
     }
 
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        // Assertions are only ever minted here, never accepted from clients
+        exchange = stripInternalIdentity(exchange);
+
         String token = extractToken(exchange.getRequest());
 
         if (!StringUtils.hasText(token)) {
+            metrics.authOutcome(AuthOutcome.ANONYMOUS);
             return chain.filter(exchange);
         }
 
-        Optional<TokenClaims> claimsOpt = jwtTokenProvider.validateToken(token);
+        long validationStart = System.nanoTime();
+        TokenValidation validation = jwtTokenProvider.validate(token);
+        metrics.tokenValidation(System.nanoTime() - validationStart);
 
-        if (claimsOpt.isEmpty()) {
+        if (!validation.isValid()) {
             log.debug("Invalid or expired token");
+            metrics.authOutcome(validation.status() == ValidationStatus.EXPIRED
+                    ? AuthOutcome.TOKEN_EXPIRED
+                    : AuthOutcome.TOKEN_INVALID);
             return chain.filter(exchange);
         }
 
-        TokenClaims claims = claimsOpt.get();
+        TokenClaims claims = validation.claims();
 
         // Only accept ACCESS tokens or SERVICE tokens
         if (!claims.isAccessToken() && !claims.isServiceToken()) {
             log.debug("Token type not acceptable for API access: {}", claims.tokenType());
+            metrics.authOutcome(AuthOutcome.TOKEN_TYPE_REJECTED);
             return chain.filter(exchange);
         }
 
+        metrics.authOutcome(AuthOutcome.AUTHENTICATED);
+
         // Create authentication
         List<SimpleGrantedAuthority> authorities = List.of(
                 new SimpleGrantedAuthority("ROLE_" + claims.role())
@@ -67,13 +100,27 @@ public class JwtAuthenticationWebFilter implements WebFilter {
                 new UsernamePasswordAuthenticationToken(claims.userId(), null, authorities);
 
         log.debug("Authenticated user: {} with role: {}", claims.userId(), claims.role());
+        exchange.getAttributes().put(USER_ID_ATTR, claims.userId());
 
         // Add user info headers for downstream services
-        ServerHttpRequest mutatedRequest = exchange.getRequest().mutate()
-                .header("X-User-Id", claims.userId())
-                .header("X-User-Email", claims.email())
-                .header("X-User-Role", claims.role())
-                .build();
+        ServerHttpRequest.Builder requestBuilder = exchange.getRequest().mutate()
+                .header(InternalIdentityAssertion.USER_ID_HEADER, claims.userId())
+                .header(InternalIdentityAssertion.USER_EMAIL_HEADER, claims.email())
+                .header(InternalIdentityAssertion.USER_ROLE_HEADER, claims.role());
+
+        if (internalIdentityAssertion.isEnabled()) {
+            // The assertion is bound to the request ID, so make sure there is one
+            String requestId = exchange.getRequest().getHeaders()
+                    .getFirst(InternalIdentityAssertion.REQUEST_ID_HEADER);
+            if (requestId == null) {
+                requestId = requestIdGenerator.next();
+                requestBuilder.header(InternalIdentityAssertion.REQUEST_ID_HEADER, requestId);
+            }
+            requestBuilder.header(InternalIdentityAssertion.HEADER, internalIdentityAssertion.mint(
+                    claims.userId(), claims.email(), claims.role(), requestId));
+        }
+
+        ServerHttpRequest mutatedRequest = requestBuilder.build();
 
         ServerWebExchange mutatedExchange = exchange.mutate()
                 .request(mutatedRequest)
@@ -83,6 +130,17 @@ public class JwtAuthenticationWebFilter implements WebFilter {
                 .contextWrite(ReactiveSecurityContextHolder.withAuthentication(authentication));
     }
 
+    private ServerWebExchange stripInternalIdentity(ServerWebExchange exchange) {
+        if (!exchange.getRequest().getHeaders().containsKey(InternalIdentityAssertion.HEADER)) {
+            return exchange;
+        }
+        log.debug("Dropping client-supplied {} header", InternalIdentityAssertion.HEADER);
+        ServerHttpRequest request = exchange.getRequest().mutate()
+                .headers(headers -> headers.remove(InternalIdentityAssertion.HEADER))
+                .build();
+        return exchange.mutate().request(request).build();
+    }
+
     private String extractToken(ServerHttpRequest request) {
         String bearerToken = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
 
@@ -0,0 +1,48 @@
+package com.ecommerce.gateway.filter;
+
+import com.ecommerce.gateway.httpclient.HttpClientProfiles;
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.filter.NettyRoutingFilter;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.netty.http.client.HttpClient;
+
+import java.util.List;
+
+import static org.springframework.cloud.gateway.support.RouteMetadataUtils.CONNECT_TIMEOUT_ATTR;
+
+/**
+ * Netty routing filter sending each route through its downstream service's client profile.
+ * Replaces Spring Cloud Gateway's routing filter (disabled via
+ * 'spring.cloud.gateway.global-filter.netty-routing.enabled'); services without a profile
+ * keep the shared gateway client.
+ */
+public class ProfiledNettyRoutingFilter extends NettyRoutingFilter {
+
+    private final HttpClientProfiles profiles;
+
+    public ProfiledNettyRoutingFilter(HttpClient httpClient,
+                                      ObjectProvider<List<HttpHeadersFilter>> headersFiltersProvider,
+                                      HttpClientProperties properties,
+                                      HttpClientProfiles profiles) {
+        super(httpClient, headersFiltersProvider, properties);
+        this.profiles = profiles;
+    }
+
+    @Override
+    protected HttpClient getHttpClient(Route route, ServerWebExchange exchange) {
+        HttpClient client = profiles.forService(route.getUri().getHost());
+        if (client == null) {
+            return super.getHttpClient(route, exchange);
+        }
+        // Same per-route override the default filter supports
+        Object connectTimeout = route.getMetadata().get(CONNECT_TIMEOUT_ATTR);
+        if (connectTimeout != null) {
+            return client.option(ChannelOption.CONNECT_TIMEOUT_MILLIS, Integer.parseInt(connectTimeout.toString()));
+        }
+        return client;
+    }
+}
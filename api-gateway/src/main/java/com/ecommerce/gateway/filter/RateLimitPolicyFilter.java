@@ -0,0 +1,75 @@
+package com.ecommerce.gateway.filter;
+
+import com.ecommerce.gateway.ratelimit.RateLimitPolicy;
+import com.ecommerce.gateway.ratelimit.RateLimitPolicyTable;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Global filter applying the rate limit policy of the matched route and HTTP method.
+ * Replaces the single RequestRateLimiter default filter so each route can use its own
+ * limiter and key resolver.
+ */
+@Component
+public class RateLimitPolicyFilter implements GlobalFilter, Ordered {
+
+    private static final String EMPTY_KEY = "____EMPTY_KEY__";
+
+    private final RateLimitPolicyTable policyTable;
+
+    public RateLimitPolicyFilter(RateLimitPolicyTable policyTable) {
+        this.policyTable = policyTable;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        if (route == null) {
+            return chain.filter(exchange);
+        }
+
+        RateLimitPolicy policy = policyTable.resolve(route.getId(), exchange.getRequest().getMethod());
+        return policy.keyResolver().resolve(exchange)
+                .defaultIfEmpty(EMPTY_KEY)
+                .flatMap(key -> {
+                    if (EMPTY_KEY.equals(key)) {
+                        policy.denied().increment();
+                        return reject(exchange, HttpStatus.FORBIDDEN);
+                    }
+                    long startTime = System.nanoTime();
+                    return policy.limiter().isAllowed(route.getId(), policy.name() + ":" + key)
+                            .flatMap(response -> {
+                                policy.latency().record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+                                ServerHttpResponse httpResponse = exchange.getResponse();
+                                response.getHeaders().forEach(httpResponse.getHeaders()::add);
+                                if (response.isAllowed()) {
+                                    policy.allowed().increment();
+                                    return chain.filter(exchange);
+                                }
+                                policy.denied().increment();
+                                return reject(exchange, HttpStatus.TOO_MANY_REQUESTS);
+                            });
+                });
+    }
+
+    private Mono<Void> reject(ServerWebExchange exchange, HttpStatus status) {
+        ServerWebExchangeUtils.setResponseStatus(exchange, status);
+        return exchange.getResponse().setComplete();
+    }
+
+    @Override
+    public int getOrder() {
+        // After request logging, before routing
+        return Ordered.HIGHEST_PRECEDENCE + 10;
+    }
+}
@@ -0,0 +1,46 @@
+package com.ecommerce.gateway.filter;
+
+import org.springframework.stereotype.Component;
+
+import java.security.SecureRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates request IDs for requests arriving without an X-Request-Id header.
+ * An ID is a random per-instance prefix plus a counter, e.g. {@code 3f9a01c2-000000000000002a},
+ * so generating one neither blocks on nor drains the system entropy source.
+ */
+@Component
+public class RequestIdGenerator {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final int prefix;
+    private final AtomicLong sequence = new AtomicLong();
+
+    public RequestIdGenerator() {
+        this(new SecureRandom().nextInt());
+    }
+
+    RequestIdGenerator(int prefix) {
+        this.prefix = prefix;
+    }
+
+    /**
+     * Next request ID; unique per gateway instance and unlikely to collide across instances.
+     */
+    public String next() {
+        char[] id = new char[25];
+        writeHex(id, 0, prefix, 8);
+        id[8] = '-';
+        writeHex(id, 9, sequence.incrementAndGet(), 16);
+        return new String(id);
+    }
+
+    private static void writeHex(char[] target, int offset, long value, int digits) {
+        for (int i = offset + digits - 1; i >= offset; i--) {
+            target[i] = HEX[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+    }
+}
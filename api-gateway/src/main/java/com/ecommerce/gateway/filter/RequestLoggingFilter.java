@@ -1,88 +1,79 @@
 package com.ecommerce.gateway.filter;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import com.ecommerce.gateway.accesslog.AccessLogRecord;
+import com.ecommerce.gateway.accesslog.AsyncAccessLog;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
 import org.springframework.cloud.gateway.filter.GlobalFilter;
 import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.stereotype.Component;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
-import java.util.UUID;
-
 /**
  * Global filter for request logging and tracing.
- * Adds request ID and logs all incoming requests.
+ * Adds a request ID when missing and records each completed request in the {@link AsyncAccessLog}.
  */
 @Component
 public class RequestLoggingFilter implements GlobalFilter, Ordered {
 
-    private static final Logger log = LoggerFactory.getLogger(RequestLoggingFilter.class);
     private static final String REQUEST_ID_HEADER = "X-Request-Id";
     private static final String START_TIME_ATTR = "startTime";
 
+    private final AsyncAccessLog accessLog;
+    private final RequestIdGenerator requestIdGenerator;
+
+    public RequestLoggingFilter(AsyncAccessLog accessLog, RequestIdGenerator requestIdGenerator) {
+        this.accessLog = accessLog;
+        this.requestIdGenerator = requestIdGenerator;
+    }
+
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
-        long startTime = System.currentTimeMillis();
+        long startTime = System.nanoTime();
         exchange.getAttributes().put(START_TIME_ATTR, startTime);
 
         // Generate or use existing request ID
         String requestId = exchange.getRequest().getHeaders().getFirst(REQUEST_ID_HEADER);
+        ServerWebExchange forwardedExchange = exchange;
         if (requestId == null) {
-            requestId = UUID.randomUUID().toString();
+            requestId = requestIdGenerator.next();
+            ServerHttpRequest mutatedRequest = exchange.getRequest().mutate()
+                    .header(REQUEST_ID_HEADER, requestId)
+                    .build();
+            forwardedExchange = exchange.mutate()
+                    .request(mutatedRequest)
+                    .build();
         }
 
-        ServerHttpRequest mutatedRequest = exchange.getRequest().mutate()
-                .header(REQUEST_ID_HEADER, requestId)
-                .build();
-
-        ServerWebExchange mutatedExchange = exchange.mutate()
-                .request(mutatedRequest)
-                .build();
-
-        String method = mutatedRequest.getMethod().name();
-        String path = mutatedRequest.getPath().value();
-        String clientIp = getClientIp(mutatedRequest);
-
-        log.info("Incoming request: {} {} from {} [requestId={}]",
-                method, path, clientIp, requestId);
-
         final String finalRequestId = requestId;
-        return chain.filter(mutatedExchange)
-                .doOnSuccess(aVoid -> {
-                    Long start = exchange.getAttribute(START_TIME_ATTR);
-                    long duration = start != null ? System.currentTimeMillis() - start : 0;
-                    int statusCode = exchange.getResponse().getStatusCode() != null
-                            ? exchange.getResponse().getStatusCode().value()
-                            : 0;
-                    log.info("Request completed: {} {} - {} in {}ms [requestId={}]",
-                            method, path, statusCode, duration, finalRequestId);
-                })
-                .doOnError(throwable -> {
-                    Long start = exchange.getAttribute(START_TIME_ATTR);
-                    long duration = start != null ? System.currentTimeMillis() - start : 0;
-                    log.error("Request failed: {} {} - {} in {}ms [requestId={}]",
-                            method, path, throwable.getMessage(), duration, finalRequestId);
-                });
+        return chain.filter(forwardedExchange)
+                .doOnSuccess(aVoid -> complete(exchange, startTime, finalRequestId, null))
+                .doOnError(throwable -> complete(exchange, startTime, finalRequestId, throwable));
     }
 
-    private String getClientIp(ServerHttpRequest request) {
-        // Check for forwarded headers (when behind load balancer)
-        String forwardedFor = request.getHeaders().getFirst("X-Forwarded-For");
-        if (forwardedFor != null && !forwardedFor.isEmpty()) {
-            return forwardedFor.split(",")[0].trim();
-        }
-
-        String realIp = request.getHeaders().getFirst("X-Real-IP");
-        if (realIp != null && !realIp.isEmpty()) {
-            return realIp;
+    private void complete(ServerWebExchange exchange, long startTime, String requestId, Throwable error) {
+        long duration = System.nanoTime() - startTime;
+        HttpStatusCode statusCode = exchange.getResponse().getStatusCode();
+        int status = statusCode != null ? statusCode.value() : 0;
+        if (!accessLog.shouldRecord(status, duration, error != null)) {
+            return;
         }
 
-        return request.getRemoteAddress() != null
-                ? request.getRemoteAddress().getAddress().getHostAddress()
-                : "unknown";
+        ServerHttpRequest request = exchange.getRequest();
+        HttpHeaders headers = request.getHeaders();
+        accessLog.record(new AccessLogRecord(
+                request.getMethod().name(),
+                request.getPath().value(),
+                status,
+                duration,
+                requestId,
+                headers.getFirst("X-Forwarded-For"),
+                headers.getFirst("X-Real-IP"),
+                request.getRemoteAddress(),
+                error != null ? String.valueOf(error.getMessage()) : null));
     }
 
     @Override
@@ -0,0 +1,268 @@
+package com.ecommerce.gateway.filter;
+
+import com.ecommerce.gateway.cache.CachedResponse;
+import com.ecommerce.gateway.cache.ResponseCache;
+import com.ecommerce.gateway.cache.SingleFlight;
+import com.ecommerce.gateway.config.ResponseCacheProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Global filter caching GET responses of the routes listed in {@link ResponseCacheProperties}.
+ * Serves hits from the {@link ResponseCache}, answers matching If-None-Match requests with 304,
+ * and lets concurrent misses for the same URL wait for a single downstream call.
+ */
+@Component
+public class ResponseCacheFilter implements GlobalFilter, Ordered {
+
+    static final String CACHE_HEADER = "X-Cache";
+
+    /**
+     * How a request was answered, exported as the {@code result} tag.
+     */
+    enum CacheResult {
+        HIT,
+        MISS,
+        COALESCED,
+        NOT_MODIFIED,
+        BYPASS
+    }
+
+    private static final CacheResult[] RESULTS = CacheResult.values();
+
+    private final ResponseCache cache;
+    private final ResponseCacheProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final SingleFlight<CachedResponse> inFlight = new SingleFlight<>();
+    private final ConcurrentHashMap<String, Counter[]> counters = new ConcurrentHashMap<>();
+
+    public ResponseCacheFilter(ResponseCache cache, ResponseCacheProperties properties, MeterRegistry meterRegistry) {
+        this.cache = cache;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (!properties.isEnabled() || exchange.getRequest().getMethod() != HttpMethod.GET) {
+            return chain.filter(exchange);
+        }
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        Duration ttl = route != null ? properties.getRoutes().get(route.getId()) : null;
+        if (ttl == null) {
+            return chain.filter(exchange);
+        }
+
+        String routeId = route.getId();
+        String key = cacheKey(routeId, exchange.getRequest());
+        return cache.get(key)
+                .flatMap(cached -> serve(exchange, routeId, cached, CacheResult.HIT).thenReturn(Boolean.TRUE))
+                .switchIfEmpty(Mono.defer(() -> miss(exchange, chain, routeId, key, ttl).thenReturn(Boolean.TRUE)))
+                .then();
+    }
+
+    private Mono<Void> miss(ServerWebExchange exchange, GatewayFilterChain chain,
+                            String routeId, String key, Duration ttl) {
+        SingleFlight.Flight<CachedResponse> flight = inFlight.join(key);
+        if (!flight.isLeader()) {
+            // Wait for the identical request already on its way downstream
+            return flight.result(properties.getCoalesceTimeout())
+                    .flatMap(shared -> serve(exchange, routeId, shared, CacheResult.COALESCED).thenReturn(Boolean.TRUE))
+                    .switchIfEmpty(Mono.defer(() -> fetch(exchange, chain, routeId, key, ttl).then(Mono.just(Boolean.TRUE))))
+                    .then();
+        }
+        CachingResponse response = new CachingResponse(exchange, routeId, key, ttl);
+        return chain.filter(forward(exchange, response))
+                .doFinally(signal -> flight.complete(response.captured));
+    }
+
+    private Mono<Void> fetch(ServerWebExchange exchange, GatewayFilterChain chain,
+                             String routeId, String key, Duration ttl) {
+        return chain.filter(forward(exchange, new CachingResponse(exchange, routeId, key, ttl)));
+    }
+
+    /**
+     * Forward without conditional headers, so downstream returns a full, cacheable body.
+     * The conditional request is answered by the gateway against the cached entity tag.
+     */
+    private static ServerWebExchange forward(ServerWebExchange exchange, CachingResponse response) {
+        ServerWebExchange.Builder builder = exchange.mutate().response(response);
+        HttpHeaders headers = exchange.getRequest().getHeaders();
+        if (headers.containsKey(HttpHeaders.IF_NONE_MATCH) || headers.containsKey(HttpHeaders.IF_MODIFIED_SINCE)) {
+            builder.request(exchange.getRequest().mutate()
+                    .headers(h -> {
+                        h.remove(HttpHeaders.IF_NONE_MATCH);
+                        h.remove(HttpHeaders.IF_MODIFIED_SINCE);
+                    })
+                    .build());
+        }
+        return builder.build();
+    }
+
+    private Mono<Void> serve(ServerWebExchange exchange, String routeId, CachedResponse cached, CacheResult result) {
+        ServerHttpResponse response = exchange.getResponse();
+        HttpHeaders headers = response.getHeaders();
+        cached.headers().forEach(headers::put);
+        headers.setETag(cached.etag());
+        headers.set(CACHE_HEADER, result.name());
+
+        if (cached.matches(exchange.getRequest().getHeaders().getFirst(HttpHeaders.IF_NONE_MATCH))) {
+            count(routeId, CacheResult.NOT_MODIFIED);
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            headers.remove(HttpHeaders.CONTENT_TYPE);
+            return response.setComplete();
+        }
+        count(routeId, result);
+        response.setStatusCode(HttpStatusCode.valueOf(cached.status()));
+        headers.setContentLength(cached.body().length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(cached.body())));
+    }
+
+    private void count(String routeId, CacheResult result) {
+        Counter[] byResult = counters.computeIfAbsent(routeId, id -> new Counter[RESULTS.length]);
+        Counter counter = byResult[result.ordinal()];
+        if (counter == null) {
+            counter = Counter.builder("gateway.response-cache.requests")
+                    .description("Cacheable GET requests by cache result")
+                    .tag("route", routeId)
+                    .tag("result", result.name())
+                    .register(meterRegistry);
+            byResult[result.ordinal()] = counter;
+        }
+        counter.increment();
+    }
+
+    private static String cacheKey(String routeId, ServerHttpRequest request) {
+        String path = request.getURI().getRawPath();
+        String query = request.getURI().getRawQuery();
+        return query == null ? routeId + ' ' + path : routeId + ' ' + path + '?' + query;
+    }
+
+    /**
+     * Whether downstream allows the response to be shared between clients.
+     */
+    static boolean isCacheable(HttpHeaders headers) {
+        String cacheControl = headers.getCacheControl();
+        if (cacheControl != null && (cacheControl.contains("no-store")
+                || cacheControl.contains("private") || cacheControl.contains("no-cache"))) {
+            return false;
+        }
+        if (headers.containsKey(HttpHeaders.SET_COOKIE)) {
+            return false;
+        }
+        // Only CORS variation is tolerated; it is re-applied by the gateway on every response
+        for (String vary : headers.getVary()) {
+            if (!vary.equalsIgnoreCase(HttpHeaders.ORIGIN)
+                    && !vary.equalsIgnoreCase(HttpHeaders.ACCESS_CONTROL_REQUEST_METHOD)
+                    && !vary.equalsIgnoreCase(HttpHeaders.ACCESS_CONTROL_REQUEST_HEADERS)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int getOrder() {
+        // After rate limiting, so cache hits still count against the client's limit
+        return Ordered.HIGHEST_PRECEDENCE + 20;
+    }
+
+    /**
+     * Buffers a cacheable 200 response, stores it, and then writes it to the client. A body over the
+     * maximum entry size is written through as it arrives instead.
+     */
+    private final class CachingResponse extends ServerHttpResponseDecorator {
+
+        private final String routeId;
+        private final String key;
+        private final Duration ttl;
+        private final String ifNoneMatch;
+        private volatile CachedResponse captured;
+
+        private CachingResponse(ServerWebExchange exchange, String routeId, String key, Duration ttl) {
+            super(exchange.getResponse());
+            this.routeId = routeId;
+            this.key = key;
+            this.ttl = ttl;
+            this.ifNoneMatch = exchange.getRequest().getHeaders().getFirst(HttpHeaders.IF_NONE_MATCH);
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            HttpStatusCode status = getStatusCode();
+            HttpHeaders headers = getHeaders();
+            long maximumEntrySize = properties.getMaximumEntrySize().toBytes();
+            if (status == null || status.value() != HttpStatus.OK.value() || !isCacheable(headers)
+                    || headers.getContentLength() > maximumEntrySize) {
+                count(routeId, CacheResult.BYPASS);
+                return super.writeWith(body);
+            }
+
+            // A body of unknown length is read up to the maximum; past it, it goes out as it arrives
+            return BoundedBody.read(body, headers.getContentLength(), maximumEntrySize,
+                    bytes -> store(headers, bytes),
+                    overflow -> {
+                        count(routeId, CacheResult.BYPASS);
+                        return getDelegate().writeWith(overflow);
+                    });
+        }
+
+        private Mono<Void> store(HttpHeaders headers, byte[] bytes) {
+            CachedResponse entry = toEntry(headers, bytes);
+            cache.put(key, entry);
+            captured = entry;
+            headers.setETag(entry.etag());
+            headers.set(CACHE_HEADER, CacheResult.MISS.name());
+
+            if (entry.matches(ifNoneMatch)) {
+                count(routeId, CacheResult.NOT_MODIFIED);
+                setStatusCode(HttpStatus.NOT_MODIFIED);
+                headers.remove(HttpHeaders.CONTENT_LENGTH);
+                headers.remove(HttpHeaders.CONTENT_TYPE);
+                return getDelegate().setComplete();
+            }
+            count(routeId, CacheResult.MISS);
+            return getDelegate().writeWith(Mono.just(bufferFactory().wrap(bytes)));
+        }
+
+        private CachedResponse toEntry(HttpHeaders headers, byte[] body) {
+            Map<String, List<String>> cachedHeaders = new LinkedHashMap<>();
+            for (String name : CachedResponse.CACHED_HEADERS) {
+                List<String> values = headers.get(name);
+                if (values != null) {
+                    cachedHeaders.put(name, List.copyOf(values));
+                }
+            }
+            String etag = headers.getETag();
+            if (etag == null) {
+                etag = "\"" + DigestUtils.md5DigestAsHex(body) + "\"";
+            }
+            return new CachedResponse(HttpStatus.OK.value(), cachedHeaders, body, etag,
+                    System.currentTimeMillis() + ttl.toMillis());
+        }
+    }
+}
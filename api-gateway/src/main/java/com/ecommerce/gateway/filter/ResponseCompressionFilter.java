@@ -0,0 +1,237 @@
+package com.ecommerce.gateway.filter;
+
+import com.ecommerce.gateway.compression.ResponseCompressor;
+import com.ecommerce.gateway.compression.ResponseCompressor.Encoding;
+import com.ecommerce.gateway.config.CompressionProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Global filter compressing response bodies with the coding the client prefers.
+ * Downstream services are asked for identity-encoded bodies, so the response cache and merged
+ * requests always hold uncompressed content and every client gets its own negotiated coding.
+ * Small, already-encoded and non-text responses pass through untouched.
+ */
+@Component
+public class ResponseCompressionFilter implements GlobalFilter, Ordered {
+
+    /**
+     * What happened to a response body, exported as the {@code result} tag.
+     */
+    enum CompressionResult {
+        COMPRESSED,
+        NOT_ACCEPTED,
+        TOO_SMALL,
+        TOO_LARGE,
+        ALREADY_ENCODED,
+        NOT_TRANSFORMABLE,
+        CONTENT_TYPE,
+        NOT_SMALLER
+    }
+
+    private static final CompressionResult[] RESULTS = CompressionResult.values();
+    private static final String NO_ROUTE = "none";
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+    private static final boolean THREAD_CPU_TIME = THREADS.isCurrentThreadCpuTimeSupported();
+
+    private final ResponseCompressor compressor;
+    private final CompressionProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentHashMap<String, Counter[]> counters = new ConcurrentHashMap<>();
+    private final Map<Encoding, DistributionSummary> ratios = new EnumMap<>(Encoding.class);
+    private final Map<Encoding, Timer> cpuTimers = new EnumMap<>(Encoding.class);
+
+    public ResponseCompressionFilter(ResponseCompressor compressor, CompressionProperties properties,
+                                     MeterRegistry meterRegistry) {
+        this.compressor = compressor;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        for (Encoding encoding : Encoding.values()) {
+            ratios.put(encoding, DistributionSummary.builder("gateway.compression.ratio")
+                    .description("Uncompressed size divided by compressed size")
+                    .tag("encoding", encoding.token())
+                    .publishPercentiles(0.5, 0.95)
+                    .register(meterRegistry));
+            cpuTimers.put(encoding, Timer.builder("gateway.compression.cpu")
+                    .description("CPU time spent compressing a response body")
+                    .tag("encoding", encoding.token())
+                    .register(meterRegistry));
+        }
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (!properties.isEnabled()) {
+            return chain.filter(exchange);
+        }
+        ServerHttpRequest request = exchange.getRequest();
+        Encoding encoding = compressor.negotiate(acceptEncoding(request.getHeaders()));
+
+        // The gateway owns content coding; downstream always answers with an identity body
+        ServerWebExchange.Builder forwarded = exchange.mutate();
+        if (request.getHeaders().containsKey(HttpHeaders.ACCEPT_ENCODING)) {
+            forwarded.request(request.mutate().headers(h -> h.remove(HttpHeaders.ACCEPT_ENCODING)).build());
+        }
+        if (request.getMethod() != HttpMethod.HEAD) {
+            Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+            forwarded.response(new CompressingResponse(exchange.getResponse(), encoding,
+                    route != null ? route.getId() : NO_ROUTE));
+        }
+        return chain.filter(forwarded.build());
+    }
+
+    private static String acceptEncoding(HttpHeaders headers) {
+        List<String> values = headers.get(HttpHeaders.ACCEPT_ENCODING);
+        if (values == null || values.isEmpty()) {
+            return null;
+        }
+        return values.size() == 1 ? values.get(0) : String.join(",", values);
+    }
+
+    private void count(String routeId, CompressionResult result) {
+        Counter[] byResult = counters.computeIfAbsent(routeId, id -> new Counter[RESULTS.length]);
+        Counter counter = byResult[result.ordinal()];
+        if (counter == null) {
+            counter = Counter.builder("gateway.compression.responses")
+                    .description("Response bodies by compression result")
+                    .tag("route", routeId)
+                    .tag("result", result.name())
+                    .register(meterRegistry);
+            byResult[result.ordinal()] = counter;
+        }
+        counter.increment();
+    }
+
+    private static long cpuTime() {
+        return THREAD_CPU_TIME ? THREADS.getCurrentThreadCpuTime() : System.nanoTime();
+    }
+
+    @Override
+    public int getOrder() {
+        // Just inside request timing, so cached and merged responses pass through it too
+        return Ordered.HIGHEST_PRECEDENCE + 2;
+    }
+
+    /**
+     * Buffers an eligible response body, up to the maximum response size, and writes it compressed.
+     */
+    private final class CompressingResponse extends ServerHttpResponseDecorator {
+
+        private final Encoding encoding;
+        private final String routeId;
+
+        CompressingResponse(ServerHttpResponse delegate, Encoding encoding, String routeId) {
+            super(delegate);
+            this.encoding = encoding;
+            this.routeId = routeId;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            CompressionResult skipped = skipReason(getHeaders());
+            if (skipped != null) {
+                count(routeId, skipped);
+                return super.writeWith(body);
+            }
+            // A body of unknown length is read up to the maximum; past it, it goes out as it arrives
+            return BoundedBody.read(body, getHeaders().getContentLength(), properties.getMaxResponseSize().toBytes(),
+                    this::writeCompressed,
+                    overflow -> {
+                        count(routeId, CompressionResult.TOO_LARGE);
+                        return super.writeWith(overflow);
+                    });
+        }
+
+        private Mono<Void> writeCompressed(byte[] raw) {
+            int size = raw.length;
+            if (size < properties.getMinResponseSize().toBytes()) {
+                count(routeId, CompressionResult.TOO_SMALL);
+                return super.writeWith(Mono.just(bufferFactory().wrap(raw)));
+            }
+            long start = cpuTime();
+            byte[] compressed = compressor.compress(encoding, raw);
+            cpuTimers.get(encoding).record(cpuTime() - start, TimeUnit.NANOSECONDS);
+
+            HttpHeaders headers = getHeaders();
+            if (compressed.length >= size) {
+                count(routeId, CompressionResult.NOT_SMALLER);
+                headers.setContentLength(size);
+                return super.writeWith(Mono.just(bufferFactory().wrap(raw)));
+            }
+            count(routeId, CompressionResult.COMPRESSED);
+            ratios.get(encoding).record((double) size / compressed.length);
+            headers.set(HttpHeaders.CONTENT_ENCODING, encoding.token());
+            headers.setContentLength(compressed.length);
+            weakenETag(headers);
+            return super.writeWith(Mono.just(bufferFactory().wrap(compressed)));
+        }
+
+        /**
+         * Why the body goes out as is, or null when it should be compressed.
+         * Marks compressible responses as varying by Accept-Encoding, whatever the outcome.
+         */
+        private CompressionResult skipReason(HttpHeaders headers) {
+            String contentEncoding = headers.getFirst(HttpHeaders.CONTENT_ENCODING);
+            if (contentEncoding != null && !contentEncoding.equalsIgnoreCase("identity")) {
+                return CompressionResult.ALREADY_ENCODED;
+            }
+            if (!compressor.isCompressible(headers.getContentType())) {
+                return CompressionResult.CONTENT_TYPE;
+            }
+            String cacheControl = headers.getCacheControl();
+            if (headers.containsKey(HttpHeaders.CONTENT_RANGE)
+                    || (cacheControl != null && cacheControl.contains("no-transform"))) {
+                return CompressionResult.NOT_TRANSFORMABLE;
+            }
+            if (!headers.getVary().contains(HttpHeaders.ACCEPT_ENCODING)) {
+                headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            }
+            if (encoding == null) {
+                return CompressionResult.NOT_ACCEPTED;
+            }
+            long contentLength = headers.getContentLength();
+            if (contentLength >= 0 && contentLength < properties.getMinResponseSize().toBytes()) {
+                return CompressionResult.TOO_SMALL;
+            }
+            if (contentLength > properties.getMaxResponseSize().toBytes()) {
+                return CompressionResult.TOO_LARGE;
+            }
+            return null;
+        }
+
+        /**
+         * The compressed body is a different byte sequence, so a strong validator no longer holds.
+         */
+        private void weakenETag(HttpHeaders headers) {
+            String etag = headers.getETag();
+            if (etag != null && !etag.startsWith("W/")) {
+                headers.set(HttpHeaders.ETAG, "W/" + etag);
+            }
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.ecommerce.gateway.filter;
+
+import com.ecommerce.gateway.metrics.GatewayMetrics;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+/**
+ * Global filter timing routed requests end to end, per route ID.
+ * See {@link DownstreamTimingFilter} for the downstream call alone.
+ */
+@Component
+public class RouteTimingFilter implements GlobalFilter, Ordered {
+
+    private final GatewayMetrics metrics;
+
+    public RouteTimingFilter(GatewayMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        if (route == null) {
+            return chain.filter(exchange);
+        }
+        long startTime = System.nanoTime();
+        return chain.filter(exchange)
+                .doFinally(signal -> metrics.request(route.getId(), status(exchange, signal),
+                        System.nanoTime() - startTime));
+    }
+
+    static int status(ServerWebExchange exchange, SignalType signal) {
+        if (signal == SignalType.ON_ERROR) {
+            return 500;
+        }
+        HttpStatusCode statusCode = exchange.getResponse().getStatusCode();
+        return statusCode != null ? statusCode.value() : 0;
+    }
+
+    @Override
+    public int getOrder() {
+        // Right after request logging, so rate limiting and downstream time are included
+        return Ordered.HIGHEST_PRECEDENCE + 1;
+    }
+}
@@ -0,0 +1,227 @@
+package com.ecommerce.gateway.filter;
+
+import com.ecommerce.gateway.cache.BufferedResponse;
+import com.ecommerce.gateway.cache.SingleFlight;
+import com.ecommerce.gateway.config.ResponseCacheProperties;
+import com.ecommerce.gateway.config.SingleFlightProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.util.LinkedCaseInsensitiveMap;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Route filter merging identical concurrent GETs into a single downstream call.
+ * The first request goes downstream; requests arriving while it is in flight wait for its
+ * buffered response and receive a copy. Requests are identical when route, path, query,
+ * content negotiation headers, conditional headers and authenticated user all match.
+ * Applied per route in {@link com.ecommerce.gateway.config.RouteConfig}. Routes cached by the
+ * {@link ResponseCacheFilter} are skipped, as the cache already coalesces their misses.
+ */
+@Component
+public class SingleFlightGatewayFilter implements GatewayFilter, Ordered {
+
+    /**
+     * Response headers never shared between clients.
+     */
+    private static final List<String> UNSHARED_HEADERS = List.of(
+            HttpHeaders.CONTENT_LENGTH,
+            HttpHeaders.TRANSFER_ENCODING,
+            HttpHeaders.CONNECTION,
+            HttpHeaders.SET_COOKIE);
+
+    private static final byte[] EMPTY_BODY = new byte[0];
+
+    private final SingleFlightProperties properties;
+    private final ResponseCacheProperties responseCacheProperties;
+    private final MeterRegistry meterRegistry;
+    private final SingleFlight<BufferedResponse> flights = new SingleFlight<>();
+    private final ConcurrentHashMap<String, RouteMeters> meters = new ConcurrentHashMap<>();
+
+    public SingleFlightGatewayFilter(SingleFlightProperties properties,
+                                     ResponseCacheProperties responseCacheProperties,
+                                     MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.responseCacheProperties = responseCacheProperties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (!properties.isEnabled() || exchange.getRequest().getMethod() != HttpMethod.GET) {
+            return chain.filter(exchange);
+        }
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        if (route != null && isResponseCached(route.getId())) {
+            return chain.filter(exchange);
+        }
+        RouteMeters routeMeters = meters(route != null ? route.getId() : "unknown");
+
+        SingleFlight.Flight<BufferedResponse> flight = flights.join(key(exchange));
+        if (!flight.isLeader()) {
+            return flight.result(properties.getWaitTimeout())
+                    .flatMap(shared -> {
+                        routeMeters.merged().increment();
+                        return write(exchange.getResponse(), shared).thenReturn(Boolean.TRUE);
+                    })
+                    .switchIfEmpty(Mono.defer(() -> {
+                        routeMeters.fallback().increment();
+                        return chain.filter(exchange).thenReturn(Boolean.TRUE);
+                    }))
+                    .then();
+        }
+
+        routeMeters.leader().increment();
+        BufferingResponse response = new BufferingResponse(exchange.getResponse());
+        return chain.filter(exchange.mutate().response(response).build())
+                .doFinally(signal -> {
+                    routeMeters.followers().record(flight.followers());
+                    flight.complete(response.buffered);
+                });
+    }
+
+    private boolean isResponseCached(String routeId) {
+        return responseCacheProperties.isEnabled() && responseCacheProperties.getRoutes().containsKey(routeId);
+    }
+
+    private static String key(ServerWebExchange exchange) {
+        ServerHttpRequest request = exchange.getRequest();
+        HttpHeaders headers = request.getHeaders();
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        String userId = exchange.getAttribute(JwtAuthenticationWebFilter.USER_ID_ATTR);
+        return new StringBuilder(128)
+                .append(route != null ? route.getId() : "").append(' ')
+                .append(request.getURI().getRawPath())
+                .append('?').append(request.getURI().getRawQuery())
+                .append('|').append(userId)
+                .append('|').append(headers.getFirst(HttpHeaders.ACCEPT))
+                .append('|').append(headers.getFirst(HttpHeaders.ACCEPT_ENCODING))
+                .append('|').append(headers.getFirst(HttpHeaders.ACCEPT_LANGUAGE))
+                .append('|').append(headers.getFirst(HttpHeaders.IF_NONE_MATCH))
+                .append('|').append(headers.getFirst(HttpHeaders.IF_MODIFIED_SINCE))
+                .toString();
+    }
+
+    private static Mono<Void> write(ServerHttpResponse response, BufferedResponse shared) {
+        response.setStatusCode(HttpStatusCode.valueOf(shared.status()));
+        HttpHeaders headers = response.getHeaders();
+        shared.headers().forEach(headers::putIfAbsent);
+        if (shared.body().length == 0) {
+            return response.setComplete();
+        }
+        headers.setContentLength(shared.body().length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(shared.body())));
+    }
+
+    private RouteMeters meters(String routeId) {
+        RouteMeters routeMeters = meters.get(routeId);
+        if (routeMeters == null) {
+            routeMeters = meters.computeIfAbsent(routeId, id -> new RouteMeters(
+                    counter(id, "leader"),
+                    counter(id, "merged"),
+                    counter(id, "fallback"),
+                    DistributionSummary.builder("gateway.single-flight.followers")
+                            .description("Requests merged into each downstream call")
+                            .tag("route", id)
+                            .register(meterRegistry)));
+        }
+        return routeMeters;
+    }
+
+    private Counter counter(String routeId, String role) {
+        return Counter.builder("gateway.single-flight.requests")
+                .description("Single-flight GETs by role; merge ratio is merged / total")
+                .tag("route", routeId)
+                .tag("role", role)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public int getOrder() {
+        // After the response cache, and before the circuit breaker so merged requests share one call
+        return Ordered.HIGHEST_PRECEDENCE + 30;
+    }
+
+    private record RouteMeters(Counter leader, Counter merged, Counter fallback, DistributionSummary followers) {
+    }
+
+    /**
+     * Buffers the leader's response for its followers while writing it to the leader's client.
+     * A body over the maximum size is written through as it arrives and not shared.
+     */
+    private final class BufferingResponse extends ServerHttpResponseDecorator {
+
+        /** Headers set by gateway filters before the downstream call; these are per client. */
+        private final Set<String> gatewayHeaders = Collections.newSetFromMap(new LinkedCaseInsensitiveMap<>());
+        private volatile BufferedResponse buffered;
+        private volatile boolean written;
+
+        private BufferingResponse(ServerHttpResponse delegate) {
+            super(delegate);
+            gatewayHeaders.addAll(delegate.getHeaders().keySet());
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            written = true;
+            long maximumBodySize = properties.getMaximumBodySize().toBytes();
+            if (!isShareable() || getHeaders().getContentLength() > maximumBodySize) {
+                return super.writeWith(body);
+            }
+            // A body of unknown length is read up to the maximum; past it, it goes out as it arrives and
+            // followers make their own call
+            return BoundedBody.read(body, getHeaders().getContentLength(), maximumBodySize,
+                    bytes -> {
+                        buffered = buffer(bytes);
+                        return getDelegate().writeWith(Mono.just(bufferFactory().wrap(bytes)));
+                    },
+                    getDelegate()::writeWith);
+        }
+
+        @Override
+        public Mono<Void> setComplete() {
+            // A response completed without a body, e.g. 204 or 304
+            if (!written && isShareable()) {
+                written = true;
+                buffered = buffer(EMPTY_BODY);
+            }
+            return super.setComplete();
+        }
+
+        private boolean isShareable() {
+            return getStatusCode() != null && !getHeaders().containsKey(HttpHeaders.SET_COOKIE);
+        }
+
+        private BufferedResponse buffer(byte[] body) {
+            Map<String, List<String>> headers = new LinkedHashMap<>();
+            getHeaders().forEach((name, values) -> {
+                if (!gatewayHeaders.contains(name) && UNSHARED_HEADERS.stream().noneMatch(name::equalsIgnoreCase)) {
+                    headers.put(name, List.copyOf(values));
+                }
+            });
+            return new BufferedResponse(getStatusCode().value(), headers, body);
+        }
+    }
+}
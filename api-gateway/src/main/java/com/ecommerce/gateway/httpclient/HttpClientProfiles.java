@@ -0,0 +1,70 @@
+package com.ecommerce.gateway.httpclient;
+
+import com.ecommerce.gateway.config.HttpClientProfileProperties;
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.DisposableBean;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.HttpResources;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.netty.resources.LoopResources;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * One Reactor Netty client, with its own connection pool, per configured downstream service.
+ * Pools are named "gateway-{serviceId}" and publish Reactor Netty's pool gauges
+ * (reactor.netty.connection.provider.active.connections, idle.connections,
+ * pending.connections, ...) tagged with that name, for sizing pools from data.
+ * Clients share the server's event loops, so no threads are added per profile.
+ */
+public class HttpClientProfiles implements DisposableBean {
+
+    private final Map<String, HttpClient> clients = new HashMap<>();
+    private final Map<String, ConnectionProvider> providers = new HashMap<>();
+
+    public HttpClientProfiles(HttpClientProfileProperties properties) {
+        properties.getProfiles().forEach((serviceId, profile) -> {
+            ConnectionProvider provider = connectionProvider(serviceId, profile);
+            providers.put(serviceId, provider);
+            clients.put(serviceId, httpClient(provider, profile));
+        });
+    }
+
+    /**
+     * The client for a service, or null when the service has no profile.
+     */
+    public HttpClient forService(String serviceId) {
+        return serviceId != null ? clients.get(serviceId) : null;
+    }
+
+    private static ConnectionProvider connectionProvider(String serviceId, HttpClientProfileProperties.Profile profile) {
+        return ConnectionProvider.builder("gateway-" + serviceId)
+                .maxConnections(profile.getMaxConnections())
+                .maxIdleTime(profile.getMaxIdleTime())
+                .maxLifeTime(profile.getMaxLifeTime())
+                .pendingAcquireMaxCount(profile.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(profile.getPendingAcquireTimeout())
+                .evictInBackground(profile.getEvictionInterval())
+                .metrics(true)
+                .build();
+    }
+
+    private static HttpClient httpClient(ConnectionProvider provider, HttpClientProfileProperties.Profile profile) {
+        LoopResources loops = HttpResources.get();
+        HttpClient client = HttpClient.create(provider)
+                .runOn(loops, profile.isNativeTransport())
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, Math.toIntExact(profile.getConnectTimeout().toMillis()));
+        return switch (profile.getProtocol()) {
+            case HTTP11 -> client.protocol(HttpProtocol.HTTP11);
+            case H2C -> client.protocol(HttpProtocol.H2C);
+        };
+    }
+
+    @Override
+    public void destroy() {
+        providers.values().forEach(provider -> provider.disposeLater().block(Duration.ofSeconds(5)));
+    }
+}
@@ -0,0 +1,112 @@
+package com.ecommerce.gateway.loadbalancer;
+
+import com.ecommerce.gateway.config.LoadBalancerProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cloud.client.ServiceInstance;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Peak EWMA response time and in-flight count per service instance.
+ * A slower sample replaces the average at once (peak), faster samples pull it down gradually,
+ * and an instance nobody called for a while decays back towards zero so it gets probed again.
+ * Instances that disappear from discovery expire after {@link LoadBalancerProperties#getStatsExpiry()}.
+ */
+public class InstanceLatencyStats {
+
+    private final double decayNanos;
+    private final long failurePenaltyNanos;
+    private final Cache<InstanceKey, Stats> stats;
+
+    public InstanceLatencyStats(LoadBalancerProperties properties) {
+        this.decayNanos = properties.getDecayTime().toNanos();
+        this.failurePenaltyNanos = properties.getFailurePenalty().toNanos();
+        this.stats = Caffeine.newBuilder()
+                .expireAfterAccess(properties.getStatsExpiry())
+                .build();
+    }
+
+    /**
+     * Cost of sending one more request to the instance: latency weighted by its queue.
+     */
+    public double cost(ServiceInstance instance) {
+        Stats instanceStats = stats.getIfPresent(InstanceKey.of(instance));
+        return instanceStats != null ? instanceStats.cost(System.nanoTime()) : 1.0;
+    }
+
+    /**
+     * Record a request sent to the instance; call exactly one of the returned call's methods when it ends.
+     */
+    public Call start(ServiceInstance instance) {
+        Stats instanceStats = stats.get(InstanceKey.of(instance), key -> new Stats());
+        instanceStats.inFlight.incrementAndGet();
+        return new Call(instanceStats, System.nanoTime());
+    }
+
+    private record InstanceKey(String serviceId, String host, int port) {
+
+        static InstanceKey of(ServiceInstance instance) {
+            return new InstanceKey(instance.getServiceId(), instance.getHost(), instance.getPort());
+        }
+    }
+
+    /**
+     * One call to an instance.
+     */
+    public final class Call {
+
+        private final Stats instanceStats;
+        private final long startNanos;
+
+        private Call(Stats instanceStats, long startNanos) {
+            this.instanceStats = instanceStats;
+            this.startNanos = startNanos;
+        }
+
+        public void succeeded() {
+            long now = System.nanoTime();
+            instanceStats.complete(now - startNanos, now);
+        }
+
+        public void failed() {
+            long now = System.nanoTime();
+            instanceStats.complete(Math.max(now - startNanos, failurePenaltyNanos), now);
+        }
+
+        /**
+         * The call was abandoned, e.g. it lost a hedge; its latency is unknown.
+         */
+        public void cancelled() {
+            instanceStats.inFlight.decrementAndGet();
+        }
+    }
+
+    private final class Stats {
+
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private volatile double ewmaNanos;
+        private volatile long lastNanos = System.nanoTime();
+
+        synchronized void complete(long rttNanos, long now) {
+            inFlight.decrementAndGet();
+            double decayed = decayed(now);
+            if (rttNanos > decayed) {
+                ewmaNanos = rttNanos;
+            } else {
+                double weight = Math.exp(-(now - lastNanos) / decayNanos);
+                ewmaNanos = ewmaNanos * weight + rttNanos * (1 - weight);
+            }
+            lastNanos = now;
+        }
+
+        double cost(long now) {
+            // +1 keeps instances without samples from looking free regardless of their queue
+            return (decayed(now) + 1) * (inFlight.get() + 1);
+        }
+
+        private double decayed(long now) {
+            return ewmaNanos * Math.exp(-Math.max(0, now - lastNanos) / decayNanos);
+        }
+    }
+}
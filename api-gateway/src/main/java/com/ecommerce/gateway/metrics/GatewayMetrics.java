@@ -0,0 +1,105 @@
+package com.ecommerce.gateway.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.boot.actuate.metrics.http.Outcome;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gateway-specific meters.
+ * Timers are tagged by route ID and status outcome only, never by path, so the number of
+ * series is bounded by the route table. Meters are looked up once and reused, keeping the
+ * per-request cost to a map lookup and a histogram update.
+ */
+public class GatewayMetrics {
+
+    /**
+     * Result of JWT authentication for a request.
+     */
+    public enum AuthOutcome {
+        AUTHENTICATED,
+        ANONYMOUS,
+        TOKEN_INVALID,
+        TOKEN_EXPIRED,
+        TOKEN_TYPE_REJECTED
+    }
+
+    static final String REQUESTS = "gateway.requests";
+    static final String DOWNSTREAM = "gateway.downstream";
+    static final String AUTH_REQUESTS = "gateway.auth.requests";
+    static final String AUTH_VALIDATION = "gateway.auth.validation";
+
+    private static final Outcome[] OUTCOMES = Outcome.values();
+
+    private final MeterRegistry meterRegistry;
+    private final Duration[] slo;
+    private final Map<AuthOutcome, Counter> authOutcomes = new EnumMap<>(AuthOutcome.class);
+    private final Timer tokenValidation;
+    private final ConcurrentHashMap<String, Timer[]> requestTimers = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Timer[]> downstreamTimers = new ConcurrentHashMap<>();
+
+    public GatewayMetrics(MeterRegistry meterRegistry, List<Duration> slo) {
+        this.meterRegistry = meterRegistry;
+        this.slo = slo.toArray(Duration[]::new);
+        for (AuthOutcome outcome : AuthOutcome.values()) {
+            authOutcomes.put(outcome, Counter.builder(AUTH_REQUESTS)
+                    .description("Requests by JWT authentication outcome")
+                    .tag("outcome", outcome.name())
+                    .register(meterRegistry));
+        }
+        this.tokenValidation = Timer.builder(AUTH_VALIDATION)
+                .description("Time spent validating bearer tokens, including verified token cache hits")
+                .serviceLevelObjectives(Duration.ofNanos(50_000), Duration.ofNanos(250_000),
+                        Duration.ofMillis(1), Duration.ofMillis(5))
+                .register(meterRegistry);
+    }
+
+    public void authOutcome(AuthOutcome outcome) {
+        authOutcomes.get(outcome).increment();
+    }
+
+    public void tokenValidation(long durationNanos) {
+        tokenValidation.record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Total time spent in the gateway for a routed request.
+     */
+    public void request(String routeId, int status, long durationNanos) {
+        timer(requestTimers, REQUESTS, "Requests handled by the gateway, per route", routeId, status)
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Time until the downstream service responded.
+     */
+    public void downstream(String routeId, int status, long durationNanos) {
+        timer(downstreamTimers, DOWNSTREAM, "Time to downstream response headers, per route", routeId, status)
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private Timer timer(ConcurrentHashMap<String, Timer[]> timers, String name, String description,
+                        String routeId, int status) {
+        Outcome outcome = status > 0 ? Outcome.forStatus(status) : Outcome.UNKNOWN;
+        Timer[] byOutcome = timers.computeIfAbsent(routeId, id -> new Timer[OUTCOMES.length]);
+        Timer timer = byOutcome[outcome.ordinal()];
+        if (timer == null) {
+            // Racing threads register the same meter; the registry returns one instance
+            timer = Timer.builder(name)
+                    .description(description)
+                    .tag("route", routeId)
+                    .tag("outcome", outcome.name())
+                    .serviceLevelObjectives(slo)
+                    .register(meterRegistry);
+            byOutcome[outcome.ordinal()] = timer;
+        }
+        return timer;
+    }
+}
@@ -0,0 +1,195 @@
+package com.ecommerce.gateway.ratelimit;
+
+import com.ecommerce.gateway.config.LocalRateLimitProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.gateway.filter.ratelimit.AbstractRateLimiter;
+import org.springframework.cloud.gateway.filter.ratelimit.RedisRateLimiter;
+import org.springframework.cloud.gateway.route.RouteDefinitionRouteLocator;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Two-tier token bucket rate limiter.
+ * Tokens are leased from the shared Redis bucket in batches and handed out locally with a
+ * lock-free counter, so clients well under their limit cost one Redis round trip per lease
+ * instead of one per request. Once Redis cannot grant a whole lease the key is near its limit,
+ * and requests are checked against Redis one by one until the lease expires.
+ *
+ * Uses the same Redis keys and script as {@link RedisRateLimiter}, so all gateway replicas
+ * share one bucket per key. Each replica can overshoot a key's limit by at most one lease.
+ */
+public class LocalTokenBucketRateLimiter extends AbstractRateLimiter<RedisRateLimiter.Config> {
+
+    private static final Logger log = LoggerFactory.getLogger(LocalTokenBucketRateLimiter.class);
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final RedisScript<List<Long>> script;
+    private final RedisRateLimiter.Config defaultConfig;
+    private final boolean localEnabled;
+    private final double leaseRatio;
+    private final long leaseTtlNanos;
+    private final Cache<String, Lease> leases;
+
+    public LocalTokenBucketRateLimiter(ReactiveStringRedisTemplate redisTemplate,
+                                       RedisScript<List<Long>> script,
+                                       ConfigurationService configurationService,
+                                       RedisRateLimiter.Config defaultConfig,
+                                       LocalRateLimitProperties properties) {
+        super(RedisRateLimiter.Config.class, RedisRateLimiter.CONFIGURATION_PROPERTY_NAME, configurationService);
+        if (properties.getLeaseRatio() <= 0 || properties.getLeaseRatio() > 1) {
+            throw new IllegalArgumentException("gateway.rate-limit.local.lease-ratio must be in (0, 1]");
+        }
+        this.redisTemplate = redisTemplate;
+        this.script = script;
+        this.defaultConfig = defaultConfig;
+        this.localEnabled = properties.isEnabled();
+        this.leaseRatio = properties.getLeaseRatio();
+        this.leaseTtlNanos = properties.getLeaseTtl().toNanos();
+        this.leases = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumKeys())
+                .expireAfterAccess(properties.getLeaseTtl().multipliedBy(2))
+                .build();
+    }
+
+    @Override
+    public Mono<Response> isAllowed(String routeId, String id) {
+        RedisRateLimiter.Config config = loadConfiguration(routeId);
+        long requested = config.getRequestedTokens();
+        long leaseSize = leaseSize(config);
+
+        if (leaseSize <= requested) {
+            return acquire(id, config, requested)
+                    .map(remaining -> response(remaining >= 0, config, Math.max(remaining, 0)));
+        }
+
+        long now = System.nanoTime();
+        Lease lease = leases.get(id, key -> new Lease(now));
+        long localRemaining = lease.tryAcquire(requested, now);
+        if (localRemaining >= 0) {
+            return Mono.just(response(true, config, localRemaining));
+        }
+
+        if (lease.isNearLimit(now)) {
+            return acquire(id, config, requested)
+                    .map(remaining -> response(remaining >= 0, config, Math.max(remaining, 0)));
+        }
+
+        // Lease exhausted: take the next batch, this request included. Concurrent misses each take a
+        // batch; all of them are added to the lease, so no token taken from Redis is lost
+        return acquire(id, config, leaseSize)
+                .flatMap(remaining -> {
+                    if (remaining >= 0) {
+                        lease.grant(leaseSize - requested, System.nanoTime(), leaseTtlNanos);
+                        return Mono.just(response(true, config, remaining + leaseSize - requested));
+                    }
+                    lease.markNearLimit(System.nanoTime(), leaseTtlNanos);
+                    return acquire(id, config, requested)
+                            .map(single -> response(single >= 0, config, Math.max(single, 0)));
+                });
+    }
+
+    /**
+     * Take tokens from the shared Redis bucket.
+     * Emits the tokens left in Redis, or -1 when the request was denied.
+     */
+    private Mono<Long> acquire(String id, RedisRateLimiter.Config config, long tokens) {
+        List<String> keys = List.of(
+                "request_rate_limiter.{" + id + "}.tokens",
+                "request_rate_limiter.{" + id + "}.timestamp");
+        List<String> args = List.of(
+                Integer.toString(config.getReplenishRate()),
+                Integer.toString(config.getBurstCapacity()),
+                "",
+                Long.toString(tokens));
+
+        return redisTemplate.execute(script, keys, args)
+                .next()
+                .map(result -> result.get(0) == 1L ? result.get(1) : -1L)
+                .onErrorResume(throwable -> {
+                    // Fail open like RedisRateLimiter: Redis trouble must not take the gateway down
+                    log.warn("Rate limit check against Redis failed: {}", throwable.getMessage());
+                    return Mono.just(0L);
+                })
+                .defaultIfEmpty(0L);
+    }
+
+    private long leaseSize(RedisRateLimiter.Config config) {
+        if (!localEnabled) {
+            return 0;
+        }
+        return (long) (config.getBurstCapacity() * leaseRatio);
+    }
+
+    RedisRateLimiter.Config loadConfiguration(String routeId) {
+        RedisRateLimiter.Config config = getConfig().getOrDefault(routeId,
+                getConfig().get(RouteDefinitionRouteLocator.DEFAULT_FILTERS));
+        return config != null ? config : defaultConfig;
+    }
+
+    private Response response(boolean allowed, RedisRateLimiter.Config config, long remaining) {
+        return new Response(allowed, Map.of(
+                RedisRateLimiter.REMAINING_HEADER, Long.toString(remaining),
+                RedisRateLimiter.REPLENISH_RATE_HEADER, Integer.toString(config.getReplenishRate()),
+                RedisRateLimiter.BURST_CAPACITY_HEADER, Integer.toString(config.getBurstCapacity()),
+                RedisRateLimiter.REQUESTED_TOKENS_HEADER, Integer.toString(config.getRequestedTokens())));
+    }
+
+    /**
+     * Locally leased tokens for one client key.
+     */
+    private static final class Lease {
+
+        private final AtomicLong tokens = new AtomicLong();
+        private volatile long expiresAt;
+        private volatile long nearLimitUntil;
+
+        private Lease(long now) {
+            this.expiresAt = now;
+            this.nearLimitUntil = now;
+        }
+
+        /**
+         * Take tokens from the lease without locking.
+         * Returns the tokens left, or -1 when the lease is expired or too small.
+         */
+        long tryAcquire(long requested, long now) {
+            if (now - expiresAt >= 0) {
+                return -1;
+            }
+            long current;
+            do {
+                current = tokens.get();
+                if (current < requested) {
+                    return -1;
+                }
+            } while (!tokens.compareAndSet(current, current - requested));
+            return current - requested;
+        }
+
+        /**
+         * Add a batch taken from Redis. Tokens left in an expired lease are dropped.
+         */
+        synchronized void grant(long granted, long now, long ttlNanos) {
+            long expired = now - expiresAt >= 0 ? tokens.get() : 0;
+            tokens.addAndGet(granted - expired);
+            expiresAt = now + ttlNanos;
+        }
+
+        boolean isNearLimit(long now) {
+            return now - nearLimitUntil < 0;
+        }
+
+        void markNearLimit(long now, long ttlNanos) {
+            nearLimitUntil = now + ttlNanos;
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.ecommerce.gateway.ratelimit;
+
+import com.ecommerce.gateway.config.RateLimitPolicyProperties;
+import com.ecommerce.gateway.filter.JwtAuthenticationWebFilter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Builds rate limit keys for the gateway KeyResolvers.
+ * Address and user keys are cached, so a repeat client resolves to the same string instance
+ * without concatenation or {@link InetAddress#getHostAddress()}. Paths are normalized to
+ * templates such as {@code /api/v1/products/{id}}, and the number of templates is capped,
+ * so path-based keys have bounded cardinality.
+ */
+public class RateLimitKeys {
+
+    static final String UNKNOWN = "unknown";
+    static final String ID_SEGMENT = "{id}";
+    static final String OTHER_TEMPLATE = "/{other}";
+
+    /** Shortest non-numeric segment treated as an identifier (e.g. random tokens, SKUs with digits). */
+    private static final int MIN_TOKEN_ID_LENGTH = 16;
+
+    private final Cache<InetAddress, AddressKeys> addresses;
+    private final Cache<String, String> users;
+    private final Cache<String, String> paths;
+    private final ConcurrentHashMap<String, String> templates = new ConcurrentHashMap<>();
+    private final int maximumPathTemplates;
+
+    public RateLimitKeys(RateLimitPolicyProperties.Keys properties) {
+        this.addresses = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumAddresses())
+                .build();
+        this.users = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumUsers())
+                .build();
+        this.paths = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumPaths())
+                .build();
+        this.maximumPathTemplates = properties.getMaximumPathTemplates();
+    }
+
+    /**
+     * Client IP address, e.g. {@code 10.0.0.1}.
+     */
+    public String ip(ServerWebExchange exchange) {
+        return address(exchange).ip();
+    }
+
+    /**
+     * {@code user:<id>} for an authenticated request, otherwise {@code ip:<address>}.
+     */
+    public String userOrIp(ServerWebExchange exchange) {
+        // Set only for a verified token; a client-supplied X-User-Id is not trusted here
+        String userId = exchange.getAttribute(JwtAuthenticationWebFilter.USER_ID_ATTR);
+        if (userId != null) {
+            return users.get(userId, id -> "user:" + id);
+        }
+        return address(exchange).key();
+    }
+
+    /**
+     * {@link #userOrIp} combined with the path template.
+     */
+    public String userOrIpAndPath(ServerWebExchange exchange) {
+        return userOrIp(exchange) + ':' + pathTemplate(exchange.getRequest().getPath().value());
+    }
+
+    /**
+     * Path with identifier segments replaced by {@code {id}}.
+     * Once {@code maximumPathTemplates} templates are known, new ones collapse to {@code /{other}}.
+     */
+    public String pathTemplate(String path) {
+        String template = templates.get(path);
+        if (template == null) {
+            template = paths.getIfPresent(path);
+        }
+        if (template == null) {
+            template = template(path);
+            paths.put(path, template);
+        }
+        return template;
+    }
+
+    private String template(String path) {
+        String normalized = hasIdSegment(path) ? normalize(path) : path;
+        String template = templates.get(normalized);
+        if (template != null) {
+            return template;
+        }
+        // The template set bounds key cardinality; raw paths only live in the evicting paths cache
+        if (templates.size() >= maximumPathTemplates) {
+            return OTHER_TEMPLATE;
+        }
+        template = templates.putIfAbsent(normalized, normalized);
+        return template != null ? template : normalized;
+    }
+
+    private AddressKeys address(ServerWebExchange exchange) {
+        InetSocketAddress remoteAddress = exchange.getRequest().getRemoteAddress();
+        InetAddress address = remoteAddress != null ? remoteAddress.getAddress() : null;
+        if (address == null) {
+            return AddressKeys.UNKNOWN_ADDRESS;
+        }
+        return addresses.get(address, AddressKeys::of);
+    }
+
+    private static boolean hasIdSegment(String path) {
+        int start = 0;
+        int length = path.length();
+        while (start < length) {
+            int end = path.indexOf('/', start);
+            if (end < 0) {
+                end = length;
+            }
+            if (isIdSegment(path, start, end)) {
+                return true;
+            }
+            start = end + 1;
+        }
+        return false;
+    }
+
+    private static String normalize(String path) {
+        StringBuilder builder = new StringBuilder(path.length());
+        int start = 0;
+        int length = path.length();
+        while (start <= length) {
+            int end = path.indexOf('/', start);
+            if (end < 0) {
+                end = length;
+            }
+            if (isIdSegment(path, start, end)) {
+                builder.append(ID_SEGMENT);
+            } else {
+                builder.append(path, start, end);
+            }
+            if (end < length) {
+                builder.append('/');
+            }
+            start = end + 1;
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Numeric segments, UUIDs, and long segments containing a digit are identifiers.
+     */
+    static boolean isIdSegment(String path, int start, int end) {
+        int length = end - start;
+        if (length == 0) {
+            return false;
+        }
+        boolean allDigits = true;
+        boolean anyDigit = false;
+        for (int i = start; i < end; i++) {
+            char c = path.charAt(i);
+            boolean digit = c >= '0' && c <= '9';
+            allDigits &= digit;
+            anyDigit |= digit;
+        }
+        if (allDigits) {
+            return true;
+        }
+        return isUuid(path, start, length) || (length >= MIN_TOKEN_ID_LENGTH && anyDigit);
+    }
+
+    private static boolean isUuid(String path, int start, int length) {
+        if (length != 36) {
+            return false;
+        }
+        for (int i = 0; i < 36; i++) {
+            char c = path.charAt(start + i);
+            if (i == 8 || i == 13 || i == 18 || i == 23) {
+                if (c != '-') {
+                    return false;
+                }
+            } else if (Character.digit(c, 16) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Cached key strings for one client address.
+     */
+    private record AddressKeys(String ip, String key) {
+
+        static final AddressKeys UNKNOWN_ADDRESS = new AddressKeys(UNKNOWN, "ip:" + UNKNOWN);
+
+        static AddressKeys of(InetAddress address) {
+            String ip = address.getHostAddress();
+            return new AddressKeys(ip, "ip:" + ip);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.ecommerce.gateway.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.cloud.gateway.filter.ratelimit.KeyResolver;
+import org.springframework.cloud.gateway.filter.ratelimit.RateLimiter;
+
+/**
+ * Rate limit policy resolved for one route and HTTP method, with its outcome counters and decision timer.
+ */
+public record RateLimitPolicy(
+        String routeId,
+        String name,
+        RateLimiter<?> limiter,
+        KeyResolver keyResolver,
+        Counter allowed,
+        Counter denied,
+        Timer latency
+) {
+}
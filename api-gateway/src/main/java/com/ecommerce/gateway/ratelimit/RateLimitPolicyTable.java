@@ -0,0 +1,174 @@
+package com.ecommerce.gateway.ratelimit;
+
+import com.ecommerce.gateway.config.RateLimitPolicyProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.gateway.filter.ratelimit.KeyResolver;
+import org.springframework.cloud.gateway.filter.ratelimit.RateLimiter;
+import org.springframework.http.HttpMethod;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lookup table from route ID and HTTP method to a {@link RateLimitPolicy}.
+ * The table is compiled from {@link RateLimitPolicyProperties} and recompiled as soon as the
+ * properties are rebound by /actuator/refresh, so policy changes apply without a restart. An invalid
+ * change is logged and the previous table stays in force.
+ */
+public class RateLimitPolicyTable {
+
+    private static final Logger log = LoggerFactory.getLogger(RateLimitPolicyTable.class);
+
+    static final String METRIC_NAME = "gateway.ratelimit.requests";
+    static final String LATENCY_METRIC_NAME = "gateway.ratelimit.duration";
+    private static final String ANY_METHOD = "*";
+
+    private final RateLimitPolicyProperties properties;
+    private final Map<String, RateLimiter<?>> limiters;
+    private final Map<String, KeyResolver> keyResolvers;
+    private final MeterRegistry meterRegistry;
+    private volatile Compiled compiled;
+
+    public RateLimitPolicyTable(RateLimitPolicyProperties properties,
+                                Map<String, RateLimiter<?>> limiters,
+                                Map<String, KeyResolver> keyResolvers,
+                                MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.limiters = Map.copyOf(limiters);
+        this.keyResolvers = Map.copyOf(keyResolvers);
+        this.meterRegistry = meterRegistry;
+        this.compiled = compile();
+    }
+
+    /**
+     * Find the policy for a route and method, falling back to the route-wide and then the default policy.
+     */
+    public RateLimitPolicy resolve(String routeId, HttpMethod method) {
+        Compiled current = current();
+        RateLimitPolicy policy = current.policies().get(routeId + ' ' + method.name());
+        if (policy == null) {
+            policy = current.policies().get(routeId + ' ' + ANY_METHOD);
+        }
+        if (policy == null) {
+            policy = current.defaults().computeIfAbsent(routeId, id ->
+                    policy(id, current.defaultLimiter(), current.defaultKeyResolver()));
+        }
+        return policy;
+    }
+
+    private Compiled current() {
+        Compiled current = compiled;
+        if (current.isCompiledFrom(properties)) {
+            return current;
+        }
+        synchronized (this) {
+            current = compiled;
+            if (current.isCompiledFrom(properties)) {
+                return current;
+            }
+            try {
+                compiled = compile();
+                log.info("Reloaded {} rate limit policies", compiled.policies().size());
+            } catch (IllegalStateException e) {
+                log.error("Keeping previous rate limit policies: {}", e.getMessage());
+                compiled = current.withSource(properties.getPolicies(),
+                        properties.getDefaultLimiter(), properties.getDefaultKeyResolver());
+            }
+            return compiled;
+        }
+    }
+
+    private Compiled compile() {
+        List<RateLimitPolicyProperties.Policy> source = properties.getPolicies();
+        String defaultLimiter = properties.getDefaultLimiter();
+        String defaultKeyResolver = properties.getDefaultKeyResolver();
+        lookup(limiters, defaultLimiter, "limiter");
+        lookup(keyResolvers, defaultKeyResolver, "key resolver");
+
+        Map<String, RateLimitPolicy> policies = new HashMap<>();
+        for (RateLimitPolicyProperties.Policy entry : source) {
+            if (entry.getRouteId() == null || entry.getLimiter() == null) {
+                throw new IllegalStateException("Rate limit policy needs route-id and limiter");
+            }
+            String method = entry.getMethod() == null || entry.getMethod().isBlank()
+                    ? ANY_METHOD
+                    : HttpMethod.valueOf(entry.getMethod().toUpperCase(Locale.ROOT)).name();
+            String keyResolver = entry.getKeyResolver() != null
+                    ? entry.getKeyResolver()
+                    : defaultKeyResolver;
+            policies.put(entry.getRouteId() + ' ' + method,
+                    policy(entry.getRouteId(), entry.getLimiter(), keyResolver));
+        }
+        return new Compiled(source, defaultLimiter, defaultKeyResolver, defaultLimiter, defaultKeyResolver,
+                Map.copyOf(policies), new ConcurrentHashMap<>());
+    }
+
+    private RateLimitPolicy policy(String routeId, String limiterName, String keyResolverName) {
+        return new RateLimitPolicy(
+                routeId,
+                limiterName,
+                lookup(limiters, limiterName, "limiter"),
+                lookup(keyResolvers, keyResolverName, "key resolver"),
+                counter(routeId, limiterName, "allowed"),
+                counter(routeId, limiterName, "denied"),
+                Timer.builder(LATENCY_METRIC_NAME)
+                        .description("Time taken by the rate limiter to decide")
+                        .tag("route", routeId)
+                        .tag("policy", limiterName)
+                        .serviceLevelObjectives(Duration.ofNanos(100_000), Duration.ofMillis(1),
+                                Duration.ofMillis(5), Duration.ofMillis(25))
+                        .register(meterRegistry));
+    }
+
+    private Counter counter(String routeId, String policy, String outcome) {
+        return Counter.builder(METRIC_NAME)
+                .description("Requests checked by the gateway rate limiter")
+                .tag("route", routeId)
+                .tag("policy", policy)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static <T> T lookup(Map<String, T> beans, String name, String kind) {
+        T bean = beans.get(name);
+        if (bean == null) {
+            throw new IllegalStateException("Unknown rate limit " + kind + ": " + name);
+        }
+        return bean;
+    }
+
+    /**
+     * Compiled policies plus the property values they were built from, so a rebind can be detected
+     * by identity. After a rejected reload the source fields move on while the policies do not.
+     */
+    private record Compiled(
+            List<RateLimitPolicyProperties.Policy> source,
+            String sourceDefaultLimiter,
+            String sourceDefaultKeyResolver,
+            String defaultLimiter,
+            String defaultKeyResolver,
+            Map<String, RateLimitPolicy> policies,
+            Map<String, RateLimitPolicy> defaults
+    ) {
+        boolean isCompiledFrom(RateLimitPolicyProperties properties) {
+            return source == properties.getPolicies()
+                    && Objects.equals(sourceDefaultLimiter, properties.getDefaultLimiter())
+                    && Objects.equals(sourceDefaultKeyResolver, properties.getDefaultKeyResolver());
+        }
+
+        Compiled withSource(List<RateLimitPolicyProperties.Policy> policiesSource,
+                            String limiterSource, String keyResolverSource) {
+            return new Compiled(policiesSource, limiterSource, keyResolverSource,
+                    defaultLimiter, defaultKeyResolver, policies, defaults);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.ecommerce.gateway.routing;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.security.authorization.AuthenticatedReactiveAuthorizationManager;
+import org.springframework.security.authorization.AuthorityReactiveAuthorizationManager;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.ReactiveAuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.server.authorization.AuthorizationContext;
+import reactor.core.publisher.Mono;
+
+/**
+ * Authorization rule for requests matching a method and path pattern.
+ * Rules are evaluated first-match-wins, in the order they are declared.
+ */
+public final class AccessRule {
+
+    private static final Mono<AuthorizationDecision> GRANTED = Mono.just(new AuthorizationDecision(true));
+    private static final ReactiveAuthorizationManager<AuthorizationContext> AUTHENTICATED =
+            AuthenticatedReactiveAuthorizationManager.authenticated();
+
+    private final HttpMethod method;
+    private final String pattern;
+    private final String description;
+    private final ReactiveAuthorizationManager<AuthorizationContext> manager;
+
+    private AccessRule(HttpMethod method, String pattern, String description,
+                       ReactiveAuthorizationManager<AuthorizationContext> manager) {
+        this.method = method;
+        this.pattern = pattern;
+        this.description = description;
+        this.manager = manager;
+    }
+
+    public static AccessRule permitAll(String pattern) {
+        return permitAll(null, pattern);
+    }
+
+    public static AccessRule permitAll(HttpMethod method, String pattern) {
+        return new AccessRule(method, pattern, "permitAll", null);
+    }
+
+    public static AccessRule authenticated(String pattern) {
+        return new AccessRule(null, pattern, "authenticated", AUTHENTICATED);
+    }
+
+    public static AccessRule hasRole(String pattern, String role) {
+        return new AccessRule(null, pattern, "hasRole(" + role + ")", AuthorityReactiveAuthorizationManager.hasRole(role));
+    }
+
+    /**
+     * Required request method, or null for any.
+     */
+    public HttpMethod method() {
+        return method;
+    }
+
+    public String pattern() {
+        return pattern;
+    }
+
+    /**
+     * Decides whether the authentication may proceed.
+     */
+    public Mono<AuthorizationDecision> check(Mono<Authentication> authentication, AuthorizationContext context) {
+        return manager == null ? GRANTED : manager.check(authentication, context);
+    }
+
+    @Override
+    public String toString() {
+        return (method != null ? method.name() + ' ' : "") + pattern + " -> " + description;
+    }
+}
@@ -0,0 +1,30 @@
+package com.ecommerce.gateway.routing;
+
+import org.springframework.security.authorization.AuthenticatedReactiveAuthorizationManager;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.ReactiveAuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.server.authorization.AuthorizationContext;
+import reactor.core.publisher.Mono;
+
+/**
+ * Authorizes exchanges with the first {@link AccessRule} the {@link RequestIndex} finds for them.
+ * Requests no rule covers must be authenticated.
+ */
+public class IndexedAuthorizationManager implements ReactiveAuthorizationManager<AuthorizationContext> {
+
+    private static final ReactiveAuthorizationManager<AuthorizationContext> AUTHENTICATED =
+            AuthenticatedReactiveAuthorizationManager.authenticated();
+
+    private final RequestIndex index;
+
+    public IndexedAuthorizationManager(RequestIndex index) {
+        this.index = index;
+    }
+
+    @Override
+    public Mono<AuthorizationDecision> check(Mono<Authentication> authentication, AuthorizationContext context) {
+        AccessRule rule = index.accessRule(context.getExchange().getRequest());
+        return rule != null ? rule.check(authentication, context) : AUTHENTICATED.check(authentication, context);
+    }
+}
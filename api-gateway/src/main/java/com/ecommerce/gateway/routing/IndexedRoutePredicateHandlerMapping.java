@@ -0,0 +1,80 @@
+package com.ecommerce.gateway.routing;
+
+import org.springframework.cloud.gateway.config.GlobalCorsProperties;
+import org.springframework.cloud.gateway.event.RefreshRoutesResultEvent;
+import org.springframework.cloud.gateway.handler.FilteringWebHandler;
+import org.springframework.cloud.gateway.handler.RoutePredicateHandlerMapping;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.route.RouteLocator;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.env.Environment;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * Route lookup through the {@link RequestIndex} instead of testing every route predicate in turn.
+ * Sets the same exchange attributes the path predicate would, so filters see no difference.
+ * Falls back to the stock lookup until the routes have been compiled.
+ */
+public class IndexedRoutePredicateHandlerMapping extends RoutePredicateHandlerMapping
+        implements ApplicationListener<RefreshRoutesResultEvent> {
+
+    private final RouteLocator routeLocator;
+    private final RequestIndex index;
+
+    public IndexedRoutePredicateHandlerMapping(FilteringWebHandler webHandler, RouteLocator routeLocator,
+                                               GlobalCorsProperties globalCorsProperties, Environment environment,
+                                               RequestIndex index) {
+        super(webHandler, routeLocator, globalCorsProperties, environment);
+        this.routeLocator = routeLocator;
+        this.index = index;
+    }
+
+    @Override
+    public void onApplicationEvent(RefreshRoutesResultEvent event) {
+        if (event.isSuccess()) {
+            routeLocator.getRoutes().collectList().subscribe(index::compileRoutes,
+                    e -> logger.warn("Could not compile routes into the request index", e));
+        }
+    }
+
+    @Override
+    protected Mono<Route> lookupRoute(ServerWebExchange exchange) {
+        RequestIndex.RouteMatch match = index.route(exchange.getRequest());
+        if (match == null) {
+            return super.lookupRoute(exchange);
+        }
+        Mono<Route> indexed = Mono.fromSupplier(() -> indexed(match, exchange));
+        if (!match.evaluateFirst().isEmpty()) {
+            indexed = Flux.fromIterable(match.evaluateFirst())
+                    .concatMap(route -> Mono.just(route).filterWhen(r -> {
+                        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_PREDICATE_ROUTE_ATTR, r.getId());
+                        return r.getPredicate().apply(exchange);
+                    }).doOnError(e -> logger.error("Error applying predicate for route: " + route.getId(), e))
+                            .onErrorResume(e -> Mono.empty()))
+                    .next()
+                    .switchIfEmpty(indexed);
+        }
+        return indexed.map(route -> {
+            validateRoute(route, exchange);
+            return route;
+        });
+    }
+
+    private static Route indexed(RequestIndex.RouteMatch match, ServerWebExchange exchange) {
+        Route route = match.route();
+        if (route == null) {
+            return null;
+        }
+        Map<String, Object> attributes = exchange.getAttributes();
+        attributes.put(ServerWebExchangeUtils.GATEWAY_PREDICATE_ROUTE_ATTR, route.getId());
+        attributes.put(ServerWebExchangeUtils.GATEWAY_PREDICATE_MATCHED_PATH_ATTR, match.pattern());
+        attributes.put(ServerWebExchangeUtils.GATEWAY_PREDICATE_MATCHED_PATH_ROUTE_ID_ATTR, route.getId());
+        ServerWebExchangeUtils.putUriTemplateVariables(exchange, Map.of());
+        return route;
+    }
+}
@@ -0,0 +1,225 @@
+package com.ecommerce.gateway.routing;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.PathContainer;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Prefix trie over path segments, matching a request to the first declared entry whose method and
+ * path pattern fit, without evaluating the entries one by one.
+ * Lookup cost depends on the depth of the path, not on the number of entries.
+ *
+ * Supports the pattern subset the gateway uses: literal segments, {@code *} for exactly one
+ * non-empty segment, and a trailing {@code /**} for any remaining segments (including none).
+ * Entries are immutable once {@link Builder#build() built}.
+ *
+ * @param <V> the value stored with each entry
+ */
+public final class PathTrie<V> {
+
+    private final Node<V> root;
+    private final int size;
+
+    private PathTrie(Node<V> root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    public static <V> Builder<V> builder() {
+        return new Builder<>();
+    }
+
+    /**
+     * Whether a pattern can be stored in the trie with the same meaning Spring's PathPattern gives it.
+     */
+    public static boolean isSupported(String pattern) {
+        if (pattern == null || !pattern.startsWith("/")) {
+            return false;
+        }
+        String[] segments = segments(pattern);
+        for (int i = 0; i < segments.length; i++) {
+            String segment = segments[i];
+            if (segment.equals("**")) {
+                if (i != segments.length - 1) {
+                    return false;
+                }
+            } else if (!segment.equals("*") && (segment.isEmpty() || segment.indexOf('*') >= 0
+                    || segment.indexOf('?') >= 0 || segment.indexOf('{') >= 0 || segment.indexOf('}') >= 0)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Finds the first declared entry of the given type matching the request.
+     *
+     * @param method the request method
+     * @param path   the request path within the application
+     * @param type   only entries whose value is of this type are considered
+     * @return the matching entry, or null
+     */
+    public <T extends V> Entry<T> first(HttpMethod method, PathContainer path, Class<T> type) {
+        List<PathContainer.Element> elements = path.elements();
+        String[] segments = new String[elements.size()];
+        int count = 0;
+        boolean afterSeparator = false;
+        for (PathContainer.Element element : elements) {
+            if (element instanceof PathContainer.PathSegment segment) {
+                segments[count++] = segment.valueToMatch();
+                afterSeparator = false;
+            } else {
+                // Consecutive separators enclose an empty segment, which only '/**' matches
+                if (afterSeparator) {
+                    segments[count++] = "";
+                }
+                afterSeparator = true;
+            }
+        }
+        boolean endsWithSeparator = !elements.isEmpty() && elements.get(elements.size() - 1) instanceof PathContainer.Separator;
+
+        Search<T> search = new Search<>(method, type, segments, count, endsWithSeparator);
+        search.walk(root, 0);
+        return search.best;
+    }
+
+    private static String[] segments(String pattern) {
+        String trimmed = pattern.substring(1);
+        return trimmed.isEmpty() ? new String[0] : trimmed.split("/", -1);
+    }
+
+    /**
+     * A stored pattern and its value.
+     *
+     * @param method             required request method, or null for any
+     * @param pattern            the path pattern as declared
+     * @param value              the stored value
+     * @param priority           declaration order; the lowest matching priority wins
+     * @param matchTrailingSlash whether a literal pattern also matches the path with a trailing slash
+     */
+    public record Entry<V>(HttpMethod method, String pattern, V value, int priority, boolean matchTrailingSlash) {
+    }
+
+    /**
+     * Collects entries in declaration order and compiles them into a trie.
+     */
+    public static final class Builder<V> {
+
+        private final Node<V> root = new Node<>();
+        private int size;
+
+        private Builder() {
+        }
+
+        /**
+         * Adds an entry with lower priority than all entries added before it.
+         *
+         * @throws IllegalArgumentException if the pattern is not {@link #isSupported supported}
+         */
+        public Builder<V> add(HttpMethod method, String pattern, V value, boolean matchTrailingSlash) {
+            if (!isSupported(pattern)) {
+                throw new IllegalArgumentException("Unsupported path pattern '" + pattern
+                        + "': use literal segments, '*' and a trailing '/**'");
+            }
+            Entry<V> entry = new Entry<>(method, pattern, value, size++, matchTrailingSlash);
+            Node<V> node = root;
+            for (String segment : segments(pattern)) {
+                if (segment.equals("**")) {
+                    node.rest.add(entry);
+                    return this;
+                }
+                node = segment.equals("*") ? node.wildcard() : node.literal(segment);
+            }
+            node.exact.add(entry);
+            return this;
+        }
+
+        public PathTrie<V> build() {
+            return new PathTrie<>(root, size);
+        }
+    }
+
+    private static final class Node<V> {
+
+        private final Map<String, Node<V>> literals = new HashMap<>();
+        private Node<V> wildcard;
+        // Entries ending at this node, and entries ending with '/**' at this node; both in priority order
+        private final List<Entry<V>> exact = new ArrayList<>(1);
+        private final List<Entry<V>> rest = new ArrayList<>(1);
+
+        Node<V> literal(String segment) {
+            return literals.computeIfAbsent(segment, s -> new Node<>());
+        }
+
+        Node<V> wildcard() {
+            if (wildcard == null) {
+                wildcard = new Node<>();
+            }
+            return wildcard;
+        }
+    }
+
+    private static final class Search<T> {
+
+        private final HttpMethod method;
+        private final Class<T> type;
+        private final String[] segments;
+        private final int count;
+        private final boolean endsWithSeparator;
+        // A separator after the last segment; the root path "/" has none
+        private final boolean trailingSlash;
+        private Entry<T> best;
+
+        Search(HttpMethod method, Class<T> type, String[] segments, int count, boolean endsWithSeparator) {
+            this.method = method;
+            this.type = type;
+            this.segments = segments;
+            this.count = count;
+            this.endsWithSeparator = endsWithSeparator;
+            this.trailingSlash = endsWithSeparator && count > 0;
+        }
+
+        void walk(Node<?> node, int depth) {
+            consider(node.rest, true);
+            if (depth == count) {
+                consider(node.exact, false);
+                // Like PathPattern, a trailing '*' also matches the empty segment after a trailing slash
+                if (endsWithSeparator && node.wildcard != null) {
+                    consider(node.wildcard.exact, true);
+                }
+                return;
+            }
+            String segment = segments[depth];
+            Node<?> literal = node.literals.get(segment);
+            if (literal != null) {
+                walk(literal, depth + 1);
+            }
+            if (node.wildcard != null && !segment.isEmpty()) {
+                walk(node.wildcard, depth + 1);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private void consider(List<? extends Entry<?>> entries, boolean slashConsumed) {
+            for (Entry<?> entry : entries) {
+                if (best != null && entry.priority() >= best.priority()) {
+                    return;
+                }
+                if (type.isInstance(entry.value())
+                        && (entry.method() == null || entry.method().equals(method))
+                        && (slashConsumed || !trailingSlash || entry.matchTrailingSlash())) {
+                    best = (Entry<T>) entry;
+                    return;
+                }
+            }
+        }
+    }
+}
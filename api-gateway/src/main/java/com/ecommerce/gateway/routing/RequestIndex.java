@@ -0,0 +1,151 @@
+package com.ecommerce.gateway.routing;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.gateway.handler.AsyncPredicate;
+import org.springframework.cloud.gateway.handler.predicate.PathRoutePredicateFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.HasConfig;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Authorization rules and route predicates compiled into one {@link PathTrie}, indexed by method and path.
+ * Answers "which rule applies" and "which route matches" with a single trie walk each, instead of
+ * testing every rule and every route predicate in turn.
+ *
+ * Access rules are fixed at startup. Routes are recompiled whenever the route locator refreshes;
+ * until the first compilation {@link #route} returns null and callers fall back to predicate evaluation.
+ * Routes whose predicates are not a single supported path predicate stay unindexed and are evaluated
+ * in declaration order ahead of any indexed route declared after them.
+ */
+public class RequestIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(RequestIndex.class);
+
+    private final List<AccessRule> accessRules;
+    private volatile Compiled compiled;
+
+    public RequestIndex(List<AccessRule> accessRules) {
+        this.accessRules = List.copyOf(accessRules);
+        this.compiled = compile(this.accessRules, null);
+    }
+
+    /**
+     * Recompiles the index with the current routes, replacing the previous ones.
+     */
+    public void compileRoutes(List<Route> routes) {
+        Compiled next = compile(accessRules, routes);
+        compiled = next;
+        log.debug("Compiled {} access rules and {} routes into request index ({} unindexed routes)",
+                accessRules.size(), routes.size(), next.unindexed.size());
+    }
+
+    /**
+     * The first access rule matching the request, or null if none does.
+     */
+    public AccessRule accessRule(ServerHttpRequest request) {
+        PathTrie.Entry<AccessRule> entry = compiled.trie.first(request.getMethod(),
+                request.getPath().pathWithinApplication(), AccessRule.class);
+        return entry != null ? entry.value() : null;
+    }
+
+    /**
+     * Looks up the route for a request.
+     *
+     * @return the match, or null if routes have not been compiled yet
+     */
+    public RouteMatch route(ServerHttpRequest request) {
+        Compiled current = compiled;
+        if (!current.routesCompiled) {
+            return null;
+        }
+        PathTrie.Entry<IndexedRoute> entry = current.trie.first(request.getMethod(),
+                request.getPath().pathWithinApplication(), IndexedRoute.class);
+        int position = entry != null ? entry.value().position() : Integer.MAX_VALUE;
+        List<Route> evaluateFirst = List.of();
+        for (int i = 0; i < current.unindexed.size() && current.unindexed.get(i).position() < position; i++) {
+            if (evaluateFirst.isEmpty()) {
+                evaluateFirst = new ArrayList<>();
+            }
+            evaluateFirst.add(current.unindexed.get(i).route());
+        }
+        return entry != null
+                ? new RouteMatch(entry.value().route(), entry.pattern(), evaluateFirst)
+                : new RouteMatch(null, null, evaluateFirst);
+    }
+
+    private static Compiled compile(List<AccessRule> accessRules, List<Route> routes) {
+        PathTrie.Builder<Object> builder = PathTrie.builder();
+        for (AccessRule rule : accessRules) {
+            // Spring Security's path matchers do not accept an extra trailing slash either
+            builder.add(rule.method(), rule.pattern(), rule, false);
+        }
+        List<IndexedRoute> unindexed = new ArrayList<>();
+        if (routes != null) {
+            for (int position = 0; position < routes.size(); position++) {
+                Route route = routes.get(position);
+                IndexedRoute indexed = new IndexedRoute(route, position);
+                PathRoutePredicateFactory.Config path = indexablePath(route);
+                if (path == null) {
+                    unindexed.add(indexed);
+                    continue;
+                }
+                for (String pattern : path.getPatterns()) {
+                    builder.add(null, pattern, indexed, path.isMatchTrailingSlash());
+                }
+            }
+        }
+        return new Compiled(builder.build(), routes != null, List.copyOf(unindexed));
+    }
+
+    /**
+     * The route's path predicate configuration, if that predicate alone decides whether the route matches
+     * and all its patterns can be indexed.
+     */
+    static PathRoutePredicateFactory.Config indexablePath(Route route) {
+        AsyncPredicate<ServerWebExchange> predicate = route.getPredicate();
+        if (!(predicate instanceof AsyncPredicate.DefaultAsyncPredicate)) {
+            // Combined or negated predicates need evaluating as a whole
+            return null;
+        }
+        List<HasConfig> visited = new ArrayList<>(1);
+        predicate.accept(visited::add);
+        if (visited.size() != 1) {
+            return null;
+        }
+        HasConfig leaf = visited.get(0);
+        // Predicates wrapping plain lambdas are invisible to the visitor; the wrapper exposes its delegate
+        // only through toString(), so compare that to make sure the path predicate is the whole predicate
+        if (!(leaf.getConfig() instanceof PathRoutePredicateFactory.Config path)
+                || leaf.getClass().getEnclosingClass() != PathRoutePredicateFactory.class
+                || !predicate.toString().equals(leaf.toString())) {
+            return null;
+        }
+        for (String pattern : path.getPatterns()) {
+            if (!PathTrie.isSupported(pattern)) {
+                return null;
+            }
+        }
+        return path;
+    }
+
+    /**
+     * Result of a route lookup.
+     *
+     * @param route         the first indexed route matching the request, or null
+     * @param pattern       the path pattern that matched {@code route}
+     * @param evaluateFirst unindexed routes declared before {@code route}, to be tested in order before it
+     */
+    public record RouteMatch(Route route, String pattern, List<Route> evaluateFirst) {
+    }
+
+    private record IndexedRoute(Route route, int position) {
+    }
+
+    private record Compiled(PathTrie<Object> trie, boolean routesCompiled, List<IndexedRoute> unindexed) {
+    }
+}
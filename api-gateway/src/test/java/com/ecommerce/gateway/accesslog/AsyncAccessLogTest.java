@@ -0,0 +1,185 @@
+package com.ecommerce.gateway.accesslog;
+
+import com.ecommerce.gateway.config.AccessLogProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("AsyncAccessLog Tests")
+class AsyncAccessLogTest {
+
+    private AsyncAccessLog accessLog;
+
+    @AfterEach
+    void tearDown() {
+        if (accessLog != null) {
+            accessLog.shutdown();
+        }
+    }
+
+    private AsyncAccessLog accessLog(double sampleRate) {
+        AccessLogProperties properties = new AccessLogProperties();
+        properties.setSampleRate(sampleRate);
+        properties.setSlowThreshold(Duration.ofMillis(500));
+        accessLog = new AsyncAccessLog(properties, new SimpleMeterRegistry());
+        return accessLog;
+    }
+
+    @Nested
+    @DisplayName("Sampling")
+    class SamplingTests {
+
+        @Test
+        @DisplayName("should always record failed requests")
+        void shouldAlwaysRecordFailures() {
+            AsyncAccessLog log = accessLog(0.0);
+
+            assertThat(log.shouldRecord(200, 1_000, true)).isTrue();
+            assertThat(log.shouldRecord(404, 1_000, false)).isTrue();
+            assertThat(log.shouldRecord(503, 1_000, false)).isTrue();
+        }
+
+        @Test
+        @DisplayName("should always record slow requests")
+        void shouldAlwaysRecordSlowRequests() {
+            AsyncAccessLog log = accessLog(0.0);
+
+            assertThat(log.shouldRecord(200, Duration.ofMillis(500).toNanos(), false)).isTrue();
+            assertThat(log.shouldRecord(200, Duration.ofMillis(5).toNanos(), false)).isFalse();
+        }
+
+        @Test
+        @DisplayName("should sample successful requests")
+        void shouldSampleSuccessfulRequests() {
+            AsyncAccessLog log = accessLog(0.25);
+
+            int recorded = 0;
+            for (int i = 0; i < 10_000; i++) {
+                if (log.shouldRecord(200, 1_000, false)) {
+                    recorded++;
+                }
+            }
+
+            assertThat(recorded).isBetween(2_000, 3_000);
+        }
+
+        @Test
+        @DisplayName("should record nothing when disabled")
+        void shouldRecordNothingWhenDisabled() {
+            AccessLogProperties properties = new AccessLogProperties();
+            properties.setEnabled(false);
+            accessLog = new AsyncAccessLog(properties, new SimpleMeterRegistry());
+
+            assertThat(accessLog.shouldRecord(500, 1_000, true)).isFalse();
+        }
+    }
+
+    @Nested
+    @DisplayName("Ring buffer")
+    class RingBufferTests {
+
+        @Test
+        @DisplayName("should round capacity up to a power of two")
+        void shouldRoundCapacity() {
+            assertThat(new AccessLogRingBuffer<String>(1000).capacity()).isEqualTo(1024);
+            assertThat(new AccessLogRingBuffer<String>(1024).capacity()).isEqualTo(1024);
+        }
+
+        @Test
+        @DisplayName("should reject offers when full and accept after draining")
+        void shouldRejectWhenFull() {
+            AccessLogRingBuffer<String> buffer = new AccessLogRingBuffer<>(4);
+            for (int i = 0; i < 4; i++) {
+                assertThat(buffer.offer("r" + i)).isTrue();
+            }
+
+            assertThat(buffer.offer("r4")).isFalse();
+
+            List<String> drained = new ArrayList<>();
+            assertThat(buffer.drain(drained::add, 2)).isEqualTo(2);
+            assertThat(drained).containsExactly("r0", "r1");
+            assertThat(buffer.offer("r4")).isTrue();
+            assertThat(buffer.size()).isEqualTo(3);
+        }
+
+        @Test
+        @DisplayName("should deliver every record from concurrent producers exactly once")
+        void shouldDeliverConcurrentOffers() throws InterruptedException {
+            AccessLogRingBuffer<Integer> buffer = new AccessLogRingBuffer<>(1 << 16);
+            ExecutorService producers = Executors.newFixedThreadPool(4);
+            CountDownLatch done = new CountDownLatch(4);
+            for (int p = 0; p < 4; p++) {
+                int base = p * 10_000;
+                producers.execute(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        buffer.offer(base + i);
+                    }
+                    done.countDown();
+                });
+            }
+            assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+            producers.shutdown();
+
+            List<Integer> drained = new ArrayList<>();
+            buffer.drain(drained::add, Integer.MAX_VALUE);
+
+            assertThat(drained).hasSize(40_000).doesNotHaveDuplicates();
+        }
+    }
+
+    @Nested
+    @DisplayName("Writer thread")
+    class WriterTests {
+
+        @Test
+        @DisplayName("should park while idle and wake up for the next record")
+        void shouldParkWhileIdleAndWakeForNextRecord() throws InterruptedException {
+            AccessLogProperties properties = new AccessLogProperties();
+            MeterRegistry meterRegistry = new SimpleMeterRegistry();
+            accessLog = new AsyncAccessLog(properties, meterRegistry);
+
+            awaitWriterState(Thread.State.WAITING);
+            accessLog.record(new AccessLogRecord("GET", "/api/v1/products", 200, 1_000, "req-1",
+                    null, null, null, null));
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (meterRegistry.get("gateway.access-log.pending").gauge().value() > 0
+                    && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            assertThat(meterRegistry.get("gateway.access-log.pending").gauge().value()).isZero();
+            awaitWriterState(Thread.State.WAITING);
+        }
+
+        private void awaitWriterState(Thread.State state) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (accessLog.writerState() != state && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            assertThat(accessLog.writerState()).isEqualTo(state);
+        }
+    }
+
+    @Test
+    @DisplayName("should format record with millisecond latency and client IP")
+    void shouldFormatRecord() {
+        AccessLogRecord record = new AccessLogRecord("GET", "/api/v1/products", 200, 12_345_678, "req-1",
+                "203.0.113.7, 10.0.0.1", null, new InetSocketAddress("10.0.0.1", 443), null);
+
+        assertThat(record.format()).isEqualTo("GET /api/v1/products 200 12.345ms from 203.0.113.7");
+    }
+}
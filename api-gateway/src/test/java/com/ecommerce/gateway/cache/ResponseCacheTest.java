@@ -0,0 +1,103 @@
+package com.ecommerce.gateway.cache;
+
+import com.ecommerce.gateway.config.ResponseCacheProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.ReactiveValueOperations;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("ResponseCache Tests")
+class ResponseCacheTest {
+
+    private ResponseCacheProperties properties;
+    private ReactiveStringRedisTemplate redisTemplate;
+    private ReactiveValueOperations<String, String> redisValues;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        properties = new ResponseCacheProperties();
+        redisTemplate = mock(ReactiveStringRedisTemplate.class);
+        redisValues = mock(ReactiveValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(redisValues);
+    }
+
+    private static CachedResponse response(long ttlMillis) {
+        return new CachedResponse(200, Map.of("Content-Type", List.of("application/json")),
+                "[]".getBytes(), "\"abc\"", System.currentTimeMillis() + ttlMillis);
+    }
+
+    @Test
+    @DisplayName("should miss without Redis tier")
+    void shouldMissWithoutRedis() {
+        ResponseCache cache = new ResponseCache(properties, redisTemplate);
+
+        StepVerifier.create(cache.get("product-service /api/v1/products")).verifyComplete();
+    }
+
+    @Test
+    @DisplayName("should share entries through Redis with remaining TTL")
+    void shouldShareEntriesThroughRedis() {
+        properties.getRedis().setEnabled(true);
+        when(redisValues.set(anyString(), anyString(), any(Duration.class))).thenReturn(Mono.just(true));
+        new ResponseCache(properties, redisTemplate).put("product-service /api/v1/products", response(60_000));
+
+        ArgumentCaptor<String> json = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<Duration> ttl = ArgumentCaptor.forClass(Duration.class);
+        verify(redisValues).set(eq("gateway:response-cache:product-service /api/v1/products"),
+                json.capture(), ttl.capture());
+        assertThat(ttl.getValue()).isBetween(Duration.ofSeconds(55), Duration.ofSeconds(60));
+
+        when(redisValues.get("gateway:response-cache:product-service /api/v1/products"))
+                .thenReturn(Mono.just(json.getValue()));
+        ResponseCache otherInstance = new ResponseCache(properties, redisTemplate);
+
+        StepVerifier.create(otherInstance.get("product-service /api/v1/products"))
+                .assertNext(shared -> {
+                    assertThat(shared.body()).isEqualTo("[]".getBytes());
+                    assertThat(shared.etag()).isEqualTo("\"abc\"");
+                    assertThat(shared.headers()).containsEntry("Content-Type", List.of("application/json"));
+                })
+                .verifyComplete();
+        assertThat(otherInstance.localSize()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should treat Redis failure as a miss")
+    void shouldTreatRedisFailureAsMiss() {
+        properties.getRedis().setEnabled(true);
+        when(redisValues.get(anyString())).thenReturn(Mono.error(new IllegalStateException("connection refused")));
+
+        StepVerifier.create(new ResponseCache(properties, redisTemplate).get("product-service /api/v1/products"))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("should match weak and listed entity tags")
+    void shouldMatchEntityTags() {
+        CachedResponse cached = response(60_000);
+
+        assertThat(cached.matches("\"abc\"")).isTrue();
+        assertThat(cached.matches("W/\"abc\"")).isTrue();
+        assertThat(cached.matches("\"x\", \"abc\"")).isTrue();
+        assertThat(cached.matches("*")).isTrue();
+        assertThat(cached.matches("\"other\"")).isFalse();
+        assertThat(cached.matches(null)).isFalse();
+    }
+}
@@ -0,0 +1,136 @@
+package com.ecommerce.gateway.compression;
+
+import com.aayushatharva.brotli4j.Brotli4jLoader;
+import com.aayushatharva.brotli4j.decoder.Decoder;
+import com.aayushatharva.brotli4j.decoder.DecoderJNI;
+import com.aayushatharva.brotli4j.decoder.DirectDecompress;
+import com.ecommerce.gateway.compression.ResponseCompressor.Encoding;
+import com.ecommerce.gateway.config.CompressionProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+@DisplayName("ResponseCompressor Tests")
+class ResponseCompressorTest {
+
+    private static final byte[] BODY = "{\"id\":\"p-1\",\"name\":\"Keyboard\",\"price\":49.99}".repeat(50)
+            .getBytes(StandardCharsets.UTF_8);
+
+    private final CompressionProperties properties = new CompressionProperties();
+
+    @Nested
+    @DisplayName("Negotiation")
+    class NegotiationTests {
+
+        private final ResponseCompressor compressor = new ResponseCompressor(properties, true);
+
+        @Test
+        @DisplayName("should prefer brotli when the client accepts both equally")
+        void shouldPreferBrotliOnTie() {
+            assertThat(compressor.negotiate("gzip, deflate, br")).isEqualTo(Encoding.BROTLI);
+        }
+
+        @Test
+        @DisplayName("should follow the client's quality values")
+        void shouldFollowQualityValues() {
+            assertThat(compressor.negotiate("br;q=0.5, gzip;q=0.8")).isEqualTo(Encoding.GZIP);
+        }
+
+        @Test
+        @DisplayName("should not use a coding the client refuses")
+        void shouldNotUseRefusedCoding() {
+            assertThat(compressor.negotiate("br;q=0, gzip")).isEqualTo(Encoding.GZIP);
+            assertThat(compressor.negotiate("identity")).isNull();
+            assertThat(compressor.negotiate(null)).isNull();
+        }
+
+        @Test
+        @DisplayName("should apply the wildcard to codings the client does not list")
+        void shouldApplyWildcard() {
+            assertThat(compressor.negotiate("*")).isEqualTo(Encoding.BROTLI);
+            assertThat(compressor.negotiate("br;q=0, *;q=0.1")).isEqualTo(Encoding.GZIP);
+        }
+
+        @Test
+        @DisplayName("should offer gzip only when brotli is unavailable")
+        void shouldFallBackToGzip() {
+            ResponseCompressor gzipOnly = new ResponseCompressor(properties, false);
+
+            assertThat(gzipOnly.offered()).containsExactly(Encoding.GZIP);
+            assertThat(gzipOnly.negotiate("br")).isNull();
+            assertThat(gzipOnly.negotiate("br, gzip")).isEqualTo(Encoding.GZIP);
+        }
+
+        @Test
+        @DisplayName("should reject unknown codings in configuration")
+        void shouldRejectUnknownCoding() {
+            properties.setEncodings(List.of("deflate"));
+
+            assertThatThrownBy(() -> new ResponseCompressor(properties, true))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("deflate");
+        }
+    }
+
+    @Nested
+    @DisplayName("Content types")
+    class ContentTypeTests {
+
+        private final ResponseCompressor compressor = new ResponseCompressor(properties, false);
+
+        @Test
+        @DisplayName("should compress allowlisted types regardless of parameters")
+        void shouldMatchAllowlistIgnoringParameters() {
+            assertThat(compressor.isCompressible(MediaType.parseMediaType("application/json;charset=UTF-8"))).isTrue();
+            assertThat(compressor.isCompressible(MediaType.TEXT_HTML)).isTrue();
+        }
+
+        @Test
+        @DisplayName("should not compress binary or unknown types")
+        void shouldSkipOtherTypes() {
+            assertThat(compressor.isCompressible(MediaType.IMAGE_PNG)).isFalse();
+            assertThat(compressor.isCompressible(MediaType.APPLICATION_OCTET_STREAM)).isFalse();
+            assertThat(compressor.isCompressible(null)).isFalse();
+        }
+    }
+
+    @Nested
+    @DisplayName("Compression")
+    class CompressionTests {
+
+        @Test
+        @DisplayName("should produce a valid gzip stream")
+        void shouldGzip() throws IOException {
+            byte[] compressed = new ResponseCompressor(properties, false).compress(Encoding.GZIP, BODY);
+
+            assertThat(compressed.length).isLessThan(BODY.length / 4);
+            try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+                assertThat(in.readAllBytes()).isEqualTo(BODY);
+            }
+        }
+
+        @Test
+        @DisplayName("should produce a valid brotli stream")
+        void shouldBrotli() throws IOException {
+            assumeTrue(Brotli4jLoader.isAvailable(), "Brotli native library not available");
+
+            byte[] compressed = new ResponseCompressor(properties).compress(Encoding.BROTLI, BODY);
+            DirectDecompress decompressed = Decoder.decompress(compressed);
+
+            assertThat(decompressed.getResultStatus()).isEqualTo(DecoderJNI.Status.DONE);
+            assertThat(decompressed.getDecompressedData()).isEqualTo(BODY);
+            assertThat(compressed.length).isLessThan(BODY.length / 4);
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.ecommerce.gateway.concurrency;
+
+import com.ecommerce.gateway.config.ConcurrencyLimitProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ConcurrencyLimiter Tests")
+class ConcurrencyLimiterTest {
+
+    private static final long MILLIS = 1_000_000L;
+
+    @Nested
+    @DisplayName("Admission")
+    class AdmissionTests {
+
+        @Test
+        @DisplayName("should reject requests over the limit until a permit is released")
+        void shouldRejectOverLimit() {
+            ConcurrencyLimiter limiter = new ConcurrencyLimiter(new AimdLimit(0.9), 2, 1, 10);
+
+            ConcurrencyLimiter.Permit first = limiter.tryAcquire();
+            ConcurrencyLimiter.Permit second = limiter.tryAcquire();
+
+            assertThat(first).isNotNull();
+            assertThat(second).isNotNull();
+            assertThat(limiter.tryAcquire()).isNull();
+            assertThat(limiter.getInFlight()).isEqualTo(2);
+
+            first.cancel();
+
+            assertThat(limiter.tryAcquire()).isNotNull();
+        }
+
+        @Test
+        @DisplayName("should keep the limit within min and max")
+        void shouldClampLimit() {
+            ConcurrencyLimiter limiter = new ConcurrencyLimiter(new AimdLimit(0.5), 4, 3, 5);
+
+            for (int i = 0; i < 10; i++) {
+                limiter.tryAcquire().release(true);
+            }
+            assertThat(limiter.getLimit()).isEqualTo(3);
+
+            for (int i = 0; i < 10; i++) {
+                List<ConcurrencyLimiter.Permit> permits = new ArrayList<>();
+                for (int j = 0; j < limiter.getLimit(); j++) {
+                    permits.add(limiter.tryAcquire());
+                }
+                permits.forEach(permit -> permit.release(false));
+            }
+            assertThat(limiter.getLimit()).isEqualTo(5);
+        }
+
+        @Test
+        @DisplayName("should not sample cancelled requests")
+        void shouldNotSampleCancelledRequests() {
+            ConcurrencyLimiter limiter = new ConcurrencyLimiter(new AimdLimit(0.5), 8, 1, 10);
+
+            limiter.tryAcquire().cancel();
+
+            assertThat(limiter.getLimit()).isEqualTo(8);
+            assertThat(limiter.getInFlight()).isZero();
+        }
+    }
+
+    @Nested
+    @DisplayName("Gradient")
+    class GradientTests {
+
+        private final GradientLimit gradient = new GradientLimit(0.2, 1.5, 600, 0.9);
+
+        @Test
+        @DisplayName("should grow while latency holds steady")
+        void shouldGrowWhileLatencyHolds() {
+            double limit = 20;
+            for (int i = 0; i < 50; i++) {
+                limit = gradient.update(limit, 10 * MILLIS, (int) limit, false);
+            }
+
+            assertThat(limit).isGreaterThan(30);
+        }
+
+        @Test
+        @DisplayName("should shrink when latency rises above the long-term average")
+        void shouldShrinkWhenLatencyRises() {
+            double limit = 100;
+            for (int i = 0; i < 100; i++) {
+                gradient.update(limit, 10 * MILLIS, (int) limit, false);
+            }
+            for (int i = 0; i < 20; i++) {
+                limit = gradient.update(limit, 50 * MILLIS, (int) limit, false);
+            }
+
+            assertThat(limit).isLessThan(50);
+        }
+
+        @Test
+        @DisplayName("should not grow while the limit is mostly unused")
+        void shouldNotGrowWhenAppLimited() {
+            double limit = gradient.update(100, 10 * MILLIS, 10, false);
+
+            assertThat(limit).isEqualTo(100);
+        }
+
+        @Test
+        @DisplayName("should back off on drops")
+        void shouldBackOffOnDrops() {
+            assertThat(gradient.update(100, 10 * MILLIS, 100, true)).isEqualTo(90);
+        }
+    }
+
+    @Nested
+    @DisplayName("AIMD")
+    class AimdTests {
+
+        private final AimdLimit aimd = new AimdLimit(0.9);
+
+        @Test
+        @DisplayName("should add one per sample while at least half the limit is used")
+        void shouldIncreaseAdditively() {
+            assertThat(aimd.update(20, MILLIS, 10, false)).isEqualTo(21);
+            assertThat(aimd.update(20, MILLIS, 9, false)).isEqualTo(20);
+        }
+
+        @Test
+        @DisplayName("should decrease multiplicatively on drops")
+        void shouldDecreaseMultiplicatively() {
+            assertThat(aimd.update(20, MILLIS, 20, true)).isEqualTo(18);
+        }
+    }
+
+    @Nested
+    @DisplayName("Per-route limiters")
+    class RouteTests {
+
+        @Test
+        @DisplayName("should publish limit and in-flight gauges and count rejections per route")
+        void shouldPublishMetrics() {
+            ConcurrencyLimitProperties properties = new ConcurrencyLimitProperties();
+            properties.setInitialLimit(5);
+            properties.setMinLimit(5);
+            SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+            ConcurrencyLimiters limiters = new ConcurrencyLimiters(properties, meterRegistry);
+
+            for (int i = 0; i < 6; i++) {
+                limiters.tryAcquire("order-service-orders");
+            }
+
+            assertThat(meterRegistry.get(ConcurrencyLimiters.LIMIT_METRIC_NAME)
+                    .tag("route", "order-service-orders").gauge().value()).isEqualTo(5.0);
+            assertThat(meterRegistry.get(ConcurrencyLimiters.IN_FLIGHT_METRIC_NAME)
+                    .tag("route", "order-service-orders").gauge().value()).isEqualTo(5.0);
+            assertThat(meterRegistry.get(ConcurrencyLimiters.REQUESTS_METRIC_NAME)
+                    .tag("route", "order-service-orders").tag("outcome", "rejected").counter().count())
+                    .isEqualTo(1.0);
+            assertThat(limiters.get("product-service")).isNull();
+            assertThat(limiters.tryAcquire("product-service")).isNotNull();
+        }
+    }
+}
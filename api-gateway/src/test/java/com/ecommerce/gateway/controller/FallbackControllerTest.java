@@ -1,81 +1,179 @@
 package com.ecommerce.gateway.controller;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
 import reactor.test.StepVerifier;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Map;
+import java.util.concurrent.TimeoutException;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
 @DisplayName("FallbackController Tests")
 class FallbackControllerTest {
 
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private CircuitBreakerRegistry circuitBreakerRegistry;
     private FallbackController controller;
+    private MockServerWebExchange exchange;
 
     @BeforeEach
     void setUp() {
-        controller = new FallbackController();
+        circuitBreakerRegistry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .waitDurationInOpenState(Duration.ofSeconds(5))
+                .build());
+        controller = new FallbackController(objectMapper, circuitBreakerRegistry);
+        exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/fallback"));
+    }
+
+    private Map<String, Object> body() throws Exception {
+        String json = exchange.getResponse().getBodyAsString().block();
+        return objectMapper.readValue(json, new TypeReference<>() {
+        });
     }
 
     @Test
     @DisplayName("should return 503 for service unavailable")
-    void shouldReturn503ForServiceUnavailable() {
-        StepVerifier.create(controller.serviceUnavailable())
-                .assertNext(response -> {
-                    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
-                    Map<String, Object> body = response.getBody();
-                    assertThat(body).isNotNull();
-                    assertThat(body.get("success")).isEqualTo(false);
-                    assertThat(body.get("error")).isEqualTo("SERVICE_UNAVAILABLE");
-                    assertThat(body.get("message")).isNotNull();
-                    assertThat(body.get("timestamp")).isNotNull();
-                })
-                .verifyComplete();
+    void shouldReturn503ForServiceUnavailable() throws Exception {
+        StepVerifier.create(controller.serviceUnavailable(exchange)).verifyComplete();
+
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(exchange.getResponse().getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        Map<String, Object> body = body();
+        assertThat(body).isNotNull();
+        assertThat(body.get("success")).isEqualTo(false);
+        assertThat(body.get("error")).isEqualTo("SERVICE_UNAVAILABLE");
+        assertThat(body.get("message")).isNotNull();
+        assertThat(body.get("timestamp")).isNotNull();
+    }
+
+    @Test
+    @DisplayName("should return 503 for requests shed by the concurrency limit")
+    void shouldReturn503ForConcurrencyLimited() throws Exception {
+        StepVerifier.create(controller.concurrencyLimited(exchange)).verifyComplete();
+
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        Map<String, Object> body = body();
+        assertThat(body).isNotNull();
+        assertThat(body.get("success")).isEqualTo(false);
+        assertThat(body.get("error")).isEqualTo("SERVICE_OVERLOADED");
     }
 
     @Test
     @DisplayName("should return 429 for rate limit exceeded")
-    void shouldReturn429ForRateLimitExceeded() {
-        StepVerifier.create(controller.rateLimitExceeded())
-                .assertNext(response -> {
-                    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
-                    Map<String, Object> body = response.getBody();
-                    assertThat(body).isNotNull();
-                    assertThat(body.get("success")).isEqualTo(false);
-                    assertThat(body.get("error")).isEqualTo("RATE_LIMIT_EXCEEDED");
-                })
-                .verifyComplete();
+    void shouldReturn429ForRateLimitExceeded() throws Exception {
+        StepVerifier.create(controller.rateLimitExceeded(exchange)).verifyComplete();
+
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        Map<String, Object> body = body();
+        assertThat(body).isNotNull();
+        assertThat(body.get("success")).isEqualTo(false);
+        assertThat(body.get("error")).isEqualTo("RATE_LIMIT_EXCEEDED");
     }
 
     @Test
     @DisplayName("should return 401 for unauthorized")
-    void shouldReturn401ForUnauthorized() {
-        StepVerifier.create(controller.unauthorized())
-                .assertNext(response -> {
-                    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
-                    Map<String, Object> body = response.getBody();
-                    assertThat(body).isNotNull();
-                    assertThat(body.get("success")).isEqualTo(false);
-                    assertThat(body.get("error")).isEqualTo("UNAUTHORIZED");
-                })
-                .verifyComplete();
+    void shouldReturn401ForUnauthorized() throws Exception {
+        StepVerifier.create(controller.unauthorized(exchange)).verifyComplete();
+
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+        Map<String, Object> body = body();
+        assertThat(body).isNotNull();
+        assertThat(body.get("success")).isEqualTo(false);
+        assertThat(body.get("error")).isEqualTo("UNAUTHORIZED");
     }
 
     @Test
     @DisplayName("should return 403 for forbidden")
-    void shouldReturn403ForForbidden() {
-        StepVerifier.create(controller.forbidden())
-                .assertNext(response -> {
-                    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
-                    Map<String, Object> body = response.getBody();
-                    assertThat(body).isNotNull();
-                    assertThat(body.get("success")).isEqualTo(false);
-                    assertThat(body.get("error")).isEqualTo("FORBIDDEN");
-                })
-                .verifyComplete();
+    void shouldReturn403ForForbidden() throws Exception {
+        StepVerifier.create(controller.forbidden(exchange)).verifyComplete();
+
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+        Map<String, Object> body = body();
+        assertThat(body).isNotNull();
+        assertThat(body.get("success")).isEqualTo(false);
+        assertThat(body.get("error")).isEqualTo("FORBIDDEN");
+    }
+
+    @Nested
+    @DisplayName("Pre-serialized bodies")
+    class PreSerializedTests {
+
+        private final FallbackController.FallbackResponse response = new FallbackController.FallbackResponse(
+                objectMapper, HttpStatus.FORBIDDEN, "FORBIDDEN", "權限不足");
+
+        @Test
+        @DisplayName("should reuse the body within the same second")
+        void shouldReuseBodyWithinSecond() {
+            assertThat(response.bytes(1_000)).isSameAs(response.bytes(1_000));
+        }
+
+        @Test
+        @DisplayName("should produce valid JSON with the second's timestamp")
+        void shouldSpliceTimestamp() throws Exception {
+            long epochSecond = Instant.parse("2026-10-16T08:30:15Z").getEpochSecond();
+
+            Map<String, Object> body = objectMapper.readValue(response.bytes(epochSecond), new TypeReference<>() {
+            });
+
+            assertThat(body).containsEntry("timestamp", "2026-10-16T08:30:15Z")
+                    .containsEntry("message", "權限不足")
+                    .containsEntry("success", false);
+        }
+
+        @Test
+        @DisplayName("should set Content-Length to the UTF-8 body size")
+        void shouldSetContentLength() {
+            StepVerifier.create(response.write(exchange.getResponse())).verifyComplete();
+
+            assertThat(exchange.getResponse().getHeaders().getContentLength())
+                    .isEqualTo(response.bytes(Instant.now().getEpochSecond()).length);
+        }
+    }
+
+    @Nested
+    @DisplayName("Retry-After")
+    class RetryAfterTests {
+
+        @Test
+        @DisplayName("should tell clients when an open circuit breaker lets calls through again")
+        void shouldSetRetryAfterWhenOpen() {
+            CircuitBreaker circuitBreaker = circuitBreakerRegistry.circuitBreaker("product-service-cb");
+            circuitBreaker.transitionToOpenState();
+            exchange.getAttributes().put(ServerWebExchangeUtils.CIRCUITBREAKER_EXECUTION_EXCEPTION_ATTR,
+                    CallNotPermittedException.createCallNotPermittedException(circuitBreaker));
+
+            StepVerifier.create(controller.serviceUnavailable(exchange)).verifyComplete();
+
+            assertThat(exchange.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER))
+                    .isIn("4", "5");
+        }
+
+        @Test
+        @DisplayName("should not set Retry-After when the breaker is not open")
+        void shouldNotSetRetryAfterOnTimeout() {
+            exchange.getAttributes().put(ServerWebExchangeUtils.CIRCUITBREAKER_EXECUTION_EXCEPTION_ATTR,
+                    new TimeoutException());
+
+            StepVerifier.create(controller.serviceUnavailable(exchange)).verifyComplete();
+
+            assertThat(exchange.getResponse().getHeaders().containsKey(HttpHeaders.RETRY_AFTER)).isFalse();
+        }
     }
 }
@@ -0,0 +1,112 @@
+package com.ecommerce.gateway.filter;
+
+import com.ecommerce.gateway.concurrency.ConcurrencyLimiters;
+import com.ecommerce.gateway.config.ConcurrencyLimitProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.reactive.DispatcherHandler;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("ConcurrencyLimitFilter Tests")
+class ConcurrencyLimitFilterTest {
+
+    private ConcurrencyLimiters limiters;
+    private DispatcherHandler dispatcherHandler;
+    private ConcurrencyLimitFilter filter;
+    private AtomicReference<ServerWebExchange> forwarded;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        ConcurrencyLimitProperties properties = new ConcurrencyLimitProperties();
+        properties.setInitialLimit(1);
+        properties.setMinLimit(1);
+        limiters = new ConcurrencyLimiters(properties, new SimpleMeterRegistry());
+
+        forwarded = new AtomicReference<>();
+        dispatcherHandler = mock(DispatcherHandler.class);
+        when(dispatcherHandler.handle(any())).thenAnswer(invocation -> {
+            ServerWebExchange exchange = invocation.getArgument(0);
+            forwarded.set(exchange);
+            exchange.getResponse().setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+            return Mono.empty();
+        });
+        ObjectProvider<DispatcherHandler> provider = mock(ObjectProvider.class);
+        when(provider.getObject()).thenReturn(dispatcherHandler);
+
+        filter = new ConcurrencyLimitFilter(limiters, properties, provider);
+    }
+
+    private static MockServerWebExchange exchange() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/api/v1/orders"));
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR,
+                Route.async().id("order-service-orders").uri("lb://order-service").predicate(e -> true).build());
+        return exchange;
+    }
+
+    @Test
+    @DisplayName("should shed requests over the limit to the fallback controller")
+    void shouldShedOverLimit() {
+        Sinks.Empty<Void> slowDownstream = Sinks.empty();
+        GatewayFilterChain slowChain = exchange -> slowDownstream.asMono();
+        filter.filter(exchange(), slowChain).subscribe();
+
+        GatewayFilterChain chain = mock(GatewayFilterChain.class);
+        MockServerWebExchange shed = exchange();
+
+        StepVerifier.create(filter.filter(shed, chain)).verifyComplete();
+
+        verify(chain, never()).filter(any());
+        assertThat(forwarded.get().getRequest().getURI().getPath()).isEqualTo(ConcurrencyLimitFilter.FALLBACK_PATH);
+        assertThat(shed.getResponse().getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+
+        slowDownstream.tryEmitEmpty();
+
+        assertThat(limiters.get("order-service-orders").getInFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("should release the permit when the downstream call fails")
+    void shouldReleaseOnError() {
+        GatewayFilterChain failingChain = exchange -> Mono.error(new IllegalStateException("connection refused"));
+
+        StepVerifier.create(filter.filter(exchange(), failingChain)).verifyError(IllegalStateException.class);
+
+        assertThat(limiters.get("order-service-orders").getInFlight()).isZero();
+        verify(dispatcherHandler, never()).handle(any());
+    }
+
+    @Test
+    @DisplayName("should pass through requests without a route")
+    void shouldPassThroughWithoutRoute() {
+        GatewayFilterChain chain = mock(GatewayFilterChain.class);
+        when(chain.filter(any())).thenReturn(Mono.empty());
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/actuator/health"));
+
+        StepVerifier.create(filter.filter(exchange, chain)).verifyComplete();
+
+        verify(chain).filter(exchange);
+        assertThat(limiters.get("order-service-orders")).isNull();
+    }
+}
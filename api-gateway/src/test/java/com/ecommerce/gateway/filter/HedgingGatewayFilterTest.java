@@ -0,0 +1,185 @@
+package com.ecommerce.gateway.filter;
+
+import com.ecommerce.gateway.config.HedgingProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("HedgingGatewayFilter Tests")
+class HedgingGatewayFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private HedgingProperties properties;
+    private HedgingGatewayFilter filter;
+    private AtomicInteger attempts;
+    private AtomicBoolean firstCancelled;
+    private Duration firstDelay;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        properties = new HedgingProperties();
+        properties.setInitialDelay(Duration.ofMillis(50));
+        filter = new HedgingGatewayFilter(properties, meterRegistry);
+        attempts = new AtomicInteger();
+        firstCancelled = new AtomicBoolean();
+        firstDelay = Duration.ofMillis(500);
+    }
+
+    /**
+     * The first attempt takes firstDelay, later attempts answer at once.
+     */
+    private final GatewayFilterChain downstream = exchange -> {
+        int attempt = attempts.incrementAndGet();
+        Duration delay = attempt == 1 ? firstDelay : Duration.ZERO;
+        return Mono.delay(delay)
+                .then(Mono.defer(() -> {
+                    exchange.getAttributes().put("instance", "instance-" + attempt);
+                    ServerHttpResponse response = exchange.getResponse();
+                    response.setStatusCode(HttpStatus.OK);
+                    response.getHeaders().set("X-Attempt", String.valueOf(attempt));
+                    return response.writeWith(Mono.just(response.bufferFactory()
+                            .wrap(("attempt " + attempt).getBytes(StandardCharsets.UTF_8))));
+                }))
+                .doOnCancel(() -> {
+                    if (attempt == 1) {
+                        firstCancelled.set(true);
+                    }
+                });
+    };
+
+    private static MockServerWebExchange exchange(MockServerHttpRequest.BaseBuilder<?> request) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(request);
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR,
+                Route.async().id("product-service").uri("lb://product-service").predicate(e -> true).build());
+        exchange.getResponse().getHeaders().set("X-Request-Id", "req-1");
+        return exchange;
+    }
+
+    private double count(String result) {
+        return meterRegistry.get("gateway.hedging.requests").tag("result", result).counter().count();
+    }
+
+    @Test
+    @DisplayName("should answer with the hedge and cancel the slow first attempt")
+    void shouldAnswerWithHedge() {
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.get("/api/v1/products/p-1"));
+
+        StepVerifier.create(filter.filter(exchange, downstream)).verifyComplete();
+
+        assertThat(attempts.get()).isEqualTo(2);
+        assertThat(firstCancelled.get()).isTrue();
+        assertThat(exchange.getResponse().getBodyAsString().block()).isEqualTo("attempt 2");
+        assertThat(exchange.getResponse().getHeaders().getFirst("X-Attempt")).isEqualTo("2");
+        assertThat(exchange.getResponse().getHeaders().getFirst("X-Request-Id")).isEqualTo("req-1");
+        assertThat(exchange.<String>getAttribute("instance")).isEqualTo("instance-2");
+        assertThat(count("hedge-won")).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("should not hedge a request answering within the delay")
+    void shouldNotHedgeFastRequest() {
+        firstDelay = Duration.ZERO;
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.get("/api/v1/products/p-1"));
+
+        StepVerifier.create(filter.filter(exchange, downstream)).verifyComplete();
+
+        assertThat(attempts.get()).isEqualTo(1);
+        assertThat(exchange.getResponse().getBodyAsString().block()).isEqualTo("attempt 1");
+        assertThat(count("not-hedged")).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("should wait for the first attempt when the hedge budget is exhausted")
+    void shouldNotHedgeOverBudget() {
+        properties.setMaxConcurrentHedges(0);
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.get("/api/v1/products/p-1"));
+
+        StepVerifier.create(filter.filter(exchange, downstream)).verifyComplete();
+
+        assertThat(attempts.get()).isEqualTo(1);
+        assertThat(exchange.getResponse().getBodyAsString().block()).isEqualTo("attempt 1");
+        assertThat(count("throttled")).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("should never hedge non-GET requests")
+    void shouldNotHedgePost() {
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.post("/api/v1/products"));
+
+        StepVerifier.create(filter.filter(exchange, downstream)).verifyComplete();
+
+        assertThat(attempts.get()).isEqualTo(1);
+        assertThat(exchange.getResponse().getBodyAsString().block()).isEqualTo("attempt 1");
+    }
+
+    @Test
+    @DisplayName("should record the latency of the cancelled attempt")
+    void shouldRecordCancelledAttemptLatency() {
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.get("/api/v1/products/p-1"));
+
+        StepVerifier.create(filter.filter(exchange, downstream)).verifyComplete();
+
+        assertThat(firstCancelled.get()).isTrue();
+        assertThat(meterRegistry.get("gateway.hedging.attempt.duration").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("should stream a body over the maximum size and stop hedging")
+    void shouldStreamLargeBodyWithoutHedging() {
+        properties.setMaximumBodySize(DataSize.ofBytes(16));
+        GatewayFilterChain chunked = exchange -> {
+            attempts.incrementAndGet();
+            ServerHttpResponse response = exchange.getResponse();
+            response.setStatusCode(HttpStatus.OK);
+            // No Content-Length: the size is only known once the body has been read
+            return response.writeWith(Flux.concat(
+                    Mono.fromSupplier(() -> response.bufferFactory()
+                            .wrap("first chunk, over the limit;".getBytes(StandardCharsets.UTF_8))),
+                    Mono.delay(Duration.ofMillis(300)).map(tick -> response.bufferFactory()
+                            .wrap(" second chunk".getBytes(StandardCharsets.UTF_8)))));
+        };
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.get("/api/v1/products"));
+
+        StepVerifier.create(filter.filter(exchange, chunked)).verifyComplete();
+
+        assertThat(attempts.get()).isEqualTo(1);
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(exchange.getResponse().getBodyAsString().block())
+                .isEqualTo("first chunk, over the limit; second chunk");
+        assertThat(exchange.getResponse().getHeaders().getFirst("X-Request-Id")).isEqualTo("req-1");
+        assertThat(count("not-hedged")).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("should still buffer and hedge bodies within the maximum size")
+    void shouldHedgeBodyWithinMaximumSize() {
+        properties.setMaximumBodySize(DataSize.ofBytes(9));
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.get("/api/v1/products/p-1"));
+
+        StepVerifier.create(filter.filter(exchange, downstream)).verifyComplete();
+
+        assertThat(attempts.get()).isEqualTo(2);
+        assertThat(exchange.getResponse().getBodyAsString().block()).isEqualTo("attempt 2");
+        assertThat(count("hedge-won")).isEqualTo(1.0);
+    }
+}
@@ -1,7 +1,10 @@
 package com.ecommerce.gateway.filter;
 
+import com.ecommerce.gateway.metrics.GatewayMetrics;
+import com.ecommerce.security.jwt.InternalIdentityAssertion;
 import com.ecommerce.security.jwt.JwtProperties;
 import com.ecommerce.security.jwt.JwtTokenProvider;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -11,11 +14,14 @@ import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
 import org.springframework.mock.web.server.MockServerWebExchange;
 import org.springframework.security.core.context.ReactiveSecurityContextHolder;
 import org.springframework.security.core.context.SecurityContext;
+import org.springframework.web.server.ServerWebExchange;
 import org.springframework.web.server.WebFilterChain;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
@@ -28,6 +34,7 @@ class JwtAuthenticationWebFilterTest {
     private JwtAuthenticationWebFilter filter;
     private JwtTokenProvider jwtTokenProvider;
     private WebFilterChain filterChain;
+    private SimpleMeterRegistry meterRegistry;
 
     @BeforeEach
     void setUp() {
@@ -36,12 +43,18 @@ class JwtAuthenticationWebFilterTest {
         jwtProperties.setAccessTokenExpiration(Duration.ofMinutes(15));
 
         jwtTokenProvider = new JwtTokenProvider(jwtProperties);
-        filter = new JwtAuthenticationWebFilter(jwtTokenProvider);
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new JwtAuthenticationWebFilter(jwtTokenProvider, new InternalIdentityAssertion(jwtProperties),
+                new RequestIdGenerator(), new GatewayMetrics(meterRegistry, List.of(Duration.ofMillis(10))));
 
         filterChain = mock(WebFilterChain.class);
         when(filterChain.filter(any())).thenReturn(Mono.empty());
     }
 
+    private double authCount(String outcome) {
+        return meterRegistry.get("gateway.auth.requests").tag("outcome", outcome).counter().count();
+    }
+
     @Nested
     @DisplayName("With valid access token")
     class WithValidAccessTokenTests {
@@ -95,6 +108,25 @@ class JwtAuthenticationWebFilterTest {
             StepVerifier.create(filter.filter(exchange, captureChain))
                     .verifyComplete();
         }
+
+        @Test
+        @DisplayName("should expose verified user ID as exchange attribute")
+        void shouldExposeVerifiedUserIdAttribute() {
+            String token = jwtTokenProvider.generateAccessToken("user-123", "test@example.com", "CUSTOMER");
+
+            MockServerHttpRequest request = MockServerHttpRequest
+                    .get("/api/v1/orders")
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                    .build();
+
+            MockServerWebExchange exchange = MockServerWebExchange.from(request);
+
+            StepVerifier.create(filter.filter(exchange, filterChain))
+                    .verifyComplete();
+
+            assertThat((String) exchange.getAttribute(JwtAuthenticationWebFilter.USER_ID_ATTR))
+                    .isEqualTo("user-123");
+        }
     }
 
     @Nested
@@ -161,6 +193,29 @@ class JwtAuthenticationWebFilterTest {
 
             // No user headers should be added
             assertThat(exchange.getRequest().getHeaders().getFirst("X-User-Id")).isNull();
+            assertThat(authCount("TOKEN_INVALID")).isEqualTo(1.0);
+        }
+
+        @Test
+        @DisplayName("should count expired token separately")
+        void shouldCountExpiredToken() {
+            JwtProperties expiredProperties = new JwtProperties();
+            expiredProperties.setSecretKey("this-is-a-very-long-secret-key-for-testing-purposes-only-256-bits");
+            expiredProperties.setAccessTokenExpiration(Duration.ofSeconds(-1));
+            String token = new JwtTokenProvider(expiredProperties)
+                    .generateAccessToken("user-123", "test@example.com", "CUSTOMER");
+
+            MockServerHttpRequest request = MockServerHttpRequest
+                    .get("/api/v1/orders")
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                    .build();
+
+            StepVerifier.create(filter.filter(MockServerWebExchange.from(request), filterChain))
+                    .verifyComplete();
+
+            assertThat(authCount("TOKEN_EXPIRED")).isEqualTo(1.0);
+            assertThat(authCount("TOKEN_INVALID")).isZero();
+            assertThat(meterRegistry.get("gateway.auth.validation").timer().count()).isEqualTo(1);
         }
 
         @Test
@@ -203,6 +258,70 @@ class JwtAuthenticationWebFilterTest {
 
             // No user headers should be added for refresh token
             assertThat(exchange.getRequest().getHeaders().getFirst("X-User-Id")).isNull();
+            assertThat(authCount("TOKEN_TYPE_REJECTED")).isEqualTo(1.0);
+        }
+    }
+
+    @Nested
+    @DisplayName("With internal identity assertion enabled")
+    class WithInternalIdentityAssertionTests {
+
+        private InternalIdentityAssertion internalIdentityAssertion;
+        private AtomicReference<ServerWebExchange> forwarded;
+        private WebFilterChain captureChain;
+
+        @BeforeEach
+        void enableAssertions() {
+            JwtProperties jwtProperties = new JwtProperties();
+            jwtProperties.setSecretKey("this-is-a-very-long-secret-key-for-testing-purposes-only-256-bits");
+            jwtProperties.getInternalIdentity().setEnabled(true);
+            jwtProperties.getInternalIdentity().setSecret("another-long-secret-for-internal-identity-assertions");
+            internalIdentityAssertion = new InternalIdentityAssertion(jwtProperties);
+            filter = new JwtAuthenticationWebFilter(jwtTokenProvider, internalIdentityAssertion,
+                    new RequestIdGenerator(), new GatewayMetrics(meterRegistry, List.of(Duration.ofMillis(10))));
+
+            forwarded = new AtomicReference<>();
+            captureChain = ex -> {
+                forwarded.set(ex);
+                return Mono.empty();
+            };
+        }
+
+        @Test
+        @DisplayName("should mint assertion bound to forwarded headers")
+        void shouldMintAssertionBoundToForwardedHeaders() {
+            String token = jwtTokenProvider.generateAccessToken("user-123", "test@example.com", "CUSTOMER");
+            MockServerHttpRequest request = MockServerHttpRequest
+                    .get("/api/v1/orders")
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                    .build();
+
+            StepVerifier.create(filter.filter(MockServerWebExchange.from(request), captureChain))
+                    .verifyComplete();
+
+            HttpHeaders headers = forwarded.get().getRequest().getHeaders();
+            assertThat(headers.getFirst("X-Request-Id")).isNotNull();
+            assertThat(internalIdentityAssertion.verify(
+                    headers.getFirst("X-Internal-Identity"),
+                    headers.getFirst("X-User-Id"),
+                    headers.getFirst("X-User-Email"),
+                    headers.getFirst("X-User-Role"),
+                    headers.getFirst("X-Request-Id"))).isTrue();
+        }
+
+        @Test
+        @DisplayName("should drop client-supplied assertion")
+        void shouldDropClientSuppliedAssertion() {
+            MockServerHttpRequest request = MockServerHttpRequest
+                    .get("/api/v1/orders")
+                    .header("X-User-Id", "user-123")
+                    .header("X-Internal-Identity", "v1.9999999999.forged")
+                    .build();
+
+            StepVerifier.create(filter.filter(MockServerWebExchange.from(request), captureChain))
+                    .verifyComplete();
+
+            assertThat(forwarded.get().getRequest().getHeaders().containsKey("X-Internal-Identity")).isFalse();
         }
     }
 }
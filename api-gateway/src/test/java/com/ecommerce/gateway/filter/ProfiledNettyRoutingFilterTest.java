@@ -0,0 +1,56 @@
+package com.ecommerce.gateway.filter;
+
+import com.ecommerce.gateway.config.HttpClientProfileProperties;
+import com.ecommerce.gateway.httpclient.HttpClientProfiles;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.netty.http.client.HttpClient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+@DisplayName("ProfiledNettyRoutingFilter Tests")
+class ProfiledNettyRoutingFilterTest {
+
+    private final HttpClient sharedClient = HttpClient.create();
+    private HttpClientProfiles profiles;
+    private ProfiledNettyRoutingFilter filter;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        HttpClientProfileProperties properties = new HttpClientProfileProperties();
+        properties.getProfiles().put("product-service", new HttpClientProfileProperties.Profile());
+        profiles = new HttpClientProfiles(properties);
+        filter = new ProfiledNettyRoutingFilter(sharedClient, mock(ObjectProvider.class), new HttpClientProperties(), profiles);
+    }
+
+    @AfterEach
+    void tearDown() {
+        profiles.destroy();
+    }
+
+    private HttpClient clientFor(String uri) {
+        Route route = Route.async().id("route").uri(uri).predicate(e -> true).build();
+        return filter.getHttpClient(route, MockServerWebExchange.from(MockServerHttpRequest.get("/")));
+    }
+
+    @Test
+    @DisplayName("should route through the service's client profile")
+    void shouldUseProfileClient() {
+        assertThat(clientFor("lb://product-service")).isSameAs(profiles.forService("product-service"));
+    }
+
+    @Test
+    @DisplayName("should keep the shared client for services without a profile")
+    void shouldUseSharedClientWithoutProfile() {
+        assertThat(clientFor("lb://payment-service")).isSameAs(sharedClient);
+    }
+}
@@ -0,0 +1,133 @@
+package com.ecommerce.gateway.filter;
+
+import com.ecommerce.gateway.config.RateLimitPolicyProperties;
+import com.ecommerce.gateway.ratelimit.RateLimitPolicyTable;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.ratelimit.KeyResolver;
+import org.springframework.cloud.gateway.filter.ratelimit.RateLimiter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("RateLimitPolicyFilter Tests")
+class RateLimitPolicyFilterTest {
+
+    private RateLimiter<?> strict;
+    private RateLimiter<?> standard;
+    private GatewayFilterChain chain;
+    private SimpleMeterRegistry meterRegistry;
+    private RateLimitPolicyFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        strict = mock(RateLimiter.class);
+        standard = mock(RateLimiter.class);
+        chain = mock(GatewayFilterChain.class);
+        when(chain.filter(any())).thenReturn(Mono.empty());
+
+        RateLimitPolicyProperties.Policy auth = new RateLimitPolicyProperties.Policy();
+        auth.setRouteId("customer-service-auth");
+        auth.setLimiter("strictRateLimiter");
+        RateLimitPolicyProperties properties = new RateLimitPolicyProperties();
+        properties.setPolicies(List.of(auth));
+
+        KeyResolver userKeyResolver = exchange -> Mono.justOrEmpty(
+                exchange.getRequest().getHeaders().getFirst("X-User-Id"));
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new RateLimitPolicyFilter(new RateLimitPolicyTable(properties,
+                Map.of("strictRateLimiter", strict, "defaultRateLimiter", standard),
+                Map.of("userKeyResolver", userKeyResolver),
+                meterRegistry));
+    }
+
+    private MockServerWebExchange exchange(String routeId, String userId) {
+        MockServerHttpRequest.BaseBuilder<?> request = MockServerHttpRequest.post("/api/auth/login");
+        if (userId != null) {
+            request.header("X-User-Id", userId);
+        }
+        MockServerWebExchange exchange = MockServerWebExchange.from(request);
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR,
+                Route.async().id(routeId).uri("lb://customer-service").predicate(e -> true).build());
+        return exchange;
+    }
+
+    private static Mono<RateLimiter.Response> response(boolean allowed) {
+        return Mono.just(new RateLimiter.Response(allowed, Map.of("X-RateLimit-Remaining", allowed ? "4" : "0")));
+    }
+
+    private double count(String routeId, String outcome) {
+        return meterRegistry.get("gateway.ratelimit.requests")
+                .tags("route", routeId, "outcome", outcome)
+                .counter().count();
+    }
+
+    @Test
+    @DisplayName("should forward allowed request using the route's limiter")
+    void shouldForwardAllowedRequest() {
+        when(strict.isAllowed("customer-service-auth", "strictRateLimiter:user-1")).thenReturn(response(true));
+        MockServerWebExchange exchange = exchange("customer-service-auth", "user-1");
+
+        StepVerifier.create(filter.filter(exchange, chain)).verifyComplete();
+
+        verify(chain).filter(exchange);
+        verify(standard, never()).isAllowed(anyString(), anyString());
+        assertThat(exchange.getResponse().getHeaders().getFirst("X-RateLimit-Remaining")).isEqualTo("4");
+        assertThat(count("customer-service-auth", "allowed")).isEqualTo(1.0);
+        assertThat(meterRegistry.get("gateway.ratelimit.duration").tag("route", "customer-service-auth")
+                .timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should reject denied request with 429")
+    void shouldRejectDeniedRequest() {
+        when(standard.isAllowed(eq("order-service-cart"), anyString())).thenReturn(response(false));
+        MockServerWebExchange exchange = exchange("order-service-cart", "user-1");
+
+        StepVerifier.create(filter.filter(exchange, chain)).verifyComplete();
+
+        verify(chain, never()).filter(any());
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(count("order-service-cart", "denied")).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("should reject request without rate limit key with 403")
+    void shouldRejectRequestWithoutKey() {
+        MockServerWebExchange exchange = exchange("order-service-cart", null);
+
+        StepVerifier.create(filter.filter(exchange, chain)).verifyComplete();
+
+        verify(chain, never()).filter(any());
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+    }
+
+    @Test
+    @DisplayName("should pass through requests without a matched route")
+    void shouldPassThroughWithoutRoute() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/fallback"));
+
+        StepVerifier.create(filter.filter(exchange, chain)).verifyComplete();
+
+        verify(chain).filter(exchange);
+    }
+}
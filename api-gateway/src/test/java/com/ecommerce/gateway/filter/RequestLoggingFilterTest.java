@@ -0,0 +1,117 @@
+package com.ecommerce.gateway.filter;
+
+import com.ecommerce.gateway.accesslog.AccessLogRecord;
+import com.ecommerce.gateway.accesslog.AsyncAccessLog;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("RequestLoggingFilter Tests")
+class RequestLoggingFilterTest {
+
+    private AsyncAccessLog accessLog;
+    private RequestLoggingFilter filter;
+    private AtomicReference<ServerWebExchange> forwarded;
+    private GatewayFilterChain chain;
+
+    @BeforeEach
+    void setUp() {
+        accessLog = mock(AsyncAccessLog.class);
+        filter = new RequestLoggingFilter(accessLog, new RequestIdGenerator(0x3f9a01c2));
+        forwarded = new AtomicReference<>();
+        chain = ex -> {
+            forwarded.set(ex);
+            ex.getResponse().setStatusCode(HttpStatus.OK);
+            return Mono.empty();
+        };
+    }
+
+    @Test
+    @DisplayName("should add generated request ID when missing")
+    void shouldAddGeneratedRequestId() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/products"));
+
+        StepVerifier.create(filter.filter(exchange, chain)).verifyComplete();
+
+        assertThat(forwarded.get().getRequest().getHeaders().getFirst("X-Request-Id"))
+                .isEqualTo("3f9a01c2-0000000000000001");
+    }
+
+    @Test
+    @DisplayName("should keep existing request ID and forward exchange unchanged")
+    void shouldKeepExistingRequestId() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/products")
+                .header("X-Request-Id", "client-id"));
+
+        StepVerifier.create(filter.filter(exchange, chain)).verifyComplete();
+
+        assertThat(forwarded.get()).isSameAs(exchange);
+    }
+
+    @Test
+    @DisplayName("should record sampled request in access log")
+    void shouldRecordSampledRequest() {
+        when(accessLog.shouldRecord(eq(200), anyLong(), eq(false))).thenReturn(true);
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/products")
+                .header("X-Request-Id", "client-id")
+                .header("X-Forwarded-For", "203.0.113.7"));
+
+        StepVerifier.create(filter.filter(exchange, chain)).verifyComplete();
+
+        ArgumentCaptor<AccessLogRecord> record = ArgumentCaptor.forClass(AccessLogRecord.class);
+        verify(accessLog).record(record.capture());
+        assertThat(record.getValue().method()).isEqualTo("GET");
+        assertThat(record.getValue().path()).isEqualTo("/api/v1/products");
+        assertThat(record.getValue().status()).isEqualTo(200);
+        assertThat(record.getValue().requestId()).isEqualTo("client-id");
+        assertThat(record.getValue().clientIp()).isEqualTo("203.0.113.7");
+        assertThat(record.getValue().durationNanos()).isPositive();
+    }
+
+    @Test
+    @DisplayName("should not build record for request sampled out")
+    void shouldSkipSampledOutRequest() {
+        when(accessLog.shouldRecord(anyInt(), anyLong(), anyBoolean())).thenReturn(false);
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/products"));
+
+        StepVerifier.create(filter.filter(exchange, chain)).verifyComplete();
+
+        verify(accessLog, never()).record(any());
+    }
+
+    @Test
+    @DisplayName("should record failed request with error message")
+    void shouldRecordFailedRequest() {
+        when(accessLog.shouldRecord(anyInt(), anyLong(), eq(true))).thenReturn(true);
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/orders"));
+
+        StepVerifier.create(filter.filter(exchange, ex -> Mono.error(new IllegalStateException("boom"))))
+                .verifyError(IllegalStateException.class);
+
+        ArgumentCaptor<AccessLogRecord> record = ArgumentCaptor.forClass(AccessLogRecord.class);
+        verify(accessLog).record(record.capture());
+        assertThat(record.getValue().error()).isEqualTo("boom");
+        assertThat(record.getValue().isFailure()).isTrue();
+    }
+}
@@ -0,0 +1,211 @@
+package com.ecommerce.gateway.filter;
+
+import com.ecommerce.gateway.cache.ResponseCache;
+import com.ecommerce.gateway.config.ResponseCacheProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ResponseCacheFilter Tests")
+class ResponseCacheFilterTest {
+
+    private static final String BODY = "[{\"id\":\"p-1\",\"name\":\"Keyboard\"}]";
+
+    private ResponseCacheProperties properties;
+    private ResponseCacheFilter filter;
+    private SimpleMeterRegistry meterRegistry;
+    private AtomicInteger downstreamCalls;
+    private List<HttpHeaders> forwardedHeaders;
+    private String cacheControl;
+    private Duration downstreamDelay;
+    private int chunks;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ResponseCacheProperties();
+        properties.setRoutes(Map.of("product-service", Duration.ofMinutes(1)));
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new ResponseCacheFilter(new ResponseCache(properties, null), properties, meterRegistry);
+        downstreamCalls = new AtomicInteger();
+        forwardedHeaders = new ArrayList<>();
+        cacheControl = "max-age=30";
+        downstreamDelay = Duration.ZERO;
+        chunks = 1;
+    }
+
+    private final GatewayFilterChain downstream = exchange -> {
+        downstreamCalls.incrementAndGet();
+        forwardedHeaders.add(exchange.getRequest().getHeaders());
+        return Mono.delay(downstreamDelay).then(Mono.defer(() -> {
+            ServerHttpResponse response = exchange.getResponse();
+            response.setStatusCode(HttpStatus.OK);
+            response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            response.getHeaders().setCacheControl(cacheControl);
+            // Written without Content-Length, like a chunked downstream response
+            byte[] body = BODY.getBytes(StandardCharsets.UTF_8);
+            return response.writeWith(Flux.range(0, chunks).map(i -> response.bufferFactory().wrap(
+                    Arrays.copyOfRange(body, i * body.length / chunks, (i + 1) * body.length / chunks))));
+        }));
+    };
+
+    private static MockServerWebExchange exchange(String routeId, MockServerHttpRequest.BaseBuilder<?> request) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(request);
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR,
+                Route.async().id(routeId).uri("lb://" + routeId).predicate(e -> true).build());
+        return exchange;
+    }
+
+    private MockServerWebExchange get(String path) {
+        MockServerWebExchange exchange = exchange("product-service", MockServerHttpRequest.get(path));
+        StepVerifier.create(filter.filter(exchange, downstream)).verifyComplete();
+        return exchange;
+    }
+
+    private double count(String result) {
+        return meterRegistry.get("gateway.response-cache.requests").tag("result", result).counter().count();
+    }
+
+    @Nested
+    @DisplayName("Caching")
+    class CachingTests {
+
+        @Test
+        @DisplayName("should serve repeat request from cache")
+        void shouldServeRepeatRequestFromCache() {
+            MockServerWebExchange first = get("/api/v1/products?page=0");
+            MockServerWebExchange second = get("/api/v1/products?page=0");
+
+            assertThat(downstreamCalls.get()).isEqualTo(1);
+            assertThat(first.getResponse().getHeaders().getFirst("X-Cache")).isEqualTo("MISS");
+            assertThat(second.getResponse().getHeaders().getFirst("X-Cache")).isEqualTo("HIT");
+            assertThat(second.getResponse().getBodyAsString().block()).isEqualTo(BODY);
+            assertThat(second.getResponse().getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+            assertThat(second.getResponse().getHeaders().getETag())
+                    .isEqualTo(first.getResponse().getHeaders().getETag())
+                    .isNotNull();
+            assertThat(count("HIT")).isEqualTo(1.0);
+        }
+
+        @Test
+        @DisplayName("should key cache by query string")
+        void shouldKeyByQueryString() {
+            get("/api/v1/products?page=0");
+            get("/api/v1/products?page=1");
+
+            assertThat(downstreamCalls.get()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("should not cache responses marked no-store")
+        void shouldNotCacheNoStore() {
+            cacheControl = "no-store";
+
+            get("/api/v1/products/p-1");
+            MockServerWebExchange second = get("/api/v1/products/p-1");
+
+            assertThat(downstreamCalls.get()).isEqualTo(2);
+            assertThat(second.getResponse().getBodyAsString().block()).isEqualTo(BODY);
+        }
+
+        @Test
+        @DisplayName("should stream a chunked body over the maximum entry size without caching it")
+        void shouldBypassChunkedBodyOverMaximum() {
+            properties.setMaximumEntrySize(DataSize.ofBytes(16));
+            chunks = 4;
+
+            get("/api/v1/products/p-1");
+            MockServerWebExchange second = get("/api/v1/products/p-1");
+
+            assertThat(downstreamCalls.get()).isEqualTo(2);
+            assertThat(second.getResponse().getBodyAsString().block()).isEqualTo(BODY);
+            assertThat(second.getResponse().getHeaders().containsKey("X-Cache")).isFalse();
+            assertThat(count("BYPASS")).isEqualTo(2.0);
+        }
+
+        @Test
+        @DisplayName("should pass through routes without a TTL")
+        void shouldPassThroughUnconfiguredRoutes() {
+            for (int i = 0; i < 2; i++) {
+                StepVerifier.create(filter.filter(
+                        exchange("order-service-orders", MockServerHttpRequest.get("/api/v1/orders")),
+                        downstream)).verifyComplete();
+            }
+
+            assertThat(downstreamCalls.get()).isEqualTo(2);
+        }
+    }
+
+    @Nested
+    @DisplayName("Revalidation")
+    class RevalidationTests {
+
+        @Test
+        @DisplayName("should answer matching If-None-Match with 304 from cache")
+        void shouldAnswerNotModifiedFromCache() {
+            String etag = get("/api/v1/products/p-1").getResponse().getHeaders().getETag();
+
+            MockServerWebExchange conditional = exchange("product-service",
+                    MockServerHttpRequest.get("/api/v1/products/p-1").header(HttpHeaders.IF_NONE_MATCH, etag));
+            StepVerifier.create(filter.filter(conditional, downstream)).verifyComplete();
+
+            assertThat(conditional.getResponse().getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+            assertThat(conditional.getResponse().getHeaders().getETag()).isEqualTo(etag);
+            assertThat(downstreamCalls.get()).isEqualTo(1);
+            assertThat(count("NOT_MODIFIED")).isEqualTo(1.0);
+        }
+
+        @Test
+        @DisplayName("should revalidate on a miss without sending conditional headers downstream")
+        void shouldRevalidateOnMiss() {
+            String etag = get("/api/v1/products/p-1").getResponse().getHeaders().getETag();
+            filter = new ResponseCacheFilter(new ResponseCache(properties, null), properties, meterRegistry);
+
+            MockServerWebExchange conditional = exchange("product-service",
+                    MockServerHttpRequest.get("/api/v1/products/p-1").header(HttpHeaders.IF_NONE_MATCH, etag));
+            StepVerifier.create(filter.filter(conditional, downstream)).verifyComplete();
+
+            assertThat(conditional.getResponse().getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+            assertThat(forwardedHeaders.get(1).containsKey(HttpHeaders.IF_NONE_MATCH)).isFalse();
+        }
+    }
+
+    @Test
+    @DisplayName("should coalesce concurrent misses into one downstream call")
+    void shouldCoalesceConcurrentMisses() {
+        downstreamDelay = Duration.ofMillis(200);
+        MockServerWebExchange first = exchange("product-service", MockServerHttpRequest.get("/api/v1/categories"));
+        MockServerWebExchange second = exchange("product-service", MockServerHttpRequest.get("/api/v1/categories"));
+
+        StepVerifier.create(Mono.when(filter.filter(first, downstream), filter.filter(second, downstream)))
+                .verifyComplete();
+
+        assertThat(downstreamCalls.get()).isEqualTo(1);
+        assertThat(second.getResponse().getHeaders().getFirst("X-Cache")).isEqualTo("COALESCED");
+        assertThat(second.getResponse().getBodyAsString().block()).isEqualTo(BODY);
+    }
+}
@@ -0,0 +1,236 @@
+package com.ecommerce.gateway.filter;
+
+import com.ecommerce.gateway.compression.ResponseCompressor;
+import com.ecommerce.gateway.config.CompressionProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ResponseCompressionFilter Tests")
+class ResponseCompressionFilterTest {
+
+    private static final String LARGE_BODY = "{\"id\":\"p-1\",\"name\":\"Keyboard\",\"price\":49.99},".repeat(100);
+
+    private CompressionProperties properties;
+    private ResponseCompressionFilter filter;
+    private SimpleMeterRegistry meterRegistry;
+    private List<HttpHeaders> forwardedHeaders;
+    private String body;
+    private MediaType contentType;
+    private String contentEncoding;
+    private int chunks;
+
+    @BeforeEach
+    void setUp() {
+        properties = new CompressionProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        // Gzip only, so results do not depend on the platform's Brotli support
+        properties.setEncodings(List.of("gzip"));
+        filter = new ResponseCompressionFilter(new ResponseCompressor(properties), properties, meterRegistry);
+        forwardedHeaders = new ArrayList<>();
+        body = LARGE_BODY;
+        contentType = MediaType.APPLICATION_JSON;
+        contentEncoding = null;
+        chunks = 1;
+    }
+
+    private final GatewayFilterChain downstream = exchange -> {
+        forwardedHeaders.add(exchange.getRequest().getHeaders());
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.OK);
+        response.getHeaders().setContentType(contentType);
+        response.getHeaders().setETag("\"v1\"");
+        if (contentEncoding != null) {
+            response.getHeaders().set(HttpHeaders.CONTENT_ENCODING, contentEncoding);
+        }
+        // Written without Content-Length, like a chunked downstream response
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        return response.writeWith(Flux.range(0, chunks).map(i -> response.bufferFactory().wrap(
+                Arrays.copyOfRange(bytes, i * bytes.length / chunks, (i + 1) * bytes.length / chunks))));
+    };
+
+    private MockServerWebExchange get(String acceptEncoding) {
+        MockServerHttpRequest.BaseBuilder<?> request = MockServerHttpRequest.get("/api/v1/products");
+        if (acceptEncoding != null) {
+            request.header(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        MockServerWebExchange exchange = MockServerWebExchange.from(request);
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR,
+                Route.async().id("product-service").uri("lb://product-service").predicate(e -> true).build());
+        StepVerifier.create(filter.filter(exchange, downstream)).verifyComplete();
+        return exchange;
+    }
+
+    private static byte[] bodyBytes(MockServerWebExchange exchange) {
+        return DataBufferUtils.join(exchange.getResponse().getBody())
+                .map(buffer -> {
+                    byte[] bytes = new byte[buffer.readableByteCount()];
+                    buffer.read(bytes);
+                    DataBufferUtils.release(buffer);
+                    return bytes;
+                })
+                .block();
+    }
+
+    private double count(String result) {
+        return meterRegistry.get("gateway.compression.responses").tag("result", result).counter().count();
+    }
+
+    @Nested
+    @DisplayName("Compression")
+    class CompressionTests {
+
+        @Test
+        @DisplayName("should gzip large JSON responses for clients accepting gzip")
+        void shouldGzipLargeJson() throws IOException {
+            MockServerWebExchange exchange = get("gzip, deflate");
+
+            HttpHeaders headers = exchange.getResponse().getHeaders();
+            byte[] compressed = bodyBytes(exchange);
+            assertThat(headers.getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+            assertThat(headers.getContentLength()).isEqualTo(compressed.length);
+            assertThat(headers.getVary()).contains(HttpHeaders.ACCEPT_ENCODING);
+            assertThat(headers.getETag()).isEqualTo("W/\"v1\"");
+            try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+                assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(LARGE_BODY);
+            }
+            assertThat(count("COMPRESSED")).isEqualTo(1.0);
+        }
+
+        @Test
+        @DisplayName("should gzip a chunked body within the maximum size")
+        void shouldGzipChunkedBody() throws IOException {
+            chunks = 5;
+
+            MockServerWebExchange exchange = get("gzip");
+
+            byte[] compressed = bodyBytes(exchange);
+            assertThat(exchange.getResponse().getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+            try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+                assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(LARGE_BODY);
+            }
+        }
+
+        @Test
+        @DisplayName("should record compression ratio and CPU time")
+        void shouldRecordRatioAndCpuTime() {
+            get("gzip");
+
+            assertThat(meterRegistry.get("gateway.compression.ratio").tag("encoding", "gzip")
+                    .summary().mean()).isGreaterThan(4.0);
+            assertThat(meterRegistry.get("gateway.compression.cpu").tag("encoding", "gzip")
+                    .timer().count()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("should not forward Accept-Encoding downstream")
+        void shouldStripAcceptEncoding() {
+            get("gzip");
+
+            assertThat(forwardedHeaders.get(0).containsKey(HttpHeaders.ACCEPT_ENCODING)).isFalse();
+        }
+    }
+
+    @Nested
+    @DisplayName("Pass-through")
+    class PassThroughTests {
+
+        @Test
+        @DisplayName("should send body as is when the client accepts no supported coding")
+        void shouldPassThroughWithoutAcceptEncoding() {
+            MockServerWebExchange exchange = get(null);
+
+            assertThat(exchange.getResponse().getHeaders().containsKey(HttpHeaders.CONTENT_ENCODING)).isFalse();
+            assertThat(exchange.getResponse().getHeaders().getVary()).contains(HttpHeaders.ACCEPT_ENCODING);
+            assertThat(exchange.getResponse().getBodyAsString().block()).isEqualTo(LARGE_BODY);
+            assertThat(count("NOT_ACCEPTED")).isEqualTo(1.0);
+        }
+
+        @Test
+        @DisplayName("should not compress bodies under the minimum size")
+        void shouldSkipTinyBodies() {
+            body = "{\"id\":\"p-1\"}";
+
+            MockServerWebExchange exchange = get("gzip");
+
+            assertThat(exchange.getResponse().getHeaders().containsKey(HttpHeaders.CONTENT_ENCODING)).isFalse();
+            assertThat(exchange.getResponse().getBodyAsString().block()).isEqualTo(body);
+            assertThat(count("TOO_SMALL")).isEqualTo(1.0);
+        }
+
+        @Test
+        @DisplayName("should send a chunked body over the maximum size as is, without buffering all of it")
+        void shouldPassThroughChunkedBodyOverMaximum() {
+            properties.setMaxResponseSize(DataSize.ofKilobytes(2));
+            chunks = 5;
+
+            MockServerWebExchange exchange = get("gzip");
+
+            assertThat(exchange.getResponse().getHeaders().containsKey(HttpHeaders.CONTENT_ENCODING)).isFalse();
+            assertThat(exchange.getResponse().getHeaders().getETag()).isEqualTo("\"v1\"");
+            assertThat(exchange.getResponse().getBodyAsString().block()).isEqualTo(LARGE_BODY);
+            assertThat(count("TOO_LARGE")).isEqualTo(1.0);
+        }
+
+        @Test
+        @DisplayName("should not compress content types outside the allowlist")
+        void shouldSkipOtherContentTypes() {
+            contentType = MediaType.IMAGE_PNG;
+
+            MockServerWebExchange exchange = get("gzip");
+
+            assertThat(exchange.getResponse().getHeaders().containsKey(HttpHeaders.CONTENT_ENCODING)).isFalse();
+            assertThat(exchange.getResponse().getHeaders().getVary()).doesNotContain(HttpHeaders.ACCEPT_ENCODING);
+            assertThat(count("CONTENT_TYPE")).isEqualTo(1.0);
+        }
+
+        @Test
+        @DisplayName("should not compress already encoded responses again")
+        void shouldSkipEncodedResponses() {
+            contentEncoding = "br";
+
+            MockServerWebExchange exchange = get("gzip");
+
+            assertThat(exchange.getResponse().getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("br");
+            assertThat(exchange.getResponse().getBodyAsString().block()).isEqualTo(LARGE_BODY);
+            assertThat(count("ALREADY_ENCODED")).isEqualTo(1.0);
+        }
+
+        @Test
+        @DisplayName("should do nothing when disabled")
+        void shouldDoNothingWhenDisabled() {
+            properties.setEnabled(false);
+
+            MockServerWebExchange exchange = get("gzip");
+
+            assertThat(exchange.getResponse().getHeaders().containsKey(HttpHeaders.CONTENT_ENCODING)).isFalse();
+            assertThat(forwardedHeaders.get(0).getFirst(HttpHeaders.ACCEPT_ENCODING)).isEqualTo("gzip");
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.ecommerce.gateway.filter;
+
+import com.ecommerce.gateway.metrics.GatewayMetrics;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.CountAtBucket;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("RouteTimingFilter Tests")
+class RouteTimingFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private RouteTimingFilter routeTimingFilter;
+    private DownstreamTimingFilter downstreamTimingFilter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        GatewayMetrics metrics = new GatewayMetrics(meterRegistry,
+                List.of(Duration.ofMillis(50), Duration.ofMillis(500)));
+        routeTimingFilter = new RouteTimingFilter(metrics);
+        downstreamTimingFilter = new DownstreamTimingFilter(metrics);
+    }
+
+    private static MockServerWebExchange exchange(String path) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get(path));
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR,
+                Route.async().id("product-service").uri("lb://product-service").predicate(e -> true).build());
+        return exchange;
+    }
+
+    @Test
+    @DisplayName("should time requests per route, not per path")
+    void shouldTimePerRoute() {
+        for (String path : List.of("/api/v1/products/1", "/api/v1/products/2", "/api/v1/categories")) {
+            MockServerWebExchange exchange = exchange(path);
+            StepVerifier.create(routeTimingFilter.filter(exchange, ex -> {
+                ex.getResponse().setStatusCode(HttpStatus.OK);
+                return Mono.empty();
+            })).verifyComplete();
+        }
+
+        Timer timer = meterRegistry.get("gateway.requests")
+                .tags("route", "product-service", "outcome", "SUCCESS")
+                .timer();
+        assertThat(timer.count()).isEqualTo(3);
+        assertThat(meterRegistry.find("gateway.requests").timers()).hasSize(1);
+        assertThat(timer.takeSnapshot().histogramCounts())
+                .extracting(CountAtBucket::bucket)
+                .containsExactly((double) Duration.ofMillis(50).toNanos(), (double) Duration.ofMillis(500).toNanos());
+    }
+
+    @Test
+    @DisplayName("should tag errors as server errors")
+    void shouldTagErrorsAsServerErrors() {
+        StepVerifier.create(downstreamTimingFilter.filter(exchange("/api/v1/products"),
+                        ex -> Mono.error(new IllegalStateException("connection refused"))))
+                .verifyError(IllegalStateException.class);
+
+        assertThat(meterRegistry.get("gateway.downstream")
+                .tags("route", "product-service", "outcome", "SERVER_ERROR")
+                .timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should skip requests without a matched route")
+    void shouldSkipUnroutedRequests() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/fallback"));
+
+        StepVerifier.create(routeTimingFilter.filter(exchange, ex -> Mono.empty())).verifyComplete();
+
+        assertThat(meterRegistry.find("gateway.requests").timers()).isEmpty();
+    }
+}
@@ -0,0 +1,201 @@
+package com.ecommerce.gateway.filter;
+
+import com.ecommerce.gateway.config.ResponseCacheProperties;
+import com.ecommerce.gateway.config.SingleFlightProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("SingleFlightGatewayFilter Tests")
+class SingleFlightGatewayFilterTest {
+
+    private static final String BODY = "{\"id\":\"p-1\",\"stock\":3}";
+
+    private SimpleMeterRegistry meterRegistry;
+    private SingleFlightProperties properties;
+    private ResponseCacheProperties responseCacheProperties;
+    private SingleFlightGatewayFilter filter;
+    private AtomicInteger downstreamCalls;
+    private boolean setCookie;
+    private int chunks;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        responseCacheProperties = new ResponseCacheProperties();
+        properties = new SingleFlightProperties();
+        filter = new SingleFlightGatewayFilter(properties, responseCacheProperties, meterRegistry);
+        downstreamCalls = new AtomicInteger();
+        setCookie = false;
+        chunks = 1;
+    }
+
+    private final GatewayFilterChain downstream = exchange -> {
+        downstreamCalls.incrementAndGet();
+        return Mono.delay(Duration.ofMillis(200)).then(Mono.defer(() -> {
+            ServerHttpResponse response = exchange.getResponse();
+            response.setStatusCode(HttpStatus.OK);
+            response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            response.getHeaders().set("X-Product-Version", "7");
+            if (setCookie) {
+                response.getHeaders().add("Set-Cookie", "session=abc");
+            }
+            // Written without Content-Length, like a chunked downstream response
+            byte[] body = BODY.getBytes(StandardCharsets.UTF_8);
+            return response.writeWith(Flux.range(0, chunks).map(i -> response.bufferFactory().wrap(
+                    Arrays.copyOfRange(body, i * body.length / chunks, (i + 1) * body.length / chunks))));
+        }));
+    };
+
+    private static MockServerWebExchange exchange(String path, String rateLimitRemaining) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get(path));
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR,
+                Route.async().id("product-service").uri("lb://product-service").predicate(e -> true).build());
+        // Set by an earlier gateway filter, specific to this client
+        exchange.getResponse().getHeaders().set("X-RateLimit-Remaining", rateLimitRemaining);
+        return exchange;
+    }
+
+    private void runConcurrently(MockServerWebExchange... exchanges) {
+        StepVerifier.create(Mono.when(Arrays.stream(exchanges)
+                        .map(exchange -> filter.filter(exchange, downstream))
+                        .toList()))
+                .verifyComplete();
+    }
+
+    private double count(String role) {
+        return meterRegistry.get("gateway.single-flight.requests").tag("role", role).counter().count();
+    }
+
+    @Test
+    @DisplayName("should merge identical concurrent GETs into one downstream call")
+    void shouldMergeIdenticalRequests() {
+        MockServerWebExchange leader = exchange("/api/v1/products/p-1", "9");
+        MockServerWebExchange follower = exchange("/api/v1/products/p-1", "4");
+
+        runConcurrently(leader, follower);
+
+        assertThat(downstreamCalls.get()).isEqualTo(1);
+        assertThat(follower.getResponse().getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(follower.getResponse().getBodyAsString().block()).isEqualTo(BODY);
+        assertThat(follower.getResponse().getHeaders().getFirst("X-Product-Version")).isEqualTo("7");
+        assertThat(follower.getResponse().getHeaders().getFirst("X-RateLimit-Remaining")).isEqualTo("4");
+        assertThat(count("leader")).isEqualTo(1.0);
+        assertThat(count("merged")).isEqualTo(1.0);
+        assertThat(meterRegistry.get("gateway.single-flight.followers").summary().max()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("should not merge requests of different users")
+    void shouldNotMergeDifferentUsers() {
+        MockServerWebExchange alice = exchange("/api/v1/products/p-1", "9");
+        alice.getAttributes().put(JwtAuthenticationWebFilter.USER_ID_ATTR, "alice");
+        MockServerWebExchange bob = exchange("/api/v1/products/p-1", "9");
+        bob.getAttributes().put(JwtAuthenticationWebFilter.USER_ID_ATTR, "bob");
+
+        runConcurrently(alice, bob);
+
+        assertThat(downstreamCalls.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("should not merge requests for different query strings")
+    void shouldNotMergeDifferentQueries() {
+        runConcurrently(exchange("/api/v1/products?page=0", "9"), exchange("/api/v1/products?page=1", "9"));
+
+        assertThat(downstreamCalls.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("should send followers downstream when the response sets a cookie")
+    void shouldNotShareResponseWithCookie() {
+        setCookie = true;
+        MockServerWebExchange follower = exchange("/api/v1/products/p-1", "9");
+
+        runConcurrently(exchange("/api/v1/products/p-1", "9"), follower);
+
+        assertThat(downstreamCalls.get()).isEqualTo(2);
+        assertThat(follower.getResponse().getBodyAsString().block()).isEqualTo(BODY);
+        assertThat(count("fallback")).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("should stream a chunked body over the maximum size to the leader and send followers downstream")
+    void shouldNotShareChunkedBodyOverMaximum() {
+        properties.setMaximumBodySize(DataSize.ofBytes(8));
+        chunks = 4;
+        MockServerWebExchange leader = exchange("/api/v1/products/p-1", "9");
+        MockServerWebExchange follower = exchange("/api/v1/products/p-1", "9");
+
+        runConcurrently(leader, follower);
+
+        assertThat(downstreamCalls.get()).isEqualTo(2);
+        assertThat(leader.getResponse().getBodyAsString().block()).isEqualTo(BODY);
+        assertThat(follower.getResponse().getBodyAsString().block()).isEqualTo(BODY);
+        assertThat(count("fallback")).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("should share a chunked body within the maximum size")
+    void shouldShareChunkedBodyWithinMaximum() {
+        chunks = 4;
+        MockServerWebExchange follower = exchange("/api/v1/products/p-1", "9");
+
+        runConcurrently(exchange("/api/v1/products/p-1", "9"), follower);
+
+        assertThat(downstreamCalls.get()).isEqualTo(1);
+        assertThat(follower.getResponse().getBodyAsString().block()).isEqualTo(BODY);
+    }
+
+    @Test
+    @DisplayName("should not merge sequential requests")
+    void shouldNotMergeSequentialRequests() {
+        runConcurrently(exchange("/api/v1/products/p-1", "9"));
+        runConcurrently(exchange("/api/v1/products/p-1", "9"));
+
+        assertThat(downstreamCalls.get()).isEqualTo(2);
+        assertThat(count("leader")).isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("should leave routes with a response cache to the cache's own coalescing")
+    void shouldSkipResponseCachedRoutes() {
+        responseCacheProperties.getRoutes().put("product-service", Duration.ofSeconds(30));
+
+        runConcurrently(exchange("/api/v1/products/p-1", "9"), exchange("/api/v1/products/p-1", "9"));
+
+        assertThat(downstreamCalls.get()).isEqualTo(2);
+        assertThat(meterRegistry.find("gateway.single-flight.requests").counters()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should merge requests on cached routes while the response cache is disabled")
+    void shouldMergeWhenResponseCacheDisabled() {
+        responseCacheProperties.getRoutes().put("product-service", Duration.ofSeconds(30));
+        responseCacheProperties.setEnabled(false);
+
+        runConcurrently(exchange("/api/v1/products/p-1", "9"), exchange("/api/v1/products/p-1", "9"));
+
+        assertThat(downstreamCalls.get()).isEqualTo(1);
+    }
+}
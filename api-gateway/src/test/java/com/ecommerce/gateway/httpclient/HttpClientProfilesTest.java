@@ -0,0 +1,90 @@
+package com.ecommerce.gateway.httpclient;
+
+import com.ecommerce.gateway.config.HttpClientProfileProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("HttpClientProfiles Tests")
+class HttpClientProfilesTest {
+
+    private HttpClientProfiles profiles;
+
+    @BeforeEach
+    void setUp() {
+        HttpClientProfileProperties properties = new HttpClientProfileProperties();
+        HttpClientProfileProperties.Profile catalog = new HttpClientProfileProperties.Profile();
+        catalog.setMaxConnections(7);
+        catalog.setPendingAcquireTimeout(Duration.ofMillis(250));
+        properties.getProfiles().put("product-service", catalog);
+        HttpClientProfileProperties.Profile orders = new HttpClientProfileProperties.Profile();
+        orders.setProtocol(HttpClientProfileProperties.Protocol.H2C);
+        properties.getProfiles().put("order-service", orders);
+        profiles = new HttpClientProfiles(properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        profiles.destroy();
+    }
+
+    @Test
+    @DisplayName("should build a pooled client per configured service")
+    void shouldBuildClientPerService() {
+        HttpClient catalog = profiles.forService("product-service");
+
+        assertThat(catalog).isNotNull();
+        assertThat(catalog.configuration().connectionProvider().maxConnections()).isEqualTo(7);
+        assertThat(catalog.configuration().protocols()).containsExactly(HttpProtocol.HTTP11);
+        assertThat(profiles.forService("order-service").configuration().protocols()).containsExactly(HttpProtocol.H2C);
+    }
+
+    @Test
+    @DisplayName("should return null for services without a profile")
+    void shouldReturnNullWithoutProfile() {
+        assertThat(profiles.forService("payment-service")).isNull();
+        assertThat(profiles.forService(null)).isNull();
+    }
+
+    @Test
+    @DisplayName("should publish pool gauges named after the service")
+    void shouldPublishPoolMetrics() {
+        DisposableServer server = HttpServer.create()
+                .port(0)
+                .handle((request, response) -> response.sendString(Mono.just("ok")))
+                .bindNow();
+        try {
+            String body = profiles.forService("product-service")
+                    .get()
+                    .uri("http://localhost:" + server.port() + "/products")
+                    .responseContent()
+                    .aggregate()
+                    .asString()
+                    .block(Duration.ofSeconds(5));
+
+            assertThat(body).isEqualTo("ok");
+            Gauge idle = Metrics.globalRegistry.find("reactor.netty.connection.provider.idle.connections")
+                    .tag("name", "gateway-product-service")
+                    .gauge();
+            assertThat(idle).isNotNull();
+            assertThat(Metrics.globalRegistry.find("reactor.netty.connection.provider.active.connections")
+                    .tag("name", "gateway-product-service").gauge()).isNotNull();
+            assertThat(Metrics.globalRegistry.find("reactor.netty.connection.provider.pending.connections")
+                    .tag("name", "gateway-product-service").gauge()).isNotNull();
+        } finally {
+            server.disposeNow();
+        }
+    }
+}
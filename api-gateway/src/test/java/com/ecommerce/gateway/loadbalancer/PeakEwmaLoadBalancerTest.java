@@ -0,0 +1,128 @@
+package com.ecommerce.gateway.loadbalancer;
+
+import com.ecommerce.gateway.config.LoadBalancerProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+@DisplayName("PeakEwmaLoadBalancer Tests")
+class PeakEwmaLoadBalancerTest {
+
+    private static final ServiceInstance FAST = instance("product-1", 8082);
+    private static final ServiceInstance ALSO_FAST = instance("product-2", 8082);
+    private static final ServiceInstance SLOW = instance("product-3", 8082);
+
+    private InstanceLatencyStats stats;
+    private PeakEwmaLoadBalancer loadBalancer;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        LoadBalancerProperties properties = new LoadBalancerProperties();
+        properties.setFailurePenalty(Duration.ofMillis(100));
+        stats = new InstanceLatencyStats(properties);
+        loadBalancer = new PeakEwmaLoadBalancer(mock(ObjectProvider.class), stats);
+    }
+
+    private static ServiceInstance instance(String host, int port) {
+        return new DefaultServiceInstance(host + ":" + port, "product-service", host, port, false);
+    }
+
+    private ServiceInstance choose(List<ServiceInstance> instances) {
+        Response<ServiceInstance> response = loadBalancer.choose(instances);
+        return response.getServer();
+    }
+
+    @Nested
+    @DisplayName("Instance choice")
+    class ChoiceTests {
+
+        @Test
+        @DisplayName("should never pick an instance that failed while others are healthy")
+        void shouldAvoidSlowInstance() {
+            stats.start(FAST).succeeded();
+            stats.start(ALSO_FAST).succeeded();
+            stats.start(SLOW).failed();
+
+            for (int i = 0; i < 200; i++) {
+                assertThat(choose(List.of(FAST, ALSO_FAST, SLOW))).isNotEqualTo(SLOW);
+            }
+        }
+
+        @Test
+        @DisplayName("should prefer the instance with fewer requests in flight")
+        void shouldPreferShorterQueue() {
+            stats.start(FAST);
+            stats.start(FAST);
+
+            for (int i = 0; i < 50; i++) {
+                assertThat(choose(List.of(FAST, ALSO_FAST))).isEqualTo(ALSO_FAST);
+            }
+        }
+
+        @Test
+        @DisplayName("should spread requests across equally fast instances")
+        void shouldSpreadAcrossEqualInstances() {
+            long fastPicks = 0;
+            for (int i = 0; i < 200; i++) {
+                if (choose(List.of(FAST, ALSO_FAST, SLOW)).equals(FAST)) {
+                    fastPicks++;
+                }
+            }
+
+            assertThat(fastPicks).isBetween(20L, 120L);
+        }
+
+        @Test
+        @DisplayName("should return the only instance or an empty response")
+        void shouldHandleTrivialInstanceLists() {
+            assertThat(choose(List.of(SLOW))).isEqualTo(SLOW);
+            assertThat(loadBalancer.choose(List.of()).hasServer()).isFalse();
+        }
+    }
+
+    @Nested
+    @DisplayName("Latency stats")
+    class StatsTests {
+
+        @Test
+        @DisplayName("should not keep a cancelled call in flight")
+        void shouldReleaseCancelledCalls() {
+            double idle = stats.cost(FAST);
+
+            stats.start(FAST).cancelled();
+
+            assertThat(stats.cost(FAST)).isEqualTo(idle);
+        }
+
+        @Test
+        @DisplayName("should charge failed calls at least the failure penalty")
+        void shouldPenalizeFailures() {
+            stats.start(FAST).failed();
+
+            assertThat(stats.cost(FAST)).isGreaterThan(Duration.ofMillis(50).toNanos());
+        }
+
+        @Test
+        @DisplayName("should count requests in flight in the cost")
+        void shouldWeighQueue() {
+            double idle = stats.cost(ALSO_FAST);
+
+            stats.start(ALSO_FAST);
+
+            assertThat(stats.cost(ALSO_FAST)).isGreaterThan(idle);
+        }
+    }
+}
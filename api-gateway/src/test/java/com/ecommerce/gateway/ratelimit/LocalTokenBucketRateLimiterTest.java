@@ -0,0 +1,194 @@
+package com.ecommerce.gateway.ratelimit;
+
+import com.ecommerce.gateway.config.LocalRateLimitProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.springframework.cloud.gateway.filter.ratelimit.RateLimiter.Response;
+import org.springframework.cloud.gateway.filter.ratelimit.RedisRateLimiter;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("LocalTokenBucketRateLimiter Tests")
+class LocalTokenBucketRateLimiterTest {
+
+    private ReactiveStringRedisTemplate redisTemplate;
+    private RedisScript<List<Long>> script;
+    private LocalRateLimitProperties properties;
+    private AtomicLong redisTokens;
+    private AtomicInteger redisCalls;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redisTemplate = mock(ReactiveStringRedisTemplate.class);
+        script = mock(RedisScript.class);
+        properties = new LocalRateLimitProperties();
+        properties.setLeaseRatio(0.5);
+
+        // Fake Redis bucket that never refills during a test
+        redisTokens = new AtomicLong(20);
+        redisCalls = new AtomicInteger();
+        when(redisTemplate.execute(ArgumentMatchers.<RedisScript<List<Long>>>any(), anyList(), anyList())).thenAnswer(invocation -> {
+            redisCalls.incrementAndGet();
+            List<String> args = invocation.getArgument(2);
+            long requested = Long.parseLong(args.get(3));
+            if (redisTokens.get() >= requested) {
+                return Flux.just(List.of(1L, redisTokens.addAndGet(-requested)));
+            }
+            return Flux.just(List.of(0L, redisTokens.get()));
+        });
+    }
+
+    private LocalTokenBucketRateLimiter limiter() {
+        RedisRateLimiter.Config config = new RedisRateLimiter.Config()
+                .setReplenishRate(10)
+                .setBurstCapacity(20)
+                .setRequestedTokens(1);
+        return new LocalTokenBucketRateLimiter(redisTemplate, script, null, config, properties);
+    }
+
+    private boolean allowed(LocalTokenBucketRateLimiter limiter, String key) {
+        Response response = limiter.isAllowed("product-service", key).block();
+        return response != null && response.isAllowed();
+    }
+
+    @Test
+    @DisplayName("should serve requests from a leased batch")
+    void shouldServeRequestsFromLeasedBatch() {
+        LocalTokenBucketRateLimiter limiter = limiter();
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(allowed(limiter, "user:1")).isTrue();
+        }
+
+        // Lease of 10 tokens (20 * 0.5) covers all ten requests
+        assertThat(redisCalls.get()).isEqualTo(1);
+        assertThat(redisTokens.get()).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("should keep separate leases per key")
+    void shouldKeepSeparateLeasesPerKey() {
+        LocalTokenBucketRateLimiter limiter = limiter();
+
+        assertThat(allowed(limiter, "user:1")).isTrue();
+        assertThat(allowed(limiter, "user:2")).isTrue();
+
+        assertThat(redisCalls.get()).isEqualTo(2);
+    }
+
+    @Nested
+    @DisplayName("Near the limit")
+    class NearLimitTests {
+
+        @Test
+        @DisplayName("should never admit more than the shared bucket holds")
+        void shouldNeverAdmitMoreThanSharedBucketHolds() {
+            redisTokens.set(13);
+            LocalTokenBucketRateLimiter limiter = limiter();
+
+            int admitted = 0;
+            for (int i = 0; i < 30; i++) {
+                if (allowed(limiter, "user:1")) {
+                    admitted++;
+                }
+            }
+
+            assertThat(admitted).isEqualTo(13);
+            assertThat(redisTokens.get()).isZero();
+        }
+
+        @Test
+        @DisplayName("should check Redis per request once a lease was refused")
+        void shouldCheckRedisPerRequestOnceLeaseWasRefused() {
+            redisTokens.set(3);
+            LocalTokenBucketRateLimiter limiter = limiter();
+
+            assertThat(allowed(limiter, "user:1")).isTrue();
+            int callsAfterRefusal = redisCalls.get();
+            assertThat(allowed(limiter, "user:1")).isTrue();
+
+            assertThat(redisCalls.get()).isEqualTo(callsAfterRefusal + 1);
+        }
+
+        @Test
+        @DisplayName("should keep every lease taken by concurrent misses")
+        void shouldKeepEveryLeaseTakenByConcurrentMisses() {
+            properties.setLeaseRatio(0.2);
+            LocalTokenBucketRateLimiter limiter = limiter();
+
+            // Five requests miss the empty lease at once: each takes a batch of 4 before any is granted
+            List<Mono<Response>> concurrent = List.of(
+                    limiter.isAllowed("product-service", "user:1"),
+                    limiter.isAllowed("product-service", "user:1"),
+                    limiter.isAllowed("product-service", "user:1"),
+                    limiter.isAllowed("product-service", "user:1"),
+                    limiter.isAllowed("product-service", "user:1"));
+            assertThat(redisTokens.get()).isZero();
+
+            int admitted = 0;
+            for (Mono<Response> response : concurrent) {
+                if (response.block().isAllowed()) {
+                    admitted++;
+                }
+            }
+            for (int i = 0; i < 30; i++) {
+                if (allowed(limiter, "user:1")) {
+                    admitted++;
+                }
+            }
+
+            assertThat(admitted).isEqualTo(20);
+        }
+    }
+
+    @Test
+    @DisplayName("should reject lease ratio outside (0, 1]")
+    void shouldRejectLeaseRatioOutsideRange() {
+        properties.setLeaseRatio(0);
+        assertThatThrownBy(this::limiter).isInstanceOf(IllegalArgumentException.class);
+
+        properties.setLeaseRatio(1.5);
+        assertThatThrownBy(this::limiter).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("should check every request against Redis when local tier is disabled")
+    void shouldCheckEveryRequestAgainstRedisWhenLocalTierIsDisabled() {
+        properties.setEnabled(false);
+        LocalTokenBucketRateLimiter limiter = limiter();
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(allowed(limiter, "user:1")).isTrue();
+        }
+
+        assertThat(redisCalls.get()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("should fail open when Redis is unavailable")
+    void shouldFailOpenWhenRedisIsUnavailable() {
+        // Stubbed without calling execute, which would run the fake bucket set up above
+        doReturn(Flux.error(new IllegalStateException("connection refused")))
+                .when(redisTemplate).execute(ArgumentMatchers.<RedisScript<List<Long>>>any(), anyList(), anyList());
+
+        assertThat(allowed(limiter(), "user:1")).isTrue();
+    }
+}
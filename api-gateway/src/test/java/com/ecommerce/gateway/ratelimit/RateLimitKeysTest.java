@@ -0,0 +1,132 @@
+package com.ecommerce.gateway.ratelimit;
+
+import com.ecommerce.gateway.config.RateLimitPolicyProperties;
+import com.ecommerce.gateway.filter.JwtAuthenticationWebFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import java.net.InetSocketAddress;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("RateLimitKeys Tests")
+class RateLimitKeysTest {
+
+    private RateLimitPolicyProperties.Keys properties;
+    private RateLimitKeys keys;
+
+    @BeforeEach
+    void setUp() {
+        properties = new RateLimitPolicyProperties.Keys();
+        keys = new RateLimitKeys(properties);
+    }
+
+    private static MockServerWebExchange exchange(String path, String remoteIp) {
+        MockServerHttpRequest.BaseBuilder<?> request = MockServerHttpRequest.get(path);
+        if (remoteIp != null) {
+            request.remoteAddress(new InetSocketAddress(remoteIp, 54321));
+        }
+        return MockServerWebExchange.from(request);
+    }
+
+    @Nested
+    @DisplayName("Client keys")
+    class ClientKeyTests {
+
+        @Test
+        @DisplayName("should reuse cached key for repeat address")
+        void shouldReuseCachedAddressKey() {
+            String first = keys.userOrIp(exchange("/api/v1/products", "10.0.0.1"));
+            String second = keys.userOrIp(exchange("/api/v1/orders", "10.0.0.1"));
+
+            assertThat(first).isEqualTo("ip:10.0.0.1");
+            assertThat(second).isSameAs(first);
+            assertThat(keys.ip(exchange("/", "10.0.0.1"))).isEqualTo("10.0.0.1");
+        }
+
+        @Test
+        @DisplayName("should use verified user ID over address")
+        void shouldUseVerifiedUserId() {
+            MockServerWebExchange exchange = exchange("/api/v1/orders", "10.0.0.1");
+            exchange.getAttributes().put(JwtAuthenticationWebFilter.USER_ID_ATTR, "user-123");
+
+            String key = keys.userOrIp(exchange);
+
+            assertThat(key).isEqualTo("user:user-123");
+            assertThat(keys.userOrIp(exchange)).isSameAs(key);
+        }
+
+        @Test
+        @DisplayName("should ignore client-supplied user ID header")
+        void shouldIgnoreClientSuppliedUserIdHeader() {
+            MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/orders")
+                    .header("X-User-Id", "someone-else")
+                    .remoteAddress(new InetSocketAddress("10.0.0.2", 54321)));
+
+            assertThat(keys.userOrIp(exchange)).isEqualTo("ip:10.0.0.2");
+        }
+
+        @Test
+        @DisplayName("should fall back to unknown without remote address")
+        void shouldFallBackToUnknown() {
+            assertThat(keys.userOrIp(exchange("/", null))).isEqualTo("ip:unknown");
+        }
+    }
+
+    @Nested
+    @DisplayName("Path templates")
+    class PathTemplateTests {
+
+        @Test
+        @DisplayName("should replace identifier segments")
+        void shouldReplaceIdentifierSegments() {
+            assertThat(keys.pathTemplate("/api/v1/products/3f2b8c1e-9a4d-4e2f-8b7a-1c2d3e4f5a6b"))
+                    .isEqualTo("/api/v1/products/{id}");
+            assertThat(keys.pathTemplate("/api/v1/orders/42/items/7"))
+                    .isEqualTo("/api/v1/orders/{id}/items/{id}");
+            assertThat(keys.pathTemplate("/api/v1/carts/a1b2c3d4e5f6a7b8c9d0/"))
+                    .isEqualTo("/api/v1/carts/{id}/");
+        }
+
+        @Test
+        @DisplayName("should keep static paths unchanged")
+        void shouldKeepStaticPaths() {
+            assertThat(keys.pathTemplate("/api/v1/categories")).isEqualTo("/api/v1/categories");
+            assertThat(keys.pathTemplate("/api/auth/login")).isEqualTo("/api/auth/login");
+            assertThat(keys.pathTemplate("/")).isEqualTo("/");
+        }
+
+        @Test
+        @DisplayName("should map paths of one resource to a single template")
+        void shouldShareTemplateAcrossIds() {
+            String first = keys.pathTemplate("/api/v1/products/1001");
+            String second = keys.pathTemplate("/api/v1/products/1002");
+
+            assertThat(second).isSameAs(first);
+        }
+
+        @Test
+        @DisplayName("should collapse templates beyond the configured maximum")
+        void shouldCollapseTemplatesBeyondMaximum() {
+            properties.setMaximumPathTemplates(2);
+            keys = new RateLimitKeys(properties);
+
+            keys.pathTemplate("/api/v1/products");
+            keys.pathTemplate("/api/v1/categories");
+
+            assertThat(keys.pathTemplate("/api/v1/orders")).isEqualTo("/{other}");
+            assertThat(keys.pathTemplate("/api/v1/products")).isEqualTo("/api/v1/products");
+        }
+
+        @Test
+        @DisplayName("should combine client key and path template")
+        void shouldCombineClientKeyAndPathTemplate() {
+            assertThat(keys.userOrIpAndPath(exchange("/api/v1/products/1001", "10.0.0.1")))
+                    .isEqualTo("ip:10.0.0.1:/api/v1/products/{id}");
+        }
+    }
+}
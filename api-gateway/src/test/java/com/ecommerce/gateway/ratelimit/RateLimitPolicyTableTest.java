@@ -0,0 +1,213 @@
+package com.ecommerce.gateway.ratelimit;
+
+import com.ecommerce.gateway.config.RateLimitPolicyProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.autoconfigure.ConfigurationPropertiesRebinderAutoConfiguration;
+import org.springframework.cloud.autoconfigure.RefreshAutoConfiguration;
+import org.springframework.cloud.autoconfigure.RefreshEndpointAutoConfiguration;
+import org.springframework.cloud.endpoint.RefreshEndpoint;
+import org.springframework.cloud.gateway.filter.ratelimit.KeyResolver;
+import org.springframework.cloud.gateway.filter.ratelimit.RateLimiter;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+@DisplayName("RateLimitPolicyTable Tests")
+class RateLimitPolicyTableTest {
+
+    private final RateLimiter<?> strict = mock(RateLimiter.class);
+    private final RateLimiter<?> standard = mock(RateLimiter.class);
+    private final RateLimiter<?> relaxed = mock(RateLimiter.class);
+    private final KeyResolver userKeyResolver = mock(KeyResolver.class);
+    private final KeyResolver ipKeyResolver = mock(KeyResolver.class);
+
+    private RateLimitPolicyProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private RateLimitPolicyTable table;
+
+    @BeforeEach
+    void setUp() {
+        properties = new RateLimitPolicyProperties();
+        properties.setPolicies(List.of(
+                policy("customer-service-auth", null, "strictRateLimiter", "ipKeyResolver"),
+                policy("product-service", "GET", "relaxedRateLimiter", null)));
+        meterRegistry = new SimpleMeterRegistry();
+        table = new RateLimitPolicyTable(properties,
+                Map.of("strictRateLimiter", strict, "defaultRateLimiter", standard, "relaxedRateLimiter", relaxed),
+                Map.of("userKeyResolver", userKeyResolver, "ipKeyResolver", ipKeyResolver),
+                meterRegistry);
+    }
+
+    /**
+     * Just the policy table and the refresh endpoint, bound like the gateway's own.
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ImportAutoConfiguration({RefreshAutoConfiguration.class, ConfigurationPropertiesRebinderAutoConfiguration.class,
+            RefreshEndpointAutoConfiguration.class})
+    @EnableConfigurationProperties(RateLimitPolicyProperties.class)
+    static class RefreshConfig {
+
+        @Bean
+        RateLimitPolicyTable rateLimitPolicyTable(RateLimitPolicyProperties properties) {
+            return new RateLimitPolicyTable(properties,
+                    Map.of("strictRateLimiter", mock(RateLimiter.class),
+                            "defaultRateLimiter", mock(RateLimiter.class),
+                            "relaxedRateLimiter", mock(RateLimiter.class)),
+                    Map.of("userKeyResolver", mock(KeyResolver.class)), new SimpleMeterRegistry());
+        }
+    }
+
+    private static RateLimitPolicyProperties.Policy policy(String routeId, String method,
+                                                           String limiter, String keyResolver) {
+        RateLimitPolicyProperties.Policy policy = new RateLimitPolicyProperties.Policy();
+        policy.setRouteId(routeId);
+        policy.setMethod(method);
+        policy.setLimiter(limiter);
+        policy.setKeyResolver(keyResolver);
+        return policy;
+    }
+
+    @Nested
+    @DisplayName("Resolving policies")
+    class ResolveTests {
+
+        @Test
+        @DisplayName("should apply route-wide policy to every method")
+        void shouldApplyRouteWidePolicy() {
+            RateLimitPolicy post = table.resolve("customer-service-auth", HttpMethod.POST);
+            RateLimitPolicy get = table.resolve("customer-service-auth", HttpMethod.GET);
+
+            assertThat(post.limiter()).isSameAs(strict);
+            assertThat(post.keyResolver()).isSameAs(ipKeyResolver);
+            assertThat(get).isSameAs(post);
+        }
+
+        @Test
+        @DisplayName("should apply method policy only to that method")
+        void shouldApplyMethodPolicy() {
+            RateLimitPolicy get = table.resolve("product-service", HttpMethod.GET);
+            RateLimitPolicy post = table.resolve("product-service", HttpMethod.POST);
+
+            assertThat(get.limiter()).isSameAs(relaxed);
+            assertThat(get.keyResolver()).isSameAs(userKeyResolver);
+            assertThat(post.limiter()).isSameAs(standard);
+        }
+
+        @Test
+        @DisplayName("should fall back to default policy for unlisted routes")
+        void shouldFallBackToDefaultPolicy() {
+            RateLimitPolicy policy = table.resolve("order-service-cart", HttpMethod.GET);
+
+            assertThat(policy.name()).isEqualTo("defaultRateLimiter");
+            assertThat(policy.limiter()).isSameAs(standard);
+            assertThat(policy.keyResolver()).isSameAs(userKeyResolver);
+            assertThat(table.resolve("order-service-cart", HttpMethod.DELETE)).isSameAs(policy);
+        }
+
+        @Test
+        @DisplayName("should count outcomes per route and policy")
+        void shouldCountOutcomesPerRoute() {
+            table.resolve("product-service", HttpMethod.GET).allowed().increment();
+            table.resolve("product-service", HttpMethod.POST).denied().increment();
+
+            assertThat(meterRegistry.get("gateway.ratelimit.requests")
+                    .tags("route", "product-service", "policy", "relaxedRateLimiter", "outcome", "allowed")
+                    .counter().count()).isEqualTo(1.0);
+            assertThat(meterRegistry.get("gateway.ratelimit.requests")
+                    .tags("route", "product-service", "policy", "defaultRateLimiter", "outcome", "denied")
+                    .counter().count()).isEqualTo(1.0);
+        }
+    }
+
+    @Nested
+    @DisplayName("Reloading policies")
+    class ReloadTests {
+
+        @Test
+        @DisplayName("should pick up rebound policies without restart")
+        void shouldPickUpReboundPolicies() {
+            properties.setPolicies(List.of(policy("product-service", null, "strictRateLimiter", null)));
+
+            assertThat(table.resolve("product-service", HttpMethod.GET).limiter()).isSameAs(strict);
+            assertThat(table.resolve("customer-service-auth", HttpMethod.POST).limiter()).isSameAs(standard);
+        }
+
+        @Test
+        @DisplayName("should keep previous policies when reload names unknown limiter")
+        void shouldKeepPreviousPoliciesOnInvalidReload() {
+            List<RateLimitPolicyProperties.Policy> policies = new ArrayList<>();
+            policies.add(policy("product-service", "GET", "missingRateLimiter", null));
+            properties.setPolicies(policies);
+            properties.setDefaultLimiter("missingRateLimiter");
+
+            assertThat(table.resolve("product-service", HttpMethod.GET).limiter()).isSameAs(relaxed);
+            assertThat(table.resolve("order-service-cart", HttpMethod.GET).limiter()).isSameAs(standard);
+        }
+
+        @Test
+        @DisplayName("should reload policies from a changed config file on the refresh endpoint")
+        void shouldReloadPoliciesOnRefreshEndpoint(@TempDir Path dir) throws IOException {
+            Path policyFile = dir.resolve("rate-limit-policies.yml");
+            Files.writeString(policyFile, policyFile("relaxedRateLimiter"));
+
+            try (ConfigurableApplicationContext context = new SpringApplicationBuilder(RefreshConfig.class)
+                    .web(WebApplicationType.NONE)
+                    // Without a web server the endpoint counts as exposed only through JMX
+                    .properties("spring.config.import=optional:file:" + policyFile,
+                            "spring.jmx.enabled=true", "management.endpoints.jmx.exposure.include=refresh")
+                    .run()) {
+                RateLimitPolicyTable reloaded = context.getBean(RateLimitPolicyTable.class);
+                assertThat(reloaded.resolve("product-service", HttpMethod.GET).name()).isEqualTo("relaxedRateLimiter");
+
+                Files.writeString(policyFile, policyFile("strictRateLimiter"));
+                assertThat(context.getBean(RefreshEndpoint.class).refresh())
+                        .contains("gateway.rate-limit.policies[0].limiter");
+
+                assertThat(reloaded.resolve("product-service", HttpMethod.GET).name()).isEqualTo("strictRateLimiter");
+            }
+        }
+
+        private static String policyFile(String limiter) {
+            return """
+                    gateway:
+                      rate-limit:
+                        policies:
+                          - route-id: product-service
+                            limiter: %s
+                    """.formatted(limiter);
+        }
+
+        @Test
+        @DisplayName("should fail fast on invalid initial policies")
+        void shouldFailFastOnInvalidInitialPolicies() {
+            properties.setPolicies(List.of(policy("product-service", null, "missingRateLimiter", null)));
+
+            assertThatThrownBy(() -> new RateLimitPolicyTable(properties,
+                    Map.of("defaultRateLimiter", standard), Map.of("userKeyResolver", userKeyResolver),
+                    meterRegistry))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("missingRateLimiter");
+        }
+    }
+}
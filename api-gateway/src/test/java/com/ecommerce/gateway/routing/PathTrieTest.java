@@ -0,0 +1,147 @@
+package com.ecommerce.gateway.routing;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("PathTrie Tests")
+class PathTrieTest {
+
+    private static final List<String> PATTERNS = List.of(
+            "/", "/api", "/api/**", "/api/v1/products/**", "/api/v1/products/*", "/api/v1/products/*/reviews",
+            "/api/*/orders", "/actuator/info", "/actuator/health/**", "/*", "/*/*/cart/**");
+
+    private static final List<String> PATHS = List.of(
+            "/", "/api", "/api/", "/api/v1", "/api/v1/products", "/api/v1/products/", "/api/v1/products/42",
+            "/api/v1/products/42/", "/api/v1/products/42/reviews", "/api/v1/products/42/reviews/",
+            "/api/v1/products//reviews", "/api/v2/orders", "/api/v2/orders/", "/api//orders", "/actuator/info",
+            "/actuator/info/", "/actuator/health", "/actuator/health/liveness", "/x", "/x/", "/a/b/cart",
+            "/a/b/cart/items/1", "/api/v1/products%2F42", "/api/v1/products;jsessionid=1/42", "//api", "/api//", "/actuator/health//");
+
+    private static String first(PathTrie<String> trie, HttpMethod method, String path) {
+        PathTrie.Entry<String> entry = trie.first(method, PathContainer.parsePath(path), String.class);
+        return entry != null ? entry.value() : null;
+    }
+
+    @Nested
+    @DisplayName("Agreement with PathPattern")
+    class PathPatternTests {
+
+        @Test
+        @SuppressWarnings("deprecation")
+        @DisplayName("Should match every pattern exactly where PathPattern does, with and without trailing slash")
+        void shouldAgreeWithPathPattern() {
+            for (boolean matchTrailingSlash : new boolean[] {true, false}) {
+                PathPatternParser parser = new PathPatternParser();
+                parser.setMatchOptionalTrailingSeparator(matchTrailingSlash);
+                for (String pattern : PATTERNS) {
+                    PathTrie<String> trie = PathTrie.<String>builder()
+                            .add(null, pattern, pattern, matchTrailingSlash)
+                            .build();
+                    PathPattern expected = parser.parse(pattern);
+                    for (String path : PATHS) {
+                        boolean matches = expected.matches(PathContainer.parsePath(path));
+                        assertThat(first(trie, HttpMethod.GET, path) != null)
+                                .as("%s against %s (trailing slash %s)", pattern, path, matchTrailingSlash)
+                                .isEqualTo(matches);
+                    }
+                }
+            }
+        }
+
+        @Test
+        @SuppressWarnings("deprecation")
+        @DisplayName("Should return the first declared pattern that PathPattern matches")
+        void shouldAgreeOnFirstMatch() {
+            PathPatternParser parser = new PathPatternParser();
+            parser.setMatchOptionalTrailingSeparator(true);
+            PathTrie.Builder<String> builder = PathTrie.builder();
+            PATTERNS.forEach(pattern -> builder.add(null, pattern, pattern, true));
+            PathTrie<String> trie = builder.build();
+
+            for (String path : PATHS) {
+                String expected = PATTERNS.stream()
+                        .filter(pattern -> parser.parse(pattern).matches(PathContainer.parsePath(path)))
+                        .findFirst()
+                        .orElse(null);
+                assertThat(first(trie, HttpMethod.GET, path)).as(path).isEqualTo(expected);
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Lookup")
+    class LookupTests {
+
+        @Test
+        @DisplayName("Should skip entries for other methods")
+        void shouldFilterByMethod() {
+            PathTrie<String> trie = PathTrie.<String>builder()
+                    .add(HttpMethod.GET, "/api/v1/products/**", "public", false)
+                    .add(null, "/api/**", "authenticated", false)
+                    .build();
+
+            assertThat(first(trie, HttpMethod.GET, "/api/v1/products/1")).isEqualTo("public");
+            assertThat(first(trie, HttpMethod.POST, "/api/v1/products/1")).isEqualTo("authenticated");
+        }
+
+        @Test
+        @DisplayName("Should prefer earlier declarations over more specific ones")
+        void shouldPreferDeclarationOrder() {
+            PathTrie<String> trie = PathTrie.<String>builder()
+                    .add(null, "/api/**", "broad", false)
+                    .add(null, "/api/v1/orders", "specific", false)
+                    .build();
+
+            assertThat(first(trie, HttpMethod.GET, "/api/v1/orders")).isEqualTo("broad");
+        }
+
+        @Test
+        @DisplayName("Should only return entries of the requested type")
+        void shouldFilterByType() {
+            PathTrie<Object> trie = PathTrie.builder()
+                    .add(null, "/api/**", 1, false)
+                    .add(null, "/api/v1/**", "route", false)
+                    .build();
+
+            assertThat(trie.first(HttpMethod.GET, PathContainer.parsePath("/api/v1/x"), String.class).value())
+                    .isEqualTo("route");
+            assertThat(trie.first(HttpMethod.GET, PathContainer.parsePath("/other"), String.class)).isNull();
+            assertThat(trie.size()).isEqualTo(2);
+        }
+    }
+
+    @Nested
+    @DisplayName("Supported patterns")
+    class SupportedPatternTests {
+
+        @Test
+        @DisplayName("Should accept literal, single-segment and trailing multi-segment wildcards")
+        void shouldAcceptSupportedPatterns() {
+            assertThat(PathTrie.isSupported("/")).isTrue();
+            assertThat(PathTrie.isSupported("/api/*/orders/**")).isTrue();
+        }
+
+        @Test
+        @DisplayName("Should reject variables, partial wildcards and inner multi-segment wildcards")
+        void shouldRejectOtherPatterns() {
+            assertThat(PathTrie.isSupported("/api/{id}")).isFalse();
+            assertThat(PathTrie.isSupported("/api/v?")).isFalse();
+            assertThat(PathTrie.isSupported("/api/*.json")).isFalse();
+            assertThat(PathTrie.isSupported("/api/**/orders")).isFalse();
+            assertThat(PathTrie.isSupported("/api//orders")).isFalse();
+            assertThat(PathTrie.isSupported("api/orders")).isFalse();
+            assertThatThrownBy(() -> PathTrie.<String>builder().add(null, "/api/{id}", "x", false))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+}
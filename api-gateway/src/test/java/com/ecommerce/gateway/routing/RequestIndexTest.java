@@ -0,0 +1,251 @@
+package com.ecommerce.gateway.routing;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.config.GlobalCorsProperties;
+import org.springframework.cloud.gateway.event.RefreshRoutesResultEvent;
+import org.springframework.cloud.gateway.handler.AsyncPredicate;
+import org.springframework.cloud.gateway.handler.FilteringWebHandler;
+import org.springframework.cloud.gateway.handler.predicate.PathRoutePredicateFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpMethod;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.server.authorization.AuthorizationContext;
+import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatcher;
+import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatchers;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("RequestIndex Tests")
+class RequestIndexTest {
+
+    private static final List<AccessRule> RULES = List.of(
+            AccessRule.permitAll("/api/auth/**"),
+            AccessRule.permitAll(HttpMethod.GET, "/api/v1/products/**"),
+            AccessRule.permitAll("/actuator/info"),
+            AccessRule.hasRole("/api/admin/**", "ADMIN"),
+            AccessRule.authenticated("/api/v1/orders/**"));
+
+    private static Route pathRoute(String id, String... patterns) {
+        PathRoutePredicateFactory.Config config = new PathRoutePredicateFactory.Config();
+        config.setPatterns(List.of(patterns));
+        return Route.async()
+                .id(id)
+                .uri("lb://" + id)
+                .asyncPredicate(new PathRoutePredicateFactory().applyAsync(config))
+                .build();
+    }
+
+    private static Route headerRoute(String id, String header) {
+        return Route.async()
+                .id(id)
+                .uri("lb://" + id)
+                .asyncPredicate(AsyncPredicate.from(exchange -> exchange.getRequest().getHeaders().containsKey(header)))
+                .build();
+    }
+
+    private static MockServerWebExchange exchange(HttpMethod method, String path) {
+        return MockServerWebExchange.from(MockServerHttpRequest.method(method, path));
+    }
+
+    @Nested
+    @DisplayName("Access rules")
+    class AccessRuleTests {
+
+        private final RequestIndex index = new RequestIndex(RULES);
+
+        @Test
+        @DisplayName("Should pick the same rule as Spring Security's path matchers")
+        void shouldAgreeWithSecurityMatchers() {
+            List<String> paths = List.of("/api/auth/login", "/api/auth", "/api/v1/products", "/api/v1/products/1",
+                    "/api/v1/products/1/", "/actuator/info", "/actuator/info/", "/api/admin/users",
+                    "/api/v1/orders/1", "/api/v1/orders", "/api/v1/cart", "/");
+
+            for (HttpMethod method : List.of(HttpMethod.GET, HttpMethod.POST)) {
+                for (String path : paths) {
+                    AccessRule expected = null;
+                    for (AccessRule rule : RULES) {
+                        ServerWebExchangeMatcher matcher = rule.method() != null
+                                ? ServerWebExchangeMatchers.pathMatchers(rule.method(), rule.pattern())
+                                : ServerWebExchangeMatchers.pathMatchers(rule.pattern());
+                        if (Boolean.TRUE.equals(matcher.matches(exchange(method, path)).block().isMatch())) {
+                            expected = rule;
+                            break;
+                        }
+                    }
+                    assertThat(index.accessRule(exchange(method, path).getRequest()))
+                            .as("%s %s", method, path)
+                            .isSameAs(expected);
+                }
+            }
+        }
+
+        @Test
+        @DisplayName("Should require authentication where no rule applies")
+        void shouldDefaultToAuthenticated() {
+            IndexedAuthorizationManager manager = new IndexedAuthorizationManager(index);
+            ServerWebExchange exchange = exchange(HttpMethod.GET, "/api/v1/unlisted");
+            Mono<Authentication> anonymous = Mono.empty();
+
+            StepVerifier.create(manager.check(anonymous, new AuthorizationContext(exchange)))
+                    .assertNext(decision -> assertThat(decision.isGranted()).isFalse())
+                    .verifyComplete();
+        }
+
+        @Test
+        @DisplayName("Should apply role rules")
+        void shouldCheckRoles() {
+            IndexedAuthorizationManager manager = new IndexedAuthorizationManager(index);
+            AuthorizationContext context = new AuthorizationContext(exchange(HttpMethod.GET, "/api/admin/users"));
+
+            StepVerifier.create(manager.check(Mono.just(authenticated("ROLE_USER")), context)
+                            .map(AuthorizationDecision::isGranted))
+                    .expectNext(false)
+                    .verifyComplete();
+            StepVerifier.create(manager.check(Mono.just(authenticated("ROLE_ADMIN")), context)
+                            .map(AuthorizationDecision::isGranted))
+                    .expectNext(true)
+                    .verifyComplete();
+        }
+
+        private Authentication authenticated(String authority) {
+            TestingAuthenticationToken token = new TestingAuthenticationToken("user", null, authority);
+            token.setAuthenticated(true);
+            return token;
+        }
+    }
+
+    @Nested
+    @DisplayName("Routes")
+    class RouteTests {
+
+        private RequestIndex index;
+
+        @BeforeEach
+        void setUp() {
+            index = new RequestIndex(RULES);
+        }
+
+        @Test
+        @DisplayName("Should not answer before routes are compiled")
+        void shouldWaitForRoutes() {
+            assertThat(index.route(exchange(HttpMethod.GET, "/api/v1/products/1").getRequest())).isNull();
+        }
+
+        @Test
+        @DisplayName("Should find path routes in declaration order")
+        void shouldFindPathRoutes() {
+            Route products = pathRoute("product-service", "/api/v1/products/**", "/api/v1/categories/**");
+            Route catchAll = pathRoute("catch-all", "/api/**");
+            index.compileRoutes(List.of(products, catchAll));
+
+            RequestIndex.RouteMatch match = index.route(exchange(HttpMethod.GET, "/api/v1/categories/3").getRequest());
+            assertThat(match.route()).isSameAs(products);
+            assertThat(match.pattern()).isEqualTo("/api/v1/categories/**");
+            assertThat(match.evaluateFirst()).isEmpty();
+            assertThat(index.route(exchange(HttpMethod.GET, "/api/v1/orders").getRequest()).route())
+                    .isSameAs(catchAll);
+            assertThat(index.route(exchange(HttpMethod.GET, "/other").getRequest()).route()).isNull();
+        }
+
+        @Test
+        @DisplayName("Should leave routes with other predicates to be evaluated in order")
+        void shouldKeepOpaqueRoutesInOrder() {
+            Route canary = headerRoute("canary", "X-Canary");
+            Route products = pathRoute("product-service", "/api/v1/products/**");
+            Route variable = pathRoute("product-by-id", "/api/v1/items/{id}");
+            index.compileRoutes(List.of(canary, products, variable));
+
+            assertThat(RequestIndex.indexablePath(canary)).isNull();
+            assertThat(RequestIndex.indexablePath(variable)).isNull();
+            assertThat(index.route(exchange(HttpMethod.GET, "/api/v1/products/1").getRequest()).evaluateFirst())
+                    .containsExactly(canary);
+            assertThat(index.route(exchange(HttpMethod.GET, "/api/v1/items/1").getRequest()).evaluateFirst())
+                    .containsExactly(canary, variable);
+        }
+
+        @Test
+        @DisplayName("Should not index path predicates combined with others")
+        void shouldNotIndexCombinedPredicates() {
+            PathRoutePredicateFactory.Config config = new PathRoutePredicateFactory.Config();
+            config.setPatterns(List.of("/api/v1/products/**"));
+            Route combined = Route.async()
+                    .id("combined")
+                    .uri("lb://combined")
+                    .asyncPredicate(new PathRoutePredicateFactory().applyAsync(config)
+                            .and(AsyncPredicate.from(exchange -> false)))
+                    .build();
+
+            assertThat(RequestIndex.indexablePath(combined)).isNull();
+        }
+    }
+
+    @Nested
+    @DisplayName("Handler mapping")
+    class HandlerMappingTests {
+
+        private final Route canary = headerRoute("canary", "X-Canary");
+        private final Route products = pathRoute("product-service", "/api/v1/products/**");
+        private final Route orders = pathRoute("order-service", "/api/v1/orders/**");
+
+        private RequestIndex index;
+        private IndexedRoutePredicateHandlerMapping mapping;
+
+        @BeforeEach
+        void setUp() {
+            index = new RequestIndex(RULES);
+            mapping = new IndexedRoutePredicateHandlerMapping(new FilteringWebHandler(List.of()),
+                    () -> Flux.just(canary, products, orders), new GlobalCorsProperties(), new MockEnvironment(), index);
+        }
+
+        private Route lookup(ServerWebExchange exchange) {
+            mapping.getHandler(exchange).block();
+            return exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        }
+
+        @Test
+        @DisplayName("Should route through predicates until routes are compiled")
+        void shouldFallBackBeforeCompilation() {
+            assertThat(lookup(exchange(HttpMethod.GET, "/api/v1/orders/1"))).isSameAs(orders);
+        }
+
+        @Test
+        @DisplayName("Should route through the index once routes are compiled")
+        void shouldRouteThroughIndex() {
+            mapping.onApplicationEvent(new RefreshRoutesResultEvent(this));
+
+            MockServerWebExchange exchange = exchange(HttpMethod.GET, "/api/v1/orders/1");
+            assertThat(lookup(exchange)).isSameAs(orders);
+            assertThat((String) exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_PREDICATE_MATCHED_PATH_ATTR))
+                    .isEqualTo("/api/v1/orders/**");
+            assertThat((String) exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_PREDICATE_MATCHED_PATH_ROUTE_ID_ATTR))
+                    .isEqualTo("order-service");
+            assertThat(lookup(exchange(HttpMethod.GET, "/unknown"))).isNull();
+        }
+
+        @Test
+        @DisplayName("Should give earlier non-path routes precedence")
+        void shouldHonourEarlierOpaqueRoutes() {
+            mapping.onApplicationEvent(new RefreshRoutesResultEvent(this));
+
+            MockServerWebExchange exchange = MockServerWebExchange.from(
+                    MockServerHttpRequest.get("/api/v1/products/1").header("X-Canary", "1"));
+            assertThat(lookup(exchange)).isSameAs(canary);
+            assertThat(lookup(exchange(HttpMethod.GET, "/api/v1/products/1"))).isSameAs(products);
+        }
+    }
+}
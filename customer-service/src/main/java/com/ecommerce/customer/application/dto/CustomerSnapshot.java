@@ -0,0 +1,30 @@
+package com.ecommerce.customer.application.dto;
+
+import com.ecommerce.customer.domain.model.Customer;
+import com.ecommerce.customer.domain.model.CustomerStatus;
+
+import java.time.Instant;
+
+/**
+ * What reads of a customer need without loading the aggregate: the profile, and enough of the
+ * account state to tell whether the customer may log in.
+ *
+ * @param profile     the customer's profile
+ * @param lockedUntil when a lock expires, or null if the account is not locked
+ */
+public record CustomerSnapshot(CustomerDto profile, Instant lockedUntil) {
+
+    public static CustomerSnapshot from(Customer customer) {
+        return new CustomerSnapshot(CustomerDto.from(customer), customer.getLockedUntil());
+    }
+
+    /**
+     * Same rule as {@link Customer#canLogin()}: active, or locked with the lock expired.
+     */
+    public boolean canLogin() {
+        CustomerStatus status = profile.status();
+        return status == CustomerStatus.ACTIVE
+                || (status == CustomerStatus.LOCKED
+                        && (lockedUntil == null || !Instant.now().isBefore(lockedUntil)));
+    }
+}
@@ -0,0 +1,20 @@
+package com.ecommerce.customer.application.exception;
+
+import java.time.Duration;
+
+/**
+ * Exception thrown when the service is too busy to take a request and the client should retry later.
+ */
+public class ServiceBusyException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public ServiceBusyException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,20 @@
+package com.ecommerce.customer.application.exception;
+
+import java.time.Duration;
+
+/**
+ * Exception thrown when login attempts from a client are throttled.
+ */
+public class TooManyLoginAttemptsException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public TooManyLoginAttemptsException(Duration retryAfter) {
+        super("Too many login attempts, retry after " + retryAfter);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
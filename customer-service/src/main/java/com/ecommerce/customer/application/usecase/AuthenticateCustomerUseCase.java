@@ -6,6 +6,9 @@ import com.ecommerce.customer.application.dto.LoginCommand;
 import com.ecommerce.customer.application.exception.AccountLockedException;
 import com.ecommerce.customer.application.exception.InvalidCredentialsException;
 import com.ecommerce.customer.domain.model.Customer;
+import com.ecommerce.customer.domain.port.LoginThrottlePort;
+import com.ecommerce.customer.domain.port.PasswordHashingPort;
+import com.ecommerce.customer.domain.port.PasswordHashingPort.PasswordCheck;
 import com.ecommerce.customer.domain.repository.CustomerRepository;
 import com.ecommerce.security.jwt.JwtProperties;
 import com.ecommerce.security.jwt.JwtTokenProvider;
@@ -13,10 +16,16 @@ import com.ecommerce.shared.vo.Email;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Use case for customer authentication (login).
+ *
+ * Deliberately not one transaction: the customer is read, the password is checked on the hashing pool
+ * with no database connection held, and the outcome is written back in the repository's own transaction.
+ *
+ * Failed logins are counted by the {@link LoginThrottlePort}, which refuses locked and throttled attempts before
+ * the customer is read. The customer row is only written when a failure locks the account, or, while the
+ * throttle cannot count, on every failure as before.
  */
 @Service
 public class AuthenticateCustomerUseCase {
@@ -26,23 +35,42 @@ public class AuthenticateCustomerUseCase {
     private final CustomerRepository customerRepository;
     private final JwtTokenProvider jwtTokenProvider;
     private final JwtProperties jwtProperties;
+    private final PasswordHashingPort passwordHashingPort;
+    private final LoginThrottlePort loginThrottlePort;
 
     public AuthenticateCustomerUseCase(CustomerRepository customerRepository,
                                         JwtTokenProvider jwtTokenProvider,
-                                        JwtProperties jwtProperties) {
+                                        JwtProperties jwtProperties,
+                                        PasswordHashingPort passwordHashingPort,
+                                        LoginThrottlePort loginThrottlePort) {
         this.customerRepository = customerRepository;
         this.jwtTokenProvider = jwtTokenProvider;
         this.jwtProperties = jwtProperties;
+        this.passwordHashingPort = passwordHashingPort;
+        this.loginThrottlePort = loginThrottlePort;
     }
 
-    @Transactional
     public AuthResponse execute(LoginCommand command) {
+        return execute(command, null);
+    }
+
+    /**
+     * @param clientIp the client address the attempt came from, or null if unknown
+     */
+    public AuthResponse execute(LoginCommand command, String clientIp) {
         log.info("Authenticating customer: {}", command.email());
 
         Email email = Email.of(command.email());
 
-        Customer customer = customerRepository.findByEmail(email)
-                .orElseThrow(() -> new InvalidCredentialsException());
+        // Locked accounts and throttled clients stop here, before any database read or hash
+        loginThrottlePort.checkAllowed(email.getValue(), clientIp);
+
+        Customer customer = customerRepository.findByEmail(email).orElse(null);
+        if (customer == null) {
+            // Unknown emails count too, so probing for accounts is throttled like guessing passwords
+            loginThrottlePort.recordFailure(email.getValue(), clientIp);
+            throw new InvalidCredentialsException();
+        }
 
         // Check if account is locked
         if (customer.isLocked()) {
@@ -50,22 +78,25 @@ public class AuthenticateCustomerUseCase {
             throw new AccountLockedException(customer.getLockedUntil());
         }
 
-        // Authenticate
-        boolean authenticated = customer.authenticate(command.password());
-
-        // Save to persist failed login attempts or lock status
-        customer = customerRepository.save(customer);
-
-        if (!authenticated) {
+        // Authenticate; inactive accounts are refused without spending a hash on them
+        PasswordCheck check = customer.canLogin()
+                ? passwordHashingPort.verify(customer.getPassword(), command.password())
+                : new PasswordCheck(false, null);
+        if (!check.matched()) {
             log.warn("Failed login attempt for: {}", command.email());
+            throw loginFailed(customer, email, clientIp);
+        }
 
-            if (customer.isLocked()) {
-                throw new AccountLockedException(customer.getLockedUntil());
-            }
-
-            throw new InvalidCredentialsException();
+        loginThrottlePort.recordSuccess(email.getValue());
+        customer.recordLoginAttempt(true);
+        if (check.rehashed() != null) {
+            log.info("Upgrading password hash for customer: {}", customer.getId().asString());
+            customer.upgradePassword(check.rehashed());
         }
 
+        // Writes only what changed: a cleared lock or failure count, or an upgraded hash
+        customer = customerRepository.save(customer);
+
         log.info("Customer authenticated successfully: {}", customer.getId().asString());
 
         // Generate tokens
@@ -88,4 +119,29 @@ public class AuthenticateCustomerUseCase {
                 CustomerDto.from(customer)
         );
     }
+
+    /**
+     * Counts a wrong password and returns the exception to answer with.
+     */
+    private RuntimeException loginFailed(Customer customer, Email email, String clientIp) {
+        LoginThrottlePort.Failure failure = loginThrottlePort.recordFailure(email.getValue(), clientIp);
+
+        if (!failure.recorded()) {
+            // Throttle disabled or unreachable: count the failure on the customer row
+            customer.recordLoginAttempt(false);
+            customerRepository.save(customer);
+            return customer.isLocked()
+                    ? new AccountLockedException(customer.getLockedUntil())
+                    : new InvalidCredentialsException();
+        }
+
+        if (failure.locking() && customer.canLogin()) {
+            // The transition to locked is the only failure the customer row records
+            customer.lockUntil(failure.lockedUntil());
+            customerRepository.save(customer);
+        }
+        return failure.lockedUntil() != null
+                ? new AccountLockedException(failure.lockedUntil())
+                : new InvalidCredentialsException();
+    }
 }
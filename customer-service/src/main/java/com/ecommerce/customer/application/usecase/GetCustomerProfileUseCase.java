@@ -1,37 +1,37 @@
 package com.ecommerce.customer.application.usecase;
 
 import com.ecommerce.customer.application.dto.CustomerDto;
+import com.ecommerce.customer.application.dto.CustomerSnapshot;
 import com.ecommerce.customer.application.exception.CustomerNotFoundException;
-import com.ecommerce.customer.domain.model.Customer;
 import com.ecommerce.customer.domain.model.CustomerId;
-import com.ecommerce.customer.domain.repository.CustomerRepository;
+import com.ecommerce.customer.domain.port.CustomerProfileCachePort;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Use case for getting customer profile.
+ *
+ * Served from the {@link CustomerProfileCachePort}; the database is read only on a miss, in the
+ * repository's own transaction.
  */
 @Service
 public class GetCustomerProfileUseCase {
 
     private static final Logger log = LoggerFactory.getLogger(GetCustomerProfileUseCase.class);
 
-    private final CustomerRepository customerRepository;
+    private final CustomerProfileCachePort customerProfileCachePort;
 
-    public GetCustomerProfileUseCase(CustomerRepository customerRepository) {
-        this.customerRepository = customerRepository;
+    public GetCustomerProfileUseCase(CustomerProfileCachePort customerProfileCachePort) {
+        this.customerProfileCachePort = customerProfileCachePort;
     }
 
-    @Transactional(readOnly = true)
     public CustomerDto execute(String customerId) {
         log.debug("Getting profile for customer: {}", customerId);
 
         CustomerId id = CustomerId.of(customerId);
-        Customer customer = customerRepository.findById(id)
+        return customerProfileCachePort.get(id)
+                .map(CustomerSnapshot::profile)
                 .orElseThrow(() -> new CustomerNotFoundException(customerId));
-
-        return CustomerDto.from(customer);
     }
 }
@@ -2,40 +2,41 @@ package com.ecommerce.customer.application.usecase;
 
 import com.ecommerce.customer.application.dto.AuthResponse;
 import com.ecommerce.customer.application.dto.CustomerDto;
+import com.ecommerce.customer.application.dto.CustomerSnapshot;
 import com.ecommerce.customer.application.dto.RefreshTokenCommand;
 import com.ecommerce.customer.application.exception.InvalidTokenException;
-import com.ecommerce.customer.domain.model.Customer;
 import com.ecommerce.customer.domain.model.CustomerId;
-import com.ecommerce.customer.domain.repository.CustomerRepository;
+import com.ecommerce.customer.domain.port.CustomerProfileCachePort;
 import com.ecommerce.security.jwt.JwtProperties;
 import com.ecommerce.security.jwt.JwtTokenProvider;
 import com.ecommerce.security.jwt.JwtTokenProvider.TokenClaims;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Use case for refreshing access token.
+ *
+ * The customer's profile and login eligibility come from the {@link CustomerProfileCachePort}, which
+ * drops them as soon as the account is locked, suspended or otherwise changed.
  */
 @Service
 public class RefreshTokenUseCase {
 
     private static final Logger log = LoggerFactory.getLogger(RefreshTokenUseCase.class);
 
-    private final CustomerRepository customerRepository;
+    private final CustomerProfileCachePort customerProfileCachePort;
     private final JwtTokenProvider jwtTokenProvider;
     private final JwtProperties jwtProperties;
 
-    public RefreshTokenUseCase(CustomerRepository customerRepository,
+    public RefreshTokenUseCase(CustomerProfileCachePort customerProfileCachePort,
                                 JwtTokenProvider jwtTokenProvider,
                                 JwtProperties jwtProperties) {
-        this.customerRepository = customerRepository;
+        this.customerProfileCachePort = customerProfileCachePort;
         this.jwtTokenProvider = jwtTokenProvider;
         this.jwtProperties = jwtProperties;
     }
 
-    @Transactional(readOnly = true)
     public AuthResponse execute(RefreshTokenCommand command) {
         log.debug("Processing token refresh");
 
@@ -50,7 +51,7 @@ public class RefreshTokenUseCase {
 
         // Find customer
         CustomerId customerId = CustomerId.of(claims.userId());
-        Customer customer = customerRepository.findById(customerId)
+        CustomerSnapshot customer = customerProfileCachePort.get(customerId)
                 .orElseThrow(() -> new InvalidTokenException("Customer not found"));
 
         // Check if customer can login
@@ -58,18 +59,19 @@ public class RefreshTokenUseCase {
             throw new InvalidTokenException("Account is not active");
         }
 
-        log.info("Token refreshed for customer: {}", customer.getId().asString());
+        CustomerDto profile = customer.profile();
+        log.info("Token refreshed for customer: {}", profile.id());
 
         // Generate new tokens
         String accessToken = jwtTokenProvider.generateAccessToken(
-                customer.getId().asString(),
-                customer.getEmail().getValue(),
+                profile.id(),
+                profile.email(),
                 "CUSTOMER"
         );
 
         String refreshToken = jwtTokenProvider.generateRefreshToken(
-                customer.getId().asString(),
-                customer.getEmail().getValue(),
+                profile.id(),
+                profile.email(),
                 "CUSTOMER"
         );
 
@@ -77,7 +79,7 @@ public class RefreshTokenUseCase {
                 accessToken,
                 refreshToken,
                 jwtProperties.getAccessTokenExpiration().toSeconds(),
-                CustomerDto.from(customer)
+                profile
         );
     }
 }
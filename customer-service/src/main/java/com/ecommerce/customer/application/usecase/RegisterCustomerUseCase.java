@@ -5,17 +5,25 @@ import com.ecommerce.customer.application.dto.CustomerDto;
 import com.ecommerce.customer.application.dto.RegisterCustomerCommand;
 import com.ecommerce.customer.application.exception.EmailAlreadyExistsException;
 import com.ecommerce.customer.domain.model.Customer;
+import com.ecommerce.customer.domain.model.Password;
+import com.ecommerce.customer.domain.port.PasswordHashingPort;
+import com.ecommerce.customer.domain.port.RegisteredEmailPort;
 import com.ecommerce.customer.domain.repository.CustomerRepository;
 import com.ecommerce.security.jwt.JwtProperties;
 import com.ecommerce.security.jwt.JwtTokenProvider;
 import com.ecommerce.shared.vo.Email;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Use case for customer registration.
+ *
+ * The password is hashed on the hashing pool before the insert, outside any transaction.
+ * Emails the {@link RegisteredEmailPort} rules out go straight to the insert; the others are looked
+ * up first. Either way the unique email constraint decides, and a concurrent registration of the
+ * same email that loses it is reported like any other duplicate.
  */
 @Service
 public class RegisterCustomerUseCase {
@@ -25,31 +33,44 @@ public class RegisterCustomerUseCase {
     private final CustomerRepository customerRepository;
     private final JwtTokenProvider jwtTokenProvider;
     private final JwtProperties jwtProperties;
+    private final PasswordHashingPort passwordHashingPort;
+    private final RegisteredEmailPort registeredEmailPort;
 
     public RegisterCustomerUseCase(CustomerRepository customerRepository,
                                     JwtTokenProvider jwtTokenProvider,
-                                    JwtProperties jwtProperties) {
+                                    JwtProperties jwtProperties,
+                                    PasswordHashingPort passwordHashingPort,
+                                    RegisteredEmailPort registeredEmailPort) {
         this.customerRepository = customerRepository;
         this.jwtTokenProvider = jwtTokenProvider;
         this.jwtProperties = jwtProperties;
+        this.passwordHashingPort = passwordHashingPort;
+        this.registeredEmailPort = registeredEmailPort;
     }
 
-    @Transactional
     public AuthResponse execute(RegisterCustomerCommand command) {
         log.info("Registering new customer with email: {}", command.email());
 
         Email email = Email.of(command.email());
 
-        // Check if email already exists
-        if (customerRepository.existsByEmail(email)) {
+        // Check if email already exists, unless the filter knows it is new
+        if (registeredEmailPort.mightContain(email) && customerRepository.existsByEmail(email)) {
             throw new EmailAlreadyExistsException(command.email());
         }
 
         // Create customer
-        Customer customer = Customer.register(email, command.password(), command.name());
+        Password password = passwordHashingPort.hash(command.password());
+        Customer customer = Customer.register(email, password, command.name());
 
         // Save customer
-        customer = customerRepository.save(customer);
+        try {
+            customer = customerRepository.save(customer);
+        } catch (DataIntegrityViolationException e) {
+            if (customerRepository.existsByEmail(email)) {
+                throw new EmailAlreadyExistsException(command.email());
+            }
+            throw e;
+        }
 
         log.info("Customer registered successfully: {}", customer.getId().asString());
 
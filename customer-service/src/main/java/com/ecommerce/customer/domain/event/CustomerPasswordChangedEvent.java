@@ -0,0 +1,19 @@
+package com.ecommerce.customer.domain.event;
+
+import com.ecommerce.shared.domain.DomainEvent;
+
+/**
+ * Event: Customer has changed their password.
+ */
+public class CustomerPasswordChangedEvent extends DomainEvent {
+
+    private static final String AGGREGATE_TYPE = "Customer";
+
+    public CustomerPasswordChangedEvent(String customerId) {
+        super(customerId, AGGREGATE_TYPE);
+    }
+
+    public String getCustomerId() {
+        return getAggregateId();
+    }
+}
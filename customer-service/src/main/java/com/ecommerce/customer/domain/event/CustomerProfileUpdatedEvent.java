@@ -0,0 +1,26 @@
+package com.ecommerce.customer.domain.event;
+
+import com.ecommerce.shared.domain.DomainEvent;
+
+/**
+ * Event: Customer has updated their profile.
+ */
+public class CustomerProfileUpdatedEvent extends DomainEvent {
+
+    private static final String AGGREGATE_TYPE = "Customer";
+
+    private final String name;
+
+    public CustomerProfileUpdatedEvent(String customerId, String name) {
+        super(customerId, AGGREGATE_TYPE);
+        this.name = name;
+    }
+
+    public String getCustomerId() {
+        return getAggregateId();
+    }
+
+    public String getName() {
+        return name;
+    }
+}
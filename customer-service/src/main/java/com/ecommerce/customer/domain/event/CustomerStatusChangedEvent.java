@@ -0,0 +1,33 @@
+package com.ecommerce.customer.domain.event;
+
+import com.ecommerce.customer.domain.model.CustomerStatus;
+import com.ecommerce.shared.domain.DomainEvent;
+
+/**
+ * Event: Customer account status has changed, other than by locking (see {@link CustomerLockedEvent}).
+ */
+public class CustomerStatusChangedEvent extends DomainEvent {
+
+    private static final String AGGREGATE_TYPE = "Customer";
+
+    private final CustomerStatus previousStatus;
+    private final CustomerStatus status;
+
+    public CustomerStatusChangedEvent(String customerId, CustomerStatus previousStatus, CustomerStatus status) {
+        super(customerId, AGGREGATE_TYPE);
+        this.previousStatus = previousStatus;
+        this.status = status;
+    }
+
+    public String getCustomerId() {
+        return getAggregateId();
+    }
+
+    public CustomerStatus getPreviousStatus() {
+        return previousStatus;
+    }
+
+    public CustomerStatus getStatus() {
+        return status;
+    }
+}
@@ -1,22 +1,45 @@
 package com.ecommerce.customer.domain.model;
 
 import com.ecommerce.customer.domain.event.CustomerLockedEvent;
+import com.ecommerce.customer.domain.event.CustomerPasswordChangedEvent;
+import com.ecommerce.customer.domain.event.CustomerProfileUpdatedEvent;
 import com.ecommerce.customer.domain.event.CustomerRegisteredEvent;
+import com.ecommerce.customer.domain.event.CustomerStatusChangedEvent;
 import com.ecommerce.customer.domain.event.LoginFailedEvent;
 import com.ecommerce.customer.domain.event.LoginSuccessEvent;
+import com.ecommerce.customer.domain.port.PasswordHashingPort;
 import com.ecommerce.shared.domain.AggregateRoot;
 import com.ecommerce.shared.vo.Email;
 
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.Objects;
+import java.util.Set;
 
 /**
  * Customer Aggregate Root.
  * Handles customer registration, authentication, and account management.
+ *
+ * Tracks which of its persistent fields changed since it was loaded or last saved, so the repository
+ * writes only those, and nothing at all when a command changed nothing. Failed logins are tracked as an
+ * increment rather than a new value, so concurrent failures all count; the repository reports the stored
+ * total back through {@link #failedLoginAttemptsStored}, so they also lock the account together.
  */
 public class Customer extends AggregateRoot<CustomerId> {
 
+    /**
+     * Persistent fields that can change after registration.
+     */
+    public enum Field {
+        PASSWORD,
+        NAME,
+        STATUS,
+        FAILED_LOGIN_ATTEMPTS,
+        LOCKED_UNTIL
+    }
+
     private static final int MAX_FAILED_LOGIN_ATTEMPTS = 5;
     private static final int LOCK_DURATION_MINUTES = 30;
 
@@ -30,6 +53,11 @@ public class Customer extends AggregateRoot<CustomerId> {
     private Instant createdAt;
     private Instant updatedAt;
 
+    private boolean persisted;
+    private final EnumSet<Field> changedFields = EnumSet.noneOf(Field.class);
+    // Failed logins since the last save, not yet added to the stored count
+    private int failedLoginIncrement;
+
     // Private constructor for creating new customer
     private Customer(CustomerId id, Email email, Password password, String name) {
         this.id = id;
@@ -58,29 +86,35 @@ public class Customer extends AggregateRoot<CustomerId> {
         this.lockedUntil = lockedUntil;
         this.createdAt = createdAt;
         this.updatedAt = updatedAt;
+        this.persisted = true;
     }
 
     /**
      * Create a new customer (alias for register).
      */
-    public static Customer create(Email email, String plainPassword, String name) {
-        return register(email, plainPassword, name);
+    public static Customer create(Email email, String plainPassword, String name,
+                                  PasswordHashingPort passwordHashingPort) {
+        return register(email, plainPassword, name, passwordHashingPort);
     }
 
     /**
-     * Register a new customer.
+     * Register a new customer, hashing the password under the current policy.
      */
-    public static Customer register(Email email, String plainPassword, String name) {
-        Objects.requireNonNull(email, "Email cannot be null");
+    public static Customer register(Email email, String plainPassword, String name,
+                                    PasswordHashingPort passwordHashingPort) {
         Objects.requireNonNull(plainPassword, "Password cannot be null");
-        Objects.requireNonNull(name, "Name cannot be null");
+        validateRegistration(email, name);
+        return register(email, passwordHashingPort.hash(plainPassword), name);
+    }
 
-        if (name.trim().isEmpty()) {
-            throw new IllegalArgumentException("Name cannot be empty");
-        }
+    /**
+     * Register a new customer whose password has already been hashed.
+     */
+    public static Customer register(Email email, Password password, String name) {
+        Objects.requireNonNull(password, "Password cannot be null");
+        validateRegistration(email, name);
 
         CustomerId id = CustomerId.generate();
-        Password password = Password.fromPlainText(plainPassword);
         Customer customer = new Customer(id, email, password, name.trim());
 
         customer.registerEvent(new CustomerRegisteredEvent(
@@ -92,28 +126,50 @@ public class Customer extends AggregateRoot<CustomerId> {
         return customer;
     }
 
+    private static void validateRegistration(Email email, String name) {
+        Objects.requireNonNull(email, "Email cannot be null");
+        Objects.requireNonNull(name, "Name cannot be null");
+
+        if (name.trim().isEmpty()) {
+            throw new IllegalArgumentException("Name cannot be empty");
+        }
+    }
+
     /**
-     * Authenticate customer with password.
+     * Authenticate customer with password, upgrading a hash that is below the current policy.
      *
      * @return true if authentication successful
      */
-    public boolean authenticate(String plainPassword) {
-        // Check if account is locked
-        if (isLocked()) {
+    public boolean authenticate(String plainPassword, PasswordHashingPort passwordHashingPort) {
+        // Locked and inactive accounts are refused without checking the password
+        if (!canLogin()) {
             return false;
         }
+        PasswordHashingPort.PasswordCheck check = passwordHashingPort.verify(password, plainPassword);
+        if (check.rehashed() != null) {
+            upgradePassword(check.rehashed());
+        }
+        return recordLoginAttempt(check.matched());
+    }
 
-        // Check if account is active
-        if (status != CustomerStatus.ACTIVE && status != CustomerStatus.LOCKED) {
+    /**
+     * Record the outcome of a password check made outside the aggregate,
+     * so the expensive hash comparison can run away from the request thread and transaction.
+     *
+     * @param passwordMatched whether the supplied password matched {@link #getPassword()}
+     * @return true if authentication successful
+     */
+    public boolean recordLoginAttempt(boolean passwordMatched) {
+        if (!canLogin()) {
             return false;
         }
 
         // Auto-unlock if lock duration has passed
-        if (status == CustomerStatus.LOCKED && !isLocked()) {
+        if (status == CustomerStatus.LOCKED) {
             unlock();
         }
 
-        if (password.matches(plainPassword)) {
+        if (passwordMatched) {
             onLoginSuccess();
             return true;
         } else {
@@ -122,16 +178,27 @@ public class Customer extends AggregateRoot<CustomerId> {
         }
     }
 
+    /**
+     * Replace the password hash with one of the same password under the current hashing policy.
+     * Only valid right after the password was verified against the old hash.
+     */
+    public void upgradePassword(Password rehashed) {
+        setPassword(Objects.requireNonNull(rehashed, "Password cannot be null"));
+    }
+
     private void onLoginSuccess() {
-        failedLoginAttempts = 0;
-        lockedUntil = null;
-        updatedAt = Instant.now();
+        resetFailedLoginAttempts();
+        setLockedUntil(null);
 
         registerEvent(new LoginSuccessEvent(id.asString(), email.getValue()));
     }
 
     private void onLoginFailure() {
         failedLoginAttempts++;
+        // Once the count has been overwritten in this unit of work, the new absolute value is written instead
+        if (!changedFields.contains(Field.FAILED_LOGIN_ATTEMPTS)) {
+            failedLoginIncrement++;
+        }
         updatedAt = Instant.now();
 
         registerEvent(new LoginFailedEvent(id.asString(), email.getValue(), failedLoginAttempts));
@@ -141,13 +208,32 @@ public class Customer extends AggregateRoot<CustomerId> {
         }
     }
 
+    /**
+     * Called by the repository with the stored failed login count, once this customer's failures were
+     * added to it. The count includes failures saved by concurrent requests, so the account is locked
+     * when the total reaches the limit, even if this customer's own count has not.
+     */
+    public void failedLoginAttemptsStored(int storedAttempts) {
+        failedLoginAttempts = storedAttempts;
+        if (storedAttempts >= MAX_FAILED_LOGIN_ATTEMPTS && canLogin()) {
+            lock();
+        }
+    }
+
     /**
      * Lock the account for the specified duration.
      */
     public void lock() {
-        this.status = CustomerStatus.LOCKED;
-        this.lockedUntil = Instant.now().plus(LOCK_DURATION_MINUTES, ChronoUnit.MINUTES);
-        this.updatedAt = Instant.now();
+        lockUntil(Instant.now().plus(LOCK_DURATION_MINUTES, ChronoUnit.MINUTES));
+    }
+
+    /**
+     * Lock the account until the given time, as decided by a failure count kept outside the aggregate.
+     */
+    public void lockUntil(Instant until) {
+        Objects.requireNonNull(until, "Lock expiry cannot be null");
+        setStatus(CustomerStatus.LOCKED);
+        setLockedUntil(until);
 
         registerEvent(new CustomerLockedEvent(
                 id.asString(),
@@ -160,10 +246,9 @@ public class Customer extends AggregateRoot<CustomerId> {
      * Unlock the account.
      */
     public void unlock() {
-        this.status = CustomerStatus.ACTIVE;
-        this.failedLoginAttempts = 0;
-        this.lockedUntil = null;
-        this.updatedAt = Instant.now();
+        changeStatus(CustomerStatus.ACTIVE);
+        resetFailedLoginAttempts();
+        setLockedUntil(null);
     }
 
     /**
@@ -183,39 +268,120 @@ public class Customer extends AggregateRoot<CustomerId> {
      * Suspend the account (admin action).
      */
     public void suspend() {
-        this.status = CustomerStatus.SUSPENDED;
-        this.updatedAt = Instant.now();
+        changeStatus(CustomerStatus.SUSPENDED);
     }
 
     /**
      * Reactivate a suspended account (admin action).
      */
     public void reactivate() {
-        this.status = CustomerStatus.ACTIVE;
-        this.failedLoginAttempts = 0;
-        this.lockedUntil = null;
-        this.updatedAt = Instant.now();
+        changeStatus(CustomerStatus.ACTIVE);
+        resetFailedLoginAttempts();
+        setLockedUntil(null);
     }
 
     /**
      * Update customer profile.
      */
     public void updateProfile(String name) {
-        if (name != null && !name.trim().isEmpty()) {
+        if (name != null && !name.trim().isEmpty() && !name.trim().equals(this.name)) {
             this.name = name.trim();
-            this.updatedAt = Instant.now();
+            changed(Field.NAME);
+
+            registerEvent(new CustomerProfileUpdatedEvent(id.asString(), this.name));
         }
     }
 
     /**
-     * Change password.
+     * Change password, hashing the new one under the current policy.
      */
-    public void changePassword(String currentPassword, String newPassword) {
-        if (!password.matches(currentPassword)) {
+    public void changePassword(String currentPassword, String newPassword,
+                               PasswordHashingPort passwordHashingPort) {
+        if (!passwordHashingPort.verify(password, currentPassword).matched()) {
             throw new IllegalArgumentException("Current password is incorrect");
         }
-        this.password = Password.fromPlainText(newPassword);
-        this.updatedAt = Instant.now();
+        setPassword(passwordHashingPort.hash(newPassword));
+
+        registerEvent(new CustomerPasswordChangedEvent(id.asString()));
+    }
+
+    private void setPassword(Password password) {
+        this.password = password;
+        changed(Field.PASSWORD);
+    }
+
+    private void changeStatus(CustomerStatus status) {
+        CustomerStatus previous = this.status;
+        setStatus(status);
+        if (previous != status) {
+            registerEvent(new CustomerStatusChangedEvent(id.asString(), previous, status));
+        }
+    }
+
+    private void setStatus(CustomerStatus status) {
+        if (this.status != status) {
+            this.status = status;
+            changed(Field.STATUS);
+        }
+    }
+
+    private void setLockedUntil(Instant lockedUntil) {
+        if (!Objects.equals(this.lockedUntil, lockedUntil)) {
+            this.lockedUntil = lockedUntil;
+            changed(Field.LOCKED_UNTIL);
+        }
+    }
+
+    private void resetFailedLoginAttempts() {
+        if (failedLoginAttempts != 0) {
+            failedLoginAttempts = 0;
+            failedLoginIncrement = 0;
+            changed(Field.FAILED_LOGIN_ATTEMPTS);
+        }
+    }
+
+    private void changed(Field field) {
+        changedFields.add(field);
+        updatedAt = Instant.now();
+    }
+
+    // Change tracking, for the persistence layer
+
+    /**
+     * Whether this customer has not been stored yet.
+     */
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    /**
+     * Whether saving this customer has anything to write.
+     */
+    public boolean hasChanges() {
+        return !persisted || !changedFields.isEmpty() || failedLoginIncrement > 0;
+    }
+
+    /**
+     * Fields whose new value must be written, in addition to {@link #getUpdatedAt()}.
+     */
+    public Set<Field> getChangedFields() {
+        return Collections.unmodifiableSet(changedFields.clone());
+    }
+
+    /**
+     * Failed logins to add to the stored count; not included in {@link #getChangedFields()}.
+     */
+    public int getFailedLoginIncrement() {
+        return failedLoginIncrement;
+    }
+
+    /**
+     * Called by the repository once all changes are stored.
+     */
+    public void markPersisted() {
+        persisted = true;
+        changedFields.clear();
+        failedLoginIncrement = 0;
     }
 
     // Getters
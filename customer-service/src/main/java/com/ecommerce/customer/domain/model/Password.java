@@ -1,7 +1,6 @@
 package com.ecommerce.customer.domain.model;
 
 import com.ecommerce.shared.domain.ValueObject;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.util.Objects;
@@ -10,11 +9,11 @@ import java.util.regex.Pattern;
 /**
  * Password Value Object.
  * Handles password encryption and validation.
+ * Hashing and matching use the encoder the caller supplies, so new hashes always follow the
+ * configured policy; the domain goes through {@link com.ecommerce.customer.domain.port.PasswordHashingPort}.
  */
 public class Password extends ValueObject<Password> {
 
-    private static final PasswordEncoder PASSWORD_ENCODER = new BCryptPasswordEncoder(12);
-
     // At least 8 chars, 1 uppercase, 1 lowercase, 1 digit
     private static final Pattern PASSWORD_PATTERN = Pattern.compile(
             "^(?=.*[a-z])(?=.*[A-Z])(?=.*\\d).{8,}$"
@@ -27,10 +26,9 @@ public class Password extends ValueObject<Password> {
     }
 
     /**
-     * Create a new password from plain text.
-     * The password will be hashed using BCrypt.
+     * Create a new password from plain text, hashed with the given encoder.
      */
-    public static Password fromPlainText(String plainText) {
+    public static Password fromPlainText(String plainText, PasswordEncoder encoder) {
         Objects.requireNonNull(plainText, "Password cannot be null");
 
         if (!isValidFormat(plainText)) {
@@ -38,7 +36,7 @@ public class Password extends ValueObject<Password> {
                     "Password must be at least 8 characters and contain uppercase, lowercase, and digit");
         }
 
-        String hashed = PASSWORD_ENCODER.encode(plainText);
+        String hashed = encoder.encode(plainText);
         return new Password(hashed);
     }
 
@@ -59,13 +57,20 @@ public class Password extends ValueObject<Password> {
     }
 
     /**
-     * Check if the given plain text matches this password.
+     * Check if the given plain text matches this password, using the given encoder.
      */
-    public boolean matches(String plainText) {
+    public boolean matches(String plainText, PasswordEncoder encoder) {
         if (plainText == null) {
             return false;
         }
-        return PASSWORD_ENCODER.matches(plainText, hashedValue);
+        return encoder.matches(plainText, hashedValue);
+    }
+
+    /**
+     * Whether this hash is weaker than, or of a different algorithm from, what the encoder produces now.
+     */
+    public boolean needsRehash(PasswordEncoder encoder) {
+        return encoder.upgradeEncoding(hashedValue);
     }
 
     public String getHashedValue() {
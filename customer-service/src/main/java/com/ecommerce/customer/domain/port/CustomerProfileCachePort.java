@@ -0,0 +1,19 @@
+package com.ecommerce.customer.domain.port;
+
+import com.ecommerce.customer.application.dto.CustomerSnapshot;
+import com.ecommerce.customer.domain.model.CustomerId;
+
+import java.util.Optional;
+
+/**
+ * Customer Profile Cache Port.
+ * Serves customer snapshots for reads that do not need the aggregate, falling back to the
+ * repository on a miss. Snapshots are dropped once a change to the customer commits.
+ */
+public interface CustomerProfileCachePort {
+
+    /**
+     * The customer's snapshot, or empty if there is no such customer.
+     */
+    Optional<CustomerSnapshot> get(CustomerId id);
+}
@@ -0,0 +1,44 @@
+package com.ecommerce.customer.domain.port;
+
+import java.time.Instant;
+
+/**
+ * Login Throttle Port.
+ * Counts failed logins per email and client IP, and refuses attempts on locked accounts or from
+ * throttled clients before the customer is read.
+ */
+public interface LoginThrottlePort {
+
+    /**
+     * Refuses an attempt on a locked account, or from a client IP with too many recent failures,
+     * by throwing.
+     *
+     * @param clientIp the client address, or null if unknown
+     */
+    void checkAllowed(String email, String clientIp);
+
+    /**
+     * Counts a failed login against the email and the client IP, locking the account when the
+     * email's failures reach the limit.
+     *
+     * @param clientIp the client address, or null if unknown
+     */
+    Failure recordFailure(String email, String clientIp);
+
+    /**
+     * Clears the email's failures after a successful login.
+     */
+    void recordSuccess(String email);
+
+    /**
+     * Outcome of recording a failed login.
+     *
+     * @param recorded    whether the failure was counted; if not, the caller should count it itself
+     * @param locking     whether this failure locked the account
+     * @param lockedUntil when the account's lock expires, or null if it is not locked
+     */
+    record Failure(boolean recorded, boolean locking, Instant lockedUntil) {
+
+        public static final Failure UNRECORDED = new Failure(false, false, null);
+    }
+}
@@ -0,0 +1,33 @@
+package com.ecommerce.customer.domain.port;
+
+import com.ecommerce.customer.domain.model.Password;
+
+/**
+ * Password Hashing Port.
+ * Hashes new passwords and checks login passwords against stored hashes.
+ * Implementations may refuse work when overloaded rather than queue it.
+ */
+public interface PasswordHashingPort {
+
+    /**
+     * Validates and hashes a new password under the current policy.
+     *
+     * @throws IllegalArgumentException if the password does not meet the format rules
+     */
+    Password hash(String plainText);
+
+    /**
+     * Checks a login password against the stored hash, rehashing it if the stored hash is below
+     * the current policy.
+     */
+    PasswordCheck verify(Password password, String plainText);
+
+    /**
+     * Outcome of a login password check.
+     *
+     * @param matched  whether the password matched
+     * @param rehashed the password hashed under the current policy, or null if the stored hash is current
+     */
+    record PasswordCheck(boolean matched, Password rehashed) {
+    }
+}
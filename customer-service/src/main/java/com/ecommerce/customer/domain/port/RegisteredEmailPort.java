@@ -0,0 +1,16 @@
+package com.ecommerce.customer.domain.port;
+
+import com.ecommerce.shared.vo.Email;
+
+/**
+ * Registered Email Port.
+ * Tells emails that are certainly not registered apart, without a repository lookup.
+ */
+public interface RegisteredEmailPort {
+
+    /**
+     * Whether the email may already be registered. False means it certainly is not;
+     * true means the repository has to be asked.
+     */
+    boolean mightContain(Email email);
+}
@@ -0,0 +1,181 @@
+package com.ecommerce.customer.infrastructure.cache;
+
+import com.ecommerce.customer.application.dto.CustomerSnapshot;
+import com.ecommerce.customer.domain.event.CustomerLockedEvent;
+import com.ecommerce.customer.domain.event.CustomerPasswordChangedEvent;
+import com.ecommerce.customer.domain.event.CustomerProfileUpdatedEvent;
+import com.ecommerce.customer.domain.event.CustomerStatusChangedEvent;
+import com.ecommerce.customer.domain.model.CustomerId;
+import com.ecommerce.customer.domain.port.CustomerProfileCachePort;
+import com.ecommerce.customer.domain.repository.CustomerRepository;
+import com.ecommerce.customer.infrastructure.config.CustomerProfileCacheProperties;
+import com.ecommerce.shared.domain.DomainEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Optional;
+
+/**
+ * Two-level cache of {@link CustomerSnapshot}s: a small in-memory tier per instance in front of a
+ * Redis tier shared by all instances, in front of the database.
+ *
+ * Entries are evicted once a change to the customer's profile, status or password commits. The Redis
+ * entry is replaced by a short-lived tombstone and the eviction is broadcast so every instance drops its
+ * in-memory copy. Redis failures are treated as misses; an instance that misses a broadcast serves its
+ * copy for at most the local TTL.
+ *
+ * A miss may read the database just before a change commits and fill the cache just after its eviction.
+ * Redis is therefore filled with SET NX, which the tombstone refuses, and memory is filled inside the
+ * cache's atomic load, which an eviction of the same customer waits for.
+ *
+ * Hits and misses of both tiers are published as {@code cache.gets}, for the caches
+ * {@code customer.profile} (memory) and {@code customer.profile.redis}.
+ */
+public class CustomerProfileCache implements CustomerProfileCachePort {
+
+    private static final Logger log = LoggerFactory.getLogger(CustomerProfileCache.class);
+
+    static final String CACHE_NAME = "customer.profile";
+
+    /**
+     * Held in Redis in place of an evicted profile, never valid JSON.
+     */
+    static final String TOMBSTONE = "evicted";
+
+    private final CustomerProfileCacheProperties properties;
+    private final CustomerRepository customerRepository;
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final Cache<String, CustomerSnapshot> local;
+    private final Counter redisHits;
+    private final Counter redisMisses;
+    private final Counter errors;
+
+    public CustomerProfileCache(CustomerProfileCacheProperties properties, CustomerRepository customerRepository,
+                                StringRedisTemplate redisTemplate, ObjectMapper objectMapper,
+                                MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.customerRepository = customerRepository;
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.local = Caffeine.newBuilder()
+                .maximumSize(properties.getLocalMaximumSize())
+                .expireAfterWrite(properties.getLocalTtl())
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, local, CACHE_NAME);
+        this.redisHits = Counter.builder("cache.gets")
+                .description("Customer profile lookups that reached Redis")
+                .tag("cache", CACHE_NAME + ".redis")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.redisMisses = Counter.builder("cache.gets")
+                .description("Customer profile lookups that reached Redis")
+                .tag("cache", CACHE_NAME + ".redis")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        this.errors = Counter.builder("customer.profile.cache.errors")
+                .description("Customer profile cache calls that failed to reach Redis")
+                .register(meterRegistry);
+    }
+
+    /**
+     * The customer's snapshot, from memory, Redis or the database, in that order.
+     */
+    @Override
+    public Optional<CustomerSnapshot> get(CustomerId id) {
+        if (!properties.isEnabled()) {
+            return load(id);
+        }
+        return Optional.ofNullable(local.get(id.asString(), key -> {
+            CustomerSnapshot snapshot = readShared(key);
+            if (snapshot != null) {
+                redisHits.increment();
+                return snapshot;
+            }
+            redisMisses.increment();
+            Optional<CustomerSnapshot> loaded = load(id);
+            loaded.ifPresent(s -> writeShared(key, s));
+            return loaded.orElse(null);
+        }));
+    }
+
+    @TransactionalEventListener(classes = {CustomerLockedEvent.class, CustomerStatusChangedEvent.class,
+            CustomerProfileUpdatedEvent.class, CustomerPasswordChangedEvent.class})
+    public void onCustomerChanged(DomainEvent event) {
+        evict(event.getAggregateId());
+    }
+
+    /**
+     * Drops the customer's snapshot here, in Redis, and on every other instance.
+     * Waits for a load of the customer in progress here, so it cannot put back what it read.
+     */
+    public void evict(String customerId) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            redisTemplate.opsForValue().set(properties.getKeyPrefix() + customerId, TOMBSTONE,
+                    properties.getEvictionGuard());
+            redisTemplate.convertAndSend(properties.getEvictionChannel(), customerId);
+        } catch (DataAccessException e) {
+            errors.increment();
+            log.warn("Could not evict customer profile {} from Redis: {}", customerId, e.getMessage());
+        }
+        local.invalidate(customerId);
+    }
+
+    /**
+     * Drops the customer's in-memory snapshot, on an eviction broadcast by another instance.
+     */
+    public void evictLocal(String customerId) {
+        local.invalidate(customerId);
+    }
+
+    private Optional<CustomerSnapshot> load(CustomerId id) {
+        return customerRepository.findById(id).map(CustomerSnapshot::from);
+    }
+
+    private CustomerSnapshot readShared(String key) {
+        try {
+            String json = redisTemplate.opsForValue().get(properties.getKeyPrefix() + key);
+            if (json == null || TOMBSTONE.equals(json)) {
+                return null;
+            }
+            return objectMapper.readValue(json, CustomerSnapshot.class);
+        } catch (DataAccessException e) {
+            errors.increment();
+            log.debug("Redis customer profile lookup failed: {}", e.getMessage());
+            return null;
+        } catch (JsonProcessingException e) {
+            log.debug("Ignoring unreadable cached customer profile: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Stores the snapshot unless the key holds a tombstone, or a snapshot another fill stored first.
+     */
+    private void writeShared(String key, CustomerSnapshot snapshot) {
+        try {
+            redisTemplate.opsForValue().setIfAbsent(properties.getKeyPrefix() + key,
+                    objectMapper.writeValueAsString(snapshot), properties.getRedisTtl());
+        } catch (DataAccessException e) {
+            errors.increment();
+            log.debug("Redis customer profile store failed: {}", e.getMessage());
+        } catch (JsonProcessingException e) {
+            log.debug("Cannot serialize customer profile: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.ecommerce.customer.infrastructure.cache;
+
+import com.ecommerce.customer.domain.event.CustomerRegisteredEvent;
+import com.ecommerce.customer.domain.port.RegisteredEmailPort;
+import com.ecommerce.customer.infrastructure.config.RegisteredEmailFilterProperties;
+import com.ecommerce.customer.infrastructure.persistence.repository.JpaCustomerRepository;
+import com.ecommerce.shared.vo.Email;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * In-memory Bloom filter of registered emails, so registration can tell a certainly new email apart
+ * without a database lookup. Loaded at startup by streaming the customers table, and kept current as
+ * registrations commit.
+ *
+ * Only a negative answer is trusted. Until the filter is loaded, when disabled, or if loading failed,
+ * every email is reported as possibly registered, so callers fall back to the lookup. The unique email
+ * constraint stays the final word either way.
+ */
+public class RegisteredEmailFilter implements RegisteredEmailPort {
+
+    private static final Logger log = LoggerFactory.getLogger(RegisteredEmailFilter.class);
+
+    private final RegisteredEmailFilterProperties properties;
+    private final JpaCustomerRepository customerRepository;
+    private final TransactionOperations readOnlyTransaction;
+    private final BloomFilter filter;
+    private final AtomicLong insertions = new AtomicLong();
+    private volatile boolean loaded;
+    private final Counter absent;
+    private final Counter possiblyPresent;
+
+    public RegisteredEmailFilter(RegisteredEmailFilterProperties properties,
+                                 JpaCustomerRepository customerRepository,
+                                 TransactionOperations readOnlyTransaction,
+                                 MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.customerRepository = customerRepository;
+        this.readOnlyTransaction = readOnlyTransaction;
+        this.filter = new BloomFilter(properties.getExpectedInsertions(), properties.getFalsePositiveRate());
+
+        this.absent = Counter.builder("customer.registration.email.filter")
+                .description("Registration email checks answered by the registered email filter")
+                .tag("result", "absent")
+                .register(meterRegistry);
+        this.possiblyPresent = Counter.builder("customer.registration.email.filter")
+                .description("Registration email checks answered by the registered email filter")
+                .tag("result", "possibly_present")
+                .register(meterRegistry);
+        Gauge.builder("customer.registration.email.filter.insertions", insertions, AtomicLong::get)
+                .description("Emails added to the registered email filter since startup")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Adds every stored email to the filter. Registrations committed meanwhile are added by
+     * {@link #onCustomerRegistered}, so none is missed while the table is read.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<String> emails = customerRepository.streamAllEmails()) {
+                    emails.forEach(this::add);
+                }
+            });
+        } catch (DataAccessException e) {
+            log.error("Could not load registered emails, registration will look every email up", e);
+            return;
+        }
+        loaded = true;
+        log.info("Loaded {} registered emails into the filter in {} ms ({} bits, {} hash functions)",
+                insertions.get(), (System.nanoTime() - start) / 1_000_000, filter.bitSize(), filter.hashFunctions());
+        if (insertions.get() > properties.getExpectedInsertions()) {
+            log.warn("Registered emails exceed the filter's expected {}, raise "
+                    + "customer.registered-email-filter.expected-insertions", properties.getExpectedInsertions());
+        }
+    }
+
+    @TransactionalEventListener
+    public void onCustomerRegistered(CustomerRegisteredEvent event) {
+        add(event.getEmail());
+    }
+
+    /**
+     * Whether the email may already be registered. False means it certainly is not.
+     */
+    @Override
+    public boolean mightContain(Email email) {
+        if (!loaded || filter.mightContain(email.getValue())) {
+            possiblyPresent.increment();
+            return true;
+        }
+        absent.increment();
+        return false;
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    private void add(String email) {
+        filter.put(email);
+        insertions.incrementAndGet();
+    }
+}
@@ -0,0 +1,49 @@
+package com.ecommerce.customer.infrastructure.config;
+
+import com.ecommerce.customer.domain.repository.CustomerRepository;
+import com.ecommerce.customer.infrastructure.cache.CustomerProfileCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Customer profile cache configuration.
+ */
+@Configuration
+@EnableConfigurationProperties(CustomerProfileCacheProperties.class)
+public class CustomerProfileCacheConfig {
+
+    @Bean
+    public CustomerProfileCache customerProfileCache(CustomerProfileCacheProperties properties,
+                                                     CustomerRepository customerRepository,
+                                                     StringRedisTemplate redisTemplate,
+                                                     ObjectMapper objectMapper,
+                                                     MeterRegistry meterRegistry) {
+        return new CustomerProfileCache(properties, customerRepository, redisTemplate, objectMapper, meterRegistry);
+    }
+
+    /**
+     * Drops in-memory profiles evicted by other instances.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "customer.profile-cache.enabled", matchIfMissing = true)
+    public RedisMessageListenerContainer customerProfileEvictionListener(RedisConnectionFactory connectionFactory,
+                                                                        CustomerProfileCache cache,
+                                                                        CustomerProfileCacheProperties properties) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(
+                (message, pattern) -> cache.evictLocal(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(properties.getEvictionChannel()));
+        return container;
+    }
+}
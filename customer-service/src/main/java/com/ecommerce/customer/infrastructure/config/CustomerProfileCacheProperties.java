@@ -0,0 +1,115 @@
+package com.ecommerce.customer.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Customer profile cache configuration.
+ * Can be configured via application.yml with prefix 'customer.profile-cache'.
+ *
+ * Profiles are cached in memory on each instance and in Redis, shared by all instances.
+ * Entries are evicted when the customer's profile, status or password changes; the local TTL
+ * bounds how long an instance can miss an eviction broadcast while Redis is unreachable.
+ */
+@ConfigurationProperties(prefix = "customer.profile-cache")
+public class CustomerProfileCacheProperties {
+
+    /**
+     * Whether customer profiles are cached.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Maximum number of profiles held in memory per instance.
+     * Default: 10000
+     */
+    private long localMaximumSize = 10_000;
+
+    /**
+     * How long a profile is kept in memory.
+     * Default: 30s
+     */
+    private Duration localTtl = Duration.ofSeconds(30);
+
+    /**
+     * How long a profile is kept in Redis.
+     * Default: 10m
+     */
+    private Duration redisTtl = Duration.ofMinutes(10);
+
+    /**
+     * How long an eviction keeps the profile out of Redis; fills that read the database before the change
+     * committed must finish within it, later ones are refused.
+     * Default: 5s
+     */
+    private Duration evictionGuard = Duration.ofSeconds(5);
+
+    /**
+     * Prefix of the Redis keys holding profiles.
+     * Default: customer:profile:
+     */
+    private String keyPrefix = "customer:profile:";
+
+    /**
+     * Redis channel on which evictions are broadcast to the other instances.
+     * Default: customer:profile:evictions
+     */
+    private String evictionChannel = "customer:profile:evictions";
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getLocalMaximumSize() {
+        return localMaximumSize;
+    }
+
+    public void setLocalMaximumSize(long localMaximumSize) {
+        this.localMaximumSize = localMaximumSize;
+    }
+
+    public Duration getLocalTtl() {
+        return localTtl;
+    }
+
+    public void setLocalTtl(Duration localTtl) {
+        this.localTtl = localTtl;
+    }
+
+    public Duration getRedisTtl() {
+        return redisTtl;
+    }
+
+    public void setRedisTtl(Duration redisTtl) {
+        this.redisTtl = redisTtl;
+    }
+
+    public Duration getEvictionGuard() {
+        return evictionGuard;
+    }
+
+    public void setEvictionGuard(Duration evictionGuard) {
+        this.evictionGuard = evictionGuard;
+    }
+
+    public String getKeyPrefix() {
+        return keyPrefix;
+    }
+
+    public void setKeyPrefix(String keyPrefix) {
+        this.keyPrefix = keyPrefix;
+    }
+
+    public String getEvictionChannel() {
+        return evictionChannel;
+    }
+
+    public void setEvictionChannel(String evictionChannel) {
+        this.evictionChannel = evictionChannel;
+    }
+}
@@ -0,0 +1,22 @@
+package com.ecommerce.customer.infrastructure.config;
+
+import com.ecommerce.customer.infrastructure.security.LoginThrottle;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**
+ * Login throttling configuration.
+ */
+@Configuration
+@EnableConfigurationProperties(LoginThrottleProperties.class)
+public class LoginThrottleConfig {
+
+    @Bean
+    public LoginThrottle loginThrottle(LoginThrottleProperties properties, StringRedisTemplate redisTemplate,
+                                       MeterRegistry meterRegistry) {
+        return new LoginThrottle(properties, redisTemplate, meterRegistry);
+    }
+}
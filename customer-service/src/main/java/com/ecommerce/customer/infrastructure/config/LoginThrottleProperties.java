@@ -0,0 +1,100 @@
+package com.ecommerce.customer.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Login throttling configuration.
+ * Can be configured via application.yml with prefix 'customer.login-throttle'.
+ *
+ * Failed logins are counted in Redis over a sliding window, per email and per client IP.
+ * When disabled, or while Redis is unreachable, failures are counted on the customer row instead.
+ */
+@ConfigurationProperties(prefix = "customer.login-throttle")
+public class LoginThrottleProperties {
+
+    /**
+     * Whether failed logins are counted in Redis.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Sliding window over which failed logins are counted.
+     * Default: 15m
+     */
+    private Duration window = Duration.ofMinutes(15);
+
+    /**
+     * Failed logins for one email within the window that lock the account.
+     * Default: 5
+     */
+    private int maxFailuresPerEmail = 5;
+
+    /**
+     * Failed logins from one client IP within the window after which its attempts are refused with 429,
+     * whichever emails they target.
+     * Default: 20
+     */
+    private int maxFailuresPerIp = 20;
+
+    /**
+     * How long an account stays locked.
+     * Default: 30m
+     */
+    private Duration lockDuration = Duration.ofMinutes(30);
+
+    /**
+     * Prefix of the Redis keys holding failure windows and locks.
+     * Default: login:
+     */
+    private String keyPrefix = "login:";
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getWindow() {
+        return window;
+    }
+
+    public void setWindow(Duration window) {
+        this.window = window;
+    }
+
+    public int getMaxFailuresPerEmail() {
+        return maxFailuresPerEmail;
+    }
+
+    public void setMaxFailuresPerEmail(int maxFailuresPerEmail) {
+        this.maxFailuresPerEmail = maxFailuresPerEmail;
+    }
+
+    public int getMaxFailuresPerIp() {
+        return maxFailuresPerIp;
+    }
+
+    public void setMaxFailuresPerIp(int maxFailuresPerIp) {
+        this.maxFailuresPerIp = maxFailuresPerIp;
+    }
+
+    public Duration getLockDuration() {
+        return lockDuration;
+    }
+
+    public void setLockDuration(Duration lockDuration) {
+        this.lockDuration = lockDuration;
+    }
+
+    public String getKeyPrefix() {
+        return keyPrefix;
+    }
+
+    public void setKeyPrefix(String keyPrefix) {
+        this.keyPrefix = keyPrefix;
+    }
+}
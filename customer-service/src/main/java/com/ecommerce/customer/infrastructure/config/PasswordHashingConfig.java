@@ -0,0 +1,21 @@
+package com.ecommerce.customer.infrastructure.config;
+
+import com.ecommerce.customer.infrastructure.security.PasswordHashingService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Password hashing configuration.
+ */
+@Configuration
+@EnableConfigurationProperties(PasswordHashingProperties.class)
+public class PasswordHashingConfig {
+
+    @Bean
+    public PasswordHashingService passwordHashingService(PasswordHashingProperties properties,
+                                                         MeterRegistry meterRegistry) {
+        return new PasswordHashingService(properties, meterRegistry);
+    }
+}
@@ -0,0 +1,136 @@
+package com.ecommerce.customer.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Password hashing configuration.
+ * Can be configured via application.yml with prefix 'customer.password-hashing'.
+ *
+ * Changing the algorithm or raising its cost applies to new passwords right away; existing hashes
+ * are upgraded the next time their owner logs in.
+ */
+@ConfigurationProperties(prefix = "customer.password-hashing")
+public class PasswordHashingProperties {
+
+    /**
+     * Hashing algorithms for new passwords.
+     */
+    public enum Algorithm {
+        BCRYPT,
+        ARGON2ID
+    }
+
+    /**
+     * Algorithm used to hash new and upgraded passwords.
+     * Default: BCRYPT
+     */
+    private Algorithm algorithm = Algorithm.BCRYPT;
+
+    /**
+     * BCrypt log rounds, from 4 to 31. Each step doubles the hashing time.
+     * Default: 12
+     */
+    private int bcryptStrength = 12;
+
+    /**
+     * Argon2id memory cost in KiB.
+     * Default: 19456 (19 MiB)
+     */
+    private int argon2MemoryKib = 19456;
+
+    /**
+     * Argon2id iterations.
+     * Default: 2
+     */
+    private int argon2Iterations = 2;
+
+    /**
+     * Argon2id lanes.
+     * Default: 1
+     */
+    private int argon2Parallelism = 1;
+
+    /**
+     * Threads hashing and verifying passwords. Hashing is CPU-bound, so more threads than cores only adds latency.
+     * Default: number of available processors
+     */
+    private int threads = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Hashing requests allowed to wait for a thread; further requests are refused with 503 immediately.
+     * Default: 64
+     */
+    private int queueCapacity = 64;
+
+    /**
+     * Longest a request waits for its hash, queueing included, before it is refused with 503.
+     * Default: 5s
+     */
+    private Duration maxWait = Duration.ofSeconds(5);
+
+    public Algorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    public void setAlgorithm(Algorithm algorithm) {
+        this.algorithm = algorithm;
+    }
+
+    public int getBcryptStrength() {
+        return bcryptStrength;
+    }
+
+    public void setBcryptStrength(int bcryptStrength) {
+        this.bcryptStrength = bcryptStrength;
+    }
+
+    public int getArgon2MemoryKib() {
+        return argon2MemoryKib;
+    }
+
+    public void setArgon2MemoryKib(int argon2MemoryKib) {
+        this.argon2MemoryKib = argon2MemoryKib;
+    }
+
+    public int getArgon2Iterations() {
+        return argon2Iterations;
+    }
+
+    public void setArgon2Iterations(int argon2Iterations) {
+        this.argon2Iterations = argon2Iterations;
+    }
+
+    public int getArgon2Parallelism() {
+        return argon2Parallelism;
+    }
+
+    public void setArgon2Parallelism(int argon2Parallelism) {
+        this.argon2Parallelism = argon2Parallelism;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public Duration getMaxWait() {
+        return maxWait;
+    }
+
+    public void setMaxWait(Duration maxWait) {
+        this.maxWait = maxWait;
+    }
+}
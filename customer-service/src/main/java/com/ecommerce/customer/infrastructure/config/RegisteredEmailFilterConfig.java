@@ -0,0 +1,28 @@
+package com.ecommerce.customer.infrastructure.config;
+
+import com.ecommerce.customer.infrastructure.cache.RegisteredEmailFilter;
+import com.ecommerce.customer.infrastructure.persistence.repository.JpaCustomerRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Registered email filter configuration.
+ */
+@Configuration
+@EnableConfigurationProperties(RegisteredEmailFilterProperties.class)
+public class RegisteredEmailFilterConfig {
+
+    @Bean
+    public RegisteredEmailFilter registeredEmailFilter(RegisteredEmailFilterProperties properties,
+                                                       JpaCustomerRepository customerRepository,
+                                                       PlatformTransactionManager transactionManager,
+                                                       MeterRegistry meterRegistry) {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        return new RegisteredEmailFilter(properties, customerRepository, readOnly, meterRegistry);
+    }
+}
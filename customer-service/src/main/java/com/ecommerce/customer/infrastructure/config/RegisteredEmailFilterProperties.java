@@ -0,0 +1,55 @@
+package com.ecommerce.customer.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Registered email filter configuration.
+ * Can be configured via application.yml with prefix 'customer.registered-email-filter'.
+ *
+ * The filter lets registration skip the email lookup for addresses that are certainly new.
+ * Its memory is fixed at startup from the expected number of customers and the false positive rate.
+ */
+@ConfigurationProperties(prefix = "customer.registered-email-filter")
+public class RegisteredEmailFilterProperties {
+
+    /**
+     * Whether registration consults the filter before looking the email up.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Number of registered emails the filter is sized for. Past it, false positives grow quickly.
+     * Default: 1000000
+     */
+    private long expectedInsertions = 1_000_000;
+
+    /**
+     * Share of new emails wrongly reported as possibly registered, at the expected size.
+     * Default: 0.01
+     */
+    private double falsePositiveRate = 0.01;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getExpectedInsertions() {
+        return expectedInsertions;
+    }
+
+    public void setExpectedInsertions(long expectedInsertions) {
+        this.expectedInsertions = expectedInsertions;
+    }
+
+    public double getFalsePositiveRate() {
+        return falsePositiveRate;
+    }
+
+    public void setFalsePositiveRate(double falsePositiveRate) {
+        this.falsePositiveRate = falsePositiveRate;
+    }
+}
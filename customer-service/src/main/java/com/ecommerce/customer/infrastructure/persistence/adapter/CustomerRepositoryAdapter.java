@@ -2,32 +2,77 @@ package com.ecommerce.customer.infrastructure.persistence.adapter;
 
 import com.ecommerce.customer.domain.model.Customer;
 import com.ecommerce.customer.domain.model.CustomerId;
+import com.ecommerce.customer.domain.model.CustomerStatus;
 import com.ecommerce.customer.domain.model.Password;
 import com.ecommerce.customer.domain.repository.CustomerRepository;
 import com.ecommerce.customer.infrastructure.persistence.entity.CustomerEntity;
 import com.ecommerce.customer.infrastructure.persistence.repository.JpaCustomerRepository;
 import com.ecommerce.shared.vo.Email;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.IncorrectUpdateSemanticsDataAccessException;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.util.Optional;
 
 /**
  * Adapter that implements CustomerRepository using JPA.
+ *
+ * New customers are inserted; existing ones are written with a single UPDATE of only the columns the
+ * aggregate reports as changed, or not at all when nothing changed. Failed logins are added to the
+ * stored count in that UPDATE rather than overwriting it; the resulting count is read back and handed
+ * to the aggregate, and a second UPDATE writes the lock if failures saved concurrently brought it to
+ * the limit.
+ *
+ * Updates are not checked against the version the customer was loaded with: concurrent saves each write
+ * their own columns, and the last one to write a column wins. Only failed logins, which concurrent
+ * requests typically change together, are merged instead. The version is still incremented, so it keeps
+ * counting writes as it would for {@link CustomerEntity} saves.
+ *
+ * The aggregate's domain events are published once it is written, in the same transaction, so
+ * transactional listeners see them only if the write commits.
  */
 @Component
 public class CustomerRepositoryAdapter implements CustomerRepository {
 
     private final JpaCustomerRepository jpaRepository;
+    private final EntityManager entityManager;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public CustomerRepositoryAdapter(JpaCustomerRepository jpaRepository) {
+    public CustomerRepositoryAdapter(JpaCustomerRepository jpaRepository, EntityManager entityManager,
+                                     ApplicationEventPublisher eventPublisher) {
         this.jpaRepository = jpaRepository;
+        this.entityManager = entityManager;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
+    @Transactional
     public Customer save(Customer customer) {
-        CustomerEntity entity = toEntity(customer);
-        entity = jpaRepository.save(entity);
-        return toDomain(entity);
+        if (customer.isNew()) {
+            // Flushed here so a duplicate email fails this call with DataIntegrityViolationException
+            jpaRepository.saveAndFlush(toEntity(customer));
+        } else if (customer.hasChanges()) {
+            boolean failedLogins = customer.getFailedLoginIncrement() > 0;
+            update(customer);
+            if (failedLogins) {
+                customer.markPersisted();
+                customer.failedLoginAttemptsStored(storedFailedLoginAttempts(customer.getId()));
+                if (customer.hasChanges()) {
+                    update(customer);
+                }
+            }
+        }
+        customer.markPersisted();
+        customer.getDomainEvents().forEach(eventPublisher::publishEvent);
+        customer.clearDomainEvents();
+        return customer;
     }
 
     @Override
@@ -52,6 +97,53 @@ public class CustomerRepositoryAdapter implements CustomerRepository {
         jpaRepository.deleteById(customer.getId().getValue());
     }
 
+    private void update(Customer customer) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<CustomerEntity> update = cb.createCriteriaUpdate(CustomerEntity.class);
+        Root<CustomerEntity> root = update.from(CustomerEntity.class);
+
+        for (Customer.Field field : customer.getChangedFields()) {
+            switch (field) {
+                case PASSWORD -> update.set(root.<String>get("passwordHash"), customer.getPassword().getHashedValue());
+                case NAME -> update.set(root.<String>get("name"), customer.getName());
+                case STATUS -> update.set(root.<CustomerStatus>get("status"), customer.getStatus());
+                case FAILED_LOGIN_ATTEMPTS -> update.set(root.<Integer>get("failedLoginAttempts"),
+                        customer.getFailedLoginAttempts());
+                case LOCKED_UNTIL -> {
+                    Path<Instant> lockedUntil = root.get("lockedUntil");
+                    update.set(lockedUntil, customer.getLockedUntil() != null
+                            ? cb.literal(customer.getLockedUntil()) : cb.nullLiteral(Instant.class));
+                }
+            }
+        }
+        if (customer.getFailedLoginIncrement() > 0) {
+            Path<Integer> failedLoginAttempts = root.get("failedLoginAttempts");
+            update.set(failedLoginAttempts, cb.sum(failedLoginAttempts, customer.getFailedLoginIncrement()));
+        }
+        update.set(root.<Instant>get("updatedAt"), customer.getUpdatedAt());
+        // A bulk update bypasses @Version; incremented to count the write, not checked
+        Path<Integer> version = root.get("version");
+        update.set(version, cb.sum(version, 1));
+        update.where(cb.equal(root.get("id"), customer.getId().getValue()));
+
+        int rows = entityManager.createQuery(update).executeUpdate();
+        if (rows != 1) {
+            throw new IncorrectUpdateSemanticsDataAccessException(
+                    "Customer " + customer.getId().asString() + " no longer exists");
+        }
+    }
+
+    /**
+     * The stored failed login count, including this transaction's increment; the row stays locked
+     * by the UPDATE until commit, so no concurrent increment can land in between.
+     */
+    private int storedFailedLoginAttempts(CustomerId id) {
+        return entityManager.createQuery(
+                        "select c.failedLoginAttempts from CustomerEntity c where c.id = :id", Integer.class)
+                .setParameter("id", id.getValue())
+                .getSingleResult();
+    }
+
     private CustomerEntity toEntity(Customer customer) {
         return new CustomerEntity(
                 customer.getId().getValue(),
@@ -2,18 +2,20 @@ package com.ecommerce.customer.infrastructure.persistence.entity;
 
 import com.ecommerce.customer.domain.model.CustomerStatus;
 import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
 
 import java.time.Instant;
 import java.util.UUID;
 
 /**
  * JPA Entity for Customer.
+ * Entities built from a new customer are inserted directly, without first selecting by id.
  */
 @Entity
 @Table(name = "customers", indexes = {
         @Index(name = "idx_customers_email", columnList = "email", unique = true)
 })
-public class CustomerEntity {
+public class CustomerEntity implements Persistable<UUID> {
 
     @Id
     @Column(name = "id", nullable = false, updatable = false)
@@ -48,6 +50,9 @@ public class CustomerEntity {
     @Column(name = "version")
     private int version;
 
+    @Transient
+    private boolean newEntity;
+
     // Default constructor for JPA
     protected CustomerEntity() {
     }
@@ -64,6 +69,18 @@ public class CustomerEntity {
         this.lockedUntil = lockedUntil;
         this.createdAt = createdAt;
         this.updatedAt = updatedAt;
+        this.newEntity = true;
+    }
+
+    @Override
+    public boolean isNew() {
+        return newEntity;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.newEntity = false;
     }
 
     // Getters and Setters
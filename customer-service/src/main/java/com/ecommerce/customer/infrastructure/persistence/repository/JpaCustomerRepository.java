@@ -1,11 +1,17 @@
 package com.ecommerce.customer.infrastructure.persistence.repository;
 
 import com.ecommerce.customer.infrastructure.persistence.entity.CustomerEntity;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 /**
  * Spring Data JPA Repository for CustomerEntity.
@@ -16,4 +22,11 @@ public interface JpaCustomerRepository extends JpaRepository<CustomerEntity, UUI
     Optional<CustomerEntity> findByEmail(String email);
 
     boolean existsByEmail(String email);
+
+    /**
+     * Every stored email, read in batches. Must be called in a transaction and the stream closed.
+     */
+    @Query("select c.email from CustomerEntity c")
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    Stream<String> streamAllEmails();
 }
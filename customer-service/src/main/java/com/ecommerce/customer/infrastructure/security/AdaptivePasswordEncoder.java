@@ -0,0 +1,69 @@
+package com.ecommerce.customer.infrastructure.security;
+
+import com.ecommerce.customer.infrastructure.config.PasswordHashingProperties;
+import com.ecommerce.customer.infrastructure.config.PasswordHashingProperties.Algorithm;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Password encoder that hashes with the configured algorithm and cost, and verifies hashes of
+ * any supported algorithm and cost. Hashes are stored bare, in their algorithm's own format
+ * ({@code $2a$...} or {@code $argon2id$...}), so existing BCrypt hashes need no migration.
+ *
+ * {@link #upgradeEncoding} reports hashes of another algorithm, or of a lower cost, for rehashing on login.
+ */
+public class AdaptivePasswordEncoder implements PasswordEncoder {
+
+    private static final String ARGON2_PREFIX = "$argon2";
+
+    private final Algorithm algorithm;
+    private final BCryptPasswordEncoder bcrypt;
+    private final Argon2PasswordEncoder argon2;
+
+    public AdaptivePasswordEncoder(PasswordHashingProperties properties) {
+        this.algorithm = properties.getAlgorithm();
+        this.bcrypt = new BCryptPasswordEncoder(properties.getBcryptStrength());
+        this.argon2 = new Argon2PasswordEncoder(16, 32, properties.getArgon2Parallelism(),
+                properties.getArgon2MemoryKib(), properties.getArgon2Iterations());
+    }
+
+    /**
+     * The algorithm new hashes are produced with.
+     */
+    public Algorithm algorithm() {
+        return algorithm;
+    }
+
+    /**
+     * The algorithm an existing hash was produced with.
+     */
+    public static Algorithm algorithmOf(String encodedPassword) {
+        return encodedPassword != null && encodedPassword.startsWith(ARGON2_PREFIX) ? Algorithm.ARGON2ID : Algorithm.BCRYPT;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return encoderFor(algorithm).encode(rawPassword);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return encoderFor(algorithmOf(encodedPassword)).matches(rawPassword, encodedPassword);
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null || encodedPassword.isEmpty()) {
+            return false;
+        }
+        if (algorithmOf(encodedPassword) != algorithm) {
+            return true;
+        }
+        return encoderFor(algorithm).upgradeEncoding(encodedPassword);
+    }
+
+    private PasswordEncoder encoderFor(Algorithm hashAlgorithm) {
+        return hashAlgorithm == Algorithm.ARGON2ID ? argon2 : bcrypt;
+    }
+}
@@ -0,0 +1,201 @@
+package com.ecommerce.customer.infrastructure.security;
+
+import com.ecommerce.customer.application.exception.AccountLockedException;
+import com.ecommerce.customer.application.exception.TooManyLoginAttemptsException;
+import com.ecommerce.customer.domain.port.LoginThrottlePort;
+import com.ecommerce.customer.infrastructure.config.LoginThrottleProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Counts failed logins in Redis over a sliding window, per email and per client IP, and holds account
+ * locks there, so a burst of bad attempts is refused before it costs a database read or a password hash.
+ * Each window is a sorted set of failure timestamps; every check and update is a single script call.
+ *
+ * Redis being unreachable never blocks a login: attempts are let through and failures reported as
+ * {@link Failure#UNRECORDED unrecorded}, for the caller to count on the customer row instead.
+ */
+public class LoginThrottle implements LoginThrottlePort {
+
+    private static final Logger log = LoggerFactory.getLogger(LoginThrottle.class);
+
+    // KEYS: lock, [ip window]; ARGV: now, window, max failures per IP
+    // Returns {0, 0} if allowed, {1, remaining lock ms} if locked, {2, retry after ms} if the IP is throttled
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> CHECK = RedisScript.of("""
+            local locked = redis.call('PTTL', KEYS[1])
+            if locked > 0 then
+              return {1, locked}
+            end
+            if #KEYS > 1 then
+              local now = tonumber(ARGV[1])
+              local window = tonumber(ARGV[2])
+              redis.call('ZREMRANGEBYSCORE', KEYS[2], '-inf', now - window)
+              if redis.call('ZCARD', KEYS[2]) >= tonumber(ARGV[3]) then
+                local oldest = redis.call('ZRANGE', KEYS[2], 0, 0, 'WITHSCORES')
+                return {2, tonumber(oldest[2]) + window - now}
+              end
+            end
+            return {0, 0}
+            """, List.class);
+
+    // KEYS: lock, email window, [ip window]; ARGV: now, window, member, max failures per email, lock ms
+    // Returns {0, 0} if counted, {1, lock ms} if this failure locked the account, {2, remaining lock ms} if already locked
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> RECORD_FAILURE = RedisScript.of("""
+            local now = tonumber(ARGV[1])
+            local window = tonumber(ARGV[2])
+            for i = 2, #KEYS do
+              redis.call('ZREMRANGEBYSCORE', KEYS[i], '-inf', now - window)
+              redis.call('ZADD', KEYS[i], now, ARGV[3])
+              redis.call('PEXPIRE', KEYS[i], window)
+            end
+            local locked = redis.call('PTTL', KEYS[1])
+            if locked > 0 then
+              return {2, locked}
+            end
+            if redis.call('ZCARD', KEYS[2]) >= tonumber(ARGV[4]) then
+              redis.call('SET', KEYS[1], '1', 'PX', ARGV[5])
+              redis.call('DEL', KEYS[2])
+              return {1, tonumber(ARGV[5])}
+            end
+            return {0, 0}
+            """, List.class);
+
+    private final LoginThrottleProperties properties;
+    private final StringRedisTemplate redisTemplate;
+    private final Counter lockedRejections;
+    private final Counter throttledRejections;
+    private final Counter locks;
+    private final Counter errors;
+
+    public LoginThrottle(LoginThrottleProperties properties, StringRedisTemplate redisTemplate,
+                         MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.redisTemplate = redisTemplate;
+        this.lockedRejections = Counter.builder("customer.login.rejected")
+                .description("Login attempts refused before reading the customer")
+                .tag("reason", "locked")
+                .register(meterRegistry);
+        this.throttledRejections = Counter.builder("customer.login.rejected")
+                .description("Login attempts refused before reading the customer")
+                .tag("reason", "throttled")
+                .register(meterRegistry);
+        this.locks = Counter.builder("customer.login.locks")
+                .description("Accounts locked after too many failed logins")
+                .register(meterRegistry);
+        this.errors = Counter.builder("customer.login.throttle.errors")
+                .description("Login throttle calls that failed to reach Redis")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Refuses an attempt on a locked account, or from a client IP with too many recent failures.
+     *
+     * @param clientIp the client address, or null if unknown
+     * @throws AccountLockedException        if the account is locked
+     * @throws TooManyLoginAttemptsException if the client IP is throttled
+     */
+    @Override
+    public void checkAllowed(String email, String clientIp) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        List<Long> result = run(CHECK, clientIp != null
+                        ? List.of(lockKey(email), ipKey(clientIp)) : List.of(lockKey(email)),
+                String.valueOf(now), String.valueOf(properties.getWindow().toMillis()),
+                String.valueOf(properties.getMaxFailuresPerIp()));
+        if (result == null) {
+            return;
+        }
+        long state = result.get(0);
+        if (state == 1) {
+            lockedRejections.increment();
+            throw new AccountLockedException(Instant.ofEpochMilli(now + result.get(1)));
+        }
+        if (state == 2) {
+            throttledRejections.increment();
+            throw new TooManyLoginAttemptsException(Duration.ofMillis(Math.max(0, result.get(1))));
+        }
+    }
+
+    /**
+     * Counts a failed login against the email and the client IP, locking the account when the
+     * email's failures reach the limit.
+     *
+     * @param clientIp the client address, or null if unknown
+     */
+    @Override
+    public Failure recordFailure(String email, String clientIp) {
+        if (!properties.isEnabled()) {
+            return Failure.UNRECORDED;
+        }
+        long now = System.currentTimeMillis();
+        List<String> keys = clientIp != null
+                ? List.of(lockKey(email), emailKey(email), ipKey(clientIp))
+                : List.of(lockKey(email), emailKey(email));
+        List<Long> result = run(RECORD_FAILURE, keys,
+                String.valueOf(now), String.valueOf(properties.getWindow().toMillis()),
+                now + ":" + UUID.randomUUID(), String.valueOf(properties.getMaxFailuresPerEmail()),
+                String.valueOf(properties.getLockDuration().toMillis()));
+        if (result == null) {
+            return Failure.UNRECORDED;
+        }
+        long state = result.get(0);
+        Instant lockedUntil = state == 0 ? null : Instant.ofEpochMilli(now + result.get(1));
+        if (state == 1) {
+            locks.increment();
+        }
+        return new Failure(true, state == 1, lockedUntil);
+    }
+
+    /**
+     * Clears the email's failures after a successful login. The client IP's failures keep counting.
+     */
+    @Override
+    public void recordSuccess(String email) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            redisTemplate.delete(emailKey(email));
+        } catch (DataAccessException e) {
+            errors.increment();
+            log.warn("Could not clear failed logins in Redis: {}", e.getMessage());
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private List<Long> run(RedisScript<List> script, List<String> keys, Object... args) {
+        try {
+            return (List<Long>) redisTemplate.execute(script, keys, args);
+        } catch (DataAccessException e) {
+            errors.increment();
+            log.warn("Login throttle unavailable, falling back to the database: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private String lockKey(String email) {
+        return properties.getKeyPrefix() + "lock:" + email;
+    }
+
+    private String emailKey(String email) {
+        return properties.getKeyPrefix() + "failures:email:" + email;
+    }
+
+    private String ipKey(String clientIp) {
+        return properties.getKeyPrefix() + "failures:ip:" + clientIp;
+    }
+}
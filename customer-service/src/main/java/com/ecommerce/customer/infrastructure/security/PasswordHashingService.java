@@ -0,0 +1,206 @@
+package com.ecommerce.customer.infrastructure.security;
+
+import com.ecommerce.customer.application.exception.ServiceBusyException;
+import com.ecommerce.customer.domain.model.Password;
+import com.ecommerce.customer.domain.port.PasswordHashingPort;
+import com.ecommerce.customer.infrastructure.config.PasswordHashingProperties;
+import com.ecommerce.customer.infrastructure.config.PasswordHashingProperties.Algorithm;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Hashes and verifies passwords on a small dedicated pool, so the CPU-heavy work is bounded by the
+ * pool size rather than by the number of request threads, and never runs while a request holds a
+ * database connection.
+ *
+ * When the pool's queue is full, or a hash is not done within the configured wait, the request is
+ * refused with {@link ServiceBusyException} instead of piling up behind the others.
+ */
+public class PasswordHashingService implements PasswordHashingPort, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(PasswordHashingService.class);
+
+    private static final Duration RETRY_AFTER = Duration.ofSeconds(1);
+
+    private final AdaptivePasswordEncoder encoder;
+    private final ThreadPoolExecutor executor;
+    private final Duration maxWait;
+    private final Timer encodeTimer;
+    private final Map<Algorithm, Timer> verifyTimers = new EnumMap<>(Algorithm.class);
+    private final Timer queueWaitTimer;
+    private final Counter queueFull;
+    private final Counter timedOut;
+    private final Counter rehashed;
+
+    public PasswordHashingService(PasswordHashingProperties properties, MeterRegistry meterRegistry) {
+        this.encoder = new AdaptivePasswordEncoder(properties);
+        this.maxWait = properties.getMaxWait();
+        this.executor = new ThreadPoolExecutor(properties.getThreads(), properties.getThreads(),
+                0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                new CustomizableThreadFactory("password-hash-"), new ThreadPoolExecutor.AbortPolicy());
+
+        this.encodeTimer = Timer.builder("customer.password.hash")
+                .description("Time spent hashing or verifying a password")
+                .tag("operation", "encode")
+                .tag("algorithm", tagValue(encoder.algorithm()))
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        for (Algorithm algorithm : Algorithm.values()) {
+            verifyTimers.put(algorithm, Timer.builder("customer.password.hash")
+                    .description("Time spent hashing or verifying a password")
+                    .tag("operation", "verify")
+                    .tag("algorithm", tagValue(algorithm))
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .register(meterRegistry));
+        }
+        this.queueWaitTimer = Timer.builder("customer.password.hash.queue.wait")
+                .description("Time a password hash waited for a hashing thread")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        Gauge.builder("customer.password.hash.queue", executor, e -> e.getQueue().size())
+                .description("Password hashes waiting for a hashing thread")
+                .register(meterRegistry);
+        Gauge.builder("customer.password.hash.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Password hashes in progress")
+                .register(meterRegistry);
+        this.queueFull = Counter.builder("customer.password.hash.rejected")
+                .description("Password hashes refused to protect the hashing pool")
+                .tag("reason", "queue_full")
+                .register(meterRegistry);
+        this.timedOut = Counter.builder("customer.password.hash.rejected")
+                .description("Password hashes refused to protect the hashing pool")
+                .tag("reason", "timeout")
+                .register(meterRegistry);
+        this.rehashed = Counter.builder("customer.password.rehash")
+                .description("Stored password hashes upgraded to the current algorithm or cost on login")
+                .register(meterRegistry);
+    }
+
+    private static String tagValue(Algorithm algorithm) {
+        return algorithm.name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Validates and hashes a new password with the current algorithm and cost.
+     *
+     * @throws IllegalArgumentException if the password does not meet the format rules
+     * @throws ServiceBusyException     if the hashing pool cannot take the work in time
+     */
+    @Override
+    public Password hash(String plainText) {
+        return submit(() -> {
+            long start = System.nanoTime();
+            try {
+                return Password.fromPlainText(plainText, encoder);
+            } finally {
+                encodeTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        });
+    }
+
+    /**
+     * Checks a login password against the stored hash. When it matches and the hash is below the
+     * current policy, the password is also rehashed, so the caller can store the upgraded hash.
+     *
+     * @throws ServiceBusyException if the hashing pool cannot take the work in time
+     */
+    @Override
+    public PasswordCheck verify(Password password, String plainText) {
+        return submit(() -> {
+            long start = System.nanoTime();
+            boolean matched;
+            try {
+                matched = password.matches(plainText, encoder);
+            } finally {
+                verifyTimers.get(AdaptivePasswordEncoder.algorithmOf(password.getHashedValue()))
+                        .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+            if (!matched || !password.needsRehash(encoder)) {
+                return new PasswordCheck(matched, null);
+            }
+            start = System.nanoTime();
+            Password upgraded = Password.fromHash(encoder.encode(plainText));
+            encodeTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            rehashed.increment();
+            return new PasswordCheck(true, upgraded);
+        });
+    }
+
+    /**
+     * Runs a task on the hashing pool and waits for its result.
+     */
+    <T> T submit(Callable<T> task) {
+        long queuedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                queueWaitTimer.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+                return task.call();
+            });
+        } catch (RejectedExecutionException e) {
+            queueFull.increment();
+            throw new ServiceBusyException("Password hashing queue is full", RETRY_AFTER);
+        }
+        try {
+            return future.get(maxWait.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            abandon(future);
+            timedOut.increment();
+            throw new ServiceBusyException("Password hashing did not complete within " + maxWait, RETRY_AFTER);
+        } catch (InterruptedException e) {
+            abandon(future);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("Password hashing failed", cause);
+        }
+    }
+
+    /**
+     * Frees the queue slot of work nobody waits for; a hash already running cannot be interrupted.
+     */
+    private void abandon(Future<?> future) {
+        future.cancel(false);
+        executor.remove((FutureTask<?>) future);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(maxWait.toMillis(), TimeUnit.MILLISECONDS)) {
+                log.warn("Password hashing pool did not finish within {}", maxWait);
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
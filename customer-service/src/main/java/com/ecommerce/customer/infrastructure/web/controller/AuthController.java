@@ -4,6 +4,7 @@ import com.ecommerce.customer.application.dto.*;
 import com.ecommerce.customer.application.usecase.AuthenticateCustomerUseCase;
 import com.ecommerce.customer.application.usecase.RefreshTokenUseCase;
 import com.ecommerce.customer.application.usecase.RegisterCustomerUseCase;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -46,11 +47,13 @@ public class AuthController {
     /**
      * Customer login.
      * POST /auth/login
+     * The client address is the one the gateway forwarded, resolved by Tomcat's remote IP handling.
      */
     @PostMapping("/login")
-    public ResponseEntity<AuthResponse> login(@Valid @RequestBody LoginCommand command) {
+    public ResponseEntity<AuthResponse> login(@Valid @RequestBody LoginCommand command,
+                                              HttpServletRequest request) {
         log.info("Login request for email: {}", command.email());
-        AuthResponse response = authenticateCustomerUseCase.execute(command);
+        AuthResponse response = authenticateCustomerUseCase.execute(command, request.getRemoteAddr());
         return ResponseEntity.ok(response);
     }
 
@@ -0,0 +1,7 @@
+-- Customer Service Database Schema
+-- Version: V2
+-- Description: Add the optimistic locking column mapped by CustomerEntity
+
+ALTER TABLE customers ADD COLUMN version INTEGER NOT NULL DEFAULT 0;
+
+COMMENT ON COLUMN customers.version IS '樂觀鎖版本號';
@@ -4,29 +4,43 @@ import com.ecommerce.customer.application.dto.AuthResponse;
 import com.ecommerce.customer.application.dto.LoginCommand;
 import com.ecommerce.customer.application.exception.AccountLockedException;
 import com.ecommerce.customer.application.exception.InvalidCredentialsException;
+import com.ecommerce.customer.application.exception.TooManyLoginAttemptsException;
 import com.ecommerce.customer.domain.model.Customer;
 import com.ecommerce.customer.domain.model.CustomerId;
 import com.ecommerce.customer.domain.model.CustomerStatus;
 import com.ecommerce.customer.domain.model.Password;
 import com.ecommerce.customer.domain.repository.CustomerRepository;
+import com.ecommerce.customer.infrastructure.config.LoginThrottleProperties;
+import com.ecommerce.customer.infrastructure.config.PasswordHashingProperties;
+import com.ecommerce.customer.infrastructure.security.LoginThrottle;
+import com.ecommerce.customer.infrastructure.security.PasswordHashingService;
 import com.ecommerce.security.jwt.JwtProperties;
 import com.ecommerce.security.jwt.JwtTokenProvider;
 import com.ecommerce.shared.vo.Email;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -44,21 +58,65 @@ class AuthenticateCustomerUseCaseTest {
     @Mock
     private JwtProperties jwtProperties;
 
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    private PasswordHashingService passwordHashingService;
+
     private AuthenticateCustomerUseCase useCase;
 
     private static final String TEST_EMAIL = "user@example.com";
     private static final String TEST_PASSWORD = "SecureP@ssw0rd";
+    private static final String CLIENT_IP = "203.0.113.7";
 
     @BeforeEach
     void setUp() {
-        useCase = new AuthenticateCustomerUseCase(customerRepository, jwtTokenProvider, jwtProperties);
+        passwordHashingService = hashingService(new PasswordHashingProperties());
+        // Failures are counted on the customer row unless a test turns the Redis throttle on
+        useCase = useCase(passwordHashingService, loginThrottle(false));
+    }
+
+    private AuthenticateCustomerUseCase useCase(PasswordHashingService hashing, LoginThrottle throttle) {
+        return new AuthenticateCustomerUseCase(customerRepository, jwtTokenProvider, jwtProperties, hashing, throttle);
+    }
+
+    private LoginThrottle loginThrottle(boolean enabled) {
+        LoginThrottleProperties properties = new LoginThrottleProperties();
+        properties.setEnabled(enabled);
+        return new LoginThrottle(properties, redisTemplate, new SimpleMeterRegistry());
+    }
+
+    @SafeVarargs
+    private void givenRedisReplies(List<Long>... replies) {
+        var stubbing = when(redisTemplate.execute(ArgumentMatchers.<RedisScript<List<Long>>>any(), anyList(), any(Object[].class)));
+        for (List<Long> reply : replies) {
+            stubbing = stubbing.thenReturn(reply);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        passwordHashingService.close();
+    }
+
+    private static PasswordHashingService hashingService(PasswordHashingProperties properties) {
+        properties.setThreads(1);
+        return new PasswordHashingService(properties, new SimpleMeterRegistry());
+    }
+
+    private void givenSuccessfulLogin(Customer customer) {
+        when(customerRepository.findByEmail(any(Email.class))).thenReturn(Optional.of(customer));
+        when(customerRepository.save(any(Customer.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(jwtTokenProvider.generateAccessToken(any(), any(), any())).thenReturn("access-token");
+        when(jwtTokenProvider.generateRefreshToken(any(), any(), any())).thenReturn("refresh-token");
+        when(jwtProperties.getAccessTokenExpiration()).thenReturn(Duration.ofMinutes(15));
     }
 
     private Customer createActiveCustomer() {
         return new Customer(
                 CustomerId.generate(),
                 Email.of(TEST_EMAIL),
-                Password.fromPlainText(TEST_PASSWORD),
+                passwordHashingService.hash(TEST_PASSWORD),
                 "Test User",
                 CustomerStatus.ACTIVE,
                 0,
@@ -72,7 +130,7 @@ class AuthenticateCustomerUseCaseTest {
         return new Customer(
                 CustomerId.generate(),
                 Email.of(TEST_EMAIL),
-                Password.fromPlainText(TEST_PASSWORD),
+                passwordHashingService.hash(TEST_PASSWORD),
                 "Test User",
                 CustomerStatus.LOCKED,
                 5,
@@ -177,4 +235,178 @@ class AuthenticateCustomerUseCaseTest {
         verify(jwtTokenProvider).generateAccessToken(any(), eq(TEST_EMAIL), eq("CUSTOMER"));
         verify(jwtTokenProvider).generateRefreshToken(any(), eq(TEST_EMAIL), eq("CUSTOMER"));
     }
+
+    @Test
+    @DisplayName("雜湊策略變更後登入應該升級密碼雜湊")
+    void shouldUpgradePasswordHashWhenPolicyChanged() {
+        // Given
+        PasswordHashingProperties argon2 = new PasswordHashingProperties();
+        argon2.setAlgorithm(PasswordHashingProperties.Algorithm.ARGON2ID);
+        argon2.setArgon2MemoryKib(1024);
+        argon2.setArgon2Iterations(1);
+        passwordHashingService.close();
+        passwordHashingService = hashingService(argon2);
+        useCase = useCase(passwordHashingService, loginThrottle(false));
+
+        Customer customer = createActiveCustomer();
+        givenSuccessfulLogin(customer);
+
+        // When
+        useCase.execute(new LoginCommand(TEST_EMAIL, TEST_PASSWORD));
+
+        // Then
+        ArgumentCaptor<Customer> saved = ArgumentCaptor.forClass(Customer.class);
+        verify(customerRepository).save(saved.capture());
+        assertThat(saved.getValue().getPassword().getHashedValue()).startsWith("$argon2id$");
+        assertThat(passwordHashingService.verify(saved.getValue().getPassword(), TEST_PASSWORD).matched()).isTrue();
+    }
+
+    @Test
+    @DisplayName("雜湊符合目前策略時不應該重新雜湊")
+    void shouldKeepPasswordHashWhenPolicyUnchanged() {
+        // Given
+        Customer customer = createActiveCustomer();
+        String originalHash = customer.getPassword().getHashedValue();
+        givenSuccessfulLogin(customer);
+
+        // When
+        useCase.execute(new LoginCommand(TEST_EMAIL, TEST_PASSWORD));
+
+        // Then
+        ArgumentCaptor<Customer> saved = ArgumentCaptor.forClass(Customer.class);
+        verify(customerRepository).save(saved.capture());
+        assertThat(saved.getValue().getPassword().getHashedValue()).isEqualTo(originalHash);
+    }
+
+    @Test
+    @DisplayName("帳號被鎖定時不應該驗證密碼也不應該儲存")
+    void shouldNotVerifyPasswordWhenAccountLocked() {
+        // Given
+        PasswordHashingService hashing = mock(PasswordHashingService.class);
+        useCase = useCase(hashing, loginThrottle(false));
+        when(customerRepository.findByEmail(any(Email.class))).thenReturn(Optional.of(createLockedCustomer()));
+
+        // When/Then
+        assertThatThrownBy(() -> useCase.execute(new LoginCommand(TEST_EMAIL, TEST_PASSWORD)))
+                .isInstanceOf(AccountLockedException.class);
+
+        verifyNoInteractions(hashing);
+        verify(customerRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Redis 中已鎖定的帳號應該在讀取資料庫與驗證密碼前被拒絕")
+    void shouldRejectLockedAccountBeforeDatabaseRead() {
+        // Given
+        PasswordHashingService hashing = mock(PasswordHashingService.class);
+        useCase = useCase(hashing, loginThrottle(true));
+        givenRedisReplies(List.of(1L, 600_000L));
+
+        // When/Then
+        assertThatThrownBy(() -> useCase.execute(new LoginCommand(TEST_EMAIL, TEST_PASSWORD), CLIENT_IP))
+                .isInstanceOf(AccountLockedException.class);
+
+        verify(customerRepository, never()).findByEmail(any());
+        verifyNoInteractions(hashing);
+    }
+
+    @Test
+    @DisplayName("IP 失敗次數過多時應該拋出 TooManyLoginAttemptsException")
+    void shouldThrottleClientIp() {
+        // Given
+        useCase = useCase(passwordHashingService, loginThrottle(true));
+        givenRedisReplies(List.of(2L, 30_000L));
+
+        // When/Then
+        assertThatThrownBy(() -> useCase.execute(new LoginCommand(TEST_EMAIL, TEST_PASSWORD), CLIENT_IP))
+                .isInstanceOf(TooManyLoginAttemptsException.class)
+                .extracting("retryAfter")
+                .isEqualTo(Duration.ofSeconds(30));
+
+        verify(customerRepository, never()).findByEmail(any());
+    }
+
+    @Test
+    @DisplayName("Redis 計數時密碼錯誤不應該寫入資料庫")
+    void shouldNotWriteFailedLoginCountedInRedis() {
+        // Given
+        useCase = useCase(passwordHashingService, loginThrottle(true));
+        when(customerRepository.findByEmail(any(Email.class))).thenReturn(Optional.of(createActiveCustomer()));
+        givenRedisReplies(List.of(0L, 0L), List.of(0L, 0L));
+
+        // When/Then
+        assertThatThrownBy(() -> useCase.execute(new LoginCommand(TEST_EMAIL, "WrongP@ss1"), CLIENT_IP))
+                .isInstanceOf(InvalidCredentialsException.class);
+
+        verify(customerRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("失敗導致鎖定時應該只寫入一次鎖定狀態")
+    void shouldPersistOnlyTheTransitionToLocked() {
+        // Given
+        useCase = useCase(passwordHashingService, loginThrottle(true));
+        when(customerRepository.findByEmail(any(Email.class))).thenReturn(Optional.of(createActiveCustomer()));
+        when(customerRepository.save(any(Customer.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        givenRedisReplies(List.of(0L, 0L), List.of(1L, 1_800_000L));
+
+        // When/Then
+        assertThatThrownBy(() -> useCase.execute(new LoginCommand(TEST_EMAIL, "WrongP@ss1"), CLIENT_IP))
+                .isInstanceOf(AccountLockedException.class);
+
+        ArgumentCaptor<Customer> saved = ArgumentCaptor.forClass(Customer.class);
+        verify(customerRepository).save(saved.capture());
+        assertThat(saved.getValue().getStatus()).isEqualTo(CustomerStatus.LOCKED);
+        assertThat(saved.getValue().getLockedUntil()).isAfter(Instant.now().plusSeconds(1700));
+        assertThat(saved.getValue().getChangedFields())
+                .containsExactlyInAnyOrder(Customer.Field.STATUS, Customer.Field.LOCKED_UNTIL);
+    }
+
+    @Test
+    @DisplayName("不存在的 email 也應該計入失敗次數")
+    void shouldCountUnknownEmailAsFailure() {
+        // Given
+        useCase = useCase(passwordHashingService, loginThrottle(true));
+        when(customerRepository.findByEmail(any(Email.class))).thenReturn(Optional.empty());
+        givenRedisReplies(List.of(0L, 0L), List.of(0L, 0L));
+
+        // When/Then
+        assertThatThrownBy(() -> useCase.execute(new LoginCommand("notfound@example.com", "Password1234"), CLIENT_IP))
+                .isInstanceOf(InvalidCredentialsException.class);
+
+        verify(redisTemplate, times(2)).execute(ArgumentMatchers.<RedisScript<List<Long>>>any(), anyList(), any(Object[].class));
+    }
+
+    @Test
+    @DisplayName("登入成功應該清除該 email 的失敗紀錄")
+    void shouldClearEmailFailuresOnSuccess() {
+        // Given
+        useCase = useCase(passwordHashingService, loginThrottle(true));
+        givenSuccessfulLogin(createActiveCustomer());
+        givenRedisReplies(List.of(0L, 0L));
+
+        // When
+        useCase.execute(new LoginCommand(TEST_EMAIL, TEST_PASSWORD), CLIENT_IP);
+
+        // Then
+        verify(redisTemplate).delete("login:failures:email:" + TEST_EMAIL);
+    }
+
+    @Test
+    @DisplayName("Redis 無法使用時應該改以資料庫計數")
+    void shouldFallBackToDatabaseWhenRedisIsDown() {
+        // Given
+        useCase = useCase(passwordHashingService, loginThrottle(true));
+        Customer customer = createActiveCustomer();
+        when(customerRepository.findByEmail(any(Email.class))).thenReturn(Optional.of(customer));
+        when(redisTemplate.execute(ArgumentMatchers.<RedisScript<List<Long>>>any(), anyList(), any(Object[].class)))
+                .thenThrow(new RedisConnectionFailureException("down"));
+
+        // When/Then
+        assertThatThrownBy(() -> useCase.execute(new LoginCommand(TEST_EMAIL, "WrongP@ss1"), CLIENT_IP))
+                .isInstanceOf(InvalidCredentialsException.class);
+
+        verify(customerRepository).save(customer);
+        assertThat(customer.getFailedLoginAttempts()).isEqualTo(1);
+    }
 }
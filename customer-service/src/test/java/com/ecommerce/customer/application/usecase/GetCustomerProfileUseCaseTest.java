@@ -7,6 +7,10 @@ import com.ecommerce.customer.domain.model.CustomerId;
 import com.ecommerce.customer.domain.model.CustomerStatus;
 import com.ecommerce.customer.domain.model.Password;
 import com.ecommerce.customer.domain.repository.CustomerRepository;
+import com.ecommerce.customer.infrastructure.cache.CustomerProfileCache;
+import com.ecommerce.customer.infrastructure.config.CustomerProfileCacheProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import com.ecommerce.shared.vo.Email;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -14,6 +18,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
 
 import java.time.Instant;
 import java.util.Optional;
@@ -27,23 +32,28 @@ import static org.mockito.Mockito.*;
 @DisplayName("GetCustomerProfileUseCase 測試")
 class GetCustomerProfileUseCaseTest {
 
-    private static final String VALID_PASSWORD = "SecureP@ssw0rd1";
-
     @Mock
     private CustomerRepository customerRepository;
 
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
     private GetCustomerProfileUseCase useCase;
 
     @BeforeEach
     void setUp() {
-        useCase = new GetCustomerProfileUseCase(customerRepository);
+        // Caching is covered by CustomerProfileCacheTest; disabled here, every call reads the repository
+        CustomerProfileCacheProperties properties = new CustomerProfileCacheProperties();
+        properties.setEnabled(false);
+        useCase = new GetCustomerProfileUseCase(new CustomerProfileCache(properties, customerRepository,
+                redisTemplate, new ObjectMapper(), new SimpleMeterRegistry()));
     }
 
     private Customer createCustomer(UUID id) {
         return new Customer(
                 CustomerId.of(id),
                 Email.of("user@example.com"),
-                Password.fromPlainText(VALID_PASSWORD),
+                Password.fromHash("$2a$04$hash"),
                 "Test User",
                 CustomerStatus.ACTIVE,
                 0,
@@ -3,12 +3,20 @@ package com.ecommerce.customer.application.usecase;
 import com.ecommerce.customer.application.dto.AuthResponse;
 import com.ecommerce.customer.application.dto.RegisterCustomerCommand;
 import com.ecommerce.customer.application.exception.EmailAlreadyExistsException;
+import com.ecommerce.customer.application.exception.ServiceBusyException;
 import com.ecommerce.customer.domain.model.Customer;
 import com.ecommerce.customer.domain.model.CustomerStatus;
 import com.ecommerce.customer.domain.repository.CustomerRepository;
+import com.ecommerce.customer.infrastructure.cache.RegisteredEmailFilter;
+import com.ecommerce.customer.infrastructure.config.PasswordHashingProperties;
+import com.ecommerce.customer.infrastructure.config.RegisteredEmailFilterProperties;
+import com.ecommerce.customer.infrastructure.persistence.repository.JpaCustomerRepository;
+import com.ecommerce.customer.infrastructure.security.PasswordHashingService;
 import com.ecommerce.security.jwt.JwtProperties;
 import com.ecommerce.security.jwt.JwtTokenProvider;
 import com.ecommerce.shared.vo.Email;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -18,8 +26,11 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionOperations;
 
 import java.time.Duration;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -42,14 +53,41 @@ class RegisterCustomerUseCaseTest {
     @Mock
     private JwtProperties jwtProperties;
 
+    @Mock
+    private JpaCustomerRepository jpaCustomerRepository;
+
+    private PasswordHashingService passwordHashingService;
+
     private RegisterCustomerUseCase useCase;
 
     @BeforeEach
     void setUp() {
-        useCase = new RegisterCustomerUseCase(customerRepository, jwtTokenProvider, jwtProperties);
+        PasswordHashingProperties properties = new PasswordHashingProperties();
+        properties.setThreads(1);
+        passwordHashingService = new PasswordHashingService(properties, new SimpleMeterRegistry());
+        // Not loaded yet, so every email is looked up as before
+        useCase = new RegisterCustomerUseCase(customerRepository, jwtTokenProvider, jwtProperties,
+                passwordHashingService, registeredEmailFilter());
         when(jwtProperties.getAccessTokenExpiration()).thenReturn(Duration.ofMinutes(15));
     }
 
+    private RegisteredEmailFilter registeredEmailFilter() {
+        return new RegisteredEmailFilter(new RegisteredEmailFilterProperties(), jpaCustomerRepository,
+                TransactionOperations.withoutTransaction(), new SimpleMeterRegistry());
+    }
+
+    private RegisteredEmailFilter loadedFilter(String... registeredEmails) {
+        when(jpaCustomerRepository.streamAllEmails()).thenReturn(Stream.of(registeredEmails));
+        RegisteredEmailFilter filter = registeredEmailFilter();
+        filter.load();
+        return filter;
+    }
+
+    @AfterEach
+    void tearDown() {
+        passwordHashingService.close();
+    }
+
     @Test
     @DisplayName("應該成功註冊新客戶")
     void shouldRegisterNewCustomer() {
@@ -104,7 +142,7 @@ class RegisterCustomerUseCaseTest {
         assertThat(savedCustomer.getEmail().getValue()).isEqualTo("test@example.com");
         assertThat(savedCustomer.getName()).isEqualTo("Test User");
         assertThat(savedCustomer.getStatus()).isEqualTo(CustomerStatus.ACTIVE);
-        assertThat(savedCustomer.getPassword().matches(VALID_PASSWORD)).isTrue();
+        assertThat(passwordHashingService.verify(savedCustomer.getPassword(), VALID_PASSWORD).matched()).isTrue();
     }
 
     @Test
@@ -155,4 +193,84 @@ class RegisterCustomerUseCaseTest {
         verify(jwtTokenProvider).generateAccessToken(any(), eq("user@example.com"), eq("CUSTOMER"));
         verify(jwtTokenProvider).generateRefreshToken(any(), eq("user@example.com"), eq("CUSTOMER"));
     }
+
+    @Test
+    @DisplayName("雜湊執行緒池忙碌時應該拋出 ServiceBusyException 且不儲存")
+    void shouldNotSaveWhenHashingIsBusy() {
+        // Given
+        PasswordHashingService busy = mock(PasswordHashingService.class);
+        when(busy.hash(any())).thenThrow(new ServiceBusyException("busy", Duration.ofSeconds(1)));
+        useCase = new RegisterCustomerUseCase(customerRepository, jwtTokenProvider, jwtProperties, busy,
+                registeredEmailFilter());
+        when(customerRepository.existsByEmail(any(Email.class))).thenReturn(false);
+
+        // When/Then
+        assertThatThrownBy(() -> useCase.execute(
+                new RegisterCustomerCommand("busy@example.com", VALID_PASSWORD, "Busy User")))
+                .isInstanceOf(ServiceBusyException.class);
+
+        verify(customerRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("過濾器確定是新 email 時應該直接新增而不查詢")
+    void shouldSkipLookupForCertainlyNewEmail() {
+        // Given
+        useCase = new RegisterCustomerUseCase(customerRepository, jwtTokenProvider, jwtProperties,
+                passwordHashingService, loadedFilter("existing@example.com"));
+        when(customerRepository.save(any(Customer.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        useCase.execute(new RegisterCustomerCommand("newuser@example.com", VALID_PASSWORD, "New User"));
+
+        // Then
+        verify(customerRepository, never()).existsByEmail(any());
+        verify(customerRepository).save(any(Customer.class));
+    }
+
+    @Test
+    @DisplayName("過濾器可能已註冊時應該查詢資料庫確認")
+    void shouldLookUpPossiblyRegisteredEmail() {
+        // Given
+        useCase = new RegisterCustomerUseCase(customerRepository, jwtTokenProvider, jwtProperties,
+                passwordHashingService, loadedFilter("existing@example.com"));
+        when(customerRepository.existsByEmail(any(Email.class))).thenReturn(true);
+
+        // When/Then
+        assertThatThrownBy(() -> useCase.execute(
+                new RegisterCustomerCommand("Existing@Example.com", VALID_PASSWORD, "Existing User")))
+                .isInstanceOf(EmailAlreadyExistsException.class);
+
+        verify(customerRepository).existsByEmail(Email.of("existing@example.com"));
+        verify(customerRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("並行註冊同一 email 違反唯一約束時應該拋出 EmailAlreadyExistsException")
+    void shouldReportConcurrentDuplicateAsExistingEmail() {
+        // Given
+        when(customerRepository.existsByEmail(any(Email.class))).thenReturn(false, true);
+        when(customerRepository.save(any(Customer.class)))
+                .thenThrow(new DataIntegrityViolationException("duplicate key value violates unique constraint"));
+
+        // When/Then
+        assertThatThrownBy(() -> useCase.execute(
+                new RegisterCustomerCommand("race@example.com", VALID_PASSWORD, "Race User")))
+                .isInstanceOf(EmailAlreadyExistsException.class)
+                .hasMessageContaining("race@example.com");
+    }
+
+    @Test
+    @DisplayName("與 email 無關的約束違反應該原樣拋出")
+    void shouldRethrowOtherIntegrityViolations() {
+        // Given
+        when(customerRepository.existsByEmail(any(Email.class))).thenReturn(false);
+        when(customerRepository.save(any(Customer.class)))
+                .thenThrow(new DataIntegrityViolationException("value too long"));
+
+        // When/Then
+        assertThatThrownBy(() -> useCase.execute(
+                new RegisterCustomerCommand("other@example.com", VALID_PASSWORD, "Other User")))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
 }
@@ -1,14 +1,20 @@
 package com.ecommerce.customer.domain.model;
 
 import com.ecommerce.customer.domain.event.CustomerLockedEvent;
+import com.ecommerce.customer.domain.event.CustomerPasswordChangedEvent;
+import com.ecommerce.customer.domain.event.CustomerProfileUpdatedEvent;
 import com.ecommerce.customer.domain.event.CustomerRegisteredEvent;
+import com.ecommerce.customer.domain.event.CustomerStatusChangedEvent;
 import com.ecommerce.customer.domain.event.LoginFailedEvent;
 import com.ecommerce.customer.domain.event.LoginSuccessEvent;
+import com.ecommerce.customer.domain.port.PasswordHashingPort;
 import com.ecommerce.shared.vo.Email;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.time.Instant;
 
@@ -21,6 +27,23 @@ class CustomerTest {
     private static final String TEST_PASSWORD = "SecureP@ssw0rd123";
     private static final String TEST_NAME = "Test User";
 
+    private static final PasswordEncoder ENCODER = new BCryptPasswordEncoder(4);
+
+    /**
+     * Hashes with a cheap BCrypt, without the pool of the real hashing service.
+     */
+    private static final PasswordHashingPort PASSWORD_HASHING = new PasswordHashingPort() {
+        @Override
+        public Password hash(String plainText) {
+            return Password.fromPlainText(plainText, ENCODER);
+        }
+
+        @Override
+        public PasswordCheck verify(Password password, String plainText) {
+            return new PasswordCheck(password.matches(plainText, ENCODER), null);
+        }
+    };
+
     @Nested
     @DisplayName("建立客戶")
     class CreateCustomer {
@@ -31,7 +54,8 @@ class CustomerTest {
             Customer customer = Customer.create(
                     Email.of(TEST_EMAIL),
                     TEST_PASSWORD,
-                    TEST_NAME
+                    TEST_NAME,
+                    PASSWORD_HASHING
             );
 
             assertThat(customer.getId()).isNotNull();
@@ -48,7 +72,8 @@ class CustomerTest {
             Customer customer = Customer.create(
                     Email.of(TEST_EMAIL),
                     TEST_PASSWORD,
-                    TEST_NAME
+                    TEST_NAME,
+                    PASSWORD_HASHING
             );
 
             assertThat(customer.getDomainEvents()).hasSize(1);
@@ -72,7 +97,8 @@ class CustomerTest {
             customer = Customer.create(
                     Email.of(TEST_EMAIL),
                     TEST_PASSWORD,
-                    TEST_NAME
+                    TEST_NAME,
+                    PASSWORD_HASHING
             );
             customer.clearDomainEvents();
         }
@@ -80,7 +106,7 @@ class CustomerTest {
         @Test
         @DisplayName("正確密碼應該認證成功")
         void shouldAuthenticateWithCorrectPassword() {
-            boolean result = customer.authenticate(TEST_PASSWORD);
+            boolean result = customer.authenticate(TEST_PASSWORD, PASSWORD_HASHING);
 
             assertThat(result).isTrue();
             assertThat(customer.getFailedLoginAttempts()).isZero();
@@ -89,7 +115,7 @@ class CustomerTest {
         @Test
         @DisplayName("認證成功應該產生 LoginSuccessEvent")
         void shouldEmitLoginSuccessEvent() {
-            customer.authenticate(TEST_PASSWORD);
+            customer.authenticate(TEST_PASSWORD, PASSWORD_HASHING);
 
             assertThat(customer.getDomainEvents()).hasSize(1);
             assertThat(customer.getDomainEvents().get(0))
@@ -99,7 +125,7 @@ class CustomerTest {
         @Test
         @DisplayName("錯誤密碼應該認證失敗")
         void shouldFailAuthenticationWithWrongPassword() {
-            boolean result = customer.authenticate("WrongP@ss1");
+            boolean result = customer.authenticate("WrongP@ss1", PASSWORD_HASHING);
 
             assertThat(result).isFalse();
             assertThat(customer.getFailedLoginAttempts()).isEqualTo(1);
@@ -108,7 +134,7 @@ class CustomerTest {
         @Test
         @DisplayName("認證失敗應該產生 LoginFailedEvent")
         void shouldEmitLoginFailedEvent() {
-            customer.authenticate("WrongP@ss1");
+            customer.authenticate("WrongP@ss1", PASSWORD_HASHING);
 
             assertThat(customer.getDomainEvents()).hasSize(1);
             assertThat(customer.getDomainEvents().get(0))
@@ -119,7 +145,7 @@ class CustomerTest {
         @DisplayName("連續5次認證失敗應該鎖定帳號")
         void shouldLockAccountAfter5FailedAttempts() {
             for (int i = 0; i < 5; i++) {
-                customer.authenticate("WrongP@ss1");
+                customer.authenticate("WrongP@ss1", PASSWORD_HASHING);
             }
 
             assertThat(customer.isLocked()).isTrue();
@@ -132,7 +158,7 @@ class CustomerTest {
         @DisplayName("鎖定帳號後應該產生 CustomerLockedEvent")
         void shouldEmitCustomerLockedEvent() {
             for (int i = 0; i < 5; i++) {
-                customer.authenticate("WrongP@ss1");
+                customer.authenticate("WrongP@ss1", PASSWORD_HASHING);
             }
 
             assertThat(customer.getDomainEvents())
@@ -145,11 +171,11 @@ class CustomerTest {
         void lockedAccountShouldFailAuthentication() {
             // 鎖定帳號
             for (int i = 0; i < 5; i++) {
-                customer.authenticate("WrongP@ss1");
+                customer.authenticate("WrongP@ss1", PASSWORD_HASHING);
             }
             customer.clearDomainEvents();
 
-            boolean result = customer.authenticate(TEST_PASSWORD);
+            boolean result = customer.authenticate(TEST_PASSWORD, PASSWORD_HASHING);
 
             assertThat(result).isFalse();
         }
@@ -159,15 +185,38 @@ class CustomerTest {
         void successfulLoginShouldResetFailedAttempts() {
             // 先失敗3次
             for (int i = 0; i < 3; i++) {
-                customer.authenticate("WrongP@ss1");
+                customer.authenticate("WrongP@ss1", PASSWORD_HASHING);
             }
             assertThat(customer.getFailedLoginAttempts()).isEqualTo(3);
 
             // 然後成功登入
-            customer.authenticate(TEST_PASSWORD);
+            customer.authenticate(TEST_PASSWORD, PASSWORD_HASHING);
 
             assertThat(customer.getFailedLoginAttempts()).isZero();
         }
+
+        @Test
+        @DisplayName("認證成功時應該升級低於目前政策的雜湊")
+        void shouldUpgradeOutdatedHashOnLogin() {
+            Password upgraded = Password.fromHash("$argon2id$upgraded");
+            PasswordHashingPort upgrading = new PasswordHashingPort() {
+                @Override
+                public Password hash(String plainText) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public PasswordCheck verify(Password password, String plainText) {
+                    return new PasswordCheck(true, upgraded);
+                }
+            };
+            customer.markPersisted();
+
+            assertThat(customer.authenticate(TEST_PASSWORD, upgrading)).isTrue();
+
+            assertThat(customer.getPassword()).isEqualTo(upgraded);
+            assertThat(customer.getChangedFields()).contains(Customer.Field.PASSWORD);
+        }
     }
 
     @Nested
@@ -180,7 +229,8 @@ class CustomerTest {
             Customer customer = Customer.create(
                     Email.of(TEST_EMAIL),
                     TEST_PASSWORD,
-                    TEST_NAME
+                    TEST_NAME,
+                    PASSWORD_HASHING
             );
 
             assertThat(customer.isLocked()).isFalse();
@@ -193,7 +243,7 @@ class CustomerTest {
             Customer customer = new Customer(
                     CustomerId.generate(),
                     Email.of(TEST_EMAIL),
-                    Password.fromPlainText(TEST_PASSWORD),
+                    PASSWORD_HASHING.hash(TEST_PASSWORD),
                     TEST_NAME,
                     CustomerStatus.LOCKED,
                     5,
@@ -216,7 +266,8 @@ class CustomerTest {
             Customer customer = Customer.create(
                     Email.of(TEST_EMAIL),
                     TEST_PASSWORD,
-                    TEST_NAME
+                    TEST_NAME,
+                    PASSWORD_HASHING
             );
             assertThat(customer.getDomainEvents()).isNotEmpty();
 
@@ -224,5 +275,203 @@ class CustomerTest {
 
             assertThat(customer.getDomainEvents()).isEmpty();
         }
+
+        @Test
+        @DisplayName("更新姓名應該產生 CustomerProfileUpdatedEvent")
+        void shouldEmitProfileUpdatedEvent() {
+            Customer customer = Customer.create(Email.of(TEST_EMAIL), TEST_PASSWORD, TEST_NAME, PASSWORD_HASHING);
+            customer.clearDomainEvents();
+
+            customer.updateProfile("  New Name ");
+            customer.updateProfile("New Name");
+
+            assertThat(customer.getDomainEvents()).singleElement()
+                    .isInstanceOfSatisfying(CustomerProfileUpdatedEvent.class,
+                            event -> assertThat(event.getName()).isEqualTo("New Name"));
+        }
+
+        @Test
+        @DisplayName("變更密碼應該產生 CustomerPasswordChangedEvent")
+        void shouldEmitPasswordChangedEvent() {
+            Customer customer = Customer.create(Email.of(TEST_EMAIL), TEST_PASSWORD, TEST_NAME, PASSWORD_HASHING);
+            customer.clearDomainEvents();
+
+            customer.changePassword(TEST_PASSWORD, "NewSecureP@ss456", PASSWORD_HASHING);
+
+            assertThat(customer.getDomainEvents()).singleElement()
+                    .isInstanceOf(CustomerPasswordChangedEvent.class);
+            assertThat(customer.getPassword().matches("NewSecureP@ss456", ENCODER)).isTrue();
+        }
+
+        @Test
+        @DisplayName("目前密碼錯誤時應該拒絕變更密碼")
+        void shouldRejectPasswordChangeWithWrongCurrentPassword() {
+            Customer customer = Customer.create(Email.of(TEST_EMAIL), TEST_PASSWORD, TEST_NAME, PASSWORD_HASHING);
+            Password before = customer.getPassword();
+
+            assertThatThrownBy(() -> customer.changePassword("WrongP@ss1", "NewSecureP@ss456", PASSWORD_HASHING))
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThat(customer.getPassword()).isEqualTo(before);
+        }
+
+        @Test
+        @DisplayName("停權與恢復應該產生 CustomerStatusChangedEvent")
+        void shouldEmitStatusChangedEvents() {
+            Customer customer = Customer.create(Email.of(TEST_EMAIL), TEST_PASSWORD, TEST_NAME, PASSWORD_HASHING);
+            customer.clearDomainEvents();
+
+            customer.suspend();
+            customer.suspend();
+            customer.reactivate();
+
+            assertThat(customer.getDomainEvents())
+                    .extracting(event -> ((CustomerStatusChangedEvent) event).getStatus())
+                    .containsExactly(CustomerStatus.SUSPENDED, CustomerStatus.ACTIVE);
+        }
+    }
+
+    @Nested
+    @DisplayName("變更追蹤")
+    class ChangeTracking {
+
+        private Customer stored(CustomerStatus status, int failedLoginAttempts, Instant lockedUntil) {
+            return new Customer(
+                    CustomerId.generate(),
+                    Email.of(TEST_EMAIL),
+                    Password.fromHash("$2a$04$hash"),
+                    TEST_NAME,
+                    status,
+                    failedLoginAttempts,
+                    lockedUntil,
+                    Instant.now(),
+                    Instant.now()
+            );
+        }
+
+        @Test
+        @DisplayName("新客戶在儲存前應該視為新建")
+        void newCustomerShouldBeNew() {
+            Customer customer = Customer.register(Email.of(TEST_EMAIL), Password.fromHash("$2a$04$hash"), TEST_NAME);
+
+            assertThat(customer.isNew()).isTrue();
+            assertThat(customer.hasChanges()).isTrue();
+
+            customer.markPersisted();
+
+            assertThat(customer.isNew()).isFalse();
+            assertThat(customer.hasChanges()).isFalse();
+        }
+
+        @Test
+        @DisplayName("從資料庫載入的客戶不應該有變更")
+        void reconstitutedCustomerShouldHaveNoChanges() {
+            Customer customer = stored(CustomerStatus.ACTIVE, 0, null);
+
+            assertThat(customer.isNew()).isFalse();
+            assertThat(customer.hasChanges()).isFalse();
+        }
+
+        @Test
+        @DisplayName("沒有失敗紀錄時登入成功不應該產生變更")
+        void cleanSuccessfulLoginShouldChangeNothing() {
+            Customer customer = stored(CustomerStatus.ACTIVE, 0, null);
+            Instant updatedAt = customer.getUpdatedAt();
+
+            assertThat(customer.recordLoginAttempt(true)).isTrue();
+
+            assertThat(customer.hasChanges()).isFalse();
+            assertThat(customer.getUpdatedAt()).isEqualTo(updatedAt);
+        }
+
+        @Test
+        @DisplayName("登入失敗應該記錄為遞增而非新值")
+        void failedLoginShouldBeAnIncrement() {
+            Customer customer = stored(CustomerStatus.ACTIVE, 2, null);
+
+            customer.recordLoginAttempt(false);
+
+            assertThat(customer.getFailedLoginIncrement()).isEqualTo(1);
+            assertThat(customer.getChangedFields()).isEmpty();
+            assertThat(customer.hasChanges()).isTrue();
+        }
+
+        @Test
+        @DisplayName("第5次失敗應該同時記錄遞增與鎖定欄位")
+        void lockingFailureShouldChangeStatusAndLockedUntil() {
+            Customer customer = stored(CustomerStatus.ACTIVE, 4, null);
+
+            customer.recordLoginAttempt(false);
+
+            assertThat(customer.getFailedLoginIncrement()).isEqualTo(1);
+            assertThat(customer.getChangedFields())
+                    .containsExactlyInAnyOrder(Customer.Field.STATUS, Customer.Field.LOCKED_UNTIL);
+        }
+
+        @Test
+        @DisplayName("儲存後的失敗次數達上限應該鎖定帳號")
+        void storedFailedAttemptsAtLimitShouldLock() {
+            Customer customer = stored(CustomerStatus.ACTIVE, 1, null);
+            customer.recordLoginAttempt(false);
+            customer.markPersisted();
+
+            customer.failedLoginAttemptsStored(5);
+
+            assertThat(customer.isLocked()).isTrue();
+            assertThat(customer.getFailedLoginAttempts()).isEqualTo(5);
+            assertThat(customer.getChangedFields())
+                    .containsExactlyInAnyOrder(Customer.Field.STATUS, Customer.Field.LOCKED_UNTIL);
+        }
+
+        @Test
+        @DisplayName("儲存後的失敗次數未達上限不應該產生變更")
+        void storedFailedAttemptsBelowLimitShouldChangeNothing() {
+            Customer customer = stored(CustomerStatus.ACTIVE, 1, null);
+            customer.recordLoginAttempt(false);
+            customer.markPersisted();
+
+            customer.failedLoginAttemptsStored(3);
+
+            assertThat(customer.isLocked()).isFalse();
+            assertThat(customer.getFailedLoginAttempts()).isEqualTo(3);
+            assertThat(customer.hasChanges()).isFalse();
+        }
+
+        @Test
+        @DisplayName("登入成功應該以新值重置失敗次數")
+        void successfulLoginShouldOverwriteFailedAttempts() {
+            Customer customer = stored(CustomerStatus.ACTIVE, 3, null);
+
+            customer.recordLoginAttempt(true);
+
+            assertThat(customer.getChangedFields()).containsExactly(Customer.Field.FAILED_LOGIN_ATTEMPTS);
+            assertThat(customer.getFailedLoginIncrement()).isZero();
+        }
+
+        @Test
+        @DisplayName("鎖定過期後失敗應該寫入新的失敗次數")
+        void failureAfterExpiredLockShouldWriteAbsoluteCount() {
+            Customer customer = stored(CustomerStatus.LOCKED, 5, Instant.now().minusSeconds(60));
+
+            customer.recordLoginAttempt(false);
+
+            assertThat(customer.getFailedLoginAttempts()).isEqualTo(1);
+            assertThat(customer.getFailedLoginIncrement()).isZero();
+            assertThat(customer.getChangedFields()).contains(Customer.Field.FAILED_LOGIN_ATTEMPTS,
+                    Customer.Field.STATUS, Customer.Field.LOCKED_UNTIL);
+        }
+
+        @Test
+        @DisplayName("儲存後應該清除變更")
+        void markPersistedShouldClearChanges() {
+            Customer customer = stored(CustomerStatus.ACTIVE, 0, null);
+            customer.recordLoginAttempt(false);
+            customer.updateProfile("New Name");
+
+            customer.markPersisted();
+
+            assertThat(customer.hasChanges()).isFalse();
+            assertThat(customer.getChangedFields()).isEmpty();
+            assertThat(customer.getFailedLoginIncrement()).isZero();
+        }
     }
 }
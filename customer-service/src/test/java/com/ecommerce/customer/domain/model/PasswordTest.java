@@ -2,6 +2,8 @@ package com.ecommerce.customer.domain.model;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 
 import static org.assertj.core.api.Assertions.*;
 
@@ -12,10 +14,12 @@ class PasswordTest {
     private static final String VALID_PASSWORD = "SecureP@ss1";
     private static final String ANOTHER_VALID_PASSWORD = "MyStr0ngPwd";
 
+    private static final PasswordEncoder ENCODER = new BCryptPasswordEncoder(4);
+
     @Test
     @DisplayName("應該能從明文建立密碼")
     void shouldCreateFromPlainText() {
-        Password password = Password.fromPlainText(VALID_PASSWORD);
+        Password password = Password.fromPlainText(VALID_PASSWORD, ENCODER);
 
         assertThat(password).isNotNull();
         assertThat(password.getHashedValue()).isNotNull();
@@ -34,52 +38,52 @@ class PasswordTest {
     @Test
     @DisplayName("密碼驗證應該成功")
     void shouldMatchCorrectPassword() {
-        Password password = Password.fromPlainText(VALID_PASSWORD);
+        Password password = Password.fromPlainText(VALID_PASSWORD, ENCODER);
 
-        assertThat(password.matches(VALID_PASSWORD)).isTrue();
+        assertThat(password.matches(VALID_PASSWORD, ENCODER)).isTrue();
     }
 
     @Test
     @DisplayName("錯誤密碼驗證應該失敗")
     void shouldNotMatchWrongPassword() {
-        Password password = Password.fromPlainText(VALID_PASSWORD);
+        Password password = Password.fromPlainText(VALID_PASSWORD, ENCODER);
 
-        assertThat(password.matches("WrongP@ss1")).isFalse();
+        assertThat(password.matches("WrongP@ss1", ENCODER)).isFalse();
     }
 
     @Test
     @DisplayName("相同密碼每次雜湊結果應該不同")
     void hashShouldBeDifferentEachTime() {
-        Password password1 = Password.fromPlainText(VALID_PASSWORD);
-        Password password2 = Password.fromPlainText(VALID_PASSWORD);
+        Password password1 = Password.fromPlainText(VALID_PASSWORD, ENCODER);
+        Password password2 = Password.fromPlainText(VALID_PASSWORD, ENCODER);
 
         assertThat(password1.getHashedValue()).isNotEqualTo(password2.getHashedValue());
         // 但兩個都應該能驗證原始密碼
-        assertThat(password1.matches(VALID_PASSWORD)).isTrue();
-        assertThat(password2.matches(VALID_PASSWORD)).isTrue();
+        assertThat(password1.matches(VALID_PASSWORD, ENCODER)).isTrue();
+        assertThat(password2.matches(VALID_PASSWORD, ENCODER)).isTrue();
     }
 
     @Test
     @DisplayName("弱密碼應該拋出例外")
     void shouldThrowExceptionForWeakPassword() {
         // 沒有大寫字母
-        assertThatThrownBy(() -> Password.fromPlainText("weakpassword1"))
+        assertThatThrownBy(() -> Password.fromPlainText("weakpassword1", ENCODER))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("uppercase");
 
         // 沒有數字
-        assertThatThrownBy(() -> Password.fromPlainText("WeakPassword"))
+        assertThatThrownBy(() -> Password.fromPlainText("WeakPassword", ENCODER))
                 .isInstanceOf(IllegalArgumentException.class);
 
         // 太短
-        assertThatThrownBy(() -> Password.fromPlainText("Pass1"))
+        assertThatThrownBy(() -> Password.fromPlainText("Pass1", ENCODER))
                 .isInstanceOf(IllegalArgumentException.class);
     }
 
     @Test
     @DisplayName("null 密碼應該拋出例外")
     void shouldThrowExceptionForNullPassword() {
-        assertThatThrownBy(() -> Password.fromPlainText(null))
+        assertThatThrownBy(() -> Password.fromPlainText(null, ENCODER))
                 .isInstanceOf(NullPointerException.class);
     }
 
@@ -115,14 +119,14 @@ class PasswordTest {
     @Test
     @DisplayName("null 密碼驗證應該返回 false")
     void matchesShouldReturnFalseForNull() {
-        Password password = Password.fromPlainText(VALID_PASSWORD);
-        assertThat(password.matches(null)).isFalse();
+        Password password = Password.fromPlainText(VALID_PASSWORD, ENCODER);
+        assertThat(password.matches(null, ENCODER)).isFalse();
     }
 
     @Test
     @DisplayName("toString 應該隱藏密碼")
     void toStringShouldHidePassword() {
-        Password password = Password.fromPlainText(VALID_PASSWORD);
+        Password password = Password.fromPlainText(VALID_PASSWORD, ENCODER);
         assertThat(password.toString()).doesNotContain(VALID_PASSWORD);
         assertThat(password.toString()).isEqualTo("[PROTECTED]");
     }
@@ -0,0 +1,52 @@
+package com.ecommerce.customer.infrastructure.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("BloomFilter 測試")
+class BloomFilterTest {
+
+    @Test
+    @DisplayName("加入過的值應該一律回報可能存在")
+    void shouldHaveNoFalseNegatives() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        IntStream.range(0, 10_000).forEach(i -> filter.put("user" + i + "@example.com"));
+
+        assertThat(IntStream.range(0, 10_000))
+                .allMatch(i -> filter.mightContain("user" + i + "@example.com"));
+    }
+
+    @Test
+    @DisplayName("誤判率應該接近設定值")
+    void shouldKeepFalsePositiveRateNearTarget() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        IntStream.range(0, 10_000).forEach(i -> filter.put("user" + i + "@example.com"));
+
+        long falsePositives = IntStream.range(0, 100_000)
+                .filter(i -> filter.mightContain("new" + i + "@example.com"))
+                .count();
+
+        assertThat(falsePositives / 100_000.0).isLessThan(0.02);
+    }
+
+    @Test
+    @DisplayName("應該依預期數量與誤判率決定大小")
+    void shouldSizeForExpectedInsertions() {
+        BloomFilter filter = new BloomFilter(1_000_000, 0.01);
+
+        // About 9.6 bits and 7 hash functions per value at 1%
+        assertThat(filter.bitSize()).isBetween(9_585_000L, 9_586_000L);
+        assertThat(filter.hashFunctions()).isEqualTo(7);
+    }
+
+    @Test
+    @DisplayName("無效的設定應該拋出 IllegalArgumentException")
+    void shouldRejectInvalidSizing() {
+        assertThatThrownBy(() -> new BloomFilter(0, 0.01)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new BloomFilter(100, 1.0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
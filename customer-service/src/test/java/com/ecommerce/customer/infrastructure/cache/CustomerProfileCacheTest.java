@@ -0,0 +1,243 @@
+package com.ecommerce.customer.infrastructure.cache;
+
+import com.ecommerce.customer.application.dto.CustomerSnapshot;
+import com.ecommerce.customer.domain.event.CustomerLockedEvent;
+import com.ecommerce.customer.domain.model.Customer;
+import com.ecommerce.customer.domain.model.CustomerId;
+import com.ecommerce.customer.domain.model.CustomerStatus;
+import com.ecommerce.customer.domain.model.Password;
+import com.ecommerce.customer.domain.repository.CustomerRepository;
+import com.ecommerce.customer.infrastructure.config.CustomerProfileCacheProperties;
+import com.ecommerce.shared.vo.Email;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@DisplayName("CustomerProfileCache 測試")
+class CustomerProfileCacheTest {
+
+    private final CustomerRepository customerRepository = mock(CustomerRepository.class);
+    private final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+    @SuppressWarnings("unchecked")
+    private final ValueOperations<String, String> valueOperations = mock(ValueOperations.class);
+    private final ObjectMapper objectMapper = JsonMapper.builder().addModule(new JavaTimeModule()).build();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private Customer customer;
+    private CustomerProfileCache cache;
+
+    @BeforeEach
+    void setUp() {
+        customer = stored(CustomerStatus.ACTIVE, null);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(customerRepository.findById(customer.getId())).thenReturn(Optional.of(customer));
+        cache = new CustomerProfileCache(new CustomerProfileCacheProperties(), customerRepository, redisTemplate,
+                objectMapper, meterRegistry);
+    }
+
+    private static Customer stored(CustomerStatus status, Instant lockedUntil) {
+        return new Customer(
+                CustomerId.generate(),
+                Email.of("user@example.com"),
+                Password.fromHash("$2a$04$hash"),
+                "Test User",
+                status,
+                0,
+                lockedUntil,
+                Instant.parse("2024-01-01T00:00:00Z"),
+                Instant.parse("2024-01-02T00:00:00Z")
+        );
+    }
+
+    private String key() {
+        return "customer:profile:" + customer.getId().asString();
+    }
+
+    private double gets(String cacheName, String result) {
+        return meterRegistry.get("cache.gets").tag("cache", cacheName).tag("result", result)
+                .meter().measure().iterator().next().getValue();
+    }
+
+    @Nested
+    @DisplayName("讀取")
+    class Reading {
+
+        @Test
+        @DisplayName("未快取時應該讀取資料庫並寫入兩層快取")
+        void shouldLoadAndStoreOnMiss() throws Exception {
+            CustomerSnapshot snapshot = cache.get(customer.getId()).orElseThrow();
+
+            assertThat(snapshot.profile().email()).isEqualTo("user@example.com");
+            verify(valueOperations).setIfAbsent(eq(key()), eq(objectMapper.writeValueAsString(snapshot)),
+                    eq(Duration.ofMinutes(10)));
+
+            cache.get(customer.getId());
+
+            verify(customerRepository, times(1)).findById(customer.getId());
+            verify(valueOperations, times(1)).get(anyString());
+            assertThat(gets("customer.profile", "hit")).isEqualTo(1);
+            assertThat(gets("customer.profile", "miss")).isEqualTo(1);
+            assertThat(gets("customer.profile.redis", "miss")).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Redis 命中時不應該讀取資料庫")
+        void shouldServeFromRedis() throws Exception {
+            when(valueOperations.get(key()))
+                    .thenReturn(objectMapper.writeValueAsString(CustomerSnapshot.from(customer)));
+
+            CustomerSnapshot snapshot = cache.get(customer.getId()).orElseThrow();
+
+            assertThat(snapshot.profile().createdAt()).isEqualTo(Instant.parse("2024-01-01T00:00:00Z"));
+            verifyNoInteractions(customerRepository);
+            assertThat(gets("customer.profile.redis", "hit")).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Redis 無法使用時應該改讀資料庫")
+        void shouldFallBackToDatabaseWhenRedisIsDown() {
+            when(valueOperations.get(anyString())).thenThrow(new RedisConnectionFailureException("down"));
+            when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class)))
+                    .thenThrow(new RedisConnectionFailureException("down"));
+
+            assertThat(cache.get(customer.getId())).isPresent();
+            assertThat(meterRegistry.get("customer.profile.cache.errors").counter().count()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("找不到客戶時不應該快取")
+        void shouldNotCacheMissingCustomer() {
+            CustomerId unknown = CustomerId.generate();
+            when(customerRepository.findById(unknown)).thenReturn(Optional.empty());
+
+            assertThat(cache.get(unknown)).isEmpty();
+            verify(valueOperations, never()).setIfAbsent(anyString(), anyString(), any(Duration.class));
+        }
+    }
+
+    @Nested
+    @DisplayName("失效")
+    class Eviction {
+
+        @Test
+        @DisplayName("帳號鎖定後應該清除兩層快取並通知其他實例")
+        void shouldEvictOnCustomerLocked() {
+            cache.get(customer.getId());
+
+            cache.onCustomerChanged(new CustomerLockedEvent(customer.getId().asString(), "user@example.com",
+                    Instant.now().plusSeconds(1800)));
+            cache.get(customer.getId());
+
+            verify(valueOperations).set(key(), CustomerProfileCache.TOMBSTONE, Duration.ofSeconds(5));
+            verify(redisTemplate).convertAndSend("customer:profile:evictions", customer.getId().asString());
+            verify(customerRepository, times(2)).findById(customer.getId());
+        }
+
+        @Test
+        @DisplayName("其他實例的通知應該只清除本機快取")
+        void shouldEvictLocalCopyOnBroadcast() {
+            cache.get(customer.getId());
+
+            cache.evictLocal(customer.getId().asString());
+            cache.get(customer.getId());
+
+            verify(valueOperations, never()).set(anyString(), anyString(), any(Duration.class));
+            verify(valueOperations, times(2)).get(key());
+        }
+
+        @Test
+        @DisplayName("墓碑應該視為未快取")
+        void shouldTreatTombstoneAsMiss() {
+            when(valueOperations.get(key())).thenReturn(CustomerProfileCache.TOMBSTONE);
+
+            assertThat(cache.get(customer.getId())).isPresent();
+
+            verify(customerRepository).findById(customer.getId());
+        }
+
+        @Test
+        @DisplayName("載入期間發生的失效不應該讓舊資料寫回快取")
+        void shouldNotFillStaleSnapshotEvictedDuringLoad() throws Exception {
+            Map<String, String> redis = new ConcurrentHashMap<>();
+            when(valueOperations.get(anyString())).thenAnswer(inv -> redis.get(inv.<String>getArgument(0)));
+            doAnswer(inv -> redis.put(inv.getArgument(0), inv.getArgument(1)))
+                    .when(valueOperations).set(anyString(), anyString(), any(Duration.class));
+            when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class)))
+                    .thenAnswer(inv -> redis.putIfAbsent(inv.getArgument(0), inv.getArgument(1)) == null);
+
+            CountDownLatch loading = new CountDownLatch(1);
+            CountDownLatch committed = new CountDownLatch(1);
+            when(customerRepository.findById(customer.getId())).thenAnswer(inv -> {
+                loading.countDown();
+                assertThat(committed.await(5, TimeUnit.SECONDS)).isTrue();
+                return Optional.of(customer);
+            });
+
+            // Reads the old profile, then stalls until the change has committed and been evicted
+            CompletableFuture<Optional<CustomerSnapshot>> staleRead =
+                    CompletableFuture.supplyAsync(() -> cache.get(customer.getId()));
+            assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+            CompletableFuture<Void> eviction =
+                    CompletableFuture.runAsync(() -> cache.evict(customer.getId().asString()));
+            verify(redisTemplate, timeout(5000)).convertAndSend(anyString(), anyString());
+            committed.countDown();
+
+            assertThat(staleRead.get(5, TimeUnit.SECONDS)).hasValueSatisfying(
+                    snapshot -> assertThat(snapshot.profile().name()).isEqualTo("Test User"));
+            eviction.get(5, TimeUnit.SECONDS);
+
+            assertThat(redis).containsEntry(key(), CustomerProfileCache.TOMBSTONE);
+            customer.updateProfile("New Name");
+            assertThat(cache.get(customer.getId())).hasValueSatisfying(
+                    snapshot -> assertThat(snapshot.profile().name()).isEqualTo("New Name"));
+        }
+    }
+
+    @Nested
+    @DisplayName("登入資格")
+    class LoginEligibility {
+
+        @Test
+        @DisplayName("鎖定中的帳號不應該可以登入")
+        void lockedCustomerCannotLogin() {
+            assertThat(CustomerSnapshot.from(stored(CustomerStatus.LOCKED, Instant.now().plusSeconds(60)))
+                    .canLogin()).isFalse();
+        }
+
+        @Test
+        @DisplayName("鎖定過期的帳號應該可以登入")
+        void expiredLockCanLogin() {
+            assertThat(CustomerSnapshot.from(stored(CustomerStatus.LOCKED, Instant.now().minusSeconds(60)))
+                    .canLogin()).isTrue();
+        }
+
+        @Test
+        @DisplayName("停權的帳號不應該可以登入")
+        void suspendedCustomerCannotLogin() {
+            assertThat(CustomerSnapshot.from(stored(CustomerStatus.SUSPENDED, null)).canLogin()).isFalse();
+        }
+    }
+}
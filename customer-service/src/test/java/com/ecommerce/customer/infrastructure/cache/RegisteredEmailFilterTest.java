@@ -0,0 +1,95 @@
+package com.ecommerce.customer.infrastructure.cache;
+
+import com.ecommerce.customer.domain.event.CustomerRegisteredEvent;
+import com.ecommerce.customer.infrastructure.config.RegisteredEmailFilterProperties;
+import com.ecommerce.customer.infrastructure.persistence.repository.JpaCustomerRepository;
+import com.ecommerce.shared.vo.Email;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("RegisteredEmailFilter 測試")
+class RegisteredEmailFilterTest {
+
+    private final JpaCustomerRepository customerRepository = mock(JpaCustomerRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RegisteredEmailFilterProperties properties = new RegisteredEmailFilterProperties();
+
+    private RegisteredEmailFilter filter() {
+        properties.setExpectedInsertions(1_000);
+        return new RegisteredEmailFilter(properties, customerRepository,
+                TransactionOperations.withoutTransaction(), meterRegistry);
+    }
+
+    private double checks(String result) {
+        return meterRegistry.get("customer.registration.email.filter").tag("result", result).counter().count();
+    }
+
+    @Test
+    @DisplayName("載入前應該把所有 email 視為可能已註冊")
+    void shouldReportEveryEmailBeforeLoad() {
+        RegisteredEmailFilter filter = filter();
+
+        assertThat(filter.isLoaded()).isFalse();
+        assertThat(filter.mightContain(Email.of("new@example.com"))).isTrue();
+    }
+
+    @Test
+    @DisplayName("載入後應該排除未註冊的 email")
+    void shouldRuleOutNewEmailsAfterLoad() {
+        when(customerRepository.streamAllEmails()).thenReturn(Stream.of("a@example.com", "b@example.com"));
+        RegisteredEmailFilter filter = filter();
+
+        filter.load();
+
+        assertThat(filter.isLoaded()).isTrue();
+        assertThat(filter.mightContain(Email.of("a@example.com"))).isTrue();
+        assertThat(filter.mightContain(Email.of("B@Example.com"))).isTrue();
+        assertThat(filter.mightContain(Email.of("new@example.com"))).isFalse();
+        assertThat(checks("absent")).isEqualTo(1);
+        assertThat(checks("possibly_present")).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("新註冊的客戶應該加入過濾器")
+    void shouldAddRegisteredCustomer() {
+        when(customerRepository.streamAllEmails()).thenReturn(Stream.empty());
+        RegisteredEmailFilter filter = filter();
+        filter.load();
+
+        filter.onCustomerRegistered(new CustomerRegisteredEvent("id", "new@example.com", "New"));
+
+        assertThat(filter.mightContain(Email.of("new@example.com"))).isTrue();
+    }
+
+    @Test
+    @DisplayName("載入失敗時應該維持查詢資料庫")
+    void shouldStayUnloadedWhenLoadFails() {
+        when(customerRepository.streamAllEmails()).thenThrow(new DataAccessResourceFailureException("down"));
+        RegisteredEmailFilter filter = filter();
+
+        filter.load();
+
+        assertThat(filter.isLoaded()).isFalse();
+        assertThat(filter.mightContain(Email.of("new@example.com"))).isTrue();
+    }
+
+    @Test
+    @DisplayName("停用時不應該讀取資料表")
+    void shouldNotLoadWhenDisabled() {
+        properties.setEnabled(false);
+        RegisteredEmailFilter filter = filter();
+
+        filter.load();
+
+        verifyNoInteractions(customerRepository);
+        assertThat(filter.mightContain(Email.of("new@example.com"))).isTrue();
+    }
+}
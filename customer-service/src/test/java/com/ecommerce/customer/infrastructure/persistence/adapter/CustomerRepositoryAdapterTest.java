@@ -0,0 +1,244 @@
+package com.ecommerce.customer.infrastructure.persistence.adapter;
+
+import com.ecommerce.customer.domain.event.CustomerLockedEvent;
+import com.ecommerce.customer.domain.event.CustomerRegisteredEvent;
+import com.ecommerce.customer.domain.model.Customer;
+import com.ecommerce.customer.domain.model.CustomerStatus;
+import com.ecommerce.customer.domain.model.Password;
+import com.ecommerce.customer.infrastructure.persistence.entity.CustomerEntity;
+import com.ecommerce.shared.vo.Email;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import(CustomerRepositoryAdapter.class)
+@RecordApplicationEvents
+@DisplayName("CustomerRepositoryAdapter 測試")
+class CustomerRepositoryAdapterTest {
+
+    private static final String TEST_EMAIL = "user@example.com";
+
+    @Autowired
+    private CustomerRepositoryAdapter adapter;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private Customer registered() {
+        Customer customer = Customer.register(Email.of(TEST_EMAIL), Password.fromHash("$2a$04$hash"), "Test User");
+        adapter.save(customer);
+        entityManager.flush();
+        entityManager.clear();
+        return load();
+    }
+
+    private Customer load() {
+        entityManager.clear();
+        return adapter.findByEmail(Email.of(TEST_EMAIL)).orElseThrow();
+    }
+
+    /**
+     * Statements sent to the database while saving, flushed so inserts are counted too.
+     */
+    private long statementsToSave(Customer customer) {
+        statistics.clear();
+        adapter.save(customer);
+        entityManager.flush();
+        return statistics.getPrepareStatementCount();
+    }
+
+    @Test
+    @DisplayName("新客戶應該只執行一次 INSERT")
+    void shouldInsertNewCustomerWithoutSelect() {
+        Customer customer = Customer.register(Email.of(TEST_EMAIL), Password.fromHash("$2a$04$hash"), "Test User");
+
+        assertThat(statementsToSave(customer)).isEqualTo(1);
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(1);
+        assertThat(customer.isNew()).isFalse();
+        assertThat(load().getName()).isEqualTo("Test User");
+    }
+
+    @Test
+    @DisplayName("沒有變更的登入成功不應該寫入資料庫")
+    void shouldNotWriteUnchangedCustomer() {
+        Customer customer = registered();
+        customer.recordLoginAttempt(true);
+
+        assertThat(statementsToSave(customer)).isZero();
+    }
+
+    @Test
+    @DisplayName("並行的登入失敗應該全部累加")
+    void shouldAddConcurrentFailedLogins() {
+        registered();
+        Customer first = load();
+        Customer second = load();
+
+        first.recordLoginAttempt(false);
+        second.recordLoginAttempt(false);
+        // The UPDATE, then the SELECT reading the stored count back
+        assertThat(statementsToSave(first)).isEqualTo(2);
+        assertThat(statementsToSave(second)).isEqualTo(2);
+
+        assertThat(load().getFailedLoginAttempts()).isEqualTo(2);
+        assertThat(second.getFailedLoginAttempts()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("並行的登入失敗累加達上限應該鎖定帳號")
+    void shouldLockWhenConcurrentFailedLoginsReachLimit() {
+        registered();
+        Customer first = load();
+        Customer second = load();
+
+        for (int i = 0; i < 4; i++) {
+            first.recordLoginAttempt(false);
+        }
+        adapter.save(first);
+        second.recordLoginAttempt(false);
+        assertThat(second.isLocked()).isFalse();
+
+        // The increment, the SELECT of the stored count, then the UPDATE writing the lock
+        assertThat(statementsToSave(second)).isEqualTo(3);
+
+        assertThat(second.isLocked()).isTrue();
+        Customer reloaded = load();
+        assertThat(reloaded.getFailedLoginAttempts()).isEqualTo(5);
+        assertThat(reloaded.getStatus()).isEqualTo(CustomerStatus.LOCKED);
+        assertThat(reloaded.getLockedUntil()).isNotNull();
+        assertThat(events.stream(CustomerLockedEvent.class)).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("並行變更不同欄位應該都被保留而不衝突")
+    void shouldKeepConcurrentChangesToDifferentColumns() {
+        registered();
+        Customer first = load();
+        Customer second = load();
+
+        first.updateProfile("New Name");
+        adapter.save(first);
+        second.upgradePassword(Password.fromHash("$argon2id$upgraded"));
+        adapter.save(second);
+
+        Customer reloaded = load();
+        assertThat(reloaded.getName()).isEqualTo("New Name");
+        assertThat(reloaded.getPassword().getHashedValue()).isEqualTo("$argon2id$upgraded");
+    }
+
+    @Test
+    @DisplayName("每次 UPDATE 應該遞增版本")
+    void shouldIncrementVersionOnUpdate() {
+        Customer customer = registered();
+        int version = entityManager.find(CustomerEntity.class, customer.getId().getValue()).getVersion();
+        entityManager.clear();
+
+        customer.updateProfile("New Name");
+        adapter.save(customer);
+        entityManager.clear();
+
+        assertThat(entityManager.find(CustomerEntity.class, customer.getId().getValue()).getVersion())
+                .isEqualTo(version + 1);
+    }
+
+    @Test
+    @DisplayName("鎖定應該寫入狀態與鎖定時間並累加失敗次數")
+    void shouldWriteLockTogetherWithIncrement() {
+        Customer customer = registered();
+        for (int i = 0; i < 4; i++) {
+            customer.recordLoginAttempt(false);
+        }
+        adapter.save(customer);
+        customer.recordLoginAttempt(false);
+
+        // Already locked by its own count, so only the stored count is read back
+        assertThat(statementsToSave(customer)).isEqualTo(2);
+
+        Customer reloaded = load();
+        assertThat(reloaded.getFailedLoginAttempts()).isEqualTo(5);
+        assertThat(reloaded.getStatus()).isEqualTo(CustomerStatus.LOCKED);
+        assertThat(reloaded.getLockedUntil()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("登入成功應該重置失敗次數與鎖定時間")
+    void shouldResetFailedAttemptsOnSuccess() {
+        Customer customer = registered();
+        customer.recordLoginAttempt(false);
+        customer.recordLoginAttempt(false);
+        adapter.save(customer);
+
+        Customer reloaded = load();
+        reloaded.recordLoginAttempt(true);
+        adapter.save(reloaded);
+
+        assertThat(load().getFailedLoginAttempts()).isZero();
+        assertThat(load().getLockedUntil()).isNull();
+    }
+
+    @Test
+    @DisplayName("升級密碼雜湊應該只寫入密碼")
+    void shouldWriteUpgradedPassword() {
+        Customer customer = registered();
+        customer.upgradePassword(Password.fromHash("$argon2id$upgraded"));
+
+        assertThat(statementsToSave(customer)).isEqualTo(1);
+
+        Customer reloaded = load();
+        assertThat(reloaded.getPassword().getHashedValue()).isEqualTo("$argon2id$upgraded");
+        assertThat(reloaded.getName()).isEqualTo("Test User");
+    }
+
+    @Test
+    @DisplayName("重複的 email 應該在儲存時拋出 DataIntegrityViolationException")
+    void shouldRejectDuplicateEmailOnInsert() {
+        registered();
+        Customer duplicate = Customer.register(Email.of(TEST_EMAIL), Password.fromHash("$2a$04$other"), "Other");
+
+        assertThatThrownBy(() -> adapter.save(duplicate))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    @Test
+    @DisplayName("儲存後應該發布並清除領域事件")
+    void shouldPublishDomainEventsOnSave() {
+        Customer customer = Customer.register(Email.of(TEST_EMAIL), Password.fromHash("$2a$04$hash"), "Test User");
+        adapter.save(customer);
+
+        assertThat(events.stream(CustomerRegisteredEvent.class))
+                .extracting(CustomerRegisteredEvent::getEmail)
+                .containsExactly(TEST_EMAIL);
+        assertThat(customer.hasDomainEvents()).isFalse();
+
+        customer.lock();
+        adapter.save(customer);
+
+        assertThat(events.stream(CustomerLockedEvent.class)).hasSize(1);
+    }
+}
@@ -0,0 +1,120 @@
+package com.ecommerce.customer.infrastructure.security;
+
+import com.ecommerce.customer.application.exception.AccountLockedException;
+import com.ecommerce.customer.domain.port.LoginThrottlePort.Failure;
+import com.ecommerce.customer.infrastructure.config.LoginThrottleProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@DisplayName("LoginThrottle 測試")
+class LoginThrottleTest {
+
+    private static final String EMAIL = "user@example.com";
+    private static final String CLIENT_IP = "203.0.113.7";
+
+    private final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final LoginThrottleProperties properties = new LoginThrottleProperties();
+    private LoginThrottle throttle;
+
+    @BeforeEach
+    void setUp() {
+        throttle = new LoginThrottle(properties, redisTemplate, meterRegistry);
+    }
+
+    private void givenRedisReply(List<Long> reply) {
+        when(redisTemplate.execute(ArgumentMatchers.<RedisScript<List<Long>>>any(), anyList(), any(Object[].class))).thenReturn(reply);
+    }
+
+    private double counter(String name) {
+        return meterRegistry.get(name).counter().count();
+    }
+
+    @Test
+    @DisplayName("失敗應該同時計入 email 與 IP 的視窗")
+    void shouldCountFailureAgainstEmailAndIp() {
+        givenRedisReply(List.of(0L, 0L));
+
+        Failure failure = throttle.recordFailure(EMAIL, CLIENT_IP);
+
+        assertThat(failure.recorded()).isTrue();
+        assertThat(failure.locking()).isFalse();
+        assertThat(failure.lockedUntil()).isNull();
+        verify(redisTemplate).execute(ArgumentMatchers.<RedisScript<List<Long>>>any(),
+                eq(List.of("login:lock:" + EMAIL, "login:failures:email:" + EMAIL, "login:failures:ip:" + CLIENT_IP)),
+                any(Object[].class));
+    }
+
+    @Test
+    @DisplayName("沒有 IP 時應該只計入 email 的視窗")
+    void shouldCountFailureAgainstEmailOnlyWithoutIp() {
+        givenRedisReply(List.of(0L, 0L));
+
+        throttle.recordFailure(EMAIL, null);
+
+        verify(redisTemplate).execute(ArgumentMatchers.<RedisScript<List<Long>>>any(),
+                eq(List.of("login:lock:" + EMAIL, "login:failures:email:" + EMAIL)), any(Object[].class));
+    }
+
+    @Test
+    @DisplayName("達到上限的失敗應該回報鎖定並記錄鎖定次數")
+    void shouldReportLockingFailure() {
+        givenRedisReply(List.of(1L, 1_800_000L));
+
+        Failure failure = throttle.recordFailure(EMAIL, CLIENT_IP);
+
+        assertThat(failure.locking()).isTrue();
+        assertThat(failure.lockedUntil()).isAfter(Instant.now().plusSeconds(1700));
+        assertThat(counter("customer.login.locks")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("已鎖定的帳號應該在檢查時被拒絕")
+    void shouldRejectLockedAccount() {
+        givenRedisReply(List.of(1L, 60_000L));
+
+        assertThatThrownBy(() -> throttle.checkAllowed(EMAIL, CLIENT_IP))
+                .isInstanceOf(AccountLockedException.class);
+        assertThat(meterRegistry.get("customer.login.rejected").tag("reason", "locked").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Redis 無法使用時應該放行並回報未計數")
+    void shouldFailOpenWhenRedisIsDown() {
+        when(redisTemplate.execute(ArgumentMatchers.<RedisScript<List<Long>>>any(), anyList(), any(Object[].class)))
+                .thenThrow(new RedisConnectionFailureException("down"));
+
+        assertThatCode(() -> throttle.checkAllowed(EMAIL, CLIENT_IP)).doesNotThrowAnyException();
+        assertThat(throttle.recordFailure(EMAIL, CLIENT_IP)).isEqualTo(Failure.UNRECORDED);
+        assertThat(counter("customer.login.throttle.errors")).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("停用時不應該存取 Redis")
+    void shouldNotTouchRedisWhenDisabled() {
+        properties.setEnabled(false);
+
+        throttle.checkAllowed(EMAIL, CLIENT_IP);
+        Failure failure = throttle.recordFailure(EMAIL, CLIENT_IP);
+        throttle.recordSuccess(EMAIL);
+
+        assertThat(failure).isEqualTo(Failure.UNRECORDED);
+        verifyNoInteractions(redisTemplate);
+    }
+}
@@ -0,0 +1,224 @@
+package com.ecommerce.customer.infrastructure.security;
+
+import com.ecommerce.customer.application.exception.ServiceBusyException;
+import com.ecommerce.customer.domain.model.Password;
+import com.ecommerce.customer.domain.port.PasswordHashingPort.PasswordCheck;
+import com.ecommerce.customer.infrastructure.config.PasswordHashingProperties;
+import com.ecommerce.customer.infrastructure.config.PasswordHashingProperties.Algorithm;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("PasswordHashingService 測試")
+class PasswordHashingServiceTest {
+
+    private static final String VALID_PASSWORD = "SecureP@ss1";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PasswordHashingService service;
+
+    @AfterEach
+    void tearDown() {
+        if (service != null) {
+            service.close();
+        }
+    }
+
+    private static PasswordHashingProperties bcrypt(int strength) {
+        PasswordHashingProperties properties = new PasswordHashingProperties();
+        properties.setBcryptStrength(strength);
+        properties.setThreads(1);
+        return properties;
+    }
+
+    private static PasswordHashingProperties argon2() {
+        PasswordHashingProperties properties = new PasswordHashingProperties();
+        properties.setAlgorithm(Algorithm.ARGON2ID);
+        properties.setArgon2MemoryKib(1024);
+        properties.setArgon2Iterations(1);
+        properties.setThreads(1);
+        return properties;
+    }
+
+    private PasswordHashingService start(PasswordHashingProperties properties) {
+        service = new PasswordHashingService(properties, meterRegistry);
+        return service;
+    }
+
+    private double gauge(String name) {
+        return meterRegistry.get(name).gauge().value();
+    }
+
+    private double rejected(String reason) {
+        return meterRegistry.get("customer.password.hash.rejected").tag("reason", reason).counter().count();
+    }
+
+    @Nested
+    @DisplayName("雜湊")
+    class Hashing {
+
+        @Test
+        @DisplayName("應該以設定的 BCrypt 強度雜湊")
+        void shouldHashWithConfiguredBcryptStrength() {
+            Password password = start(bcrypt(5)).hash(VALID_PASSWORD);
+
+            assertThat(password.getHashedValue()).startsWith("$2a$05$");
+            assertThat(service.verify(password, VALID_PASSWORD).matched()).isTrue();
+        }
+
+        @Test
+        @DisplayName("設定 Argon2id 時應該以 Argon2id 雜湊")
+        void shouldHashWithArgon2id() {
+            Password password = start(argon2()).hash(VALID_PASSWORD);
+
+            assertThat(password.getHashedValue()).startsWith("$argon2id$");
+            assertThat(service.verify(password, VALID_PASSWORD).matched()).isTrue();
+        }
+
+        @Test
+        @DisplayName("弱密碼應該拋出 IllegalArgumentException")
+        void shouldRejectWeakPassword() {
+            start(bcrypt(4));
+
+            assertThatThrownBy(() -> service.hash("weakpassword"))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("uppercase");
+        }
+
+        @Test
+        @DisplayName("應該記錄雜湊時間")
+        void shouldRecordHashTime() {
+            start(bcrypt(4)).hash(VALID_PASSWORD);
+
+            assertThat(meterRegistry.get("customer.password.hash")
+                    .tag("operation", "encode").tag("algorithm", "bcrypt").timer().count()).isEqualTo(1);
+            assertThat(meterRegistry.get("customer.password.hash.queue.wait").timer().count()).isEqualTo(1);
+        }
+    }
+
+    @Nested
+    @DisplayName("登入驗證與重新雜湊")
+    class Verification {
+
+        @Test
+        @DisplayName("錯誤密碼不應該通過也不應該重新雜湊")
+        void shouldNotRehashWrongPassword() {
+            Password stored = Password.fromHash(new BCryptPasswordEncoder(4).encode(VALID_PASSWORD));
+
+            PasswordCheck check = start(bcrypt(6)).verify(stored, "WrongP@ss1");
+
+            assertThat(check.matched()).isFalse();
+            assertThat(check.rehashed()).isNull();
+        }
+
+        @Test
+        @DisplayName("雜湊強度低於設定時應該重新雜湊")
+        void shouldRehashWeakerBcrypt() {
+            Password stored = Password.fromHash(new BCryptPasswordEncoder(4).encode(VALID_PASSWORD));
+
+            PasswordCheck check = start(bcrypt(5)).verify(stored, VALID_PASSWORD);
+
+            assertThat(check.matched()).isTrue();
+            assertThat(check.rehashed().getHashedValue()).startsWith("$2a$05$");
+            assertThat(meterRegistry.get("customer.password.rehash").counter().count()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("雜湊強度不低於設定時不應該重新雜湊")
+        void shouldKeepStrongerBcrypt() {
+            Password stored = Password.fromHash(new BCryptPasswordEncoder(5).encode(VALID_PASSWORD));
+
+            PasswordCheck check = start(bcrypt(4)).verify(stored, VALID_PASSWORD);
+
+            assertThat(check.matched()).isTrue();
+            assertThat(check.rehashed()).isNull();
+        }
+
+        @Test
+        @DisplayName("演算法改為 Argon2id 後應該把 BCrypt 雜湊升級")
+        void shouldRehashBcryptToArgon2id() {
+            Password stored = Password.fromHash(new BCryptPasswordEncoder(4).encode(VALID_PASSWORD));
+
+            PasswordCheck check = start(argon2()).verify(stored, VALID_PASSWORD);
+
+            assertThat(check.matched()).isTrue();
+            assertThat(check.rehashed().getHashedValue()).startsWith("$argon2id$");
+            assertThat(service.verify(check.rehashed(), VALID_PASSWORD).rehashed()).isNull();
+            assertThat(meterRegistry.get("customer.password.hash")
+                    .tag("operation", "verify").tag("algorithm", "bcrypt").timer().count()).isEqualTo(1);
+            assertThat(meterRegistry.get("customer.password.hash")
+                    .tag("operation", "verify").tag("algorithm", "argon2id").timer().count()).isEqualTo(1);
+        }
+    }
+
+    @Nested
+    @DisplayName("背壓")
+    class Backpressure {
+
+        @Test
+        @DisplayName("佇列已滿時應該立即拒絕")
+        void shouldRejectWhenQueueIsFull() throws Exception {
+            PasswordHashingProperties properties = bcrypt(4);
+            properties.setQueueCapacity(1);
+            start(properties);
+            CountDownLatch release = new CountDownLatch(1);
+
+            CompletableFuture<Object> running = CompletableFuture.supplyAsync(
+                    () -> service.submit(() -> release.await(5, TimeUnit.SECONDS)));
+            awaitGauge("customer.password.hash.active", 1);
+            CompletableFuture<Object> queued = CompletableFuture.supplyAsync(
+                    () -> service.submit(() -> release.await(5, TimeUnit.SECONDS)));
+            awaitGauge("customer.password.hash.queue", 1);
+
+            assertThatThrownBy(() -> service.hash(VALID_PASSWORD))
+                    .isInstanceOf(ServiceBusyException.class)
+                    .extracting("retryAfter")
+                    .isEqualTo(Duration.ofSeconds(1));
+            assertThat(rejected("queue_full")).isEqualTo(1);
+
+            release.countDown();
+            assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo(true);
+            assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo(true);
+        }
+
+        @Test
+        @DisplayName("等待超過上限時應該拒絕並釋出佇列位置")
+        void shouldRejectWhenWaitExceeded() throws Exception {
+            PasswordHashingProperties properties = bcrypt(4);
+            properties.setMaxWait(Duration.ofMillis(200));
+            start(properties);
+            CountDownLatch release = new CountDownLatch(1);
+
+            CompletableFuture<Object> running = CompletableFuture.supplyAsync(
+                    () -> service.submit(() -> release.await(5, TimeUnit.SECONDS)));
+            awaitGauge("customer.password.hash.active", 1);
+
+            assertThatThrownBy(() -> service.hash(VALID_PASSWORD))
+                    .isInstanceOf(ServiceBusyException.class);
+            // The blocking task's own caller gave up first
+            assertThat(rejected("timeout")).isEqualTo(2);
+            assertThat(gauge("customer.password.hash.queue")).isZero();
+
+            release.countDown();
+            running.handle((result, error) -> null).get(5, TimeUnit.SECONDS);
+        }
+
+        private void awaitGauge(String name, double expected) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (gauge(name) != expected) {
+                assertThat(System.nanoTime()).as("waiting for %s to reach %s", name, expected).isLessThan(deadline);
+                Thread.sleep(5);
+            }
+        }
+    }
+}
@@ -13,6 +13,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
 
 import java.time.Instant;
 import java.util.UUID;
@@ -101,18 +102,20 @@ class AuthControllerTest {
                 createCustomerDto()
         );
 
-        when(authenticateCustomerUseCase.execute(any(LoginCommand.class)))
+        when(authenticateCustomerUseCase.execute(any(LoginCommand.class), any()))
                 .thenReturn(authResponse);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr("203.0.113.7");
 
         // When
-        ResponseEntity<AuthResponse> response = authController.login(command);
+        ResponseEntity<AuthResponse> response = authController.login(command, request);
 
         // Then
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(response.getBody()).isNotNull();
         assertThat(response.getBody().accessToken()).isEqualTo("access-token");
 
-        verify(authenticateCustomerUseCase).execute(command);
+        verify(authenticateCustomerUseCase).execute(command, "203.0.113.7");
     }
 
     @Test
@@ -0,0 +1,91 @@
+package com.ecommerce.gateway.filter;
+
+import com.ecommerce.gateway.metrics.GatewayMetrics;
+import com.ecommerce.security.jwt.InternalIdentityAssertion;
+import com.ecommerce.security.jwt.JwtProperties;
+import com.ecommerce.security.jwt.JwtTokenProvider;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link JwtAuthenticationWebFilter#filter} per request, for anonymous, authenticated
+ * and rejected tokens, with and without internal identity assertions.
+ * Each invocation builds a fresh mock exchange; {@link #exchangeOnly()} is that cost alone.
+ *
+ * Run with: ./gradlew :gateway-benchmarks:jmh -Pjmh.includes=JwtAuthenticationWebFilterBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JwtAuthenticationWebFilterBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-that-is-long-enough-for-hmac-sha-256-signing";
+
+    @Param({"false", "true"})
+    public boolean internalIdentity;
+
+    private JwtAuthenticationWebFilter filter;
+    private String accessToken;
+    private String invalidToken;
+    private final WebFilterChain chain = exchange -> Mono.empty();
+
+    @Setup
+    public void setUp() {
+        JwtProperties jwtProperties = new JwtProperties();
+        jwtProperties.setSecretKey(SECRET);
+        jwtProperties.setAccessTokenExpiration(Duration.ofHours(1));
+        jwtProperties.getInternalIdentity().setEnabled(internalIdentity);
+        jwtProperties.getInternalIdentity().setSecret("benchmark-internal-identity-secret-0123456789");
+        JwtTokenProvider jwtTokenProvider = new JwtTokenProvider(jwtProperties);
+        filter = new JwtAuthenticationWebFilter(jwtTokenProvider, new InternalIdentityAssertion(jwtProperties),
+                new RequestIdGenerator(), new GatewayMetrics(new SimpleMeterRegistry(), List.of(Duration.ofMillis(10))));
+        accessToken = jwtTokenProvider.generateAccessToken("user-123", "user@example.com", "CUSTOMER");
+        // Valid structure, wrong signature
+        invalidToken = accessToken.substring(0, accessToken.length() - 4) + "AAAA";
+    }
+
+    private static ServerWebExchange exchange(String token) {
+        MockServerHttpRequest.BaseBuilder<?> request = MockServerHttpRequest.get("/api/v1/orders");
+        if (token != null) {
+            request.header(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+        }
+        return MockServerWebExchange.from(request);
+    }
+
+    @Benchmark
+    public ServerWebExchange exchangeOnly() {
+        return exchange(accessToken);
+    }
+
+    @Benchmark
+    public Object anonymous() {
+        return filter.filter(exchange(null), chain).block();
+    }
+
+    @Benchmark
+    public Object authenticated() {
+        return filter.filter(exchange(accessToken), chain).block();
+    }
+
+    @Benchmark
+    public Object invalidSignature() {
+        return filter.filter(exchange(invalidToken), chain).block();
+    }
+}
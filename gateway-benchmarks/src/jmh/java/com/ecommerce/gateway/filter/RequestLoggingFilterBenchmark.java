@@ -0,0 +1,73 @@
+package com.ecommerce.gateway.filter;
+
+import com.ecommerce.gateway.accesslog.AsyncAccessLog;
+import com.ecommerce.gateway.config.AccessLogProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link RequestLoggingFilter} on the request thread, at full and sampled access logging.
+ * Formatting and writing happen on the access log's writer thread and are not included,
+ * except as contention when several request threads hand records over at once.
+ *
+ * Run with: ./gradlew :gateway-benchmarks:jmh -Pjmh.includes=RequestLoggingFilterBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Threads(4)
+public class RequestLoggingFilterBenchmark {
+
+    @Param({"1.0", "0.1"})
+    public double sampleRate;
+
+    private AsyncAccessLog accessLog;
+    private RequestLoggingFilter filter;
+    private final GatewayFilterChain chain = exchange -> {
+        exchange.getResponse().setStatusCode(HttpStatus.OK);
+        return Mono.empty();
+    };
+
+    @Setup
+    public void setUp() {
+        AccessLogProperties properties = new AccessLogProperties();
+        properties.setSampleRate(sampleRate);
+        accessLog = new AsyncAccessLog(properties, new SimpleMeterRegistry());
+        filter = new RequestLoggingFilter(accessLog, new RequestIdGenerator());
+    }
+
+    @TearDown
+    public void tearDown() {
+        accessLog.shutdown();
+    }
+
+    @Benchmark
+    public Object withoutRequestId() {
+        return filter.filter(MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/products/p-1")
+                .remoteAddress(new InetSocketAddress("203.0.113.7", 54321))), chain).block();
+    }
+
+    @Benchmark
+    public Object withRequestId() {
+        return filter.filter(MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/products/p-1")
+                .header("X-Request-Id", "0a1b2c3d-0000000000000001")
+                .remoteAddress(new InetSocketAddress("203.0.113.7", 54321))), chain).block();
+    }
+}
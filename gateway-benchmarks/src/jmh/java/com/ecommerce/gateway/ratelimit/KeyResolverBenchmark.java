@@ -0,0 +1,102 @@
+package com.ecommerce.gateway.ratelimit;
+
+import com.ecommerce.gateway.config.RateLimitConfig;
+import com.ecommerce.gateway.config.RateLimitPolicyProperties;
+import com.ecommerce.gateway.filter.JwtAuthenticationWebFilter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.cloud.gateway.filter.ratelimit.KeyResolver;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the previous string-building key resolution with {@link RateLimitKeys},
+ * and measures the {@link KeyResolver} beans as the rate limit filter calls them.
+ *
+ * Run with: ./gradlew :gateway-benchmarks:jmh -Pjmh.includes=KeyResolverBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class KeyResolverBenchmark {
+
+    private RateLimitKeys keys;
+    private KeyResolver ipKeyResolver;
+    private KeyResolver userKeyResolver;
+    private KeyResolver pathUserKeyResolver;
+    private ServerWebExchange anonymous;
+    private ServerWebExchange authenticated;
+
+    @Setup
+    public void setUp() {
+        keys = new RateLimitKeys(new RateLimitPolicyProperties.Keys());
+        RateLimitConfig config = new RateLimitConfig();
+        ipKeyResolver = config.ipKeyResolver(keys);
+        userKeyResolver = config.userKeyResolver(keys);
+        pathUserKeyResolver = config.pathUserKeyResolver(keys);
+        anonymous = exchange();
+        authenticated = exchange();
+        authenticated.getAttributes().put(JwtAuthenticationWebFilter.USER_ID_ATTR, "user-123");
+    }
+
+    private static ServerWebExchange exchange() {
+        return MockServerWebExchange.from(MockServerHttpRequest
+                .get("/api/v1/products/3f2b8c1e-9a4d-4e2f-8b7a-1c2d3e4f5a6b")
+                .remoteAddress(new InetSocketAddress("203.0.113.7", 54321)));
+    }
+
+    @Benchmark
+    public String ipKeyBaseline() {
+        return "ip:" + anonymous.getRequest().getRemoteAddress().getAddress().getHostAddress();
+    }
+
+    @Benchmark
+    public String ipKey() {
+        return keys.userOrIp(anonymous);
+    }
+
+    @Benchmark
+    public String userKeyBaseline() {
+        return "user:" + (String) authenticated.getAttribute(JwtAuthenticationWebFilter.USER_ID_ATTR);
+    }
+
+    @Benchmark
+    public String userKey() {
+        return keys.userOrIp(authenticated);
+    }
+
+    @Benchmark
+    public String pathUserKeyBaseline() {
+        String path = authenticated.getRequest().getPath().value();
+        return "user:" + (String) authenticated.getAttribute(JwtAuthenticationWebFilter.USER_ID_ATTR) + ":" + path;
+    }
+
+    @Benchmark
+    public String pathUserKey() {
+        return keys.userOrIpAndPath(authenticated);
+    }
+
+    @Benchmark
+    public String ipKeyResolver() {
+        return ipKeyResolver.resolve(anonymous).block();
+    }
+
+    @Benchmark
+    public String userKeyResolver() {
+        return userKeyResolver.resolve(authenticated).block();
+    }
+
+    @Benchmark
+    public String pathUserKeyResolver() {
+        return pathUserKeyResolver.resolve(authenticated).block();
+    }
+}
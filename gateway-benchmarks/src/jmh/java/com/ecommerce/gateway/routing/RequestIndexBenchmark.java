@@ -0,0 +1,108 @@
+package com.ecommerce.gateway.routing;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.cloud.gateway.config.GlobalCorsProperties;
+import org.springframework.cloud.gateway.event.RefreshRoutesResultEvent;
+import org.springframework.cloud.gateway.handler.FilteringWebHandler;
+import org.springframework.cloud.gateway.handler.RoutePredicateHandlerMapping;
+import org.springframework.cloud.gateway.handler.predicate.PathRoutePredicateFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.route.RouteLocator;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatcher;
+import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatchers;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares finding the route and the authorization rule for a request by testing each in turn,
+ * as the stock handler mapping and Spring Security's path matchers do, with a {@link RequestIndex} lookup.
+ * Requests target the last declared service, the worst case for linear matching; the indexed
+ * lookups should stay flat as the number of services grows.
+ *
+ * Run with: ./gradlew :gateway-benchmarks:jmh -Pjmh.includes=RequestIndexBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RequestIndexBenchmark {
+
+    @Param({"8", "32", "128"})
+    public int services;
+
+    private List<ServerWebExchangeMatcher> matchers;
+    private RequestIndex index;
+    private RoutePredicateHandlerMapping linearMapping;
+    private IndexedRoutePredicateHandlerMapping indexedMapping;
+    private ServerWebExchange exchange;
+
+    @Setup
+    public void setUp() {
+        PathRoutePredicateFactory pathFactory = new PathRoutePredicateFactory();
+        List<Route> routes = new ArrayList<>(services);
+        List<AccessRule> rules = new ArrayList<>(services);
+        matchers = new ArrayList<>(services);
+        for (int i = 0; i < services; i++) {
+            String pattern = "/api/v1/service-" + i + "/**";
+            PathRoutePredicateFactory.Config config = new PathRoutePredicateFactory.Config();
+            config.setPatterns(List.of(pattern));
+            routes.add(Route.async()
+                    .id("service-" + i)
+                    .uri("lb://service-" + i)
+                    .asyncPredicate(pathFactory.applyAsync(config))
+                    .build());
+            rules.add(AccessRule.authenticated(pattern));
+            matchers.add(ServerWebExchangeMatchers.pathMatchers(pattern));
+        }
+
+        RouteLocator routeLocator = () -> Flux.fromIterable(routes);
+        FilteringWebHandler webHandler = new FilteringWebHandler(List.of());
+        index = new RequestIndex(rules);
+        linearMapping = new RoutePredicateHandlerMapping(webHandler, routeLocator,
+                new GlobalCorsProperties(), new MockEnvironment());
+        indexedMapping = new IndexedRoutePredicateHandlerMapping(webHandler, routeLocator,
+                new GlobalCorsProperties(), new MockEnvironment(), index);
+        indexedMapping.onApplicationEvent(new RefreshRoutesResultEvent(this));
+
+        exchange = MockServerWebExchange.from(MockServerHttpRequest
+                .get("/api/v1/service-" + (services - 1) + "/items/3f2b8c1e-9a4d-4e2f-8b7a-1c2d3e4f5a6b"));
+    }
+
+    @Benchmark
+    public Object routeLinear() {
+        return linearMapping.getHandler(exchange).block();
+    }
+
+    @Benchmark
+    public Object routeIndexed() {
+        return indexedMapping.getHandler(exchange).block();
+    }
+
+    @Benchmark
+    public ServerWebExchangeMatcher accessRuleLinear() {
+        for (ServerWebExchangeMatcher matcher : matchers) {
+            if (matcher.matches(exchange).block().isMatch()) {
+                return matcher;
+            }
+        }
+        return null;
+    }
+
+    @Benchmark
+    public AccessRule accessRuleIndexed() {
+        return index.accessRule(exchange.getRequest());
+    }
+}
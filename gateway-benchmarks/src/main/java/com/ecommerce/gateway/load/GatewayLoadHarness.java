@@ -0,0 +1,226 @@
+package com.ecommerce.gateway.load;
+
+import com.ecommerce.gateway.ApiGatewayApplication;
+import com.ecommerce.security.config.SecurityAutoConfiguration;
+import com.ecommerce.security.jwt.InternalIdentityAssertion;
+import com.ecommerce.security.jwt.JwtProperties;
+import com.ecommerce.security.jwt.JwtTokenProvider;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+
+/**
+ * End-to-end load harness for the API gateway.
+ * Boots the real gateway application against {@link StubService} downstreams and a {@link RedisStandIn},
+ * drives each scenario with a fixed number of closed-loop clients, and writes a {@link LoadReport}
+ * to the path given as the first argument.
+ *
+ * Settings are read from system properties:
+ * load.duration (default 30s), load.warmup (default 5s), load.concurrency (default 64),
+ * load.stubLatency (default 0ms), load.users (default 1000).
+ *
+ * Run with: ./gradlew :gateway-benchmarks:loadTest -Dload.duration=60s
+ */
+public final class GatewayLoadHarness {
+
+    private static final String JWT_SECRET = "load-test-secret-key-that-is-long-enough-for-hmac-sha-256";
+    private static final List<String> SERVICES = List.of("product-service", "order-service", "customer-service");
+
+    private GatewayLoadHarness() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path output = Path.of(args.length > 0 ? args[0] : "build/load-results/gateway-load.json");
+        Duration duration = Duration.parse("PT" + System.getProperty("load.duration", "30s"));
+        Duration warmup = Duration.parse("PT" + System.getProperty("load.warmup", "5s"));
+        int concurrency = Integer.getInteger("load.concurrency", 64);
+        Duration stubLatency = Duration.ofMillis(Long.getLong("load.stubLatency", 0L));
+        int users = Integer.getInteger("load.users", 1000);
+
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("durationSeconds", duration.toSeconds());
+        settings.put("warmupSeconds", warmup.toSeconds());
+        settings.put("concurrency", concurrency);
+        settings.put("stubLatencyMillis", stubLatency.toMillis());
+        settings.put("users", users);
+        LoadReport report = new LoadReport(settings);
+
+        try (RedisStandIn redis = new RedisStandIn()) {
+            Map<String, StubService> stubs = new LinkedHashMap<>();
+            try {
+                for (String service : SERVICES) {
+                    stubs.put(service, new StubService(service, stubLatency));
+                }
+                try (ConfigurableApplicationContext gateway = startGateway(redis.port(), stubs)) {
+                    int port = Integer.parseInt(gateway.getEnvironment().getProperty("local.server.port"));
+                    run(port, concurrency, warmup, duration, users, report);
+                }
+            } finally {
+                stubs.values().forEach(StubService::close);
+            }
+        }
+
+        report.write(output);
+        System.out.println("Load report written to " + output.toAbsolutePath());
+        // Shared Reactor Netty resources keep non-daemon threads alive after the context is closed
+        System.exit(0);
+    }
+
+    private static ConfigurableApplicationContext startGateway(int redisPort, Map<String, StubService> stubs) {
+        // Passed as command line arguments so they take precedence over the gateway's application.yml
+        List<String> arguments = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.autoconfigure.exclude=" + SecurityAutoConfiguration.class.getName(),
+                "--spring.data.redis.host=127.0.0.1",
+                "--spring.data.redis.port=" + redisPort,
+                "--jwt.secret-key=" + JWT_SECRET,
+                "--logging.level.root=WARN",
+                "--logging.level.com.ecommerce.gateway=WARN",
+                "--logging.level.org.springframework.security=WARN",
+                "--logging.level.org.springframework.cloud.gateway=WARN"));
+        stubs.forEach((service, stub) -> arguments.add(
+                "--spring.cloud.discovery.client.simple.instances." + service + "[0].uri=http://127.0.0.1:" + stub.port()));
+
+        return new SpringApplicationBuilder(ApiGatewayApplication.class, GatewayJwtBeans.class)
+                .web(WebApplicationType.REACTIVE)
+                .run(arguments.toArray(String[]::new));
+    }
+
+    private static void run(int port, int concurrency, Duration warmup, Duration duration, int users,
+                            LoadReport report) {
+        ConnectionProvider connections = ConnectionProvider.builder("load-harness")
+                .maxConnections(concurrency)
+                .pendingAcquireMaxCount(-1)
+                .build();
+        HttpClient client = HttpClient.create(connections).baseUrl("http://127.0.0.1:" + port);
+
+        JwtProperties jwtProperties = new JwtProperties();
+        jwtProperties.setSecretKey(JWT_SECRET);
+        jwtProperties.setAccessTokenExpiration(Duration.ofHours(1));
+        JwtTokenProvider tokens = new JwtTokenProvider(jwtProperties);
+        String[] bearerTokens = new String[users];
+        for (int i = 0; i < users; i++) {
+            bearerTokens[i] = "Bearer " + tokens.generateAccessToken("load-user-" + i, "load-user-" + i + "@example.com", "CUSTOMER");
+        }
+
+        Map<String, IntFunction<Mono<Integer>>> scenarios = new LinkedHashMap<>();
+        // Hot catalog keys, mostly served from the gateway's response cache
+        scenarios.put("catalog-cached", i -> get(client, "/api/v1/products/p-" + (i % 100), null));
+        // Unique query strings defeat the response cache and single-flight, so every request goes downstream
+        scenarios.put("catalog-uncached", i -> get(client, "/api/v1/products?page=" + i, null));
+        // Authenticated traffic spread across many users, exercising token validation and per-user rate limits
+        scenarios.put("orders-authenticated", i -> get(client, "/api/v1/orders", bearerTokens[i % users]));
+
+        try {
+            scenarios.forEach((name, request) -> {
+                drive(request, concurrency, warmup);
+                Result result = drive(request, concurrency, duration);
+                report.add(name, result.latenciesNanos(), result.errors(), result.elapsed());
+                System.out.printf("%-22s %,10d requests %,8d errors%n", name, result.latenciesNanos().length, result.errors());
+            });
+        } finally {
+            connections.disposeLater().block();
+        }
+    }
+
+    private static Mono<Integer> get(HttpClient client, String uri, String authorization) {
+        HttpClient configured = authorization == null
+                ? client
+                : client.headers(headers -> headers.set(HttpHeaderNames.AUTHORIZATION, authorization));
+        return configured.get()
+                .uri(uri)
+                .responseSingle((response, body) -> body.then(Mono.just(response.status().code())));
+    }
+
+    /**
+     * Runs {@code concurrency} clients that each issue the next request as soon as the previous one completes,
+     * until {@code duration} has elapsed. Only successful (2xx) responses contribute latencies.
+     */
+    private static Result drive(IntFunction<Mono<Integer>> request, int concurrency, Duration duration) {
+        AtomicLong sequence = new AtomicLong();
+        AtomicLong errors = new AtomicLong();
+        LatencyRecorder[] recorders = new LatencyRecorder[concurrency];
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+
+        Flux.range(0, concurrency)
+                .flatMap(worker -> {
+                    LatencyRecorder recorder = recorders[worker] = new LatencyRecorder();
+                    return Mono.defer(() -> {
+                                long sent = System.nanoTime();
+                                return request.apply((int) sequence.getAndIncrement())
+                                        .doOnNext(status -> {
+                                            if (status >= 200 && status < 300) {
+                                                recorder.record(System.nanoTime() - sent);
+                                            } else {
+                                                errors.incrementAndGet();
+                                            }
+                                        })
+                                        .onErrorResume(e -> {
+                                            errors.incrementAndGet();
+                                            return Mono.empty();
+                                        });
+                            })
+                            .repeat(() -> System.nanoTime() < deadline);
+                }, concurrency)
+                .blockLast();
+
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+        long[] latencies = Arrays.stream(recorders)
+                .flatMapToLong(recorder -> Arrays.stream(recorder.values()))
+                .toArray();
+        return new Result(latencies, errors.get(), elapsed);
+    }
+
+    /**
+     * The JWT beans the gateway needs from security-infrastructure.
+     * Its auto-configuration is excluded because it also scans the servlet-only security setup.
+     */
+    @Configuration(proxyBeanMethods = false)
+    @EnableConfigurationProperties(JwtProperties.class)
+    @Import({JwtTokenProvider.class, InternalIdentityAssertion.class})
+    static class GatewayJwtBeans {
+    }
+
+    private record Result(long[] latenciesNanos, long errors, Duration elapsed) {
+    }
+
+    /**
+     * Growable primitive buffer owned by a single client, so recording never allocates per request
+     * or contends with other clients.
+     */
+    private static final class LatencyRecorder {
+
+        private long[] values = new long[4096];
+        private int size;
+
+        void record(long nanos) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = nanos;
+        }
+
+        long[] values() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
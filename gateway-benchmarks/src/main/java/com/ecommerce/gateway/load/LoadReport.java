@@ -0,0 +1,105 @@
+package com.ecommerce.gateway.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Machine-readable result of a load run.
+ * Keys are written in sorted order so reports from two builds can be compared with a plain diff.
+ * Also used by the service-benchmarks threading load harness, so both load tests share one schema.
+ */
+public final class LoadReport {
+
+    public static final int SCHEMA_VERSION = 1;
+
+    private final Map<String, Object> settings;
+    private final Map<String, Object> scenarios = new LinkedHashMap<>();
+
+    public LoadReport(Map<String, Object> settings) {
+        this.settings = settings;
+    }
+
+    /**
+     * Adds one scenario's results.
+     *
+     * @param latenciesNanos latency of every completed request, in any order; sorted in place
+     */
+    public void add(String scenario, long[] latenciesNanos, long errors, Duration elapsed) {
+        add(scenario, latenciesNanos, errors, Map.of(), elapsed);
+    }
+
+    /**
+     * Adds one scenario's results together with harness-specific counts, written next to {@code errors}.
+     *
+     * @param latenciesNanos latency of every completed request, in any order; sorted in place
+     * @param counters       additional counts keyed by name, e.g. responses that failed a harness check
+     */
+    public void add(String scenario, long[] latenciesNanos, long errors, Map<String, Long> counters,
+                    Duration elapsed) {
+        Arrays.sort(latenciesNanos);
+        Map<String, Object> latency = new LinkedHashMap<>();
+        latency.put("p50", percentileMillis(latenciesNanos, 0.50));
+        latency.put("p90", percentileMillis(latenciesNanos, 0.90));
+        latency.put("p99", percentileMillis(latenciesNanos, 0.99));
+        latency.put("p999", percentileMillis(latenciesNanos, 0.999));
+        latency.put("max", latenciesNanos.length == 0 ? 0.0 : millis(latenciesNanos[latenciesNanos.length - 1]));
+        latency.put("mean", latenciesNanos.length == 0 ? 0.0 : millis((long) Arrays.stream(latenciesNanos).average().orElse(0)));
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("requests", latenciesNanos.length);
+        result.put("errors", errors);
+        result.putAll(counters);
+        result.put("throughputPerSecond", round(latenciesNanos.length / (elapsed.toNanos() / 1e9)));
+        result.put("latencyMillis", latency);
+        scenarios.put(scenario, result);
+    }
+
+    public void write(Path file) throws IOException {
+        Map<String, Object> environment = new LinkedHashMap<>();
+        environment.put("javaVersion", System.getProperty("java.version"));
+        environment.put("availableProcessors", Runtime.getRuntime().availableProcessors());
+        environment.put("maxHeapBytes", Runtime.getRuntime().maxMemory());
+        environment.put("osName", System.getProperty("os.name"));
+        environment.put("osArch", System.getProperty("os.arch"));
+
+        Map<String, Object> document = new LinkedHashMap<>();
+        document.put("schemaVersion", SCHEMA_VERSION);
+        document.put("timestamp", Instant.now().toString());
+        document.put("environment", environment);
+        document.put("settings", settings);
+        document.put("scenarios", scenarios);
+
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        new ObjectMapper()
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+                .writeValue(file.toFile(), document);
+    }
+
+    private static double percentileMillis(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0.0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return millis(sorted[Math.max(0, Math.min(index, sorted.length - 1))]);
+    }
+
+    private static double millis(long nanos) {
+        return round(nanos / 1e6);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+}
@@ -0,0 +1,111 @@
+package com.ecommerce.gateway.load;
+
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.handler.codec.redis.ArrayRedisMessage;
+import io.netty.handler.codec.redis.ErrorRedisMessage;
+import io.netty.handler.codec.redis.FullBulkStringRedisMessage;
+import io.netty.handler.codec.redis.IntegerRedisMessage;
+import io.netty.handler.codec.redis.RedisArrayAggregator;
+import io.netty.handler.codec.redis.RedisBulkStringAggregator;
+import io.netty.handler.codec.redis.RedisDecoder;
+import io.netty.handler.codec.redis.RedisEncoder;
+import io.netty.handler.codec.redis.RedisMessage;
+import io.netty.handler.codec.redis.SimpleStringRedisMessage;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Minimal RESP2 server standing in for Redis during load tests.
+ * Speaks just enough of the protocol for Lettuce to connect and for the gateway's
+ * rate limit scripts to run: every EVAL/EVALSHA is answered as "allowed" with a large remaining
+ * balance, GET always misses and writes are acknowledged and discarded.
+ * The measured numbers therefore include the Redis round trip but never a rate-limit rejection.
+ */
+final class RedisStandIn implements AutoCloseable {
+
+    private static final String SCRIPT_SHA = "0000000000000000000000000000000000000000";
+
+    private final EventLoopGroup group = new NioEventLoopGroup(1);
+    private final Channel channel;
+
+    RedisStandIn() throws InterruptedException {
+        channel = new ServerBootstrap()
+                .group(group)
+                .channel(NioServerSocketChannel.class)
+                .childHandler(new ChannelInitializer<SocketChannel>() {
+                    @Override
+                    protected void initChannel(SocketChannel ch) {
+                        ch.pipeline().addLast(new RedisDecoder(), new RedisBulkStringAggregator(),
+                                new RedisArrayAggregator(), new RedisEncoder(), new CommandHandler());
+                    }
+                })
+                .bind("127.0.0.1", 0)
+                .sync()
+                .channel();
+    }
+
+    int port() {
+        return ((InetSocketAddress) channel.localAddress()).getPort();
+    }
+
+    @Override
+    public void close() {
+        channel.close().syncUninterruptibly();
+        group.shutdownGracefully().syncUninterruptibly();
+    }
+
+    private static final class CommandHandler extends SimpleChannelInboundHandler<RedisMessage> {
+
+        @Override
+        protected void channelRead0(ChannelHandlerContext ctx, RedisMessage msg) {
+            ctx.writeAndFlush(reply(command(msg)));
+        }
+
+        private static String command(RedisMessage msg) {
+            if (msg instanceof ArrayRedisMessage array && !array.children().isEmpty()
+                    && array.children().get(0) instanceof FullBulkStringRedisMessage name) {
+                return name.content().toString(StandardCharsets.US_ASCII).toUpperCase(Locale.ROOT);
+            }
+            return "";
+        }
+
+        private static RedisMessage reply(String command) {
+            return switch (command) {
+                case "PING" -> new SimpleStringRedisMessage("PONG");
+                // Refusing RESP3 makes Lettuce fall back to plain AUTH/SELECT over RESP2
+                case "HELLO" -> new ErrorRedisMessage("ERR unknown command 'HELLO'");
+                case "CLIENT", "SELECT", "SET", "SETEX", "PSETEX", "QUIT" -> new SimpleStringRedisMessage("OK");
+                case "DEL", "EXPIRE", "PEXPIRE", "UNLINK" -> new IntegerRedisMessage(1);
+                case "GET" -> FullBulkStringRedisMessage.NULL_INSTANCE;
+                case "SCRIPT" -> bulk(SCRIPT_SHA);
+                // Rate limit scripts reply [allowed, remaining]
+                case "EVAL", "EVALSHA" -> new ArrayRedisMessage(List.of(
+                        new IntegerRedisMessage(1), new IntegerRedisMessage(1_000_000)));
+                default -> new ErrorRedisMessage("ERR unsupported command '" + command + "'");
+            };
+        }
+
+        private static RedisMessage bulk(String value) {
+            ByteBuf content = Unpooled.wrappedBuffer(value.getBytes(StandardCharsets.US_ASCII));
+            return new FullBulkStringRedisMessage(content);
+        }
+
+        @Override
+        public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+            ctx.close();
+        }
+    }
+}
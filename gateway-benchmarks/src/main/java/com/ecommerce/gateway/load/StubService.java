@@ -0,0 +1,49 @@
+package com.ecommerce.gateway.load;
+
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+/**
+ * Downstream service stub answering every request with a fixed JSON document after a fixed delay.
+ * Keeps the load test focused on the gateway rather than on service behaviour.
+ */
+final class StubService implements AutoCloseable {
+
+    private final DisposableServer server;
+
+    StubService(String name, Duration latency) {
+        byte[] body = ("{\"service\":\"" + name + "\",\"items\":[{\"id\":\"p-1\",\"name\":\"Stub item\","
+                + "\"price\":19.99,\"currency\":\"USD\",\"stock\":42}]}").getBytes(StandardCharsets.UTF_8);
+        server = HttpServer.create()
+                .host("127.0.0.1")
+                .port(0)
+                .handle((request, response) -> {
+                    Mono<Void> reply = response
+                            .header(HttpHeaderNames.CONTENT_TYPE, HttpHeaderValues.APPLICATION_JSON)
+                            .header(HttpHeaderNames.CONTENT_LENGTH, String.valueOf(body.length))
+                            .sendByteArray(Mono.just(body))
+                            .then();
+                    // Drain the request body before answering so keep-alive connections stay usable
+                    Mono<Void> drained = request.receive().then();
+                    return latency.isZero()
+                            ? drained.then(reply)
+                            : drained.then(Mono.delay(latency)).then(reply);
+                })
+                .bindNow();
+    }
+
+    int port() {
+        return server.port();
+    }
+
+    @Override
+    public void close() {
+        server.disposeNow();
+    }
+}
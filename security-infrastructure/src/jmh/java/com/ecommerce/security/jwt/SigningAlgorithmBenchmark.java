@@ -0,0 +1,73 @@
+package com.ecommerce.security.jwt;
+
+import io.jsonwebtoken.security.Jwks;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyPairGenerator;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares token verification throughput for HS256, RS256 and Ed25519 signatures.
+ * The verified token cache is disabled so every call verifies the signature.
+ *
+ * Run with: ./gradlew :security-infrastructure:jmh
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class SigningAlgorithmBenchmark {
+
+    @Param({"HS256", "RS256", "Ed25519"})
+    private String algorithm;
+
+    private JwtTokenProvider provider;
+    private String token;
+    private Path keySetFile;
+
+    @Setup
+    public void setUp() throws Exception {
+        JwtProperties properties = new JwtProperties();
+        properties.getTokenCache().setEnabled(false);
+
+        if ("HS256".equals(algorithm)) {
+            properties.setSecretKey("this-is-a-very-long-secret-key-for-benchmarking-purposes-only");
+        } else {
+            String keyAlgorithm = "RS256".equals(algorithm) ? "RSA" : "Ed25519";
+            String jwk = Jwks.UNSAFE_JSON(Jwks.builder()
+                    .keyPair(KeyPairGenerator.getInstance(keyAlgorithm).generateKeyPair())
+                    .id("bench")
+                    .build());
+            keySetFile = Files.createTempFile("jwks", ".json");
+            Files.writeString(keySetFile, "{\"keys\":[" + jwk + "]}");
+
+            properties.getSigning().setMode(JwtProperties.SigningMode.ASYMMETRIC);
+            properties.getSigning().setKeySetFile(keySetFile.toString());
+            properties.getSigning().setKeyId("bench");
+        }
+
+        provider = new JwtTokenProvider(properties);
+        token = provider.generateAccessToken("user-123", "test@example.com", "CUSTOMER");
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        if (keySetFile != null) {
+            Files.deleteIfExists(keySetFile);
+        }
+    }
+
+    @Benchmark
+    public Object verify() {
+        return provider.validateToken(token);
+    }
+}
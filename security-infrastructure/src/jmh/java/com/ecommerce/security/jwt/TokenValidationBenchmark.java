@@ -0,0 +1,53 @@
+package com.ecommerce.security.jwt;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares token validation with a cold (disabled) and a warm verified token cache.
+ *
+ * Run with: ./gradlew :security-infrastructure:jmh
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TokenValidationBenchmark {
+
+    private static final String SECRET = "this-is-a-very-long-secret-key-for-benchmarking-purposes-only";
+
+    private JwtTokenProvider coldProvider;
+    private JwtTokenProvider warmProvider;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        JwtProperties uncached = new JwtProperties();
+        uncached.setSecretKey(SECRET);
+        uncached.getTokenCache().setEnabled(false);
+        coldProvider = new JwtTokenProvider(uncached);
+
+        JwtProperties cached = new JwtProperties();
+        cached.setSecretKey(SECRET);
+        warmProvider = new JwtTokenProvider(cached);
+
+        token = warmProvider.generateAccessToken("user-123", "test@example.com", "CUSTOMER");
+        warmProvider.validateToken(token);
+    }
+
+    @Benchmark
+    public Object validateCold() {
+        return coldProvider.validateToken(token);
+    }
+
+    @Benchmark
+    public Object validateWarm() {
+        return warmProvider.validateToken(token);
+    }
+}
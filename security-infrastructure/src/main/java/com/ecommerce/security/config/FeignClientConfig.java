@@ -2,7 +2,7 @@ package com.ecommerce.security.config;
 
 import com.ecommerce.security.interceptor.ServiceAuthInterceptor;
 import com.ecommerce.security.interceptor.TracingFeignInterceptor;
-import com.ecommerce.security.jwt.JwtTokenProvider;
+import com.ecommerce.security.jwt.ServiceTokenCache;
 import feign.RequestInterceptor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -25,8 +25,8 @@ public class FeignClientConfig {
     private String serviceName;
 
     @Bean
-    public RequestInterceptor serviceAuthInterceptor(JwtTokenProvider jwtTokenProvider) {
-        return new ServiceAuthInterceptor(jwtTokenProvider, serviceName);
+    public RequestInterceptor serviceAuthInterceptor(ServiceTokenCache serviceTokenCache) {
+        return new ServiceAuthInterceptor(serviceTokenCache, serviceName);
     }
 
     @Bean
@@ -0,0 +1,47 @@
+package com.ecommerce.security.config;
+
+import com.ecommerce.security.context.RequestContextTaskDecorator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+/**
+ * Threading configuration shared by the servlet services.
+ *
+ * Setting {@code spring.threads.virtual.enabled=true} on a Java 21+ runtime runs Tomcat requests and
+ * {@code @Async} tasks on virtual threads; Feign calls run on the calling thread, so they follow.
+ * Otherwise the default Tomcat and task executor pools of platform threads are used.
+ * Either way, async tasks see the submitting request's user, security context and tracing headers.
+ */
+@Configuration
+@EnableAsync
+public class ThreadingConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(ThreadingConfig.class);
+
+    /**
+     * Picked up by Boot's application task executor, in both threading modes.
+     */
+    @Bean
+    public TaskDecorator requestContextTaskDecorator() {
+        return new RequestContextTaskDecorator();
+    }
+
+    @EventListener
+    public void reportThreadingMode(ApplicationStartedEvent event) {
+        Environment environment = event.getApplicationContext().getEnvironment();
+        if (Threading.VIRTUAL.isActive(environment)) {
+            log.info("Requests and @Async tasks run on virtual threads");
+        } else if (environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false)) {
+            log.warn("spring.threads.virtual.enabled is set but Java {} has no virtual threads; "
+                    + "running on platform threads", Runtime.version().feature());
+        }
+    }
+}
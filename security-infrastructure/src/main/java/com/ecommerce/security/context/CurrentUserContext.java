@@ -41,6 +41,17 @@ public class CurrentUserContext {
         this.serviceAccount = false;
     }
 
+    /**
+     * Create a detached copy, for work that continues after the request.
+     */
+    public CurrentUserContext copy() {
+        CurrentUserContext copy = new CurrentUserContext();
+        if (authenticated) {
+            copy.setUser(userId, email, role);
+        }
+        return copy;
+    }
+
     public Optional<String> getUserId() {
         return Optional.ofNullable(userId);
     }
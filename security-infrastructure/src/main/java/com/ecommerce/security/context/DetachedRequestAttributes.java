@@ -0,0 +1,83 @@
+package com.ecommerce.security.context;
+
+import org.springframework.web.context.request.RequestAttributes;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Request attributes for work that continues after the servlet request, such as {@code @Async} tasks.
+ * Holds copies of what the task needs, so request-scoped beans resolve without touching the
+ * original request, which the container may already have recycled. There is no session.
+ */
+class DetachedRequestAttributes implements RequestAttributes {
+
+    private final Map<String, Object> attributes = new ConcurrentHashMap<>();
+    private final List<Runnable> destructionCallbacks = new ArrayList<>();
+
+    @Override
+    public Object getAttribute(String name, int scope) {
+        return scope == SCOPE_REQUEST ? attributes.get(name) : null;
+    }
+
+    @Override
+    public void setAttribute(String name, Object value, int scope) {
+        checkScope(scope);
+        attributes.put(name, value);
+    }
+
+    @Override
+    public void removeAttribute(String name, int scope) {
+        if (scope == SCOPE_REQUEST) {
+            attributes.remove(name);
+        }
+    }
+
+    @Override
+    public String[] getAttributeNames(int scope) {
+        return scope == SCOPE_REQUEST ? attributes.keySet().toArray(String[]::new) : new String[0];
+    }
+
+    @Override
+    public void registerDestructionCallback(String name, Runnable callback, int scope) {
+        checkScope(scope);
+        synchronized (destructionCallbacks) {
+            destructionCallbacks.add(callback);
+        }
+    }
+
+    @Override
+    public Object resolveReference(String key) {
+        return null;
+    }
+
+    @Override
+    public String getSessionId() {
+        throw new IllegalStateException("No session outside the servlet request");
+    }
+
+    @Override
+    public Object getSessionMutex() {
+        throw new IllegalStateException("No session outside the servlet request");
+    }
+
+    /**
+     * Run the destruction callbacks of request-scoped beans created for the task.
+     */
+    void requestCompleted() {
+        List<Runnable> callbacks;
+        synchronized (destructionCallbacks) {
+            callbacks = List.copyOf(destructionCallbacks);
+            destructionCallbacks.clear();
+        }
+        callbacks.forEach(Runnable::run);
+    }
+
+    private static void checkScope(int scope) {
+        if (scope != SCOPE_REQUEST) {
+            throw new IllegalStateException("No session outside the servlet request");
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.ecommerce.security.context;
+
+import org.springframework.aop.scope.ScopedProxyUtils;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.Map;
+
+/**
+ * Carries the caller's user, security context and tracing headers into tasks run on another thread.
+ * Request-scoped state lives in thread-locals bound to the request thread, so without this
+ * {@link CurrentUserContext} fails and tracing headers are silently dropped in {@code @Async} work,
+ * whether it runs on pooled platform threads or on virtual threads.
+ *
+ * The state is copied when the task is submitted, as the request may complete before it runs.
+ */
+public class RequestContextTaskDecorator implements TaskDecorator {
+
+    /**
+     * Request attribute under which the request scope keeps the {@link CurrentUserContext} instance.
+     */
+    static final String CURRENT_USER_ATTRIBUTE = ScopedProxyUtils.getTargetBeanName("currentUserContext");
+
+    @Override
+    public Runnable decorate(Runnable task) {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        DetachedRequestAttributes detached = request != null ? detach(request) : null;
+        SecurityContext securityContext = SecurityContextHolder.getContext();
+
+        return () -> {
+            RequestAttributes previousRequest = RequestContextHolder.getRequestAttributes();
+            SecurityContext previousSecurityContext = SecurityContextHolder.getContext();
+            if (detached != null) {
+                RequestContextHolder.setRequestAttributes(detached);
+            }
+            SecurityContextHolder.setContext(securityContext);
+            try {
+                task.run();
+            } finally {
+                if (detached != null) {
+                    detached.requestCompleted();
+                }
+                RequestContextHolder.setRequestAttributes(previousRequest);
+                if (SecurityContextHolder.createEmptyContext().equals(previousSecurityContext)) {
+                    SecurityContextHolder.clearContext();
+                } else {
+                    SecurityContextHolder.setContext(previousSecurityContext);
+                }
+            }
+        };
+    }
+
+    private static DetachedRequestAttributes detach(RequestAttributes request) {
+        DetachedRequestAttributes detached = new DetachedRequestAttributes();
+        if (request.getAttribute(CURRENT_USER_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST)
+                instanceof CurrentUserContext currentUser) {
+            detached.setAttribute(CURRENT_USER_ATTRIBUTE, currentUser.copy(), RequestAttributes.SCOPE_REQUEST);
+        }
+        Object tracingHeaders = request instanceof ServletRequestAttributes servlet
+                ? TracingHeaders.capture(servlet.getRequest())
+                : request.getAttribute(TracingHeaders.ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (tracingHeaders instanceof Map<?, ?> headers && !headers.isEmpty()) {
+            detached.setAttribute(TracingHeaders.ATTRIBUTE, tracingHeaders, RequestAttributes.SCOPE_REQUEST);
+        }
+        return detached;
+    }
+}
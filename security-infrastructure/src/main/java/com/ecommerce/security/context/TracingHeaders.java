@@ -0,0 +1,45 @@
+package com.ecommerce.security.context;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Distributed tracing headers (B3 and request correlation) propagated on outgoing service calls.
+ */
+public final class TracingHeaders {
+
+    public static final List<String> NAMES = List.of(
+            "X-B3-TraceId",
+            "X-B3-SpanId",
+            "X-B3-ParentSpanId",
+            "X-B3-Sampled",
+            "X-B3-Flags",
+            "X-Request-Id",
+            "X-Correlation-Id"
+    );
+
+    /**
+     * Request attribute holding the captured headers when the work runs outside the servlet request.
+     */
+    public static final String ATTRIBUTE = TracingHeaders.class.getName();
+
+    private TracingHeaders() {
+    }
+
+    /**
+     * Copy the tracing headers present on a request.
+     */
+    public static Map<String, String> capture(HttpServletRequest request) {
+        Map<String, String> headers = new LinkedHashMap<>();
+        for (String name : NAMES) {
+            String value = request.getHeader(name);
+            if (value != null) {
+                headers.put(name, value);
+            }
+        }
+        return headers;
+    }
+}
@@ -1,6 +1,7 @@
 package com.ecommerce.security.filter;
 
 import com.ecommerce.security.context.CurrentUserContext;
+import com.ecommerce.security.jwt.InternalIdentityAssertion;
 import com.ecommerce.security.jwt.JwtTokenProvider;
 import com.ecommerce.security.jwt.JwtTokenProvider.TokenClaims;
 import jakarta.servlet.FilterChain;
@@ -24,6 +25,8 @@ import java.util.Optional;
 /**
  * JWT Authentication Filter that validates JWT tokens in incoming requests.
  * Extracts token from Authorization header and sets up Spring Security context.
+ * Requests carrying a valid gateway-minted {@link InternalIdentityAssertion} are
+ * authenticated from the forwarded identity headers without parsing the JWT again.
  */
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
@@ -35,11 +38,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider jwtTokenProvider;
     private final CurrentUserContext currentUserContext;
+    private final InternalIdentityAssertion internalIdentityAssertion;
 
     public JwtAuthenticationFilter(JwtTokenProvider jwtTokenProvider,
-                                    CurrentUserContext currentUserContext) {
+                                    CurrentUserContext currentUserContext,
+                                    InternalIdentityAssertion internalIdentityAssertion) {
         this.jwtTokenProvider = jwtTokenProvider;
         this.currentUserContext = currentUserContext;
+        this.internalIdentityAssertion = internalIdentityAssertion;
     }
 
     @Override
@@ -48,7 +54,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                                      FilterChain filterChain) throws ServletException, IOException {
 
         try {
-            extractToken(request).ifPresent(token -> authenticateToken(token, request));
+            if (!authenticateInternalIdentity(request)) {
+                extractToken(request).ifPresent(token -> authenticateToken(token, request));
+            }
         } catch (Exception e) {
             log.error("Cannot set user authentication: {}", e.getMessage());
         }
@@ -69,6 +77,29 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         return Optional.empty();
     }
 
+    /**
+     * Fast path: accept identity headers vouched for by the gateway with one MAC check.
+     */
+    private boolean authenticateInternalIdentity(HttpServletRequest request) {
+        String assertion = request.getHeader(InternalIdentityAssertion.HEADER);
+        if (assertion == null || !internalIdentityAssertion.isEnabled()) {
+            return false;
+        }
+
+        String userId = request.getHeader(InternalIdentityAssertion.USER_ID_HEADER);
+        String email = request.getHeader(InternalIdentityAssertion.USER_EMAIL_HEADER);
+        String role = request.getHeader(InternalIdentityAssertion.USER_ROLE_HEADER);
+        String requestId = request.getHeader(InternalIdentityAssertion.REQUEST_ID_HEADER);
+
+        if (!internalIdentityAssertion.verify(assertion, userId, email, role, requestId)) {
+            log.debug("Invalid or expired internal identity assertion");
+            return false;
+        }
+
+        authenticate(userId, email, role, request);
+        return true;
+    }
+
     /**
      * Validate token and set up authentication context.
      */
@@ -88,22 +119,38 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             return;
         }
 
+        authenticate(claims.userId(), claims.email(), claims.role(), request);
+    }
+
+    /**
+     * Set up CurrentUserContext and the Spring Security context.
+     */
+    private void authenticate(String userId, String email, String role, HttpServletRequest request) {
         // Set up CurrentUserContext
-        currentUserContext.setUser(claims.userId(), claims.email(), claims.role());
+        currentUserContext.setUser(userId, email, role);
 
         // Create Spring Security Authentication
         List<SimpleGrantedAuthority> authorities = List.of(
-                new SimpleGrantedAuthority("ROLE_" + claims.role())
+                new SimpleGrantedAuthority("ROLE_" + role)
         );
 
         UsernamePasswordAuthenticationToken authentication =
-                new UsernamePasswordAuthenticationToken(claims.userId(), null, authorities);
+                new UsernamePasswordAuthenticationToken(userId, null, authorities);
 
         authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
         SecurityContextHolder.getContext().setAuthentication(authentication);
 
-        log.debug("Authenticated user: {} with role: {}", claims.userId(), claims.role());
+        log.debug("Authenticated user: {} with role: {}", userId, role);
+    }
+
+    /**
+     * Authenticate async dispatches too: the security context is not saved between dispatches,
+     * so controllers returning a CompletableFuture would otherwise be rejected when resuming.
+     */
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
     }
 
     @Override
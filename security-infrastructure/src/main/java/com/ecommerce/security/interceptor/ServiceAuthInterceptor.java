@@ -1,6 +1,6 @@
 package com.ecommerce.security.interceptor;
 
-import com.ecommerce.security.jwt.JwtTokenProvider;
+import com.ecommerce.security.jwt.ServiceTokenCache;
 import feign.RequestInterceptor;
 import feign.RequestTemplate;
 import org.slf4j.Logger;
@@ -9,6 +9,7 @@ import org.slf4j.LoggerFactory;
 /**
  * Feign RequestInterceptor that adds service authentication token
  * for internal service-to-service communication.
+ * Tokens come pre-signed from {@link ServiceTokenCache}.
  */
 public class ServiceAuthInterceptor implements RequestInterceptor {
 
@@ -17,18 +18,18 @@ public class ServiceAuthInterceptor implements RequestInterceptor {
     private static final String AUTHORIZATION_HEADER = "Authorization";
     private static final String BEARER_PREFIX = "Bearer ";
 
-    private final JwtTokenProvider jwtTokenProvider;
+    private final ServiceTokenCache serviceTokenCache;
     private final String serviceName;
 
-    public ServiceAuthInterceptor(JwtTokenProvider jwtTokenProvider, String serviceName) {
-        this.jwtTokenProvider = jwtTokenProvider;
+    public ServiceAuthInterceptor(ServiceTokenCache serviceTokenCache, String serviceName) {
+        this.serviceTokenCache = serviceTokenCache;
         this.serviceName = serviceName;
     }
 
     @Override
     public void apply(RequestTemplate template) {
-        // Generate a service token for internal calls
-        String serviceToken = jwtTokenProvider.generateServiceToken(serviceName);
+        // Reuse the cached service token for internal calls
+        String serviceToken = serviceTokenCache.getToken(serviceName);
         template.header(AUTHORIZATION_HEADER, BEARER_PREFIX + serviceToken);
 
         log.debug("Added service authentication token for: {}", serviceName);
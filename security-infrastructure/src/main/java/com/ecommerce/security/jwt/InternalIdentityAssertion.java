@@ -0,0 +1,130 @@
+package com.ecommerce.security.jwt;
+
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Short MAC over the identity headers the gateway forwards to downstream services.
+ * The gateway verifies the JWT once and mints an assertion; services check the assertion
+ * with a single HMAC instead of parsing and verifying the JWT again.
+ *
+ * Format: {@code v1.<expiresAtEpochSecond>.<base64url HMAC-SHA256>}, where the MAC covers
+ * user ID, email, role, request ID and expiry.
+ */
+@Component
+public class InternalIdentityAssertion {
+
+    public static final String HEADER = "X-Internal-Identity";
+    public static final String USER_ID_HEADER = "X-User-Id";
+    public static final String USER_EMAIL_HEADER = "X-User-Email";
+    public static final String USER_ROLE_HEADER = "X-User-Role";
+    public static final String REQUEST_ID_HEADER = "X-Request-Id";
+
+    private static final String VERSION = "v1";
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final boolean enabled;
+    private final long ttlSeconds;
+    private final SecretKeySpec key;
+    private final Mac prototype;
+
+    public InternalIdentityAssertion(JwtProperties jwtProperties) {
+        JwtProperties.InternalIdentity settings = jwtProperties.getInternalIdentity();
+        this.enabled = settings.isEnabled();
+        this.ttlSeconds = settings.getTtl().toSeconds();
+        if (!enabled) {
+            this.key = null;
+            this.prototype = null;
+            return;
+        }
+        if (settings.getSecret() == null || settings.getSecret().length() < 32) {
+            throw new IllegalStateException("jwt.internal-identity.secret must be at least 32 characters");
+        }
+        this.key = new SecretKeySpec(settings.getSecret().getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        this.prototype = initMac(key);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Mint an assertion for an identity already verified by the gateway.
+     */
+    public String mint(String userId, String email, String role, String requestId) {
+        requireEnabled();
+        long expiresAt = Instant.now().getEpochSecond() + ttlSeconds;
+        return VERSION + "." + expiresAt + "." + mac(userId, email, role, requestId, expiresAt);
+    }
+
+    /**
+     * Check that an assertion matches the forwarded identity headers and has not expired.
+     */
+    public boolean verify(String assertion, String userId, String email, String role, String requestId) {
+        if (!enabled || assertion == null || userId == null || role == null) {
+            return false;
+        }
+        int firstDot = assertion.indexOf('.');
+        int secondDot = assertion.indexOf('.', firstDot + 1);
+        if (firstDot < 0 || secondDot < 0 || !VERSION.equals(assertion.substring(0, firstDot))) {
+            return false;
+        }
+
+        long expiresAt;
+        try {
+            expiresAt = Long.parseLong(assertion, firstDot + 1, secondDot, 10);
+        } catch (NumberFormatException e) {
+            return false;
+        }
+        if (expiresAt < Instant.now().getEpochSecond()) {
+            return false;
+        }
+
+        byte[] expected = mac(userId, email, role, requestId, expiresAt).getBytes(StandardCharsets.US_ASCII);
+        byte[] actual = assertion.substring(secondDot + 1).getBytes(StandardCharsets.US_ASCII);
+        return MessageDigest.isEqual(expected, actual);
+    }
+
+    private String mac(String userId, String email, String role, String requestId, long expiresAt) {
+        String payload = VERSION + '\n' + userId + '\n' + nullToEmpty(email) + '\n' + role + '\n'
+                + nullToEmpty(requestId) + '\n' + expiresAt;
+        byte[] digest = newMac().doFinal(payload.getBytes(StandardCharsets.UTF_8));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+    }
+
+    private Mac newMac() {
+        // Mac is not thread-safe; cloning the initialised prototype skips provider lookup and key setup
+        try {
+            return (Mac) prototype.clone();
+        } catch (CloneNotSupportedException e) {
+            return initMac(key);
+        }
+    }
+
+    private static Mac initMac(SecretKeySpec key) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot initialise " + ALGORITHM, e);
+        }
+    }
+
+    private void requireEnabled() {
+        if (!enabled) {
+            throw new IllegalStateException("Internal identity assertions are disabled");
+        }
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+}
@@ -0,0 +1,150 @@
+package com.ecommerce.security.jwt;
+
+import io.jsonwebtoken.security.Jwk;
+import io.jsonwebtoken.security.JwkSet;
+import io.jsonwebtoken.security.Jwks;
+import io.jsonwebtoken.security.PrivateJwk;
+import io.jsonwebtoken.security.PublicJwk;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Asymmetric signing and verification keys loaded from a local JWK set file, indexed by {@code kid}.
+ * The file is re-checked at most once per refresh interval (or sooner when an unknown {@code kid}
+ * shows up) and reloaded when it changed, so keys can be rotated without a restart.
+ */
+class JwkKeySet {
+
+    private static final Logger log = LoggerFactory.getLogger(JwkKeySet.class);
+
+    private static final long UNKNOWN_KID_RECHECK_NANOS = Duration.ofSeconds(1).toNanos();
+
+    private final Path keySetFile;
+    private final long refreshIntervalNanos;
+    private final Runnable onReload;
+    // A lock rather than synchronized: the reload reads a file, which would pin a virtual thread's carrier
+    private final ReentrantLock reloadLock = new ReentrantLock();
+    private volatile Snapshot snapshot;
+
+    JwkKeySet(Path keySetFile, Duration refreshInterval, Runnable onReload) {
+        this.keySetFile = keySetFile;
+        this.refreshIntervalNanos = refreshInterval.toNanos();
+        this.onReload = onReload;
+        this.snapshot = load(System.nanoTime());
+    }
+
+    /**
+     * Find the public key for a {@code kid}, reloading the key set once if the key is unknown.
+     */
+    Optional<PublicKey> verificationKey(String keyId) {
+        if (keyId == null) {
+            return Optional.empty();
+        }
+        PublicKey key = current().verificationKeys().get(keyId);
+        if (key == null) {
+            key = recheck(UNKNOWN_KID_RECHECK_NANOS).verificationKeys().get(keyId);
+        }
+        return Optional.ofNullable(key);
+    }
+
+    /**
+     * Get the private key used to sign tokens with the given {@code kid}.
+     */
+    PrivateKey signingKey(String keyId) {
+        if (keyId == null) {
+            throw new IllegalStateException("jwt.signing.key-id is required to sign tokens in ASYMMETRIC mode");
+        }
+        PrivateKey key = current().signingKeys().get(keyId);
+        if (key == null) {
+            throw new IllegalStateException("No private key with kid '" + keyId + "' in " + keySetFile);
+        }
+        return key;
+    }
+
+    private Snapshot current() {
+        return recheck(refreshIntervalNanos);
+    }
+
+    private Snapshot recheck(long minIntervalNanos) {
+        Snapshot current = snapshot;
+        long now = System.nanoTime();
+        if (now - current.checkedAt() < minIntervalNanos) {
+            return current;
+        }
+        reloadLock.lock();
+        try {
+            current = snapshot;
+            if (now - current.checkedAt() < minIntervalNanos) {
+                return current;
+            }
+            try {
+                long lastModified = Files.getLastModifiedTime(keySetFile).toMillis();
+                if (lastModified == current.lastModified()) {
+                    snapshot = current.checkedAt(now);
+                } else {
+                    snapshot = load(now);
+                    log.info("Reloaded JWK set {} ({} verification keys)",
+                            keySetFile, snapshot.verificationKeys().size());
+                    onReload.run();
+                }
+            } catch (RuntimeException | IOException e) {
+                // Keep serving the last good key set
+                log.warn("Cannot reload JWK set {}: {}", keySetFile, e.getMessage());
+                snapshot = current.checkedAt(now);
+            }
+            return snapshot;
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private Snapshot load(long now) {
+        try (Reader reader = Files.newBufferedReader(keySetFile, StandardCharsets.UTF_8)) {
+            long lastModified = Files.getLastModifiedTime(keySetFile).toMillis();
+            JwkSet jwkSet = Jwks.setParser().build().parse(reader);
+
+            Map<String, PublicKey> verificationKeys = new HashMap<>();
+            Map<String, PrivateKey> signingKeys = new HashMap<>();
+            for (Jwk<?> jwk : jwkSet) {
+                String keyId = jwk.getId();
+                if (keyId == null) {
+                    log.warn("Skipping JWK without kid in {}", keySetFile);
+                } else if (jwk instanceof PrivateJwk<?, ?, ?> privateJwk) {
+                    signingKeys.put(keyId, privateJwk.toKeyPair().getPrivate());
+                    verificationKeys.put(keyId, privateJwk.toKeyPair().getPublic());
+                } else if (jwk instanceof PublicJwk<?> publicJwk) {
+                    verificationKeys.put(keyId, publicJwk.toKey());
+                } else {
+                    log.warn("Skipping non-asymmetric JWK '{}' in {}", keyId, keySetFile);
+                }
+            }
+            return new Snapshot(Map.copyOf(verificationKeys), Map.copyOf(signingKeys), lastModified, now);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot read JWK set " + keySetFile, e);
+        }
+    }
+
+    private record Snapshot(
+            Map<String, PublicKey> verificationKeys,
+            Map<String, PrivateKey> signingKeys,
+            long lastModified,
+            long checkedAt
+    ) {
+        Snapshot checkedAt(long now) {
+            return new Snapshot(verificationKeys, signingKeys, lastModified, now);
+        }
+    }
+}
@@ -14,6 +14,7 @@ public class JwtProperties {
     /**
      * Secret key for signing JWT tokens.
      * Should be at least 256 bits (32 characters) for HS256.
+     * Only used in {@link SigningMode#HMAC} mode.
      */
     private String secretKey = "your-256-bit-secret-key-here-please-change-in-production";
 
@@ -40,6 +41,27 @@ public class JwtProperties {
      */
     private Duration serviceTokenExpiration = Duration.ofMinutes(5);
 
+    /**
+     * Fraction of the service token lifetime after which a cached service token is re-signed in the background.
+     * Default: 0.8
+     */
+    private double serviceTokenRefreshRatio = 0.8;
+
+    /**
+     * Cache of already verified tokens.
+     */
+    private TokenCache tokenCache = new TokenCache();
+
+    /**
+     * Token signing mode and asymmetric key set.
+     */
+    private Signing signing = new Signing();
+
+    /**
+     * Gateway-minted identity assertion for internal hops.
+     */
+    private InternalIdentity internalIdentity = new InternalIdentity();
+
     public String getSecretKey() {
         return secretKey;
     }
@@ -79,4 +101,195 @@ public class JwtProperties {
     public void setServiceTokenExpiration(Duration serviceTokenExpiration) {
         this.serviceTokenExpiration = serviceTokenExpiration;
     }
+
+    public double getServiceTokenRefreshRatio() {
+        return serviceTokenRefreshRatio;
+    }
+
+    public void setServiceTokenRefreshRatio(double serviceTokenRefreshRatio) {
+        this.serviceTokenRefreshRatio = serviceTokenRefreshRatio;
+    }
+
+    public TokenCache getTokenCache() {
+        return tokenCache;
+    }
+
+    public void setTokenCache(TokenCache tokenCache) {
+        this.tokenCache = tokenCache;
+    }
+
+    public Signing getSigning() {
+        return signing;
+    }
+
+    public void setSigning(Signing signing) {
+        this.signing = signing;
+    }
+
+    public InternalIdentity getInternalIdentity() {
+        return internalIdentity;
+    }
+
+    public void setInternalIdentity(InternalIdentity internalIdentity) {
+        this.internalIdentity = internalIdentity;
+    }
+
+    /**
+     * Token signing modes.
+     */
+    public enum SigningMode {
+        /**
+         * HS256 with the shared {@code secretKey}.
+         */
+        HMAC,
+        /**
+         * RS256 / EdDSA with keys from a local JWK set file, looked up by {@code kid}.
+         */
+        ASYMMETRIC
+    }
+
+    /**
+     * Token signing settings.
+     */
+    public static class Signing {
+
+        /**
+         * Signing mode.
+         * Default: HMAC
+         */
+        private SigningMode mode = SigningMode.HMAC;
+
+        /**
+         * Path of the JWK set file holding RSA or Ed25519 keys.
+         * Services that only verify tokens need public keys only.
+         */
+        private String keySetFile;
+
+        /**
+         * kid of the private key used to sign tokens issued by this service.
+         */
+        private String keyId;
+
+        /**
+         * How often the JWK set file is checked for changes.
+         * Default: 30 seconds
+         */
+        private Duration keySetRefreshInterval = Duration.ofSeconds(30);
+
+        public SigningMode getMode() {
+            return mode;
+        }
+
+        public void setMode(SigningMode mode) {
+            this.mode = mode;
+        }
+
+        public String getKeySetFile() {
+            return keySetFile;
+        }
+
+        public void setKeySetFile(String keySetFile) {
+            this.keySetFile = keySetFile;
+        }
+
+        public String getKeyId() {
+            return keyId;
+        }
+
+        public void setKeyId(String keyId) {
+            this.keyId = keyId;
+        }
+
+        public Duration getKeySetRefreshInterval() {
+            return keySetRefreshInterval;
+        }
+
+        public void setKeySetRefreshInterval(Duration keySetRefreshInterval) {
+            this.keySetRefreshInterval = keySetRefreshInterval;
+        }
+    }
+
+    /**
+     * Internal identity assertion settings.
+     * Must be configured identically on the gateway and all downstream services.
+     */
+    public static class InternalIdentity {
+
+        /**
+         * Whether the gateway mints, and services accept, internal identity assertions.
+         * Default: false
+         */
+        private boolean enabled = false;
+
+        /**
+         * HMAC secret shared by the gateway and internal services, at least 32 characters.
+         * Use a different value than the JWT secret.
+         */
+        private String secret;
+
+        /**
+         * How long a minted assertion is accepted.
+         * Default: 30 seconds
+         */
+        private Duration ttl = Duration.ofSeconds(30);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getSecret() {
+            return secret;
+        }
+
+        public void setSecret(String secret) {
+            this.secret = secret;
+        }
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+    }
+
+    /**
+     * Verified token cache settings.
+     * Entries never outlive the token's own expiration.
+     */
+    public static class TokenCache {
+
+        /**
+         * Whether verified tokens are cached.
+         * Default: true
+         */
+        private boolean enabled = true;
+
+        /**
+         * Maximum number of cached tokens.
+         * Default: 10000
+         */
+        private long maximumSize = 10_000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getMaximumSize() {
+            return maximumSize;
+        }
+
+        public void setMaximumSize(long maximumSize) {
+            this.maximumSize = maximumSize;
+        }
+    }
 }
@@ -1,16 +1,29 @@
 package com.ecommerce.security.jwt;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtBuilder;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
 import io.jsonwebtoken.security.Keys;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.Date;
 import java.util.HashMap;
@@ -19,6 +32,8 @@ import java.util.Optional;
 
 /**
  * JWT Token provider for generating and validating JWT tokens.
+ * Signs with the shared HMAC secret, or with asymmetric keys from a JWK set
+ * when {@code jwt.signing.mode=ASYMMETRIC}.
  */
 @Component
 public class JwtTokenProvider {
@@ -32,12 +47,41 @@ public class JwtTokenProvider {
 
     private final JwtProperties jwtProperties;
     private final SecretKey secretKey;
+    private final JwkKeySet keySet;
+    private final JwtParser jwtParser;
+    private final Cache<ByteBuffer, TokenClaims> verifiedTokens;
 
     public JwtTokenProvider(JwtProperties jwtProperties) {
         this.jwtProperties = jwtProperties;
-        this.secretKey = Keys.hmacShaKeyFor(
-                jwtProperties.getSecretKey().getBytes(StandardCharsets.UTF_8)
-        );
+        this.verifiedTokens = jwtProperties.getTokenCache().isEnabled()
+                ? Caffeine.newBuilder()
+                        .maximumSize(jwtProperties.getTokenCache().getMaximumSize())
+                        .expireAfter(new UntilTokenExpiry())
+                        .recordStats()
+                        .build()
+                : null;
+
+        // JwtParser is immutable and thread-safe, so one instance serves all requests
+        JwtProperties.Signing signing = jwtProperties.getSigning();
+        if (signing.getMode() == JwtProperties.SigningMode.ASYMMETRIC) {
+            if (signing.getKeySetFile() == null || signing.getKeySetFile().isBlank()) {
+                throw new IllegalStateException("jwt.signing.key-set-file is required in ASYMMETRIC mode");
+            }
+            this.secretKey = null;
+            this.keySet = new JwkKeySet(Path.of(signing.getKeySetFile()),
+                    signing.getKeySetRefreshInterval(), this::onKeySetReloaded);
+            this.jwtParser = Jwts.parser()
+                    .keyLocator(new KeySetLocator(keySet))
+                    .build();
+        } else {
+            this.secretKey = Keys.hmacShaKeyFor(
+                    jwtProperties.getSecretKey().getBytes(StandardCharsets.UTF_8)
+            );
+            this.keySet = null;
+            this.jwtParser = Jwts.parser()
+                    .verifyWith(secretKey)
+                    .build();
+        }
     }
 
     /**
@@ -69,14 +113,12 @@ public class JwtTokenProvider {
         Instant now = Instant.now();
         Instant expiry = now.plusMillis(jwtProperties.getServiceTokenExpiration().toMillis());
 
-        return Jwts.builder()
+        return sign(Jwts.builder()
                 .issuer(jwtProperties.getIssuer())
                 .subject(serviceName)
                 .claims(claims)
                 .issuedAt(Date.from(now))
-                .expiration(Date.from(expiry))
-                .signWith(secretKey)
-                .compact();
+                .expiration(Date.from(expiry)));
     }
 
     private String generateToken(String userId, String email, String role,
@@ -90,44 +132,122 @@ public class JwtTokenProvider {
         Instant now = Instant.now();
         Instant expiry = now.plusMillis(expirationMs);
 
-        return Jwts.builder()
+        return sign(Jwts.builder()
                 .issuer(jwtProperties.getIssuer())
                 .subject(userId)
                 .claims(claims)
                 .issuedAt(Date.from(now))
-                .expiration(Date.from(expiry))
-                .signWith(secretKey)
+                .expiration(Date.from(expiry)));
+    }
+
+    /**
+     * Sign with the HMAC secret, or with the configured private key and its kid header.
+     */
+    private String sign(JwtBuilder builder) {
+        if (keySet == null) {
+            return builder.signWith(secretKey).compact();
+        }
+        String keyId = jwtProperties.getSigning().getKeyId();
+        return builder
+                .header().keyId(keyId).and()
+                .signWith(keySet.signingKey(keyId))
                 .compact();
     }
 
+    /**
+     * Drop cached verifications once keys may have been revoked.
+     */
+    private void onKeySetReloaded() {
+        if (verifiedTokens != null) {
+            verifiedTokens.invalidateAll();
+        }
+    }
+
     /**
      * Validate a JWT token and return claims if valid.
+     * Tokens verified earlier are served from the verified token cache until they expire.
      */
     public Optional<TokenClaims> validateToken(String token) {
+        return Optional.ofNullable(validate(token).claims());
+    }
+
+    /**
+     * Validate a JWT token, reporting whether a rejected token was expired or otherwise invalid.
+     */
+    public TokenValidation validate(String token) {
+        if (verifiedTokens == null) {
+            return verifyToken(token);
+        }
+
+        ByteBuffer key = digest(token);
+        TokenClaims cached = verifiedTokens.getIfPresent(key);
+        if (cached != null) {
+            return TokenValidation.valid(cached);
+        }
+
+        TokenValidation validation = verifyToken(token);
+        if (validation.isValid()) {
+            verifiedTokens.put(key, validation.claims());
+        }
+        return validation;
+    }
+
+    /**
+     * Verify signature and expiration of a JWT token and extract its claims.
+     */
+    private TokenValidation verifyToken(String token) {
         try {
-            Claims claims = Jwts.parser()
-                    .verifyWith(secretKey)
-                    .build()
+            Claims claims = jwtParser
                     .parseSignedClaims(token)
                     .getPayload();
 
-            return Optional.of(new TokenClaims(
-                    claims.get(CLAIM_USER_ID, String.class),
-                    claims.get(CLAIM_EMAIL, String.class),
-                    claims.get(CLAIM_ROLE, String.class),
-                    TokenType.valueOf(claims.get(CLAIM_TOKEN_TYPE, String.class)),
+            return TokenValidation.valid(new TokenClaims(
+                    stringClaim(claims, CLAIM_USER_ID),
+                    stringClaim(claims, CLAIM_EMAIL),
+                    stringClaim(claims, CLAIM_ROLE),
+                    TokenType.valueOf(stringClaim(claims, CLAIM_TOKEN_TYPE)),
                     claims.getIssuedAt().toInstant(),
                     claims.getExpiration().toInstant()
             ));
         } catch (ExpiredJwtException e) {
             log.debug("Token expired: {}", e.getMessage());
-            return Optional.empty();
+            return TokenValidation.EXPIRED;
         } catch (JwtException e) {
             log.warn("Invalid token: {}", e.getMessage());
-            return Optional.empty();
+            return TokenValidation.INVALID;
         }
     }
 
+    /**
+     * Read a custom string claim directly, skipping the type conversion of {@link Claims#get(String, Class)}.
+     */
+    private static String stringClaim(Claims claims, String name) {
+        Object value = claims.get(name);
+        if (value == null || value instanceof String) {
+            return (String) value;
+        }
+        throw new JwtException("Claim '" + name + "' is not a string");
+    }
+
+    /**
+     * SHA-256 digest of the compact token, used as the cache key so raw tokens are never retained.
+     */
+    private static ByteBuffer digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return ByteBuffer.wrap(sha256.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Verified token cache, or {@code null} when caching is disabled.
+     */
+    Cache<ByteBuffer, TokenClaims> verifiedTokenCache() {
+        return verifiedTokens;
+    }
+
     /**
      * Check if a token is valid (not expired and properly signed).
      */
@@ -143,6 +263,47 @@ public class JwtTokenProvider {
         return validateToken(token).map(TokenClaims::userId);
     }
 
+    /**
+     * Resolves the verification key of a token from its kid header.
+     */
+    private static final class KeySetLocator extends LocatorAdapter<Key> {
+
+        private final JwkKeySet keySet;
+
+        private KeySetLocator(JwkKeySet keySet) {
+            this.keySet = keySet;
+        }
+
+        @Override
+        protected Key locate(JwsHeader header) {
+            return keySet.verificationKey(header.getKeyId())
+                    .orElseThrow(() -> new JwtException("Unknown signing key: " + header.getKeyId()));
+        }
+    }
+
+    /**
+     * Expires cached claims exactly when the token itself expires.
+     */
+    private static final class UntilTokenExpiry implements Expiry<ByteBuffer, TokenClaims> {
+
+        @Override
+        public long expireAfterCreate(ByteBuffer key, TokenClaims claims, long currentTime) {
+            return Math.max(0, Duration.between(Instant.now(), claims.expiresAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(ByteBuffer key, TokenClaims claims,
+                                      long currentTime, long currentDuration) {
+            return expireAfterCreate(key, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(ByteBuffer key, TokenClaims claims,
+                                    long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
     /**
      * Token types.
      */
@@ -152,6 +313,32 @@ public class JwtTokenProvider {
         SERVICE
     }
 
+    /**
+     * Outcome of token validation.
+     */
+    public enum ValidationStatus {
+        VALID,
+        EXPIRED,
+        INVALID
+    }
+
+    /**
+     * Validation status, with the claims of a valid token.
+     */
+    public record TokenValidation(ValidationStatus status, TokenClaims claims) {
+
+        static final TokenValidation EXPIRED = new TokenValidation(ValidationStatus.EXPIRED, null);
+        static final TokenValidation INVALID = new TokenValidation(ValidationStatus.INVALID, null);
+
+        static TokenValidation valid(TokenClaims claims) {
+            return new TokenValidation(ValidationStatus.VALID, claims);
+        }
+
+        public boolean isValid() {
+            return status == ValidationStatus.VALID;
+        }
+    }
+
     /**
      * Token claims record.
      */
@@ -0,0 +1,142 @@
+package com.ecommerce.security.jwt;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Holds one pre-signed service token per service name for outbound service-to-service calls.
+ * A token is reused until the configured refresh ratio of its lifetime has passed, after which
+ * it is re-signed in the background while callers keep receiving the still valid current token.
+ * If no usable token exists, one caller per service signs it and concurrent callers wait for that token.
+ */
+@Component
+public class ServiceTokenCache {
+
+    private static final Logger log = LoggerFactory.getLogger(ServiceTokenCache.class);
+
+    private final JwtTokenProvider jwtTokenProvider;
+    private final long lifetimeNanos;
+    private final long refreshAfterNanos;
+    private final Executor refreshExecutor;
+    private final LongSupplier nanoClock;
+    private final Map<String, Holder> holders = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ServiceTokenCache(JwtTokenProvider jwtTokenProvider, JwtProperties jwtProperties) {
+        this(jwtTokenProvider, jwtProperties, Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "service-token-refresh");
+            thread.setDaemon(true);
+            return thread;
+        }), System::nanoTime);
+    }
+
+    ServiceTokenCache(JwtTokenProvider jwtTokenProvider, JwtProperties jwtProperties,
+                      Executor refreshExecutor, LongSupplier nanoClock) {
+        double refreshRatio = jwtProperties.getServiceTokenRefreshRatio();
+        if (refreshRatio <= 0 || refreshRatio >= 1) {
+            throw new IllegalArgumentException("jwt.service-token-refresh-ratio must be between 0 and 1");
+        }
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.lifetimeNanos = jwtProperties.getServiceTokenExpiration().toNanos();
+        this.refreshAfterNanos = (long) (lifetimeNanos * refreshRatio);
+        this.refreshExecutor = refreshExecutor;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Get a valid service token for the given service, signing one only when none is usable.
+     */
+    public String getToken(String serviceName) {
+        Holder holder = holders.computeIfAbsent(serviceName, Holder::new);
+        SignedToken current = holder.token;
+        long now = nanoClock.getAsLong();
+
+        if (current == null || now - current.expiresAt() >= 0) {
+            // Nothing usable yet (first call, or background refresh kept failing)
+            return holder.signIfUnusable().token();
+        }
+
+        if (now - current.refreshAt() >= 0 && holder.refreshing.compareAndSet(false, true)) {
+            try {
+                refreshExecutor.execute(holder::refreshInBackground);
+            } catch (RuntimeException e) {
+                holder.refreshing.set(false);
+                log.warn("Could not schedule service token refresh for {}: {}", serviceName, e.getMessage());
+            }
+        }
+
+        return current.token();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (refreshExecutor instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+    }
+
+    private final class Holder {
+
+        private final String serviceName;
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+        private final ReentrantLock signing = new ReentrantLock();
+        private volatile SignedToken token;
+
+        private Holder(String serviceName) {
+            this.serviceName = serviceName;
+        }
+
+        /**
+         * Signs a token unless another caller signed a usable one while this one waited for the lock.
+         */
+        private SignedToken signIfUnusable() {
+            signing.lock();
+            try {
+                SignedToken current = token;
+                long now = nanoClock.getAsLong();
+                if (current != null && now - current.expiresAt() < 0) {
+                    return current;
+                }
+                return sign(now);
+            } finally {
+                signing.unlock();
+            }
+        }
+
+        private void refreshInBackground() {
+            signing.lock();
+            try {
+                sign(nanoClock.getAsLong());
+            } finally {
+                signing.unlock();
+                refreshing.set(false);
+            }
+        }
+
+        private SignedToken sign(long issuedAt) {
+            SignedToken signed = new SignedToken(
+                    jwtTokenProvider.generateServiceToken(serviceName),
+                    issuedAt + refreshAfterNanos,
+                    issuedAt + lifetimeNanos
+            );
+            token = signed;
+            log.debug("Signed new service token for: {}", serviceName);
+            return signed;
+        }
+    }
+
+    private record SignedToken(String token, long refreshAt, long expiresAt) {
+    }
+}
@@ -0,0 +1,29 @@
+package com.ecommerce.security.jwt;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes hit, miss, eviction and size metrics of the verified token cache
+ * under the cache name {@code jwt.verified-tokens}.
+ */
+@Component
+public class TokenCacheMetrics implements MeterBinder {
+
+    static final String CACHE_NAME = "jwt.verified-tokens";
+
+    private final JwtTokenProvider jwtTokenProvider;
+
+    public TokenCacheMetrics(JwtTokenProvider jwtTokenProvider) {
+        this.jwtTokenProvider = jwtTokenProvider;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (jwtTokenProvider.verifiedTokenCache() != null) {
+            CaffeineCacheMetrics.monitor(registry, jwtTokenProvider.verifiedTokenCache(), CACHE_NAME);
+        }
+    }
+}
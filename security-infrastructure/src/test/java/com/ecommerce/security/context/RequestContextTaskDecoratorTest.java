@@ -0,0 +1,136 @@
+package com.ecommerce.security.context;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("RequestContextTaskDecorator Tests")
+class RequestContextTaskDecoratorTest {
+
+    private final RequestContextTaskDecorator decorator = new RequestContextTaskDecorator();
+    private ExecutorService executor;
+    private ServletRequestAttributes requestAttributes;
+    private CurrentUserContext currentUser;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newSingleThreadExecutor();
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("X-B3-TraceId", "463ac35c9f6413ad");
+        request.addHeader("X-Request-Id", "req-1");
+        requestAttributes = new ServletRequestAttributes(request);
+        currentUser = new CurrentUserContext();
+        currentUser.setUser("user-123", "test@example.com", "CUSTOMER");
+        requestAttributes.setAttribute(RequestContextTaskDecorator.CURRENT_USER_ATTRIBUTE, currentUser,
+                RequestAttributes.SCOPE_REQUEST);
+        RequestContextHolder.setRequestAttributes(requestAttributes);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("user-123", null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        RequestContextHolder.resetRequestAttributes();
+        SecurityContextHolder.clearContext();
+    }
+
+    /**
+     * Submit a decorated task, then complete the request before it runs, as a fast response would.
+     */
+    private <T> T runAfterRequestCompleted(Supplier<T> work) throws Exception {
+        AtomicReference<T> result = new AtomicReference<>();
+        Runnable task = decorator.decorate(() -> result.set(work.get()));
+        currentUser.clear();
+        requestAttributes.requestCompleted();
+        RequestContextHolder.resetRequestAttributes();
+        SecurityContextHolder.clearContext();
+
+        executor.submit(task).get(5, TimeUnit.SECONDS);
+        return result.get();
+    }
+
+    @Nested
+    @DisplayName("Propagating request state")
+    class PropagationTests {
+
+        @Test
+        @DisplayName("should expose a copy of the current user taken at submission")
+        void shouldCopyCurrentUser() throws Exception {
+            CurrentUserContext seen = runAfterRequestCompleted(() -> (CurrentUserContext) RequestContextHolder
+                    .currentRequestAttributes()
+                    .getAttribute(RequestContextTaskDecorator.CURRENT_USER_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST));
+
+            assertThat(seen).isNotSameAs(currentUser);
+            assertThat(seen.getUserId()).contains("user-123");
+            assertThat(seen.getRole()).contains("CUSTOMER");
+        }
+
+        @Test
+        @DisplayName("should expose tracing headers captured at submission")
+        void shouldCaptureTracingHeaders() throws Exception {
+            Object headers = runAfterRequestCompleted(() -> RequestContextHolder.currentRequestAttributes()
+                    .getAttribute(TracingHeaders.ATTRIBUTE, RequestAttributes.SCOPE_REQUEST));
+
+            assertThat(headers).isEqualTo(Map.of("X-B3-TraceId", "463ac35c9f6413ad", "X-Request-Id", "req-1"));
+        }
+
+        @Test
+        @DisplayName("should propagate the security context")
+        void shouldPropagateSecurityContext() throws Exception {
+            Authentication authentication = runAfterRequestCompleted(
+                    () -> SecurityContextHolder.getContext().getAuthentication());
+
+            assertThat(authentication.getName()).isEqualTo("user-123");
+        }
+
+        @Test
+        @DisplayName("should propagate state into tasks submitted from tasks")
+        void shouldPropagateFromNestedTasks() throws Exception {
+            AtomicReference<Object> headers = new AtomicReference<>();
+            Runnable nested = runAfterRequestCompleted(() -> decorator.decorate(() -> headers.set(
+                    RequestContextHolder.currentRequestAttributes()
+                            .getAttribute(TracingHeaders.ATTRIBUTE, RequestAttributes.SCOPE_REQUEST))));
+
+            executor.submit(nested).get(5, TimeUnit.SECONDS);
+            assertThat(headers.get()).isEqualTo(Map.of("X-B3-TraceId", "463ac35c9f6413ad", "X-Request-Id", "req-1"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Worker thread hygiene")
+    class HygieneTests {
+
+        @Test
+        @DisplayName("should leave no request or security state on the worker thread")
+        void shouldRestoreWorkerThread() throws Exception {
+            runAfterRequestCompleted(() -> null);
+
+            AtomicReference<Object> leftover = new AtomicReference<>();
+            executor.submit(() -> leftover.set(RequestContextHolder.getRequestAttributes())).get(5, TimeUnit.SECONDS);
+            assertThat(leftover.get()).isNull();
+            executor.submit(() -> leftover.set(SecurityContextHolder.getContext().getAuthentication()))
+                    .get(5, TimeUnit.SECONDS);
+            assertThat(leftover.get()).isNull();
+        }
+    }
+}
@@ -1,8 +1,10 @@
 package com.ecommerce.security.filter;
 
 import com.ecommerce.security.context.CurrentUserContext;
+import com.ecommerce.security.jwt.InternalIdentityAssertion;
 import com.ecommerce.security.jwt.JwtProperties;
 import com.ecommerce.security.jwt.JwtTokenProvider;
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import org.junit.jupiter.api.BeforeEach;
@@ -29,6 +31,7 @@ class JwtAuthenticationFilterTest {
     private JwtAuthenticationFilter filter;
     private JwtTokenProvider jwtTokenProvider;
     private CurrentUserContext currentUserContext;
+    private InternalIdentityAssertion internalIdentityAssertion;
 
     @Mock
     private FilterChain filterChain;
@@ -38,10 +41,13 @@ class JwtAuthenticationFilterTest {
         JwtProperties jwtProperties = new JwtProperties();
         jwtProperties.setSecretKey("this-is-a-very-long-secret-key-for-testing-purposes-only-256-bits");
         jwtProperties.setAccessTokenExpiration(Duration.ofMinutes(15));
+        jwtProperties.getInternalIdentity().setEnabled(true);
+        jwtProperties.getInternalIdentity().setSecret("another-long-secret-for-internal-identity-assertions");
 
         jwtTokenProvider = new JwtTokenProvider(jwtProperties);
         currentUserContext = new CurrentUserContext();
-        filter = new JwtAuthenticationFilter(jwtTokenProvider, currentUserContext);
+        internalIdentityAssertion = new InternalIdentityAssertion(jwtProperties);
+        filter = new JwtAuthenticationFilter(jwtTokenProvider, currentUserContext, internalIdentityAssertion);
 
         // Clear security context before each test
         SecurityContextHolder.clearContext();
@@ -187,6 +193,64 @@ class JwtAuthenticationFilterTest {
         }
     }
 
+    @Nested
+    @DisplayName("With internal identity assertion")
+    class WithInternalIdentityAssertionTests {
+
+        @Test
+        @DisplayName("should authenticate from identity headers without a JWT")
+        void shouldAuthenticateFromIdentityHeadersWithoutJwt() throws ServletException, IOException {
+            MockHttpServletRequest request = identityRequest("user-123", "test@example.com", "CUSTOMER", "req-1");
+            request.addHeader("X-Internal-Identity",
+                    internalIdentityAssertion.mint("user-123", "test@example.com", "CUSTOMER", "req-1"));
+            MockHttpServletResponse response = new MockHttpServletResponse();
+
+            filter.doFilterInternal(request, response, filterChain);
+
+            verify(filterChain).doFilter(request, response);
+            assertThat(currentUserContext.getUserId()).contains("user-123");
+            assertThat(SecurityContextHolder.getContext().getAuthentication().getAuthorities())
+                    .anyMatch(a -> a.getAuthority().equals("ROLE_CUSTOMER"));
+        }
+
+        @Test
+        @DisplayName("should not trust identity headers with a mismatching assertion")
+        void shouldNotTrustIdentityHeadersWithMismatchingAssertion() throws ServletException, IOException {
+            MockHttpServletRequest request = identityRequest("user-123", "test@example.com", "ADMIN", "req-1");
+            request.addHeader("X-Internal-Identity",
+                    internalIdentityAssertion.mint("user-123", "test@example.com", "CUSTOMER", "req-1"));
+            MockHttpServletResponse response = new MockHttpServletResponse();
+
+            filter.doFilterInternal(request, response, filterChain);
+
+            assertThat(currentUserContext.isAuthenticated()).isFalse();
+            assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        }
+
+        @Test
+        @DisplayName("should fall back to JWT when assertion is invalid")
+        void shouldFallBackToJwtWhenAssertionIsInvalid() throws ServletException, IOException {
+            String token = jwtTokenProvider.generateAccessToken("user-123", "test@example.com", "CUSTOMER");
+            MockHttpServletRequest request = identityRequest("user-123", "test@example.com", "CUSTOMER", "req-1");
+            request.addHeader("X-Internal-Identity", "v1.0.forged");
+            request.addHeader("Authorization", "Bearer " + token);
+            MockHttpServletResponse response = new MockHttpServletResponse();
+
+            filter.doFilterInternal(request, response, filterChain);
+
+            assertThat(currentUserContext.getUserId()).contains("user-123");
+        }
+
+        private MockHttpServletRequest identityRequest(String userId, String email, String role, String requestId) {
+            MockHttpServletRequest request = new MockHttpServletRequest();
+            request.addHeader("X-User-Id", userId);
+            request.addHeader("X-User-Email", email);
+            request.addHeader("X-User-Role", role);
+            request.addHeader("X-Request-Id", requestId);
+            return request;
+        }
+    }
+
     @Test
     @DisplayName("should skip filter for health endpoint")
     void shouldSkipFilterForHealthEndpoint() {
@@ -197,4 +261,19 @@ class JwtAuthenticationFilterTest {
 
         assertThat(shouldNotFilter).isTrue();
     }
+
+    @Test
+    @DisplayName("should authenticate again when an async request resumes")
+    void shouldAuthenticateAsyncDispatch() throws ServletException, IOException {
+        String token = jwtTokenProvider.generateAccessToken("user-123", "test@example.com", "CUSTOMER");
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setDispatcherType(DispatcherType.ASYNC);
+        request.addHeader("Authorization", "Bearer " + token);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, filterChain);
+
+        assertThat(currentUserContext.getUserId()).contains("user-123");
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNotNull();
+    }
 }
@@ -0,0 +1,89 @@
+package com.ecommerce.security.jwt;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("InternalIdentityAssertion Tests")
+class InternalIdentityAssertionTest {
+
+    private JwtProperties jwtProperties;
+    private InternalIdentityAssertion assertion;
+
+    @BeforeEach
+    void setUp() {
+        jwtProperties = new JwtProperties();
+        jwtProperties.getInternalIdentity().setEnabled(true);
+        jwtProperties.getInternalIdentity().setSecret("another-long-secret-for-internal-identity-assertions");
+        assertion = new InternalIdentityAssertion(jwtProperties);
+    }
+
+    @Test
+    @DisplayName("should verify a freshly minted assertion")
+    void shouldVerifyFreshlyMintedAssertion() {
+        String minted = assertion.mint("user-123", "test@example.com", "CUSTOMER", "req-1");
+
+        assertThat(minted).startsWith("v1.");
+        assertThat(assertion.verify(minted, "user-123", "test@example.com", "CUSTOMER", "req-1")).isTrue();
+    }
+
+    @Test
+    @DisplayName("should reject assertion for different headers")
+    void shouldRejectAssertionForDifferentHeaders() {
+        String minted = assertion.mint("user-123", "test@example.com", "CUSTOMER", "req-1");
+
+        assertThat(assertion.verify(minted, "user-999", "test@example.com", "CUSTOMER", "req-1")).isFalse();
+        assertThat(assertion.verify(minted, "user-123", "test@example.com", "ADMIN", "req-1")).isFalse();
+        assertThat(assertion.verify(minted, "user-123", "test@example.com", "CUSTOMER", "req-2")).isFalse();
+    }
+
+    @Test
+    @DisplayName("should reject expired or malformed assertions")
+    void shouldRejectExpiredOrMalformedAssertions() {
+        String minted = assertion.mint("user-123", "test@example.com", "CUSTOMER", "req-1");
+        String mac = minted.substring(minted.lastIndexOf('.') + 1);
+
+        assertThat(assertion.verify("v1.1." + mac, "user-123", "test@example.com", "CUSTOMER", "req-1")).isFalse();
+        assertThat(assertion.verify("garbage", "user-123", "test@example.com", "CUSTOMER", "req-1")).isFalse();
+        assertThat(assertion.verify("v1.x.y", "user-123", "test@example.com", "CUSTOMER", "req-1")).isFalse();
+    }
+
+    @Test
+    @DisplayName("should reject assertion minted with another secret")
+    void shouldRejectAssertionMintedWithAnotherSecret() {
+        JwtProperties otherProperties = new JwtProperties();
+        otherProperties.getInternalIdentity().setEnabled(true);
+        otherProperties.getInternalIdentity().setSecret("a-completely-different-internal-identity-secret");
+        String minted = new InternalIdentityAssertion(otherProperties)
+                .mint("user-123", "test@example.com", "CUSTOMER", "req-1");
+
+        assertThat(assertion.verify(minted, "user-123", "test@example.com", "CUSTOMER", "req-1")).isFalse();
+    }
+
+    @Test
+    @DisplayName("should never verify when disabled")
+    void shouldNeverVerifyWhenDisabled() {
+        String minted = assertion.mint("user-123", "test@example.com", "CUSTOMER", "req-1");
+        jwtProperties.getInternalIdentity().setEnabled(false);
+        InternalIdentityAssertion disabled = new InternalIdentityAssertion(jwtProperties);
+
+        assertThat(disabled.verify(minted, "user-123", "test@example.com", "CUSTOMER", "req-1")).isFalse();
+        assertThatThrownBy(() -> disabled.mint("user-123", "test@example.com", "CUSTOMER", "req-1"))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("should require a long enough secret")
+    void shouldRequireLongEnoughSecret() {
+        jwtProperties.getInternalIdentity().setSecret("short");
+        jwtProperties.getInternalIdentity().setTtl(Duration.ofSeconds(10));
+
+        assertThatThrownBy(() -> new InternalIdentityAssertion(jwtProperties))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
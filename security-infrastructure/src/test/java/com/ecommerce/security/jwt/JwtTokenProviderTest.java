@@ -2,11 +2,21 @@ package com.ecommerce.security.jwt;
 
 import com.ecommerce.security.jwt.JwtTokenProvider.TokenClaims;
 import com.ecommerce.security.jwt.JwtTokenProvider.TokenType;
+import io.jsonwebtoken.security.Jwks;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
-
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.Optional;
@@ -168,6 +178,28 @@ class JwtTokenProviderTest {
             assertThat(otherProvider.isTokenValid(token)).isFalse();
         }
 
+        @Test
+        @DisplayName("should report expired token as expired")
+        void shouldReportExpiredToken() {
+            jwtProperties.setAccessTokenExpiration(Duration.ofSeconds(-1));
+            String token = new JwtTokenProvider(jwtProperties)
+                    .generateAccessToken("user-123", "test@example.com", "CUSTOMER");
+
+            JwtTokenProvider.TokenValidation validation = jwtTokenProvider.validate(token);
+
+            assertThat(validation.status()).isEqualTo(JwtTokenProvider.ValidationStatus.EXPIRED);
+            assertThat(validation.claims()).isNull();
+        }
+
+        @Test
+        @DisplayName("should report malformed token as invalid")
+        void shouldReportMalformedTokenAsInvalid() {
+            JwtTokenProvider.TokenValidation validation = jwtTokenProvider.validate("invalid.token.here");
+
+            assertThat(validation.status()).isEqualTo(JwtTokenProvider.ValidationStatus.INVALID);
+            assertThat(validation.isValid()).isFalse();
+        }
+
         @Test
         @DisplayName("should extract user ID from token")
         void shouldExtractUserIdFromToken() {
@@ -216,4 +248,175 @@ class JwtTokenProviderTest {
             assertThat(claims.isRefreshToken()).isFalse();
         }
     }
+
+    @Nested
+    @DisplayName("Verified Token Cache Tests")
+    class VerifiedTokenCacheTests {
+
+        @Test
+        @DisplayName("should serve repeated validation from cache")
+        void shouldServeRepeatedValidationFromCache() {
+            String token = jwtTokenProvider.generateAccessToken("user-123", "test@example.com", "CUSTOMER");
+
+            TokenClaims first = jwtTokenProvider.validateToken(token).orElseThrow();
+            TokenClaims second = jwtTokenProvider.validateToken(token).orElseThrow();
+
+            assertThat(second).isSameAs(first);
+            assertThat(jwtTokenProvider.verifiedTokenCache().stats().hitCount()).isEqualTo(1);
+            assertThat(jwtTokenProvider.verifiedTokenCache().stats().missCount()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("should not cache rejected tokens")
+        void shouldNotCacheRejectedTokens() {
+            String token = jwtTokenProvider.generateAccessToken("user-123", "test@example.com", "CUSTOMER");
+            String tamperedToken = token.substring(0, token.length() - 5) + "xxxxx";
+
+            assertThat(jwtTokenProvider.validateToken(tamperedToken)).isEmpty();
+            assertThat(jwtTokenProvider.validateToken(tamperedToken)).isEmpty();
+            assertThat(jwtTokenProvider.verifiedTokenCache().estimatedSize()).isZero();
+        }
+
+        @Test
+        @DisplayName("should validate tokens when cache is disabled")
+        void shouldValidateTokensWhenCacheIsDisabled() {
+            jwtProperties.getTokenCache().setEnabled(false);
+            JwtTokenProvider uncachedProvider = new JwtTokenProvider(jwtProperties);
+            String token = uncachedProvider.generateAccessToken("user-123", "test@example.com", "CUSTOMER");
+
+            assertThat(uncachedProvider.validateToken(token)).isPresent();
+            assertThat(uncachedProvider.verifiedTokenCache()).isNull();
+        }
+
+        @Test
+        @DisplayName("should publish cache metrics")
+        void shouldPublishCacheMetrics() {
+            SimpleMeterRegistry registry = new SimpleMeterRegistry();
+            new TokenCacheMetrics(jwtTokenProvider).bindTo(registry);
+            String token = jwtTokenProvider.generateAccessToken("user-123", "test@example.com", "CUSTOMER");
+
+            jwtTokenProvider.validateToken(token);
+            jwtTokenProvider.validateToken(token);
+
+            assertThat(registry.get("cache.gets").tag("result", "hit").functionCounter().count()).isEqualTo(1);
+            assertThat(registry.get("cache.gets").tag("result", "miss").functionCounter().count()).isEqualTo(1);
+            assertThat(registry.get("cache.evictions").functionCounter()).isNotNull();
+        }
+    }
+
+    @Nested
+    @DisplayName("Asymmetric Signing Tests")
+    class AsymmetricSigningTests {
+
+        @TempDir
+        Path tempDir;
+
+        private Path keySetFile;
+
+        @BeforeEach
+        void setUpKeySet() {
+            keySetFile = tempDir.resolve("jwks.json");
+        }
+
+        @Test
+        @DisplayName("should sign and verify with RS256 key")
+        void shouldSignAndVerifyWithRs256Key() throws Exception {
+            writeKeySet(privateJwk("rsa-1", generateKeyPair("RSA")));
+            JwtTokenProvider provider = asymmetricProvider("rsa-1");
+
+            String token = provider.generateAccessToken("user-123", "test@example.com", "CUSTOMER");
+
+            assertThat(provider.validateToken(token))
+                    .hasValueSatisfying(claims -> assertThat(claims.userId()).isEqualTo("user-123"));
+        }
+
+        @Test
+        @DisplayName("should sign and verify with Ed25519 key")
+        void shouldSignAndVerifyWithEd25519Key() throws Exception {
+            writeKeySet(privateJwk("ed-1", generateKeyPair("Ed25519")));
+            JwtTokenProvider provider = asymmetricProvider("ed-1");
+
+            String token = provider.generateServiceToken("order-service");
+
+            assertThat(provider.validateToken(token))
+                    .hasValueSatisfying(claims -> assertThat(claims.isServiceToken()).isTrue());
+        }
+
+        @Test
+        @DisplayName("should verify with public keys only")
+        void shouldVerifyWithPublicKeysOnly() throws Exception {
+            KeyPair keyPair = generateKeyPair("RSA");
+            writeKeySet(privateJwk("rsa-1", keyPair));
+            String token = asymmetricProvider("rsa-1")
+                    .generateAccessToken("user-123", "test@example.com", "CUSTOMER");
+
+            writeKeySet(publicJwk("rsa-1", keyPair));
+            JwtTokenProvider verifier = asymmetricProvider(null);
+
+            assertThat(verifier.validateToken(token)).isPresent();
+        }
+
+        @Test
+        @DisplayName("should reject HMAC token in asymmetric mode")
+        void shouldRejectHmacTokenInAsymmetricMode() throws Exception {
+            writeKeySet(privateJwk("rsa-1", generateKeyPair("RSA")));
+            JwtTokenProvider provider = asymmetricProvider("rsa-1");
+
+            String hmacToken = jwtTokenProvider.generateAccessToken("user-123", "test@example.com", "CUSTOMER");
+
+            assertThat(provider.validateToken(hmacToken)).isEmpty();
+        }
+
+        @Test
+        @DisplayName("should pick up rotated keys without restart")
+        void shouldPickUpRotatedKeysWithoutRestart() throws Exception {
+            KeyPair oldKey = generateKeyPair("RSA");
+            KeyPair newKey = generateKeyPair("Ed25519");
+            writeKeySet(privateJwk("old", oldKey));
+            JwtTokenProvider verifier = asymmetricProvider(null);
+            String oldToken = asymmetricProvider("old")
+                    .generateAccessToken("user-123", "test@example.com", "CUSTOMER");
+            assertThat(verifier.validateToken(oldToken)).isPresent();
+
+            // Introduce the new key, then retire the old one
+            writeKeySet(privateJwk("old", oldKey), privateJwk("new", newKey));
+            String newToken = asymmetricProvider("new")
+                    .generateAccessToken("user-456", "other@example.com", "CUSTOMER");
+            assertThat(verifier.validateToken(newToken)).isPresent();
+
+            writeKeySet(publicJwk("new", newKey));
+            assertThat(verifier.validateToken(newToken)).isPresent();
+            assertThat(verifier.validateToken(oldToken)).isEmpty();
+        }
+
+        private JwtTokenProvider asymmetricProvider(String keyId) {
+            JwtProperties properties = new JwtProperties();
+            properties.getSigning().setMode(JwtProperties.SigningMode.ASYMMETRIC);
+            properties.getSigning().setKeySetFile(keySetFile.toString());
+            properties.getSigning().setKeyId(keyId);
+            properties.getSigning().setKeySetRefreshInterval(Duration.ZERO);
+            return new JwtTokenProvider(properties);
+        }
+
+        private void writeKeySet(String... jwks) throws IOException {
+            FileTime previous = Files.exists(keySetFile) ? Files.getLastModifiedTime(keySetFile) : null;
+            Files.writeString(keySetFile, "{\"keys\":[" + String.join(",", jwks) + "]}");
+            if (previous != null) {
+                // Coarse file system timestamps must still register as a change
+                Files.setLastModifiedTime(keySetFile, FileTime.fromMillis(previous.toMillis() + 1000));
+            }
+        }
+
+        private KeyPair generateKeyPair(String algorithm) throws NoSuchAlgorithmException {
+            return KeyPairGenerator.getInstance(algorithm).generateKeyPair();
+        }
+
+        private String privateJwk(String keyId, KeyPair keyPair) {
+            return Jwks.UNSAFE_JSON(Jwks.builder().keyPair(keyPair).id(keyId).build());
+        }
+
+        private String publicJwk(String keyId, KeyPair keyPair) {
+            return Jwks.json(Jwks.builder().key(keyPair.getPublic()).id(keyId).build());
+        }
+    }
 }
@@ -0,0 +1,157 @@
+package com.ecommerce.security.jwt;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("ServiceTokenCache Tests")
+class ServiceTokenCacheTest {
+
+    private JwtProperties jwtProperties;
+    private JwtTokenProvider jwtTokenProvider;
+    private Queue<Runnable> pendingRefreshes;
+    private long now;
+    private ServiceTokenCache cache;
+
+    @BeforeEach
+    void setUp() {
+        jwtProperties = new JwtProperties();
+        jwtProperties.setSecretKey("this-is-a-very-long-secret-key-for-testing-purposes-only-256-bits");
+        jwtProperties.setServiceTokenExpiration(Duration.ofMinutes(5));
+        jwtProperties.setServiceTokenRefreshRatio(0.8);
+        jwtTokenProvider = new JwtTokenProvider(jwtProperties);
+
+        pendingRefreshes = new ArrayDeque<>();
+        now = 0;
+        cache = new ServiceTokenCache(jwtTokenProvider, jwtProperties, pendingRefreshes::add, () -> now);
+    }
+
+    @Test
+    @DisplayName("should sign a valid service token on first use")
+    void shouldSignValidServiceTokenOnFirstUse() {
+        String token = cache.getToken("order-service");
+
+        assertThat(jwtTokenProvider.validateToken(token))
+                .hasValueSatisfying(claims -> {
+                    assertThat(claims.userId()).isEqualTo("order-service");
+                    assertThat(claims.isServiceToken()).isTrue();
+                });
+    }
+
+    @Test
+    @DisplayName("should reuse token before refresh point")
+    void shouldReuseTokenBeforeRefreshPoint() {
+        String first = cache.getToken("order-service");
+        now += Duration.ofMinutes(3).toNanos();
+
+        assertThat(cache.getToken("order-service")).isSameAs(first);
+        assertThat(pendingRefreshes).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should keep tokens per service name")
+    void shouldKeepTokensPerServiceName() {
+        String orderToken = cache.getToken("order-service");
+        String productToken = cache.getToken("product-service");
+
+        assertThat(productToken).isNotEqualTo(orderToken);
+        assertThat(jwtTokenProvider.extractUserId(productToken)).contains("product-service");
+    }
+
+    @Nested
+    @DisplayName("Background refresh")
+    class BackgroundRefreshTests {
+
+        @Test
+        @DisplayName("should return current token while refresh is pending")
+        void shouldReturnCurrentTokenWhileRefreshIsPending() {
+            String first = cache.getToken("order-service");
+            now += Duration.ofMinutes(4).plusSeconds(1).toNanos();
+
+            assertThat(cache.getToken("order-service")).isSameAs(first);
+            assertThat(cache.getToken("order-service")).isSameAs(first);
+            assertThat(pendingRefreshes).hasSize(1);
+        }
+
+        @Test
+        @DisplayName("should serve refreshed token once refresh completed")
+        void shouldServeRefreshedTokenOnceRefreshCompleted() {
+            String first = cache.getToken("order-service");
+            now += Duration.ofMinutes(4).plusSeconds(1).toNanos();
+            cache.getToken("order-service");
+            pendingRefreshes.poll().run();
+
+            assertThat(cache.getToken("order-service")).isNotSameAs(first);
+            assertThat(pendingRefreshes).isEmpty();
+        }
+
+        @Test
+        @DisplayName("should sign synchronously when token already expired")
+        void shouldSignSynchronouslyWhenTokenAlreadyExpired() {
+            String first = cache.getToken("order-service");
+            now += Duration.ofMinutes(6).toNanos();
+
+            String second = cache.getToken("order-service");
+
+            assertThat(second).isNotSameAs(first);
+            assertThat(pendingRefreshes).isEmpty();
+        }
+
+        @Test
+        @DisplayName("should sign once when concurrent callers find no usable token")
+        void shouldSignOnceForConcurrentCallersWithoutUsableToken() throws Exception {
+            AtomicInteger signatures = new AtomicInteger();
+            CountDownLatch signingStarted = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            JwtTokenProvider slowProvider = new JwtTokenProvider(jwtProperties) {
+                @Override
+                public String generateServiceToken(String serviceName) {
+                    signatures.incrementAndGet();
+                    signingStarted.countDown();
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return super.generateServiceToken(serviceName);
+                }
+            };
+            cache = new ServiceTokenCache(slowProvider, jwtProperties, pendingRefreshes::add, () -> now);
+
+            List<CompletableFuture<String>> callers = IntStream.range(0, 8)
+                    .mapToObj(i -> CompletableFuture.supplyAsync(() -> cache.getToken("order-service")))
+                    .toList();
+            assertThat(signingStarted.await(5, TimeUnit.SECONDS)).isTrue();
+            release.countDown();
+
+            String token = callers.get(0).get(5, TimeUnit.SECONDS);
+            for (CompletableFuture<String> caller : callers) {
+                assertThat(caller.get(5, TimeUnit.SECONDS)).isSameAs(token);
+            }
+            assertThat(signatures).hasValue(1);
+        }
+    }
+
+    @Test
+    @DisplayName("should reject refresh ratio outside (0, 1)")
+    void shouldRejectRefreshRatioOutsideRange() {
+        jwtProperties.setServiceTokenRefreshRatio(1.0);
+
+        assertThatThrownBy(() -> new ServiceTokenCache(jwtTokenProvider, jwtProperties, Runnable::run, () -> 0L))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,88 @@
+package com.ecommerce.service.load;
+
+import com.ecommerce.security.config.FeignClientConfig;
+import com.ecommerce.security.context.CurrentUser;
+import com.ecommerce.security.context.CurrentUserContext;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.context.annotation.Import;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A minimal servlet service set up like the real ones: security-infrastructure's JWT filter and
+ * {@link CurrentUserContext}, and a Feign client with {@link FeignClientConfig}'s interceptors.
+ * Each request calls a slow downstream, standing in for JPA, Redis and Feign I/O.
+ */
+@SpringBootConfiguration
+@EnableAutoConfiguration
+@EnableFeignClients(clients = LoadService.DownstreamClient.class)
+@Import({LoadService.ProfileController.class, LoadService.AsyncProfileService.class})
+public class LoadService {
+
+    /**
+     * What a request saw: the user it ran as and the trace id that reached the downstream.
+     */
+    public record Profile(String userId, String traceId) {
+    }
+
+    public record Echo(String traceId) {
+    }
+
+    @FeignClient(name = "downstream", url = "${load.downstream-url}", configuration = FeignClientConfig.class)
+    public interface DownstreamClient {
+
+        @GetMapping("/echo")
+        Echo echo();
+    }
+
+    @RestController
+    @RequestMapping("/load")
+    public static class ProfileController {
+
+        private final DownstreamClient downstream;
+        private final AsyncProfileService asyncProfiles;
+
+        public ProfileController(DownstreamClient downstream, AsyncProfileService asyncProfiles) {
+            this.downstream = downstream;
+            this.asyncProfiles = asyncProfiles;
+        }
+
+        @GetMapping("/profile")
+        public Profile profile(@CurrentUser CurrentUserContext currentUser) {
+            return new Profile(currentUser.requireUserId(), downstream.echo().traceId());
+        }
+
+        @GetMapping("/profile/async")
+        public CompletableFuture<Profile> asyncProfile() {
+            return asyncProfiles.profile();
+        }
+    }
+
+    @Service
+    public static class AsyncProfileService {
+
+        private final CurrentUserContext currentUser;
+        private final DownstreamClient downstream;
+
+        public AsyncProfileService(CurrentUserContext currentUser, DownstreamClient downstream) {
+            this.currentUser = currentUser;
+            this.downstream = downstream;
+        }
+
+        /**
+         * Runs on the application task executor, outside the request thread.
+         */
+        @Async
+        public CompletableFuture<Profile> profile() {
+            return CompletableFuture.completedFuture(new Profile(currentUser.requireUserId(), downstream.echo().traceId()));
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.ecommerce.service.load;
+
+import com.ecommerce.gateway.load.LoadReport;
+import com.ecommerce.security.jwt.JwtProperties;
+import com.ecommerce.security.jwt.JwtTokenProvider;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Load comparison of the servlet services' threading modes.
+ * Boots {@link LoadService} on the default platform thread pools and then with
+ * {@code spring.threads.virtual.enabled}, drives both with the same closed-loop clients against a
+ * {@link StubDownstream}, and writes a {@link LoadReport} to the path given as the first argument.
+ * Every response is checked for the caller's user and trace id, so context propagation errors
+ * show up as {@code contextMismatches}. Scenarios are reported per mode, e.g. {@code platform-sync}.
+ *
+ * Settings are read from system properties:
+ * load.duration (default 20s), load.warmup (default 5s), load.concurrency (default 400),
+ * load.downstreamLatency (default 50ms), load.users (default 1000).
+ *
+ * Run with: ./gradlew :service-benchmarks:loadTest -Dload.duration=60s
+ */
+public final class ThreadingLoadHarness {
+
+    private static final String JWT_SECRET = "load-test-secret-key-that-is-long-enough-for-hmac-sha-256";
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private ThreadingLoadHarness() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path output = Path.of(args.length > 0 ? args[0] : "build/load-results/threading-load.json");
+        Duration duration = Duration.parse("PT" + System.getProperty("load.duration", "20s"));
+        Duration warmup = Duration.parse("PT" + System.getProperty("load.warmup", "5s"));
+        int concurrency = Integer.getInteger("load.concurrency", 400);
+        Duration downstreamLatency = Duration.ofMillis(Long.getLong("load.downstreamLatency", 50L));
+        int users = Integer.getInteger("load.users", 1000);
+
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("durationSeconds", duration.toSeconds());
+        settings.put("warmupSeconds", warmup.toSeconds());
+        settings.put("concurrency", concurrency);
+        settings.put("downstreamLatencyMillis", downstreamLatency.toMillis());
+        settings.put("users", users);
+        LoadReport report = new LoadReport(settings);
+
+        String[] bearerTokens = bearerTokens(users);
+        try (StubDownstream downstream = new StubDownstream(downstreamLatency)) {
+            for (boolean virtual : new boolean[] {false, true}) {
+                String mode = virtual ? "virtual" : "platform";
+                try (ConfigurableApplicationContext service = startService(virtual, downstream.port())) {
+                    int port = Integer.parseInt(service.getEnvironment().getProperty("local.server.port"));
+                    run(mode, port, concurrency, warmup, duration, bearerTokens, report);
+                }
+            }
+        }
+
+        report.write(output);
+        System.out.println("Load report written to " + output.toAbsolutePath());
+        System.exit(0);
+    }
+
+    private static String[] bearerTokens(int users) {
+        JwtProperties jwtProperties = new JwtProperties();
+        jwtProperties.setSecretKey(JWT_SECRET);
+        jwtProperties.setAccessTokenExpiration(Duration.ofHours(1));
+        JwtTokenProvider tokens = new JwtTokenProvider(jwtProperties);
+        String[] bearerTokens = new String[users];
+        for (int i = 0; i < users; i++) {
+            bearerTokens[i] = "Bearer " + tokens.generateAccessToken(userId(i), userId(i) + "@example.com", "CUSTOMER");
+        }
+        return bearerTokens;
+    }
+
+    private static String userId(int user) {
+        return "load-user-" + user;
+    }
+
+    private static ConfigurableApplicationContext startService(boolean virtual, int downstreamPort) {
+        // Passed as command line arguments so they take precedence over any application.yml on the classpath
+        List<String> arguments = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.threads.virtual.enabled=" + virtual,
+                "--spring.main.banner-mode=off",
+                "--load.downstream-url=http://127.0.0.1:" + downstreamPort,
+                "--jwt.secret-key=" + JWT_SECRET,
+                "--logging.level.root=WARN",
+                "--logging.level.com.ecommerce.security.config=INFO"));
+
+        return new SpringApplicationBuilder(LoadService.class)
+                .web(WebApplicationType.SERVLET)
+                .run(arguments.toArray(String[]::new));
+    }
+
+    private static void run(String mode, int port, int concurrency, Duration warmup, Duration duration,
+                            String[] bearerTokens, LoadReport report) throws InterruptedException {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        Map<String, String> scenarios = new LinkedHashMap<>();
+        // Request thread does the downstream call itself
+        scenarios.put("sync", "/load/profile");
+        // Downstream call made from an @Async task on the application task executor
+        scenarios.put("async", "/load/profile/async");
+
+        for (Map.Entry<String, String> scenario : scenarios.entrySet()) {
+            URI uri = URI.create("http://127.0.0.1:" + port + scenario.getValue());
+            drive(client, uri, bearerTokens, concurrency, warmup);
+            Result result = drive(client, uri, bearerTokens, concurrency, duration);
+            report.add(mode + "-" + scenario.getKey(), result.latenciesNanos(), result.errors(),
+                    Map.of("contextMismatches", result.contextMismatches()), result.elapsed());
+            System.out.printf("%-9s %-6s %,10d requests %,8d errors %,6d context mismatches%n", mode,
+                    scenario.getKey(), result.latenciesNanos().length, result.errors(), result.contextMismatches());
+        }
+    }
+
+    /**
+     * Runs {@code concurrency} clients that each issue the next request as soon as the previous one completes,
+     * until {@code duration} has elapsed. Only successful (2xx) responses contribute latencies.
+     */
+    private static Result drive(HttpClient client, URI uri, String[] bearerTokens, int concurrency,
+                                Duration duration) throws InterruptedException {
+        AtomicLong sequence = new AtomicLong();
+        AtomicLong errors = new AtomicLong();
+        AtomicLong mismatches = new AtomicLong();
+        LatencyRecorder[] recorders = new LatencyRecorder[concurrency];
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+
+        Thread[] clients = new Thread[concurrency];
+        for (int worker = 0; worker < concurrency; worker++) {
+            LatencyRecorder recorder = recorders[worker] = new LatencyRecorder();
+            clients[worker] = new Thread(() -> {
+                while (System.nanoTime() < deadline) {
+                    int user = (int) (sequence.getAndIncrement() % bearerTokens.length);
+                    String traceId = Long.toHexString(ThreadLocalRandom.current().nextLong());
+                    HttpRequest request = HttpRequest.newBuilder(uri)
+                            .header("Authorization", bearerTokens[user])
+                            .header("X-B3-TraceId", traceId)
+                            .timeout(Duration.ofSeconds(30))
+                            .GET()
+                            .build();
+                    long sent = System.nanoTime();
+                    try {
+                        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                        if (response.statusCode() < 200 || response.statusCode() >= 300) {
+                            errors.incrementAndGet();
+                            continue;
+                        }
+                        recorder.record(System.nanoTime() - sent);
+                        JsonNode profile = JSON.readTree(response.body());
+                        if (!userId(user).equals(profile.path("userId").asText())
+                                || !traceId.equals(profile.path("traceId").asText())) {
+                            mismatches.incrementAndGet();
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    } catch (Exception e) {
+                        errors.incrementAndGet();
+                    }
+                }
+            }, "load-client-" + worker);
+            clients[worker].start();
+        }
+        for (Thread thread : clients) {
+            thread.join();
+        }
+
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+        long[] latencies = Arrays.stream(recorders)
+                .flatMapToLong(recorder -> Arrays.stream(recorder.values()))
+                .toArray();
+        return new Result(latencies, errors.get(), mismatches.get(), elapsed);
+    }
+
+    private record Result(long[] latenciesNanos, long errors, long contextMismatches, Duration elapsed) {
+    }
+
+    /**
+     * Growable primitive buffer owned by a single client, so recording never allocates per request
+     * or contends with other clients.
+     */
+    private static final class LatencyRecorder {
+
+        private long[] values = new long[4096];
+        private int size;
+
+        void record(long nanos) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = nanos;
+        }
+
+        long[] values() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}